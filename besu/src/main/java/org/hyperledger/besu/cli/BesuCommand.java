@@ -59,6 +59,7 @@ import org.hyperledger.besu.cli.options.stable.EthstatsOptions;
 import org.hyperledger.besu.cli.options.stable.LoggingLevelOption;
 import org.hyperledger.besu.cli.options.stable.NodePrivateKeyFileOption;
 import org.hyperledger.besu.cli.options.stable.P2PTLSConfigOptions;
+import org.hyperledger.besu.cli.options.unstable.AncientStoreOptions;
 import org.hyperledger.besu.cli.options.unstable.ChainPruningOptions;
 import org.hyperledger.besu.cli.options.unstable.DnsOptions;
 import org.hyperledger.besu.cli.options.unstable.EthProtocolOptions;
@@ -145,6 +146,7 @@ import org.hyperledger.besu.ethereum.storage.StorageProvider;
 import org.hyperledger.besu.ethereum.storage.keyvalue.KeyValueSegmentIdentifier;
 import org.hyperledger.besu.ethereum.storage.keyvalue.KeyValueStorageProvider;
 import org.hyperledger.besu.ethereum.storage.keyvalue.KeyValueStorageProviderBuilder;
+import org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration;
 import org.hyperledger.besu.ethereum.worldstate.PrunerConfiguration;
 import org.hyperledger.besu.evm.precompile.AbstractAltBnPrecompiledContract;
 import org.hyperledger.besu.evm.precompile.BigIntegerModularExponentiationPrecompiledContract;
@@ -292,6 +294,7 @@ public class BesuCommand implements DefaultCommandValues, Runnable {
   private final EvmOptions unstableEvmOptions = EvmOptions.create();
   private final IpcOptions unstableIpcOptions = IpcOptions.create();
   private final ChainPruningOptions unstableChainPruningOptions = ChainPruningOptions.create();
+  private final AncientStoreOptions unstableAncientStoreOptions = AncientStoreOptions.create();
 
   // stable CLI options
   private final DataStorageOptions dataStorageOptions = DataStorageOptions.create();
@@ -1652,6 +1655,7 @@ public class BesuCommand implements DefaultCommandValues, Runnable {
             .put("EVM Options", unstableEvmOptions)
             .put("IPC Options", unstableIpcOptions)
             .put("Chain Data Pruning Options", unstableChainPruningOptions)
+            .put("Ancient Store Options", unstableAncientStoreOptions)
             .build();
 
     UnstableOptionsSubCommand.createUnstableOptions(commandLine, unstableOptions);
@@ -1913,6 +1917,7 @@ public class BesuCommand implements DefaultCommandValues, Runnable {
     ensureValidPeerBoundParams();
     validateRpcOptionsParams();
     validateChainDataPruningParams();
+    validateTrieLogPruningParams();
     validatePostMergeCheckpointBlockRequirements();
     p2pTLSConfigOptions.checkP2PTLSOptionsDependencies(logger, commandLine);
     pkiBlockCreationOptions.checkPkiBlockCreationOptionsDependencies(logger, commandLine);
@@ -1960,6 +1965,12 @@ public class BesuCommand implements DefaultCommandValues, Runnable {
           this.commandLine,
           "--Xpos-block-creation-repetition-min-duration must be positive and ≤ 2000");
     }
+
+    if (unstableMiningOptions.getPosBlockCreationPreEvaluationMaxCandidates() < 0) {
+      throw new ParameterException(
+          this.commandLine,
+          "--Xpos-block-creation-pre-evaluation-max-candidates must not be negative");
+    }
   }
 
   /**
@@ -2101,6 +2112,18 @@ public class BesuCommand implements DefaultCommandValues, Runnable {
     }
   }
 
+  private void validateTrieLogPruningParams() {
+    final DataStorageConfiguration dataStorageConfiguration = dataStorageOptions.toDomainObject();
+    if (dataStorageConfiguration.getBonsaiTrieLogPruningEnabled()
+        && dataStorageConfiguration.getBonsaiTrieLogRetentionThreshold()
+            < dataStorageConfiguration.getBonsaiMaxLayersToLoad()) {
+      throw new ParameterException(
+          this.commandLine,
+          DataStorageOptions.BONSAI_TRIE_LOG_RETENTION_THRESHOLD
+              + " must be >= --bonsai-historical-block-limit");
+    }
+  }
+
   private GenesisConfigOptions readGenesisConfigOptions() {
 
     try {
@@ -2331,6 +2354,8 @@ public class BesuCommand implements DefaultCommandValues, Runnable {
                 .posBlockCreationMaxTime(unstableMiningOptions.getPosBlockCreationMaxTime())
                 .posBlockCreationRepetitionMinDuration(
                     unstableMiningOptions.getPosBlockCreationRepetitionMinDuration())
+                .posBlockCreationPreEvaluationMaxCandidates(
+                    unstableMiningOptions.getPosBlockCreationPreEvaluationMaxCandidates())
                 .build())
         .transactionPoolConfiguration(buildTransactionPoolConfiguration())
         .nodeKey(new NodeKey(securityModule()))
@@ -2357,7 +2382,8 @@ public class BesuCommand implements DefaultCommandValues, Runnable {
         .lowerBoundPeers(peersLowerBound)
         .maxRemotelyInitiatedPeers(maxRemoteInitiatedPeers)
         .randomPeerPriority(p2PDiscoveryOptionGroup.randomPeerPriority)
-        .chainPruningConfiguration(unstableChainPruningOptions.toDomainObject());
+        .chainPruningConfiguration(unstableChainPruningOptions.toDomainObject())
+        .ancientStoreConfiguration(unstableAncientStoreOptions.toDomainObject());
   }
 
   @NotNull
@@ -2672,6 +2698,15 @@ public class BesuCommand implements DefaultCommandValues, Runnable {
         .build();
   }
 
+  /**
+   * Data Storage Configuration for Besu
+   *
+   * @return instance of DataStorageConfiguration.
+   */
+  public DataStorageConfiguration dataStorageConfiguration() {
+    return dataStorageOptions.toDomainObject();
+  }
+
   /**
    * Metrics Configuration for Besu
    *
@@ -3556,6 +3591,9 @@ public class BesuCommand implements DefaultCommandValues, Runnable {
     if (!unstableChainPruningOptions.getChainDataPruningEnabled()) {
       rocksDBPlugin.addIgnorableSegmentIdentifier(KeyValueSegmentIdentifier.CHAIN_PRUNER_STATE);
     }
+    if (!dataStorageOptions.toDomainObject().getBonsaiArchiveEnabled()) {
+      rocksDBPlugin.addIgnorableSegmentIdentifier(KeyValueSegmentIdentifier.BONSAI_HISTORY_STORAGE);
+    }
   }
 
   private void validatePostMergeCheckpointBlockRequirements() {
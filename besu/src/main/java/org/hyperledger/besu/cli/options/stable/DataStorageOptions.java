@@ -16,7 +16,12 @@
 
 package org.hyperledger.besu.cli.options.stable;
 
+import static org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration.DEFAULT_BONSAI_ACCOUNT_NODE_ENCODING_CACHE_SIZE;
+import static org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration.DEFAULT_BONSAI_ARCHIVE_ENABLED;
 import static org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration.DEFAULT_BONSAI_MAX_LAYERS_TO_LOAD;
+import static org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration.DEFAULT_BONSAI_STORAGE_NODE_ENCODING_CACHE_SIZE;
+import static org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration.DEFAULT_BONSAI_TRIE_LOG_PRUNING_ENABLED;
+import static org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration.DEFAULT_BONSAI_TRIE_LOG_RETENTION_THRESHOLD;
 
 import org.hyperledger.besu.cli.options.CLIOptions;
 import org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration;
@@ -36,6 +41,21 @@ public class DataStorageOptions implements CLIOptions<DataStorageConfiguration>
   private static final String BONSAI_STORAGE_FORMAT_MAX_LAYERS_TO_LOAD =
       "--bonsai-historical-block-limit";
 
+  private static final String BONSAI_ACCOUNT_NODE_ENCODING_CACHE_SIZE =
+      "--Xbonsai-account-node-encoding-cache-size";
+
+  private static final String BONSAI_STORAGE_NODE_ENCODING_CACHE_SIZE =
+      "--Xbonsai-storage-node-encoding-cache-size";
+
+  private static final String BONSAI_ARCHIVE_ENABLED = "--Xbonsai-archive-enabled";
+
+  /** The option enabling the pruning of old trie logs. */
+  public static final String BONSAI_TRIE_LOG_PRUNING_ENABLED = "--Xbonsai-trie-log-pruning-enabled";
+
+  /** The option setting the number of blocks for which trie logs are retained. */
+  public static final String BONSAI_TRIE_LOG_RETENTION_THRESHOLD =
+      "--Xbonsai-trie-log-retention-threshold";
+
   // Use Bonsai DB
   @Option(
       names = {DATA_STORAGE_FORMAT},
@@ -52,6 +72,59 @@ public class DataStorageOptions implements CLIOptions<DataStorageConfiguration>
       arity = "1")
   private final Long bonsaiMaxLayersToLoad = DEFAULT_BONSAI_MAX_LAYERS_TO_LOAD;
 
+  @Option(
+      hidden = true,
+      names = {BONSAI_ACCOUNT_NODE_ENCODING_CACHE_SIZE},
+      paramLabel = "<LONG>",
+      description =
+          "Size in bytes of the cache of encoded account trie nodes and their hashes"
+              + " (default: ${DEFAULT-VALUE}).",
+      arity = "1")
+  private final Long bonsaiAccountNodeEncodingCacheSize =
+      DEFAULT_BONSAI_ACCOUNT_NODE_ENCODING_CACHE_SIZE;
+
+  @Option(
+      hidden = true,
+      names = {BONSAI_STORAGE_NODE_ENCODING_CACHE_SIZE},
+      paramLabel = "<LONG>",
+      description =
+          "Size in bytes of the cache of encoded storage trie nodes and their hashes"
+              + " (default: ${DEFAULT-VALUE}).",
+      arity = "1")
+  private final Long bonsaiStorageNodeEncodingCacheSize =
+      DEFAULT_BONSAI_STORAGE_NODE_ENCODING_CACHE_SIZE;
+
+  @Option(
+      hidden = true,
+      names = {BONSAI_ARCHIVE_ENABLED},
+      description =
+          "Keep an index of the history of every account and slot, to read the balance, nonce, code"
+              + " and storage of any canonical block since genesis without rolling trie logs."
+              + " Requires a full sync"
+              + " (default: ${DEFAULT-VALUE}).",
+      arity = "1")
+  private final Boolean bonsaiArchiveEnabled = DEFAULT_BONSAI_ARCHIVE_ENABLED;
+
+  @Option(
+      hidden = true,
+      names = {BONSAI_TRIE_LOG_PRUNING_ENABLED},
+      description =
+          "Prune, in the background, the trie logs of the blocks older than the retention threshold"
+              + " (default: ${DEFAULT-VALUE}).",
+      arity = "1")
+  private final Boolean bonsaiTrieLogPruningEnabled = DEFAULT_BONSAI_TRIE_LOG_PRUNING_ENABLED;
+
+  @Option(
+      hidden = true,
+      names = {BONSAI_TRIE_LOG_RETENTION_THRESHOLD},
+      paramLabel = "<LONG>",
+      description =
+          "Number of blocks below the finalized block for which trie logs are retained when"
+              + " pruning them, must be at least the historical block limit"
+              + " (default: ${DEFAULT-VALUE}).",
+      arity = "1")
+  private final Long bonsaiTrieLogRetentionThreshold = DEFAULT_BONSAI_TRIE_LOG_RETENTION_THRESHOLD;
+
   /**
    * Create data storage options.
    *
@@ -66,6 +139,11 @@ public class DataStorageOptions implements CLIOptions<DataStorageConfiguration>
     return ImmutableDataStorageConfiguration.builder()
         .dataStorageFormat(dataStorageFormat)
         .bonsaiMaxLayersToLoad(bonsaiMaxLayersToLoad)
+        .bonsaiAccountNodeEncodingCacheSize(bonsaiAccountNodeEncodingCacheSize)
+        .bonsaiStorageNodeEncodingCacheSize(bonsaiStorageNodeEncodingCacheSize)
+        .bonsaiArchiveEnabled(bonsaiArchiveEnabled)
+        .bonsaiTrieLogPruningEnabled(bonsaiTrieLogPruningEnabled)
+        .bonsaiTrieLogRetentionThreshold(bonsaiTrieLogRetentionThreshold)
         .build();
   }
 
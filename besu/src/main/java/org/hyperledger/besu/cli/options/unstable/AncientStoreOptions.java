@@ -0,0 +1,70 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.cli.options.unstable;
+
+import org.hyperledger.besu.cli.options.CLIOptions;
+import org.hyperledger.besu.ethereum.storage.ancient.AncientStoreConfiguration;
+
+import java.util.Arrays;
+import java.util.List;
+
+import picocli.CommandLine;
+
+/** The ancient store CLI options. */
+public class AncientStoreOptions implements CLIOptions<AncientStoreConfiguration> {
+  private static final String ANCIENT_STORE_ENABLED_FLAG = "--Xancient-store-enabled";
+  private static final String ANCIENT_STORE_BLOCKS_RETAINED_FLAG =
+      "--Xancient-store-blocks-retained";
+
+  @CommandLine.Option(
+      hidden = true,
+      names = {ANCIENT_STORE_ENABLED_FLAG},
+      description =
+          "Move finalized blocks and receipts from the key value database to immutable flat files (default: ${DEFAULT-VALUE})")
+  private final Boolean ancientStoreEnabled = Boolean.FALSE;
+
+  @CommandLine.Option(
+      hidden = true,
+      names = {ANCIENT_STORE_BLOCKS_RETAINED_FLAG},
+      description =
+          "The number of recent blocks kept in the key value database when the ancient store is enabled (default: ${DEFAULT-VALUE})")
+  private final Long ancientStoreBlocksRetained = AncientStoreConfiguration.DEFAULT_BLOCKS_RETAINED;
+
+  /**
+   * Create ancient store options.
+   *
+   * @return the ancient store options
+   */
+  public static AncientStoreOptions create() {
+    return new AncientStoreOptions();
+  }
+
+  @Override
+  public AncientStoreConfiguration toDomainObject() {
+    return new AncientStoreConfiguration(
+        ancientStoreEnabled,
+        ancientStoreBlocksRetained,
+        AncientStoreConfiguration.DEFAULT_MAX_SEGMENT_SIZE);
+  }
+
+  @Override
+  public List<String> getCLIOptions() {
+    return Arrays.asList(
+        ANCIENT_STORE_ENABLED_FLAG,
+        ancientStoreEnabled.toString(),
+        ANCIENT_STORE_BLOCKS_RETAINED_FLAG,
+        ancientStoreBlocksRetained.toString());
+  }
+}
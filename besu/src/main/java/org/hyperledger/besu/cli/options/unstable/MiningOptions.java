@@ -16,6 +16,7 @@ package org.hyperledger.besu.cli.options.unstable;
 
 import static org.hyperledger.besu.ethereum.core.MiningParameters.DEFAULT_MAX_OMMERS_DEPTH;
 import static org.hyperledger.besu.ethereum.core.MiningParameters.DEFAULT_POS_BLOCK_CREATION_MAX_TIME;
+import static org.hyperledger.besu.ethereum.core.MiningParameters.DEFAULT_POS_BLOCK_CREATION_PRE_EVALUATION_MAX_CANDIDATES;
 import static org.hyperledger.besu.ethereum.core.MiningParameters.DEFAULT_POS_BLOCK_CREATION_REPETITION_MIN_DURATION;
 import static org.hyperledger.besu.ethereum.core.MiningParameters.DEFAULT_POW_JOB_TTL;
 import static org.hyperledger.besu.ethereum.core.MiningParameters.DEFAULT_REMOTE_SEALERS_LIMIT;
@@ -77,6 +78,15 @@ public class MiningOptions {
   private final Long posBlockCreationRepetitionMinDuration =
       DEFAULT_POS_BLOCK_CREATION_REPETITION_MIN_DURATION;
 
+  @CommandLine.Option(
+      hidden = true,
+      names = {"--Xpos-block-creation-pre-evaluation-max-candidates"},
+      description =
+          "Specifies how many pending transactions, in order of priority, a PoS block creation checks in parallel"
+              + " for invalidity before selecting transactions. 0 disables the check. Must not be negative (default: ${DEFAULT-VALUE})")
+  private final Integer posBlockCreationPreEvaluationMaxCandidates =
+      DEFAULT_POS_BLOCK_CREATION_PRE_EVALUATION_MAX_CANDIDATES;
+
   /**
    * Create mining options.
    *
@@ -148,4 +158,13 @@ public class MiningOptions {
   public Long getPosBlockCreationRepetitionMinDuration() {
     return posBlockCreationRepetitionMinDuration;
   }
+
+  /**
+   * Gets pos block creation pre evaluation max candidates.
+   *
+   * @return the pos block creation pre evaluation max candidates.
+   */
+  public Integer getPosBlockCreationPreEvaluationMaxCandidates() {
+    return posBlockCreationPreEvaluationMaxCandidates;
+  }
 }
@@ -43,6 +43,10 @@ public class SynchronizerOptions implements CLIOptions<SynchronizerConfiguration
       "--Xsynchronizer-downloader-chain-segment-size";
   private static final String DOWNLOADER_PARALLELISM_FLAG =
       "--Xsynchronizer-downloader-parallelism";
+  private static final String DOWNLOADER_ADAPTIVE_PARALLELISM_ENABLED_FLAG =
+      "--Xsynchronizer-downloader-adaptive-parallelism-enabled";
+  private static final String RING_BUFFER_PIPES_ENABLED_FLAG =
+      "--Xsynchronizer-ring-buffer-pipes-enabled";
   private static final String TRANSACTIONS_PARALLELISM_FLAG =
       "--Xsynchronizer-transactions-parallelism";
   private static final String COMPUTATION_PARALLELISM_FLAG =
@@ -51,6 +55,8 @@ public class SynchronizerOptions implements CLIOptions<SynchronizerConfiguration
       "--Xsynchronizer-fast-sync-pivot-distance";
   private static final String FULL_VALIDATION_RATE_FLAG =
       "--Xsynchronizer-fast-sync-full-validation-rate";
+  private static final String FAST_SYNC_IMPORT_PIPELINE_DEPTH_FLAG =
+      "--Xsynchronizer-fast-sync-import-pipeline-depth";
   private static final String WORLD_STATE_HASH_COUNT_PER_REQUEST_FLAG =
       "--Xsynchronizer-world-state-hash-count-per-request";
   private static final String WORLD_STATE_REQUEST_PARALLELISM_FLAG =
@@ -61,6 +67,8 @@ public class SynchronizerOptions implements CLIOptions<SynchronizerConfiguration
       "--Xsynchronizer-world-state-min-millis-before-stalling";
   private static final String WORLD_STATE_TASK_CACHE_SIZE_FLAG =
       "--Xsynchronizer-world-state-task-cache-size";
+  private static final String WORLD_STATE_TASK_SPILL_ENABLED_FLAG =
+      "--Xsynchronizer-world-state-task-spill-enabled";
 
   private static final String SNAP_PIVOT_BLOCK_WINDOW_VALIDITY_FLAG =
       "--Xsnapsync-synchronizer-pivot-block-window-validity";
@@ -73,6 +81,15 @@ public class SynchronizerOptions implements CLIOptions<SynchronizerConfiguration
   private static final String SNAP_TRIENODE_COUNT_PER_REQUEST_FLAG =
       "--Xsnapsync-synchronizer-trienode-count-per-request";
 
+  private static final String SNAP_PERSIST_WORKER_COUNT_FLAG =
+      "--Xsnapsync-synchronizer-persist-worker-count";
+  private static final String SNAP_PERSIST_BATCH_NODE_COUNT_FLAG =
+      "--Xsnapsync-synchronizer-persist-batch-node-count";
+  private static final String SNAP_PERSIST_FLUSH_INTERVAL_MILLIS_FLAG =
+      "--Xsnapsync-synchronizer-persist-flush-interval-millis";
+  private static final String SNAP_ADAPTIVE_REQUEST_PARALLELISM_ENABLED_FLAG =
+      "--Xsnapsync-synchronizer-adaptive-request-parallelism-enabled";
+
   private static final String SNAP_FLAT_ACCOUNT_HEALED_COUNT_PER_REQUEST_FLAG =
       "--Xsnapsync-synchronizer-flat-account-healed-count-per-request";
 
@@ -159,6 +176,28 @@ public class SynchronizerOptions implements CLIOptions<SynchronizerConfiguration
       description = "Number of threads to provide to chain downloader (default: ${DEFAULT-VALUE})")
   private int downloaderParallelism = SynchronizerConfiguration.DEFAULT_DOWNLOADER_PARALLELISM;
 
+  @CommandLine.Option(
+      names = DOWNLOADER_ADAPTIVE_PARALLELISM_ENABLED_FLAG,
+      hidden = true,
+      paramLabel = "<Boolean>",
+      arity = "0..1",
+      description =
+          "Adapt the number of concurrent chain download requests to observed response latency,"
+              + " up to the downloader parallelism (default: ${DEFAULT-VALUE})")
+  private Boolean downloaderAdaptiveParallelismEnabled =
+      SynchronizerConfiguration.DEFAULT_DOWNLOADER_ADAPTIVE_PARALLELISM_ENABLED;
+
+  @CommandLine.Option(
+      names = RING_BUFFER_PIPES_ENABLED_FLAG,
+      hidden = true,
+      paramLabel = "<Boolean>",
+      arity = "0..1",
+      description =
+          "Back the pipes of the sync pipelines with lock-free ring buffers instead of array"
+              + " blocking queues (default: ${DEFAULT-VALUE})")
+  private Boolean ringBufferPipesEnabled =
+      SynchronizerConfiguration.DEFAULT_RING_BUFFER_PIPES_ENABLED;
+
   @CommandLine.Option(
       names = TRANSACTIONS_PARALLELISM_FLAG,
       hidden = true,
@@ -193,6 +232,16 @@ public class SynchronizerOptions implements CLIOptions<SynchronizerConfiguration
       description = "Fraction of headers fast sync will fully validate (default: ${DEFAULT-VALUE})")
   private float fastSyncFullValidationRate = SynchronizerConfiguration.DEFAULT_FULL_VALIDATION_RATE;
 
+  @CommandLine.Option(
+      names = FAST_SYNC_IMPORT_PIPELINE_DEPTH_FLAG,
+      hidden = true,
+      defaultValue = "0",
+      paramLabel = "<INTEGER>",
+      description =
+          "Number of block batches fast sync may pre-validate ahead of importing them, 0 disables pipelined import (default: ${DEFAULT-VALUE})")
+  private int fastSyncImportPipelineDepth =
+      SynchronizerConfiguration.DEFAULT_FAST_SYNC_IMPORT_PIPELINE_DEPTH;
+
   @CommandLine.Option(
       names = WORLD_STATE_HASH_COUNT_PER_REQUEST_FLAG,
       hidden = true,
@@ -238,10 +287,20 @@ public class SynchronizerOptions implements CLIOptions<SynchronizerConfiguration
       defaultValue = "1000000",
       paramLabel = "<INTEGER>",
       description =
-          "The max number of pending node data requests cached in-memory during fast sync world state download. (default: ${DEFAULT-VALUE})")
+          "The max number of pending node data requests cached in-memory during fast sync world state download, across all trie depths, when the rest is spilled to disk. (default: ${DEFAULT-VALUE})")
   private int worldStateTaskCacheSize =
       SynchronizerConfiguration.DEFAULT_WORLD_STATE_TASK_CACHE_SIZE;
 
+  @CommandLine.Option(
+      names = WORLD_STATE_TASK_SPILL_ENABLED_FLAG,
+      hidden = true,
+      paramLabel = "<Boolean>",
+      arity = "0..1",
+      description =
+          "Spill the pending node data requests of fast sync world state download to disk beyond the task cache size, so they can be resumed after a restart (default: ${DEFAULT-VALUE})")
+  private Boolean worldStateTaskSpillEnabled =
+      SynchronizerConfiguration.DEFAULT_WORLD_STATE_TASK_SPILL_ENABLED;
+
   @CommandLine.Option(
       names = SNAP_PIVOT_BLOCK_WINDOW_VALIDITY_FLAG,
       hidden = true,
@@ -289,6 +348,48 @@ public class SynchronizerOptions implements CLIOptions<SynchronizerConfiguration
   private int snapsyncTrieNodeCountPerRequest =
       SnapSyncConfiguration.DEFAULT_TRIENODE_COUNT_PER_REQUEST;
 
+  @CommandLine.Option(
+      names = SNAP_PERSIST_WORKER_COUNT_FLAG,
+      hidden = true,
+      defaultValue = "1",
+      paramLabel = "<INTEGER>",
+      description =
+          "Snap sync workers persisting downloaded ranges, each owning a partition of the account"
+              + " hash space. 1 persists in the download pipelines (default: ${DEFAULT-VALUE})")
+  private int snapsyncPersistWorkerCount = SnapSyncConfiguration.DEFAULT_PERSIST_WORKER_COUNT;
+
+  @CommandLine.Option(
+      names = SNAP_PERSIST_BATCH_NODE_COUNT_FLAG,
+      hidden = true,
+      defaultValue = "50000",
+      paramLabel = "<INTEGER>",
+      description =
+          "Snap sync nodes written by a persist worker before committing (default: ${DEFAULT-VALUE})")
+  private int snapsyncPersistBatchNodeCount =
+      SnapSyncConfiguration.DEFAULT_PERSIST_BATCH_NODE_COUNT;
+
+  @CommandLine.Option(
+      names = SNAP_PERSIST_FLUSH_INTERVAL_MILLIS_FLAG,
+      hidden = true,
+      defaultValue = "1000",
+      paramLabel = "<LONG>",
+      description =
+          "Maximum time in milliseconds a persist worker keeps snap sync data uncommitted"
+              + " (default: ${DEFAULT-VALUE})")
+  private long snapsyncPersistFlushIntervalMillis =
+      SnapSyncConfiguration.DEFAULT_PERSIST_FLUSH_INTERVAL_MILLIS;
+
+  @CommandLine.Option(
+      names = SNAP_ADAPTIVE_REQUEST_PARALLELISM_ENABLED_FLAG,
+      hidden = true,
+      paramLabel = "<Boolean>",
+      arity = "0..1",
+      description =
+          "Adapt the number of concurrent snap sync requests to observed response latency, up to"
+              + " the world state request parallelism (default: ${DEFAULT-VALUE})")
+  private Boolean snapsyncAdaptiveRequestParallelismEnabled =
+      SnapSyncConfiguration.DEFAULT_IS_ADAPTIVE_REQUEST_PARALLELISM_ENABLED;
+
   @CommandLine.Option(
       names = SNAP_FLAT_ACCOUNT_HEALED_COUNT_PER_REQUEST_FLAG,
       hidden = true,
@@ -362,15 +463,19 @@ public class SynchronizerOptions implements CLIOptions<SynchronizerConfiguration
         config.getDownloaderCheckpointTimeoutsPermitted();
     options.downloaderChainSegmentSize = config.getDownloaderChainSegmentSize();
     options.downloaderParallelism = config.getDownloaderParallelism();
+    options.downloaderAdaptiveParallelismEnabled = config.isDownloaderAdaptiveParallelismEnabled();
+    options.ringBufferPipesEnabled = config.isRingBufferPipesEnabled();
     options.transactionsParallelism = config.getTransactionsParallelism();
     options.computationParallelism = config.getComputationParallelism();
     options.fastSyncPivotDistance = config.getFastSyncPivotDistance();
     options.fastSyncFullValidationRate = config.getFastSyncFullValidationRate();
+    options.fastSyncImportPipelineDepth = config.getFastSyncImportPipelineDepth();
     options.worldStateHashCountPerRequest = config.getWorldStateHashCountPerRequest();
     options.worldStateRequestParallelism = config.getWorldStateRequestParallelism();
     options.worldStateMaxRequestsWithoutProgress = config.getWorldStateMaxRequestsWithoutProgress();
     options.worldStateMinMillisBeforeStalling = config.getWorldStateMinMillisBeforeStalling();
     options.worldStateTaskCacheSize = config.getWorldStateTaskCacheSize();
+    options.worldStateTaskSpillEnabled = config.isWorldStateTaskSpillEnabled();
     options.snapsyncPivotBlockWindowValidity =
         config.getSnapSyncConfiguration().getPivotBlockWindowValidity();
     options.snapsyncPivotBlockDistanceBeforeCaching =
@@ -381,6 +486,13 @@ public class SynchronizerOptions implements CLIOptions<SynchronizerConfiguration
         config.getSnapSyncConfiguration().getBytecodeCountPerRequest();
     options.snapsyncTrieNodeCountPerRequest =
         config.getSnapSyncConfiguration().getTrienodeCountPerRequest();
+    options.snapsyncPersistWorkerCount = config.getSnapSyncConfiguration().getPersistWorkerCount();
+    options.snapsyncPersistBatchNodeCount =
+        config.getSnapSyncConfiguration().getPersistBatchNodeCount();
+    options.snapsyncPersistFlushIntervalMillis =
+        config.getSnapSyncConfiguration().getPersistFlushIntervalMillis();
+    options.snapsyncAdaptiveRequestParallelismEnabled =
+        config.getSnapSyncConfiguration().isAdaptiveRequestParallelismEnabled();
     options.snapsyncFlatAccountHealedCountPerRequest =
         config.getSnapSyncConfiguration().getLocalFlatAccountCountToHealPerRequest();
     options.snapsyncFlatStorageHealedCountPerRequest =
@@ -401,15 +513,19 @@ public class SynchronizerOptions implements CLIOptions<SynchronizerConfiguration
     builder.downloaderCheckpointTimeoutsPermitted(downloaderCheckpointTimeoutsPermitted);
     builder.downloaderChainSegmentSize(downloaderChainSegmentSize);
     builder.downloaderParallelism(downloaderParallelism);
+    builder.downloaderAdaptiveParallelismEnabled(downloaderAdaptiveParallelismEnabled);
+    builder.ringBufferPipesEnabled(ringBufferPipesEnabled);
     builder.transactionsParallelism(transactionsParallelism);
     builder.computationParallelism(computationParallelism);
     builder.fastSyncPivotDistance(fastSyncPivotDistance);
     builder.fastSyncFullValidationRate(fastSyncFullValidationRate);
+    builder.fastSyncImportPipelineDepth(fastSyncImportPipelineDepth);
     builder.worldStateHashCountPerRequest(worldStateHashCountPerRequest);
     builder.worldStateRequestParallelism(worldStateRequestParallelism);
     builder.worldStateMaxRequestsWithoutProgress(worldStateMaxRequestsWithoutProgress);
     builder.worldStateMinMillisBeforeStalling(worldStateMinMillisBeforeStalling);
     builder.worldStateTaskCacheSize(worldStateTaskCacheSize);
+    builder.worldStateTaskSpillEnabled(worldStateTaskSpillEnabled);
     builder.snapSyncConfiguration(
         ImmutableSnapSyncConfiguration.builder()
             .pivotBlockWindowValidity(snapsyncPivotBlockWindowValidity)
@@ -417,6 +533,10 @@ public class SynchronizerOptions implements CLIOptions<SynchronizerConfiguration
             .storageCountPerRequest(snapsyncStorageCountPerRequest)
             .bytecodeCountPerRequest(snapsyncBytecodeCountPerRequest)
             .trienodeCountPerRequest(snapsyncTrieNodeCountPerRequest)
+            .persistWorkerCount(snapsyncPersistWorkerCount)
+            .persistBatchNodeCount(snapsyncPersistBatchNodeCount)
+            .persistFlushIntervalMillis(snapsyncPersistFlushIntervalMillis)
+            .isAdaptiveRequestParallelismEnabled(snapsyncAdaptiveRequestParallelismEnabled)
             .localFlatAccountCountToHealPerRequest(snapsyncFlatAccountHealedCountPerRequest)
             .localFlatStorageCountToHealPerRequest(snapsyncFlatStorageHealedCountPerRequest)
             .isFlatDbHealingEnabled(snapsyncFlatDbHealingEnabled)
@@ -444,6 +564,8 @@ public class SynchronizerOptions implements CLIOptions<SynchronizerConfiguration
             OptionParser.format(downloaderChainSegmentSize),
             DOWNLOADER_PARALLELISM_FLAG,
             OptionParser.format(downloaderParallelism),
+            DOWNLOADER_ADAPTIVE_PARALLELISM_ENABLED_FLAG + "=" + downloaderAdaptiveParallelismEnabled,
+            RING_BUFFER_PIPES_ENABLED_FLAG + "=" + ringBufferPipesEnabled,
             TRANSACTIONS_PARALLELISM_FLAG,
             OptionParser.format(transactionsParallelism),
             COMPUTATION_PARALLELISM_FLAG,
@@ -452,6 +574,8 @@ public class SynchronizerOptions implements CLIOptions<SynchronizerConfiguration
             OptionParser.format(fastSyncPivotDistance),
             FULL_VALIDATION_RATE_FLAG,
             OptionParser.format(fastSyncFullValidationRate),
+            FAST_SYNC_IMPORT_PIPELINE_DEPTH_FLAG,
+            OptionParser.format(fastSyncImportPipelineDepth),
             WORLD_STATE_HASH_COUNT_PER_REQUEST_FLAG,
             OptionParser.format(worldStateHashCountPerRequest),
             WORLD_STATE_REQUEST_PARALLELISM_FLAG,
@@ -462,6 +586,7 @@ public class SynchronizerOptions implements CLIOptions<SynchronizerConfiguration
             OptionParser.format(worldStateMinMillisBeforeStalling),
             WORLD_STATE_TASK_CACHE_SIZE_FLAG,
             OptionParser.format(worldStateTaskCacheSize),
+            WORLD_STATE_TASK_SPILL_ENABLED_FLAG + "=" + worldStateTaskSpillEnabled,
             SNAP_PIVOT_BLOCK_WINDOW_VALIDITY_FLAG,
             OptionParser.format(snapsyncPivotBlockWindowValidity),
             SNAP_PIVOT_BLOCK_DISTANCE_BEFORE_CACHING_FLAG,
@@ -471,7 +596,16 @@ public class SynchronizerOptions implements CLIOptions<SynchronizerConfiguration
             SNAP_BYTECODE_COUNT_PER_REQUEST_FLAG,
             OptionParser.format(snapsyncBytecodeCountPerRequest),
             SNAP_TRIENODE_COUNT_PER_REQUEST_FLAG,
-            OptionParser.format(snapsyncTrieNodeCountPerRequest));
+            OptionParser.format(snapsyncTrieNodeCountPerRequest),
+            SNAP_PERSIST_WORKER_COUNT_FLAG,
+            OptionParser.format(snapsyncPersistWorkerCount),
+            SNAP_PERSIST_BATCH_NODE_COUNT_FLAG,
+            OptionParser.format(snapsyncPersistBatchNodeCount),
+            SNAP_PERSIST_FLUSH_INTERVAL_MILLIS_FLAG,
+            OptionParser.format(snapsyncPersistFlushIntervalMillis),
+            SNAP_ADAPTIVE_REQUEST_PARALLELISM_ENABLED_FLAG
+                + "="
+                + snapsyncAdaptiveRequestParallelismEnabled);
     if (isSnapsyncFlatDbHealingEnabled()) {
       value.addAll(
           Arrays.asList(
@@ -22,6 +22,7 @@ import org.hyperledger.besu.chainimport.JsonBlockImporter;
 import org.hyperledger.besu.chainimport.RlpBlockImporter;
 import org.hyperledger.besu.cli.BesuCommand;
 import org.hyperledger.besu.controller.BesuController;
+import org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration;
 import org.hyperledger.besu.metrics.prometheus.MetricsConfiguration;
 
 import java.util.Optional;
@@ -62,6 +63,12 @@ public class BesuCommandModule {
     return provideFrom.metricsConfiguration();
   }
 
+  @Provides
+  @Singleton
+  DataStorageConfiguration provideDataStorageConfiguration(final BesuCommand provideFrom) {
+    return provideFrom.dataStorageConfiguration();
+  }
+
   @Provides
   @Named("besuCommandLogger")
   @Singleton
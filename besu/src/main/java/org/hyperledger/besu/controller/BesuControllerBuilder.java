@@ -33,6 +33,7 @@ import org.hyperledger.besu.ethereum.api.jsonrpc.methods.JsonRpcMethods;
 import org.hyperledger.besu.ethereum.blockcreation.MiningCoordinator;
 import org.hyperledger.besu.ethereum.bonsai.BonsaiWorldStateProvider;
 import org.hyperledger.besu.ethereum.bonsai.cache.CachedMerkleTrieLoader;
+import org.hyperledger.besu.ethereum.bonsai.storage.BonsaiHistoryStorage;
 import org.hyperledger.besu.ethereum.bonsai.storage.BonsaiWorldStateKeyValueStorage;
 import org.hyperledger.besu.ethereum.chain.Blockchain;
 import org.hyperledger.besu.ethereum.chain.BlockchainStorage;
@@ -78,10 +79,16 @@ import org.hyperledger.besu.ethereum.eth.transactions.TransactionPoolConfigurati
 import org.hyperledger.besu.ethereum.eth.transactions.TransactionPoolFactory;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSpec;
+import org.hyperledger.besu.ethereum.mainnet.ScheduleBasedBlockHeaderFunctions;
 import org.hyperledger.besu.ethereum.p2p.config.NetworkingConfiguration;
 import org.hyperledger.besu.ethereum.p2p.config.SubProtocolConfiguration;
 import org.hyperledger.besu.ethereum.storage.StorageProvider;
+import org.hyperledger.besu.ethereum.storage.ancient.AncientBlockMigrator;
+import org.hyperledger.besu.ethereum.storage.ancient.AncientBlockStore;
+import org.hyperledger.besu.ethereum.storage.ancient.AncientBlockchainStorage;
+import org.hyperledger.besu.ethereum.storage.ancient.AncientStoreConfiguration;
 import org.hyperledger.besu.ethereum.storage.keyvalue.KeyValueSegmentIdentifier;
+import org.hyperledger.besu.ethereum.storage.keyvalue.KeyValueStoragePrefixedKeyBlockchainStorage;
 import org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration;
 import org.hyperledger.besu.ethereum.worldstate.DataStorageFormat;
 import org.hyperledger.besu.ethereum.worldstate.DefaultWorldStateArchive;
@@ -178,6 +185,8 @@ public abstract class BesuControllerBuilder implements MiningParameterOverrides
   private int maxRemotelyInitiatedPeers;
   /** The Chain pruner configuration. */
   protected ChainPrunerConfiguration chainPrunerConfiguration = ChainPrunerConfiguration.DEFAULT;
+  /** The Ancient store configuration. */
+  protected AncientStoreConfiguration ancientStoreConfiguration = AncientStoreConfiguration.DEFAULT;
 
   private NetworkingConfiguration networkingConfiguration;
   private Boolean randomPeerPriority;
@@ -502,6 +511,18 @@ public abstract class BesuControllerBuilder implements MiningParameterOverrides
     return this;
   }
 
+  /**
+   * Ancient store configuration besu controller builder.
+   *
+   * @param ancientStoreConfiguration the ancient store configuration
+   * @return the besu controller builder
+   */
+  public BesuControllerBuilder ancientStoreConfiguration(
+      final AncientStoreConfiguration ancientStoreConfiguration) {
+    this.ancientStoreConfiguration = ancientStoreConfiguration;
+    return this;
+  }
+
   /**
    * sets the networkConfiguration in the builder
    *
@@ -568,8 +589,17 @@ public abstract class BesuControllerBuilder implements MiningParameterOverrides
     final WorldStateStorage worldStateStorage =
         storageProvider.createWorldStateStorage(dataStorageConfiguration.getDataStorageFormat());
 
-    final BlockchainStorage blockchainStorage =
+    final BlockchainStorage keyValueBlockchainStorage =
         storageProvider.createBlockchainStorage(protocolSchedule, variablesStorage);
+    final Optional<AncientBlockchainStorage> ancientBlockchainStorage =
+        ancientStoreConfiguration.isEnabled()
+            ? Optional.of(
+                createAncientBlockchainStorage(keyValueBlockchainStorage, protocolSchedule))
+            : Optional.empty();
+    final BlockchainStorage blockchainStorage =
+        ancientBlockchainStorage
+            .<BlockchainStorage>map(storage -> storage)
+            .orElse(keyValueBlockchainStorage);
 
     final MutableBlockchain blockchain =
         DefaultBlockchain.createMutable(
@@ -582,7 +612,7 @@ public abstract class BesuControllerBuilder implements MiningParameterOverrides
     final CachedMerkleTrieLoader cachedMerkleTrieLoader =
         besuComponent
             .map(BesuComponent::getCachedMerkleTrieLoader)
-            .orElseGet(() -> new CachedMerkleTrieLoader(metricsSystem));
+            .orElseGet(() -> new CachedMerkleTrieLoader(metricsSystem, dataStorageConfiguration));
 
     final WorldStateArchive worldStateArchive =
         createWorldStateArchive(worldStateStorage, blockchain, cachedMerkleTrieLoader);
@@ -607,7 +637,8 @@ public abstract class BesuControllerBuilder implements MiningParameterOverrides
               mergeContext -> {
                 mergeContext.setIsChainPruningEnabled(true);
               });
-      final ChainDataPruner chainDataPruner = createChainPruner(blockchainStorage);
+      final ChainDataPruner chainDataPruner =
+          createChainPruner(blockchainStorage, ancientBlockchainStorage.isPresent());
       blockchain.observeBlockAdded(chainDataPruner);
       LOG.info(
           "Chain data pruning enabled with recent blocks retained to be: "
@@ -616,6 +647,16 @@ public abstract class BesuControllerBuilder implements MiningParameterOverrides
               + chainPrunerConfiguration.getChainPruningBlocksFrequency());
     }
 
+    final Optional<AncientBlockMigrator> ancientBlockMigrator =
+        ancientBlockchainStorage.map(this::createAncientBlockMigrator);
+    ancientBlockMigrator.ifPresent(
+        migrator -> {
+          blockchain.observeBlockAdded(migrator);
+          LOG.info(
+              "Ancient store enabled with recent blocks retained to be: "
+                  + ancientStoreConfiguration.getBlocksRetained());
+        });
+
     protocolSchedule.setPublicWorldStateArchiveForPrivacyBlockProcessor(
         protocolContext.getWorldStateArchive());
 
@@ -756,6 +797,9 @@ public abstract class BesuControllerBuilder implements MiningParameterOverrides
 
     final List<Closeable> closeables = new ArrayList<>();
     closeables.add(protocolContext.getWorldStateArchive());
+    // the migrator must have stopped writing before the ancient store is closed
+    ancientBlockMigrator.ifPresent(migrator -> closeables.add(migrator::close));
+    ancientBlockchainStorage.ifPresent(closeables::add);
     closeables.add(storageProvider);
     if (privacyParameters.getPrivateStorageProvider() != null) {
       closeables.add(privacyParameters.getPrivateStorageProvider());
@@ -1046,13 +1090,31 @@ public abstract class BesuControllerBuilder implements MiningParameterOverrides
       final CachedMerkleTrieLoader cachedMerkleTrieLoader) {
     switch (dataStorageConfiguration.getDataStorageFormat()) {
       case BONSAI:
-        return new BonsaiWorldStateProvider(
-            (BonsaiWorldStateKeyValueStorage) worldStateStorage,
-            blockchain,
-            Optional.of(dataStorageConfiguration.getBonsaiMaxLayersToLoad()),
-            cachedMerkleTrieLoader,
-            metricsSystem,
-            besuComponent.map(BesuComponent::getBesuPluginContext).orElse(null));
+        final Optional<BonsaiHistoryStorage> historyStorage =
+            dataStorageConfiguration.getBonsaiArchiveEnabled()
+                ? Optional.of(
+                    new BonsaiHistoryStorage(
+                        storageProvider.getStorageBySegmentIdentifier(
+                            KeyValueSegmentIdentifier.BONSAI_HISTORY_STORAGE)))
+                : Optional.empty();
+        final BonsaiWorldStateProvider worldStateProvider =
+            new BonsaiWorldStateProvider(
+                (BonsaiWorldStateKeyValueStorage) worldStateStorage,
+                blockchain,
+                Optional.of(dataStorageConfiguration.getBonsaiMaxLayersToLoad()),
+                cachedMerkleTrieLoader,
+                metricsSystem,
+                besuComponent.map(BesuComponent::getBesuPluginContext).orElse(null),
+                historyStorage,
+                dataStorageConfiguration.getBonsaiTrieLogPruningEnabled()
+                    ? Optional.of(dataStorageConfiguration.getBonsaiTrieLogRetentionThreshold())
+                    : Optional.empty());
+        if (dataStorageConfiguration.getBonsaiTrieLogPruningEnabled()) {
+          LOG.info(
+              "Trie log pruning enabled with trie logs retained for {} blocks",
+              dataStorageConfiguration.getBonsaiTrieLogRetentionThreshold());
+        }
+        return worldStateProvider;
 
       case FOREST:
       default:
@@ -1062,7 +1124,8 @@ public abstract class BesuControllerBuilder implements MiningParameterOverrides
     }
   }
 
-  private ChainDataPruner createChainPruner(final BlockchainStorage blockchainStorage) {
+  private ChainDataPruner createChainPruner(
+      final BlockchainStorage blockchainStorage, final boolean retainCanonicalBlocks) {
     return new ChainDataPruner(
         blockchainStorage,
         new ChainDataPrunerStorage(
@@ -1075,7 +1138,32 @@ public abstract class BesuControllerBuilder implements MiningParameterOverrides
             1,
             1,
             ChainDataPruner.MAX_PRUNING_THREAD_QUEUE_SIZE,
-            metricsSystem));
+            metricsSystem),
+        retainCanonicalBlocks);
+  }
+
+  private AncientBlockchainStorage createAncientBlockchainStorage(
+      final BlockchainStorage blockchainStorage, final ProtocolSchedule protocolSchedule) {
+    if (!(blockchainStorage
+        instanceof KeyValueStoragePrefixedKeyBlockchainStorage keyValueBlockchainStorage)) {
+      throw new IllegalStateException(
+          "The ancient store is not supported by " + blockchainStorage.getClass().getSimpleName());
+    }
+    return new AncientBlockchainStorage(
+        keyValueBlockchainStorage,
+        AncientBlockStore.open(
+            dataDirectory.resolve(AncientBlockStore.DIRECTORY_NAME),
+            ancientStoreConfiguration.getMaxSegmentSize()),
+        ScheduleBasedBlockHeaderFunctions.create(protocolSchedule));
+  }
+
+  private AncientBlockMigrator createAncientBlockMigrator(
+      final AncientBlockchainStorage blockchainStorage) {
+    return new AncientBlockMigrator(
+        blockchainStorage,
+        ancientStoreConfiguration.getBlocksRetained(),
+        MonitoredExecutors.newBoundedThreadPool(
+            AncientBlockMigrator.class.getSimpleName(), 1, 1, metricsSystem));
   }
 
   /**
@@ -177,7 +177,8 @@ public class MergeBesuControllerBuilder extends BesuControllerBuilder {
         transactionPool.getPendingTransactions(),
         miningParameters,
         backwardSyncContext,
-        depositContractAddress);
+        depositContractAddress,
+        metricsSystem);
   }
 
   @Override
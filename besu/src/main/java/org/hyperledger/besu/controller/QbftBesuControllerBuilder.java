@@ -26,6 +26,7 @@ import org.hyperledger.besu.consensus.common.bft.BftContext;
 import org.hyperledger.besu.consensus.common.bft.BftEventQueue;
 import org.hyperledger.besu.consensus.common.bft.BftExecutors;
 import org.hyperledger.besu.consensus.common.bft.BftExtraDataCodec;
+import org.hyperledger.besu.consensus.common.bft.BftMessageAuthenticator;
 import org.hyperledger.besu.consensus.common.bft.BftProcessor;
 import org.hyperledger.besu.consensus.common.bft.BftProtocolSchedule;
 import org.hyperledger.besu.consensus.common.bft.BlockTimer;
@@ -51,6 +52,7 @@ import org.hyperledger.besu.consensus.qbft.QbftGossip;
 import org.hyperledger.besu.consensus.qbft.QbftProtocolScheduleBuilder;
 import org.hyperledger.besu.consensus.qbft.blockcreation.QbftBlockCreatorFactory;
 import org.hyperledger.besu.consensus.qbft.jsonrpc.QbftJsonRpcMethods;
+import org.hyperledger.besu.consensus.qbft.messagedata.QbftMessageDecoder;
 import org.hyperledger.besu.consensus.qbft.payload.MessageFactory;
 import org.hyperledger.besu.consensus.qbft.pki.PkiQbftExtraDataCodec;
 import org.hyperledger.besu.consensus.qbft.protocol.Istanbul100SubProtocol;
@@ -58,6 +60,7 @@ import org.hyperledger.besu.consensus.qbft.statemachine.QbftBlockHeightManagerFa
 import org.hyperledger.besu.consensus.qbft.statemachine.QbftController;
 import org.hyperledger.besu.consensus.qbft.statemachine.QbftRoundFactory;
 import org.hyperledger.besu.consensus.qbft.validation.MessageValidatorFactory;
+import org.hyperledger.besu.consensus.qbft.validation.ProposalExecutionCache;
 import org.hyperledger.besu.consensus.qbft.validator.ForkingValidatorProvider;
 import org.hyperledger.besu.consensus.qbft.validator.TransactionValidatorProvider;
 import org.hyperledger.besu.consensus.qbft.validator.ValidatorContractController;
@@ -100,6 +103,7 @@ public class QbftBesuControllerBuilder extends BftBesuControllerBuilder {
 
   private static final Logger LOG = LoggerFactory.getLogger(QbftBesuControllerBuilder.class);
   private BftEventQueue bftEventQueue;
+  private BftExecutors bftExecutors;
   private QbftConfigOptions qbftConfig;
   private ForksSchedule<QbftConfigOptions> qbftForksSchedule;
   private ValidatorPeers peers;
@@ -121,6 +125,7 @@ public class QbftBesuControllerBuilder extends BftBesuControllerBuilder {
   protected void prepForBuild() {
     qbftConfig = configOptionsSupplier.get().getQbftConfigOptions();
     bftEventQueue = new BftEventQueue(qbftConfig.getMessageQueueLimit());
+    bftExecutors = BftExecutors.create(metricsSystem, BftExecutors.ConsensusType.QBFT);
     qbftForksSchedule = QbftForksSchedulesFactory.create(configOptionsSupplier.get());
   }
 
@@ -160,7 +165,12 @@ public class QbftBesuControllerBuilder extends BftBesuControllerBuilder {
                     bftEventQueue,
                     peers,
                     Istanbul100SubProtocol.ISTANBUL_100,
-                    Istanbul100SubProtocol.get().getName()));
+                    Istanbul100SubProtocol.get().getName(),
+                    Optional.of(
+                        new BftMessageAuthenticator(
+                            bftExecutors,
+                            new QbftMessageDecoder(bftExtraDataCodec().get()),
+                            qbftConfig.getDuplicateMessageLimit()))));
     maybeSnapProtocolManager.ifPresent(
         snapProtocolManager -> {
           subProtocolConfiguration.withSubProtocol(SnapProtocol.get(), snapProtocolManager);
@@ -177,8 +187,6 @@ public class QbftBesuControllerBuilder extends BftBesuControllerBuilder {
       final SyncState syncState,
       final EthProtocolManager ethProtocolManager) {
     final MutableBlockchain blockchain = protocolContext.getBlockchain();
-    final BftExecutors bftExecutors =
-        BftExecutors.create(metricsSystem, BftExecutors.ConsensusType.QBFT);
 
     final Address localAddress = Util.publicKeyToAddress(nodeKey.getPublicKey());
     final BftProtocolSchedule bftProtocolSchedule = (BftProtocolSchedule) protocolSchedule;
@@ -219,9 +227,14 @@ public class QbftBesuControllerBuilder extends BftBesuControllerBuilder {
             blockCreatorFactory,
             clock);
 
+    final ProposalExecutionCache proposalExecutionCache = new ProposalExecutionCache();
     final MessageValidatorFactory messageValidatorFactory =
         new MessageValidatorFactory(
-            proposerSelector, bftProtocolSchedule, protocolContext, bftExtraDataCodec().get());
+            proposerSelector,
+            bftProtocolSchedule,
+            protocolContext,
+            bftExtraDataCodec().get(),
+            proposalExecutionCache);
 
     final Subscribers<MinedBlockObserver> minedBlockObservers = Subscribers.create();
     minedBlockObservers.subscribe(ethProtocolManager);
@@ -250,7 +263,8 @@ public class QbftBesuControllerBuilder extends BftBesuControllerBuilder {
                     minedBlockObservers,
                     messageValidatorFactory,
                     messageFactory,
-                    bftExtraDataCodec().get()),
+                    bftExtraDataCodec().get(),
+                    proposalExecutionCache),
                 messageValidatorFactory,
                 messageFactory,
                 new ValidatorModeTransitionLogger(qbftForksSchedule)),
@@ -5460,6 +5460,26 @@ public class BesuCommandTest extends CommandTestAbstract {
         .contains("--Xpos-block-creation-max-time must be positive and ≤ 12000");
   }
 
+  @Test
+  public void posBlockCreationPreEvaluationMaxCandidatesOption() {
+    parseCommand("--Xpos-block-creation-pre-evaluation-max-candidates", "0");
+    final ArgumentCaptor<MiningParameters> miningArg =
+        ArgumentCaptor.forClass(MiningParameters.class);
+
+    verify(mockControllerBuilder).miningParameters(miningArg.capture());
+    verify(mockControllerBuilder).build();
+
+    assertThat(commandErrorOutput.toString(UTF_8)).isEmpty();
+    assertThat(miningArg.getValue().getPosBlockCreationPreEvaluationMaxCandidates()).isZero();
+  }
+
+  @Test
+  public void posBlockCreationPreEvaluationMaxCandidatesMustNotBeNegative() {
+    parseCommand("--Xpos-block-creation-pre-evaluation-max-candidates", "-1");
+    assertThat(commandErrorOutput.toString(UTF_8))
+        .contains("--Xpos-block-creation-pre-evaluation-max-candidates must not be negative");
+  }
+
   @Test
   public void portInUseReportsError() throws IOException {
     final ServerSocket serverSocket = new ServerSocket(8545);
@@ -41,6 +41,8 @@ public class SynchronizerOptionsTest
         .fastSyncPivotDistance(SynchronizerConfiguration.DEFAULT_PIVOT_DISTANCE_FROM_HEAD + 10)
         .fastSyncFullValidationRate(SynchronizerConfiguration.DEFAULT_FULL_VALIDATION_RATE / 2)
         .fastSyncMinimumPeerCount(SynchronizerConfiguration.DEFAULT_FAST_SYNC_MINIMUM_PEERS + 2)
+        .fastSyncImportPipelineDepth(
+            SynchronizerConfiguration.DEFAULT_FAST_SYNC_IMPORT_PIPELINE_DEPTH + 2)
         .worldStateHashCountPerRequest(
             SynchronizerConfiguration.DEFAULT_WORLD_STATE_HASH_COUNT_PER_REQUEST + 2)
         .worldStateRequestParallelism(
@@ -50,6 +52,8 @@ public class SynchronizerOptionsTest
         .worldStateMinMillisBeforeStalling(
             SynchronizerConfiguration.DEFAULT_WORLD_STATE_MIN_MILLIS_BEFORE_STALLING * 2)
         .worldStateTaskCacheSize(SynchronizerConfiguration.DEFAULT_WORLD_STATE_TASK_CACHE_SIZE + 1)
+        .worldStateTaskSpillEnabled(
+            !SynchronizerConfiguration.DEFAULT_WORLD_STATE_TASK_SPILL_ENABLED)
         .blockPropagationRange(
             Range.closed(
                 SynchronizerConfiguration.DEFAULT_BLOCK_PROPAGATION_RANGE.lowerEndpoint() - 2,
@@ -65,6 +69,9 @@ public class SynchronizerOptionsTest
         .downloaderChainSegmentSize(
             SynchronizerConfiguration.DEFAULT_DOWNLOADER_CHAIN_SEGMENT_SIZE + 2)
         .downloaderParallelism(SynchronizerConfiguration.DEFAULT_DOWNLOADER_PARALLELISM + 2)
+        .downloaderAdaptiveParallelismEnabled(
+            !SynchronizerConfiguration.DEFAULT_DOWNLOADER_ADAPTIVE_PARALLELISM_ENABLED)
+        .ringBufferPipesEnabled(!SynchronizerConfiguration.DEFAULT_RING_BUFFER_PIPES_ENABLED)
         .transactionsParallelism(SynchronizerConfiguration.DEFAULT_TRANSACTIONS_PARALLELISM + 2)
         .computationParallelism(SynchronizerConfiguration.DEFAULT_COMPUTATION_PARALLELISM + 2)
         .snapSyncConfiguration(
@@ -78,6 +85,12 @@ public class SynchronizerOptionsTest
                 .storageCountPerRequest(SnapSyncConfiguration.DEFAULT_STORAGE_COUNT_PER_REQUEST + 2)
                 .bytecodeCountPerRequest(
                     SnapSyncConfiguration.DEFAULT_BYTECODE_COUNT_PER_REQUEST + 2)
+                .persistWorkerCount(SnapSyncConfiguration.DEFAULT_PERSIST_WORKER_COUNT + 2)
+                .persistBatchNodeCount(SnapSyncConfiguration.DEFAULT_PERSIST_BATCH_NODE_COUNT + 2)
+                .persistFlushIntervalMillis(
+                    SnapSyncConfiguration.DEFAULT_PERSIST_FLUSH_INTERVAL_MILLIS + 2)
+                .isAdaptiveRequestParallelismEnabled(
+                    !SnapSyncConfiguration.DEFAULT_IS_ADAPTIVE_REQUEST_PARALLELISM_ENABLED)
                 .build());
   }
 
@@ -44,12 +44,14 @@ public class BftEventQueue {
    * Put an Bft event onto the queue
    *
    * @param event Provided bft event
+   * @return true if the event was added, false if it was dropped as the queue is full
    */
-  public void add(final BftEvent event) {
+  public boolean add(final BftEvent event) {
     if (queue.size() > messageQueueLimit) {
       LOG.warn("Queue size exceeded trying to add new bft event {}", event);
+      return false;
     } else {
-      queue.add(event);
+      return queue.add(event);
     }
   }
 
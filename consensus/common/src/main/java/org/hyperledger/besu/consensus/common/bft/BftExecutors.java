@@ -52,12 +52,17 @@ public class BftExecutors {
 
   private static final Logger LOG = LoggerFactory.getLogger(BftExecutors.class);
 
+  // Leaves a core to the bft processor, which waits for the authentication of received messages
+  private static final int MESSAGE_AUTHENTICATION_THREADS =
+      Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1));
+
   private final Duration shutdownTimeout = Duration.ofSeconds(30);
   private final MetricsSystem metricsSystem;
   private final ConsensusType consensusType;
 
   private volatile ScheduledExecutorService timerExecutor;
   private volatile ExecutorService bftProcessorExecutor;
+  private volatile ExecutorService messageAuthenticationExecutor;
   private volatile State state = State.IDLE;
 
   private BftExecutors(final MetricsSystem metricsSystem, final ConsensusType consensusType) {
@@ -92,6 +97,12 @@ public class BftExecutors {
     timerExecutor =
         MonitoredExecutors.newScheduledThreadPool(
             "BftTimerExecutor-" + consensusType.name(), 1, metricsSystem);
+    messageAuthenticationExecutor =
+        MonitoredExecutors.newFixedThreadPool(
+            "BftMessageAuthentication-" + consensusType.name(),
+            MESSAGE_AUTHENTICATION_THREADS,
+            MESSAGE_AUTHENTICATION_THREADS,
+            metricsSystem);
   }
 
   /** Stop. */
@@ -104,6 +115,7 @@ public class BftExecutors {
     }
     timerExecutor.shutdownNow();
     bftProcessorExecutor.shutdownNow();
+    messageAuthenticationExecutor.shutdownNow();
   }
 
   /**
@@ -118,6 +130,12 @@ public class BftExecutors {
     if (!bftProcessorExecutor.awaitTermination(shutdownTimeout.getSeconds(), TimeUnit.SECONDS)) {
       LOG.error("{} bftProcessor executor did not shutdown cleanly.", getClass().getSimpleName());
     }
+    if (!messageAuthenticationExecutor.awaitTermination(
+        shutdownTimeout.getSeconds(), TimeUnit.SECONDS)) {
+      LOG.error(
+          "{} message authentication executor did not shutdown cleanly.",
+          getClass().getSimpleName());
+    }
   }
 
   /**
@@ -144,6 +162,21 @@ public class BftExecutors {
     return timerExecutor.schedule(command, delay, unit);
   }
 
+  /**
+   * Execute the authentication of a received message on the message authentication pool, so that
+   * messages are authenticated in parallel before the bft processor handles them.
+   *
+   * @param authentication the authentication of the message
+   * @return true if the authentication was submitted, false if the executors are not running
+   */
+  public synchronized boolean executeMessageAuthentication(final Runnable authentication) {
+    if (state != State.RUNNING) {
+      return false;
+    }
+    messageAuthenticationExecutor.execute(authentication);
+    return true;
+  }
+
   private void assertRunning() {
     if (state != State.RUNNING) {
       throw new IllegalStateException(
@@ -0,0 +1,97 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.consensus.common.bft;
+
+import org.hyperledger.besu.consensus.common.bft.messagewrappers.BftMessage;
+import org.hyperledger.besu.ethereum.p2p.rlpx.wire.MessageData;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Decodes received messages and recovers their authors on the message authentication pool of the
+ * {@link BftExecutors}, so that the signatures of the messages received in a round are recovered in
+ * parallel rather than one after the other on the bft processor thread.
+ *
+ * <p>Events are still queued in the order messages are received: the bft processor only waits for
+ * the authentication of a message when it handles it, by which time it has usually completed.
+ *
+ * <p>The same message is usually gossiped by several peers. Only its first copy is authenticated,
+ * the others are discarded by the bft processor without being decoded.
+ */
+public class BftMessageAuthenticator {
+
+  private final BftExecutors bftExecutors;
+  private final Function<MessageData, BftMessage<?>> messageDecoder;
+  private final MessageTracker authenticatedMessages;
+
+  /**
+   * Instantiates a new Bft message authenticator.
+   *
+   * @param bftExecutors the bft executors providing the message authentication pool
+   * @param messageDecoder the decoder of the messages of the bft protocol
+   * @param messageTrackingLimit the number of authenticated messages remembered to skip their
+   *     duplicates
+   */
+  public BftMessageAuthenticator(
+      final BftExecutors bftExecutors,
+      final Function<MessageData, BftMessage<?>> messageDecoder,
+      final int messageTrackingLimit) {
+    this.bftExecutors = bftExecutors;
+    this.messageDecoder = messageDecoder;
+    this.authenticatedMessages = new MessageTracker(messageTrackingLimit);
+  }
+
+  /**
+   * Whether the authentication of a message with the same data has already been started.
+   *
+   * @param messageData the data of the received message
+   * @return true if the message is a duplicate of a message being or already authenticated
+   */
+  public boolean isDuplicate(final MessageData messageData) {
+    return authenticatedMessages.hasSeenMessage(messageData);
+  }
+
+  /**
+   * Start the authentication of a received message. The authentication is completed with the
+   * decoded message, or exceptionally if the message cannot be decoded. It is cancelled if the bft
+   * executors are not running, leaving the message to be decoded when it is handled.
+   *
+   * @param messageData the data of the received message
+   * @param authentication the authentication to complete
+   */
+  public void authenticate(
+      final MessageData messageData, final CompletableFuture<BftMessage<?>> authentication) {
+    authenticatedMessages.addSeenMessage(messageData);
+    final boolean submitted =
+        bftExecutors.executeMessageAuthentication(
+            () -> {
+              try {
+                authentication.complete(authenticate(messageData));
+              } catch (final RuntimeException e) {
+                authentication.completeExceptionally(e);
+              }
+            });
+    if (!submitted) {
+      authentication.cancel(false);
+    }
+  }
+
+  private BftMessage<?> authenticate(final MessageData messageData) {
+    final BftMessage<?> bftMessage = messageDecoder.apply(messageData);
+    bftMessage.recoverAuthors();
+    return bftMessage;
+  }
+}
@@ -15,13 +15,14 @@
 package org.hyperledger.besu.consensus.common.bft;
 
 import static java.util.Collections.newSetFromMap;
+import static java.util.Collections.synchronizedSet;
 
 import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.ethereum.p2p.rlpx.wire.MessageData;
 
 import java.util.Set;
 
-/** The Message tracker. */
+/** The Message tracker, which can be used from several threads. */
 public class MessageTracker {
   private final Set<Hash> seenMessages;
 
@@ -31,7 +32,7 @@ public class MessageTracker {
    * @param messageTrackingLimit the message tracking limit
    */
   public MessageTracker(final int messageTrackingLimit) {
-    this.seenMessages = newSetFromMap(new SizeLimitedMap<>(messageTrackingLimit));
+    this.seenMessages = synchronizedSet(newSetFromMap(new SizeLimitedMap<>(messageTrackingLimit)));
   }
 
   /**
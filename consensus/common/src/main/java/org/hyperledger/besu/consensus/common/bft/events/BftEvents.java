@@ -14,8 +14,12 @@
  */
 package org.hyperledger.besu.consensus.common.bft.events;
 
+import org.hyperledger.besu.consensus.common.bft.messagewrappers.BftMessage;
 import org.hyperledger.besu.ethereum.p2p.rlpx.wire.Message;
 
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
 /** Static helper functions for producing and working with BftEvent objects */
 public class BftEvents {
   /**
@@ -28,6 +32,19 @@ public class BftEvents {
     return new BftReceivedMessageEvent(message);
   }
 
+  /**
+   * Instantiate BftEvent from a message being decoded and authenticated ahead of the event being
+   * handled.
+   *
+   * @param message the message
+   * @param authentication the future decoded message, whose authors have been recovered
+   * @return the bft event
+   */
+  public static BftEvent fromMessage(
+      final Message message, final CompletableFuture<BftMessage<?>> authentication) {
+    return new BftReceivedMessageEvent(message, Optional.of(authentication));
+  }
+
   /** The enum Type. */
   public enum Type {
     /** Round expiry type. */
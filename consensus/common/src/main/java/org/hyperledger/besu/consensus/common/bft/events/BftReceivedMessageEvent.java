@@ -14,12 +14,19 @@
  */
 package org.hyperledger.besu.consensus.common.bft.events;
 
+import org.hyperledger.besu.consensus.common.bft.messagewrappers.BftMessage;
 import org.hyperledger.besu.ethereum.p2p.rlpx.wire.Message;
 
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
 /** The Bft received message event. */
 public class BftReceivedMessageEvent implements BftEvent {
 
   private final Message message;
+  private final Optional<CompletableFuture<BftMessage<?>>> authentication;
 
   /**
    * Instantiates a new Bft received message event.
@@ -27,7 +34,20 @@ public class BftReceivedMessageEvent implements BftEvent {
    * @param message the message
    */
   public BftReceivedMessageEvent(final Message message) {
+    this(message, Optional.empty());
+  }
+
+  /**
+   * Instantiates a new Bft received message event, for a message being decoded and authenticated
+   * ahead of the event being handled.
+   *
+   * @param message the message
+   * @param authentication the future decoded message, whose authors have been recovered
+   */
+  public BftReceivedMessageEvent(
+      final Message message, final Optional<CompletableFuture<BftMessage<?>>> authentication) {
     this.message = message;
+    this.authentication = authentication;
   }
 
   /**
@@ -39,6 +59,27 @@ public class BftReceivedMessageEvent implements BftEvent {
     return message;
   }
 
+  /**
+   * Gets the message decoded and authenticated ahead of this event being handled, waiting for its
+   * authentication to complete if needed.
+   *
+   * @return the authenticated message, or empty if it was not authenticated ahead or could not be
+   *     decoded, in which case the message must be decoded by the caller
+   */
+  public Optional<BftMessage<?>> getAuthenticatedMessage() {
+    if (authentication.isEmpty()) {
+      return Optional.empty();
+    }
+    try {
+      return Optional.of(authentication.get().get());
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return Optional.empty();
+    } catch (final ExecutionException | CancellationException e) {
+      return Optional.empty();
+    }
+  }
+
   @Override
   public BftEvents.Type getType() {
     return BftEvents.Type.MESSAGE;
@@ -59,6 +59,14 @@ public class BftMessage<P extends Payload> implements Authored, RoundSpecific {
     return payload.getPayload().getRoundIdentifier();
   }
 
+  /**
+   * Recovers the author of this message, and of the signed payloads it embeds, so that they are
+   * memoised before the message is validated.
+   */
+  public void recoverAuthors() {
+    payload.getAuthor();
+  }
+
   /**
    * Encode.
    *
@@ -23,17 +23,23 @@ import org.hyperledger.besu.ethereum.rlp.RLPOutput;
 
 import java.util.Objects;
 import java.util.StringJoiner;
+import java.util.function.Supplier;
 
+import com.google.common.base.Suppliers;
 import org.apache.tuweni.bytes.Bytes;
 
 /**
  * The type Signed data.
  *
+ * <p>The author is recovered from the signature the first time it is requested, and memoised. This
+ * lets the costly recovery happen off the thread that decoded the data, and only once however many
+ * times the data is validated.
+ *
  * @param <M> the type parameter of Payload
  */
 public class SignedData<M extends Payload> implements Authored {
 
-  private final Address sender;
+  private final Supplier<Address> sender;
   private final SECPSignature signature;
   private final M unsignedPayload;
 
@@ -47,19 +53,23 @@ public class SignedData<M extends Payload> implements Authored {
    */
   public static <T extends Payload> SignedData<T> create(
       final T payload, final SECPSignature signature) {
-    final Hash msgHash = payload.hashForSignature();
-    return new SignedData<>(payload, Util.signatureToAddress(signature, msgHash), signature);
+    return new SignedData<>(payload, signature);
   }
 
-  private SignedData(final M unsignedPayload, final Address sender, final SECPSignature signature) {
+  private SignedData(final M unsignedPayload, final SECPSignature signature) {
     this.unsignedPayload = unsignedPayload;
-    this.sender = sender;
     this.signature = signature;
+    this.sender = Suppliers.memoize(this::recoverSender);
+  }
+
+  private Address recoverSender() {
+    final Hash msgHash = unsignedPayload.hashForSignature();
+    return Util.signatureToAddress(signature, msgHash);
   }
 
   @Override
   public Address getAuthor() {
-    return sender;
+    return sender.get();
   }
 
   /**
@@ -103,20 +113,20 @@ public class SignedData<M extends Payload> implements Authored {
       return false;
     }
     final SignedData<?> that = (SignedData<?>) o;
-    return Objects.equals(sender, that.sender)
-        && Objects.equals(signature, that.signature)
+    // the sender is derived from the signature and the payload
+    return Objects.equals(signature, that.signature)
         && Objects.equals(unsignedPayload, that.unsignedPayload);
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(sender, signature, unsignedPayload);
+    return Objects.hash(signature, unsignedPayload);
   }
 
   @Override
   public String toString() {
     return new StringJoiner(", ", SignedData.class.getSimpleName() + "[", "]")
-        .add("sender=" + sender)
+        .add("sender=" + getAuthor())
         .add("signature=" + signature)
         .add("unsignedPayload=" + unsignedPayload)
         .toString();
@@ -15,8 +15,10 @@
 package org.hyperledger.besu.consensus.common.bft.protocol;
 
 import org.hyperledger.besu.consensus.common.bft.BftEventQueue;
+import org.hyperledger.besu.consensus.common.bft.BftMessageAuthenticator;
 import org.hyperledger.besu.consensus.common.bft.events.BftEvent;
 import org.hyperledger.besu.consensus.common.bft.events.BftEvents;
+import org.hyperledger.besu.consensus.common.bft.messagewrappers.BftMessage;
 import org.hyperledger.besu.consensus.common.bft.network.PeerConnectionTracker;
 import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.ethereum.p2p.network.ProtocolManager;
@@ -29,6 +31,8 @@ import org.hyperledger.besu.ethereum.p2p.rlpx.wire.messages.DisconnectMessage.Di
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -41,6 +45,7 @@ public class BftProtocolManager implements ProtocolManager {
   private final PeerConnectionTracker peers;
   private final Capability supportedCapability;
   private final String subProtocolName;
+  private final Optional<BftMessageAuthenticator> messageAuthenticator;
 
   /**
    * Constructor for the ibft protocol manager
@@ -55,10 +60,29 @@ public class BftProtocolManager implements ProtocolManager {
       final PeerConnectionTracker peers,
       final Capability supportedCapability,
       final String subProtocolName) {
+    this(bftEventQueue, peers, supportedCapability, subProtocolName, Optional.empty());
+  }
+
+  /**
+   * Constructor for a bft protocol manager authenticating received messages before they are queued
+   *
+   * @param bftEventQueue Entry point into the bft event processor
+   * @param peers Used to track all connected BFT peers.
+   * @param supportedCapability The capability offered by this protocol manager
+   * @param subProtocolName The name of the protocol being supported
+   * @param messageAuthenticator Authenticates received messages ahead of the bft event processor
+   */
+  public BftProtocolManager(
+      final BftEventQueue bftEventQueue,
+      final PeerConnectionTracker peers,
+      final Capability supportedCapability,
+      final String subProtocolName,
+      final Optional<BftMessageAuthenticator> messageAuthenticator) {
     this.bftEventQueue = bftEventQueue;
     this.peers = peers;
     this.supportedCapability = supportedCapability;
     this.subProtocolName = subProtocolName;
+    this.messageAuthenticator = messageAuthenticator;
   }
 
   @Override
@@ -99,8 +123,17 @@ public class BftProtocolManager implements ProtocolManager {
     final Address address = message.getConnection().getPeerInfo().getAddress();
     LOG.trace("Process message {}, {}, from = {}", cap, code, address);
 
-    final BftEvent messageEvent = BftEvents.fromMessage(message);
-    bftEventQueue.add(messageEvent);
+    // duplicates are discarded by the bft processor, there is no point authenticating them
+    if (messageAuthenticator.isPresent() && !messageAuthenticator.get().isDuplicate(messageData)) {
+      final CompletableFuture<BftMessage<?>> authentication = new CompletableFuture<>();
+      // only authenticate the messages accepted by the queue, so that its limit bounds the work
+      if (bftEventQueue.add(BftEvents.fromMessage(message, authentication))) {
+        messageAuthenticator.get().authenticate(messageData, authentication);
+      }
+    } else {
+      final BftEvent messageEvent = BftEvents.fromMessage(message);
+      bftEventQueue.add(messageEvent);
+    }
   }
 
   @Override
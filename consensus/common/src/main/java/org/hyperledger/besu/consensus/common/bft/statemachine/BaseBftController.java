@@ -29,6 +29,7 @@ import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.p2p.rlpx.wire.Message;
 import org.hyperledger.besu.ethereum.p2p.rlpx.wire.MessageData;
 
+import java.util.Optional;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 
@@ -85,7 +86,7 @@ public abstract class BaseBftController implements BftEventHandler {
     final MessageData data = msg.getMessage().getData();
     if (!duplicateMessageTracker.hasSeenMessage(data)) {
       duplicateMessageTracker.addSeenMessage(data);
-      handleMessage(msg.getMessage());
+      handleMessage(msg.getMessage(), msg.getAuthenticatedMessage());
     } else {
       LOG.trace("Discarded duplicate message");
     }
@@ -98,6 +99,18 @@ public abstract class BaseBftController implements BftEventHandler {
    */
   protected abstract void handleMessage(final Message message);
 
+  /**
+   * Handle a message which may have been decoded and authenticated before being handled. By default
+   * the authenticated message is ignored, and the message decoded again.
+   *
+   * @param message the message
+   * @param authenticatedMessage the decoded message, if it was authenticated ahead
+   */
+  protected void handleMessage(
+      final Message message, final Optional<BftMessage<?>> authenticatedMessage) {
+    handleMessage(message);
+  }
+
   /**
    * Consume message.
    *
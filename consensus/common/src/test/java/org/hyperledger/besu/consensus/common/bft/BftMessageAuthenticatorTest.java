@@ -0,0 +1,183 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.consensus.common.bft;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.consensus.common.bft.events.BftReceivedMessageEvent;
+import org.hyperledger.besu.consensus.common.bft.messagewrappers.BftMessage;
+import org.hyperledger.besu.consensus.common.bft.network.PeerConnectionTracker;
+import org.hyperledger.besu.consensus.common.bft.protocol.BftProtocolManager;
+import org.hyperledger.besu.ethereum.p2p.rlpx.connections.PeerConnection;
+import org.hyperledger.besu.ethereum.p2p.rlpx.wire.Capability;
+import org.hyperledger.besu.ethereum.p2p.rlpx.wire.DefaultMessage;
+import org.hyperledger.besu.ethereum.p2p.rlpx.wire.Message;
+import org.hyperledger.besu.ethereum.p2p.rlpx.wire.MessageData;
+import org.hyperledger.besu.ethereum.p2p.rlpx.wire.PeerInfo;
+import org.hyperledger.besu.ethereum.p2p.rlpx.wire.RawMessage;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.After;
+import org.junit.Test;
+
+public class BftMessageAuthenticatorTest {
+
+  private static final int MESSAGE_TRACKING_LIMIT = 100;
+
+  private final BftExecutors bftExecutors =
+      BftExecutors.create(new NoOpMetricsSystem(), BftExecutors.ConsensusType.QBFT);
+  private final MessageData messageData = new RawMessage(0x12, Bytes.EMPTY);
+
+  @After
+  public void stopExecutors() {
+    bftExecutors.stop();
+  }
+
+  @Test
+  public void messageIsDecodedAndItsAuthorsRecoveredBeforeBeingHandled() {
+    final BftMessage<?> bftMessage = mock(BftMessage.class);
+    bftExecutors.start();
+    final BftMessageAuthenticator authenticator =
+        new BftMessageAuthenticator(bftExecutors, data -> bftMessage, MESSAGE_TRACKING_LIMIT);
+    final CompletableFuture<BftMessage<?>> authentication = new CompletableFuture<>();
+
+    authenticator.authenticate(messageData, authentication);
+
+    assertThat(authentication.join()).isEqualTo(bftMessage);
+    verify(bftMessage).recoverAuthors();
+  }
+
+  @Test
+  public void messageIsNotAuthenticatedBeforeExecutorsAreStarted() {
+    @SuppressWarnings("unchecked")
+    final Function<MessageData, BftMessage<?>> decoder = mock(Function.class);
+    final BftMessageAuthenticator authenticator =
+        new BftMessageAuthenticator(bftExecutors, decoder, MESSAGE_TRACKING_LIMIT);
+    final CompletableFuture<BftMessage<?>> authentication = new CompletableFuture<>();
+
+    authenticator.authenticate(messageData, authentication);
+
+    assertThat(authentication).isCancelled();
+    verifyNoInteractions(decoder);
+  }
+
+  @Test
+  public void messageWhichCannotBeDecodedIsLeftToBeDecodedWhenHandled() {
+    bftExecutors.start();
+    final BftMessageAuthenticator authenticator =
+        new BftMessageAuthenticator(
+            bftExecutors,
+            data -> {
+              throw new IllegalArgumentException("Invalid message");
+            },
+            MESSAGE_TRACKING_LIMIT);
+    final Message message = new DefaultMessage(null, messageData);
+    final CompletableFuture<BftMessage<?>> authentication = new CompletableFuture<>();
+    final BftReceivedMessageEvent event =
+        new BftReceivedMessageEvent(message, Optional.of(authentication));
+
+    authenticator.authenticate(messageData, authentication);
+
+    assertThat(event.getAuthenticatedMessage()).isEmpty();
+    assertThat(authentication).isCompletedExceptionally();
+  }
+
+  @Test
+  public void duplicateMessagesAreQueuedWithoutBeingAuthenticated() throws InterruptedException {
+    final AtomicInteger decodedMessages = new AtomicInteger();
+    bftExecutors.start();
+    final BftMessageAuthenticator authenticator =
+        new BftMessageAuthenticator(
+            bftExecutors,
+            data -> {
+              decodedMessages.incrementAndGet();
+              return mock(BftMessage.class);
+            },
+            MESSAGE_TRACKING_LIMIT);
+    final BftEventQueue queue = new BftEventQueue(10);
+    final BftProtocolManager protocolManager =
+        new BftProtocolManager(
+            queue,
+            mock(PeerConnectionTracker.class),
+            Capability.create("IST", 100),
+            "IST",
+            Optional.of(authenticator));
+    final PeerConnection connection = mock(PeerConnection.class);
+    final PeerInfo peerInfo = mock(PeerInfo.class);
+    when(connection.getPeerInfo()).thenReturn(peerInfo);
+
+    for (int i = 0; i < 3; i++) {
+      protocolManager.processMessage(
+          Capability.create("IST", 100), new DefaultMessage(connection, messageData));
+    }
+
+    assertThat(queue.size()).isEqualTo(3);
+    final BftReceivedMessageEvent first =
+        (BftReceivedMessageEvent) queue.poll(0, TimeUnit.MILLISECONDS);
+    assertThat(first.getAuthenticatedMessage()).isPresent();
+    final BftReceivedMessageEvent duplicate =
+        (BftReceivedMessageEvent) queue.poll(0, TimeUnit.MILLISECONDS);
+    assertThat(duplicate.getAuthenticatedMessage()).isEmpty();
+    assertThat(decodedMessages).hasValue(1);
+  }
+
+  @Test
+  public void messagesDroppedByTheEventQueueAreNotAuthenticated() throws InterruptedException {
+    final AtomicInteger decodedMessages = new AtomicInteger();
+    bftExecutors.start();
+    final BftMessageAuthenticator authenticator =
+        new BftMessageAuthenticator(
+            bftExecutors,
+            data -> {
+              decodedMessages.incrementAndGet();
+              return mock(BftMessage.class);
+            },
+            MESSAGE_TRACKING_LIMIT);
+    // a queue with a limit of 0 accepts a single event
+    final BftEventQueue queue = new BftEventQueue(0);
+    final BftProtocolManager protocolManager =
+        new BftProtocolManager(
+            queue,
+            mock(PeerConnectionTracker.class),
+            Capability.create("IST", 100),
+            "IST",
+            Optional.of(authenticator));
+    final PeerConnection connection = mock(PeerConnection.class);
+    final PeerInfo peerInfo = mock(PeerInfo.class);
+    when(connection.getPeerInfo()).thenReturn(peerInfo);
+
+    for (int i = 0; i < 10; i++) {
+      protocolManager.processMessage(
+          Capability.create("IST", 100), new DefaultMessage(connection, messageData));
+    }
+
+    assertThat(queue.size()).isEqualTo(1);
+    final BftReceivedMessageEvent event =
+        (BftReceivedMessageEvent) queue.poll(0, TimeUnit.MILLISECONDS);
+    assertThat(event.getAuthenticatedMessage()).isPresent();
+    assertThat(decodedMessages).hasValue(1);
+  }
+}
@@ -18,6 +18,7 @@ import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.datatypes.Wei;
 import org.hyperledger.besu.ethereum.ProtocolContext;
 import org.hyperledger.besu.ethereum.blockcreation.AbstractBlockCreator;
+import org.hyperledger.besu.ethereum.blockcreation.TransactionPreEvaluator;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.core.BlockHeaderBuilder;
 import org.hyperledger.besu.ethereum.core.Difficulty;
@@ -45,6 +46,8 @@ class MergeBlockCreator extends AbstractBlockCreator {
    */
   private static final double TRY_FILL_BLOCK = 1.0;
 
+  private final Optional<TransactionPreEvaluator> transactionPreEvaluator;
+
   /**
    * Instantiates a new Merge block creator.
    *
@@ -57,6 +60,8 @@ class MergeBlockCreator extends AbstractBlockCreator {
    * @param minTransactionGasPrice the min transaction gas price
    * @param miningBeneficiary the mining beneficiary
    * @param parentHeader the parent header
+   * @param depositContractAddress the deposit contract address
+   * @param transactionPreEvaluator the pre-evaluator of the pending transactions
    */
   public MergeBlockCreator(
       final Address coinbase,
@@ -68,7 +73,8 @@ class MergeBlockCreator extends AbstractBlockCreator {
       final Wei minTransactionGasPrice,
       final Address miningBeneficiary,
       final BlockHeader parentHeader,
-      final Optional<Address> depositContractAddress) {
+      final Optional<Address> depositContractAddress,
+      final Optional<TransactionPreEvaluator> transactionPreEvaluator) {
     super(
         miningBeneficiary,
         __ -> miningBeneficiary,
@@ -81,11 +87,22 @@ class MergeBlockCreator extends AbstractBlockCreator {
         TRY_FILL_BLOCK,
         parentHeader,
         depositContractAddress);
+    this.transactionPreEvaluator = transactionPreEvaluator;
+  }
+
+  @Override
+  protected Optional<TransactionPreEvaluator> getTransactionPreEvaluator() {
+    return transactionPreEvaluator;
   }
 
   /**
    * Create block and return block creation result.
    *
+   * <p>When no transactions are provided, they are selected from the pending transactions
+   * incrementally, so repeated calls with the same random and timestamp only evaluate the pending
+   * transactions that were not selected yet. The selection is kept until {@link
+   * #releaseIncrementalSelection()} is called.
+   *
    * @param maybeTransactions the maybe transactions
    * @param random the random
    * @param timestamp the timestamp
@@ -98,6 +115,14 @@ class MergeBlockCreator extends AbstractBlockCreator {
       final long timestamp,
       final Optional<List<Withdrawal>> withdrawals) {
 
+    if (maybeTransactions.isEmpty()) {
+      return createBlockIncrementally(
+          Optional.of(Collections.emptyList()),
+          withdrawals,
+          Optional.of(random),
+          timestamp,
+          false);
+    }
     return createBlock(
         maybeTransactions,
         Optional.of(Collections.emptyList()),
@@ -22,9 +22,11 @@ import org.hyperledger.besu.consensus.merge.MergeContext;
 import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.BlockProcessingOutputs;
 import org.hyperledger.besu.ethereum.BlockProcessingResult;
 import org.hyperledger.besu.ethereum.ProtocolContext;
 import org.hyperledger.besu.ethereum.blockcreation.BlockCreator.BlockCreationResult;
+import org.hyperledger.besu.ethereum.blockcreation.TransactionPreEvaluator;
 import org.hyperledger.besu.ethereum.chain.BadBlockManager;
 import org.hyperledger.besu.ethereum.chain.Blockchain;
 import org.hyperledger.besu.ethereum.chain.MutableBlockchain;
@@ -35,6 +37,7 @@ import org.hyperledger.besu.ethereum.core.Difficulty;
 import org.hyperledger.besu.ethereum.core.MiningParameters;
 import org.hyperledger.besu.ethereum.core.MutableWorldState;
 import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.core.TransactionReceipt;
 import org.hyperledger.besu.ethereum.core.Withdrawal;
 import org.hyperledger.besu.ethereum.eth.sync.backwardsync.BackwardSyncContext;
 import org.hyperledger.besu.ethereum.eth.sync.backwardsync.BadChainListener;
@@ -43,7 +46,11 @@ import org.hyperledger.besu.ethereum.mainnet.AbstractGasLimitSpecification;
 import org.hyperledger.besu.ethereum.mainnet.HeaderValidationMode;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
 import org.hyperledger.besu.ethereum.trie.MerkleTrieException;
+import org.hyperledger.besu.metrics.BesuMetricCategory;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
 import org.hyperledger.besu.plugin.services.exception.StorageException;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.metrics.OperationTimer;
 
 import java.io.PrintWriter;
 import java.io.StringWriter;
@@ -56,11 +63,14 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Supplier;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import org.slf4j.Logger;
@@ -69,6 +79,8 @@ import org.slf4j.LoggerFactory;
 /** The Merge coordinator. */
 public class MergeCoordinator implements MergeMiningCoordinator, BadChainListener {
   private static final Logger LOG = LoggerFactory.getLogger(MergeCoordinator.class);
+  // enough for all the proposals built for the payloads of a few slots
+  private static final int MAX_PROPOSED_BLOCK_RESULTS = 64;
 
   /** The Target gas limit. */
   protected final AtomicLong targetGasLimit;
@@ -94,6 +106,11 @@ public class MergeCoordinator implements MergeMiningCoordinator, BadChainListene
 
   private final Map<PayloadIdentifier, BlockCreationTask> blockCreationTasks =
       new ConcurrentHashMap<>();
+  private final BlockCreationMetrics blockCreationMetrics;
+  private final Optional<TransactionPreEvaluator> transactionPreEvaluator;
+  // execution results of the blocks we proposed, to import them without executing them again
+  private final Cache<Hash, ProposedBlockResult> proposedBlockResults =
+      CacheBuilder.newBuilder().maximumSize(MAX_PROPOSED_BLOCK_RESULTS).build();
 
   /**
    * Instantiates a new Merge coordinator.
@@ -105,6 +122,7 @@ public class MergeCoordinator implements MergeMiningCoordinator, BadChainListene
    * @param miningParams the mining params
    * @param backwardSyncContext the backward sync context
    * @param depositContractAddress the address of the deposit contract
+   * @param metricsSystem the metrics system
    */
   public MergeCoordinator(
       final ProtocolContext protocolContext,
@@ -113,7 +131,8 @@ public class MergeCoordinator implements MergeMiningCoordinator, BadChainListene
       final PendingTransactions pendingTransactions,
       final MiningParameters miningParams,
       final BackwardSyncContext backwardSyncContext,
-      final Optional<Address> depositContractAddress) {
+      final Optional<Address> depositContractAddress,
+      final MetricsSystem metricsSystem) {
     this.protocolContext = protocolContext;
     this.protocolSchedule = protocolSchedule;
     this.blockBuilderExecutor = blockBuilderExecutor;
@@ -127,6 +146,16 @@ public class MergeCoordinator implements MergeMiningCoordinator, BadChainListene
             .orElse(new AtomicLong(30000000L));
     this.extraData.set(miningParams.getExtraData());
 
+    final int preEvaluationMaxCandidates =
+        miningParams.getPosBlockCreationPreEvaluationMaxCandidates();
+    this.transactionPreEvaluator =
+        preEvaluationMaxCandidates > 0
+            ? Optional.of(
+                new TransactionPreEvaluator(
+                    TransactionPreEvaluator.DEFAULT_PARALLELISM,
+                    preEvaluationMaxCandidates,
+                    metricsSystem))
+            : Optional.empty();
     this.mergeBlockCreatorFactory =
         (parentHeader, address) ->
             new MergeBlockCreator(
@@ -139,7 +168,9 @@ public class MergeCoordinator implements MergeMiningCoordinator, BadChainListene
                 this.miningParameters.getMinTransactionGasPrice(),
                 address.or(miningParameters::getCoinbase).orElse(Address.ZERO),
                 parentHeader,
-                depositContractAddress);
+                depositContractAddress,
+                transactionPreEvaluator);
+    this.blockCreationMetrics = new BlockCreationMetrics(metricsSystem);
 
     this.backwardSyncContext.subscribeBadChainListener(this);
   }
@@ -153,6 +184,7 @@ public class MergeCoordinator implements MergeMiningCoordinator, BadChainListene
    * @param miningParams the mining params
    * @param backwardSyncContext the backward sync context
    * @param mergeBlockCreatorFactory the merge block creator factory
+   * @param metricsSystem the metrics system
    */
   public MergeCoordinator(
       final ProtocolContext protocolContext,
@@ -160,7 +192,8 @@ public class MergeCoordinator implements MergeMiningCoordinator, BadChainListene
       final ProposalBuilderExecutor blockBuilderExecutor,
       final MiningParameters miningParams,
       final BackwardSyncContext backwardSyncContext,
-      final MergeBlockCreatorFactory mergeBlockCreatorFactory) {
+      final MergeBlockCreatorFactory mergeBlockCreatorFactory,
+      final MetricsSystem metricsSystem) {
 
     this.protocolContext = protocolContext;
     this.protocolSchedule = protocolSchedule;
@@ -175,6 +208,8 @@ public class MergeCoordinator implements MergeMiningCoordinator, BadChainListene
             .orElse(new AtomicLong(30000000L));
 
     this.mergeBlockCreatorFactory = mergeBlockCreatorFactory;
+    this.transactionPreEvaluator = Optional.empty();
+    this.blockCreationMetrics = new BlockCreationMetrics(metricsSystem);
 
     this.backwardSyncContext.subscribeBadChainListener(this);
   }
@@ -183,10 +218,16 @@ public class MergeCoordinator implements MergeMiningCoordinator, BadChainListene
   public void start() {}
 
   @Override
-  public void stop() {}
+  public void stop() {
+    transactionPreEvaluator.ifPresent(TransactionPreEvaluator::stop);
+  }
 
   @Override
-  public void awaitStop() throws InterruptedException {}
+  public void awaitStop() throws InterruptedException {
+    if (transactionPreEvaluator.isPresent()) {
+      transactionPreEvaluator.get().awaitStop();
+    }
+  }
 
   @Override
   public boolean enable() {
@@ -268,7 +309,10 @@ public class MergeCoordinator implements MergeMiningCoordinator, BadChainListene
     final MergeBlockCreator mergeBlockCreator =
         this.mergeBlockCreatorFactory.forParams(parentHeader, Optional.ofNullable(feeRecipient));
 
-    blockCreationTasks.put(payloadIdentifier, new BlockCreationTask(mergeBlockCreator));
+    blockCreationTasks.put(
+        payloadIdentifier,
+        new BlockCreationTask(
+            mergeBlockCreator, blockCreationMetrics.timeToFirstValidPayload.startTimer()));
 
     // put the empty block in first
     final Block emptyBlock =
@@ -336,8 +380,22 @@ public class MergeCoordinator implements MergeMiningCoordinator, BadChainListene
       final MergeBlockCreator mergeBlockCreator,
       final Optional<List<Withdrawal>> withdrawals) {
 
+    // the creator keeps the transactions selected by each attempt, and the next attempts only
+    // evaluate the pending transactions that are not part of the selection yet
+    final AtomicInteger evaluatedTransactions = new AtomicInteger();
     final Supplier<BlockCreationResult> blockCreator =
-        () -> mergeBlockCreator.createBlock(Optional.empty(), random, timestamp, withdrawals);
+        () -> {
+          blockCreationMetrics.attempts.inc();
+          final BlockCreationResult result =
+              mergeBlockCreator.createBlock(Optional.empty(), random, timestamp, withdrawals);
+          final int evaluated =
+              result.getTransactionSelectionResults().getEvaluatedTransactionsCount();
+          final int previouslyEvaluated = evaluatedTransactions.getAndSet(evaluated);
+          // a lower count means that the selection has been started over
+          blockCreationMetrics.evaluatedTransactions.inc(
+              evaluated >= previouslyEvaluated ? evaluated - previouslyEvaluated : evaluated);
+          return result;
+        };
 
     LOG.debug(
         "Block creation started for payload id {}, remaining time is {}ms",
@@ -345,7 +403,14 @@ public class MergeCoordinator implements MergeMiningCoordinator, BadChainListene
         miningParameters.getPosBlockCreationMaxTime());
 
     blockBuilderExecutor
-        .buildProposal(() -> retryBlockCreationUntilUseful(payloadIdentifier, blockCreator))
+        .buildProposal(
+            () -> {
+              try {
+                retryBlockCreationUntilUseful(payloadIdentifier, blockCreator);
+              } finally {
+                mergeBlockCreator.releaseIncrementalSelection();
+              }
+            })
         .orTimeout(miningParameters.getPosBlockCreationMaxTime(), TimeUnit.MILLISECONDS)
         .whenComplete(
             (unused, throwable) -> {
@@ -426,6 +491,8 @@ public class MergeCoordinator implements MergeMiningCoordinator, BadChainListene
 
       mergeContext.putPayloadById(
           payloadIdentifier, new BlockWithReceipts(bestBlock, resultBest.getReceipts()));
+      Optional.ofNullable(blockCreationTasks.get(payloadIdentifier))
+          .ifPresent(BlockCreationTask::onValidPayload);
       LOG.atDebug()
           .setMessage(
               "Successfully built block {} for proposal identified by {}, with {} transactions, in {}ms")
@@ -510,6 +577,16 @@ public class MergeCoordinator implements MergeMiningCoordinator, BadChainListene
 
   @Override
   public BlockProcessingResult validateBlock(final Block block) {
+    final Optional<BlockProcessingResult> maybeProposedBlockResult =
+        getProposedBlockResult(block);
+    if (maybeProposedBlockResult.isPresent()) {
+      LOG.atDebug()
+          .setMessage("Reusing the execution result of proposed block {}")
+          .addArgument(block::toLogString)
+          .log();
+      return maybeProposedBlockResult.get();
+    }
+
     final var validationResult =
         protocolSchedule
             .getByBlockHeader(block.getHeader())
@@ -537,9 +614,34 @@ public class MergeCoordinator implements MergeMiningCoordinator, BadChainListene
                 false,
                 false);
 
+    if (validationResult.isSuccessful()) {
+      // executing the block has stored its trie log, only the receipts need to be kept: keeping
+      // the world state of the result would pin its layers in memory
+      validationResult
+          .getYield()
+          .map(BlockProcessingOutputs::getReceipts)
+          .ifPresent(
+              receipts ->
+                  proposedBlockResults.put(
+                      block.getHash(), new ProposedBlockResult(block, receipts)));
+    }
     return validationResult;
   }
 
+  /**
+   * Returns the result of the validation of a block we proposed, if the given block is one of them.
+   * The header has been fully validated and the block executed on top of its parent when it was
+   * proposed, and the block hash covers the header, so only the body is left to be compared.
+   */
+  private Optional<BlockProcessingResult> getProposedBlockResult(final Block block) {
+    return Optional.ofNullable(proposedBlockResults.getIfPresent(block.getHash()))
+        .filter(proposed -> proposed.block().getBody().equals(block.getBody()))
+        .map(
+            proposed ->
+                new BlockProcessingResult(
+                    Optional.of(new BlockProcessingOutputs(null, proposed.receipts()))));
+  }
+
   @Override
   public BlockProcessingResult rememberBlock(final Block block) {
     LOG.atDebug().setMessage("Remember block {}").addArgument(block::toLogString).log();
@@ -944,15 +1046,30 @@ public class MergeCoordinator implements MergeMiningCoordinator, BadChainListene
     final MergeBlockCreator blockCreator;
     /** The Cancelled. */
     final AtomicBoolean cancelled;
+    /** Measures the time until the first valid payload is built. */
+    final OperationTimer.TimingContext firstValidPayloadTimer;
+
+    final AtomicBoolean hasValidPayload = new AtomicBoolean(false);
 
     /**
      * Instantiates a new Block creation task.
      *
      * @param blockCreator the block creator
+     * @param firstValidPayloadTimer the timer started when the task is created
      */
-    public BlockCreationTask(final MergeBlockCreator blockCreator) {
+    public BlockCreationTask(
+        final MergeBlockCreator blockCreator,
+        final OperationTimer.TimingContext firstValidPayloadTimer) {
       this.blockCreator = blockCreator;
       this.cancelled = new AtomicBoolean(false);
+      this.firstValidPayloadTimer = firstValidPayloadTimer;
+    }
+
+    /** Records that a valid payload has been built. */
+    public void onValidPayload() {
+      if (hasValidPayload.compareAndSet(false, true)) {
+        firstValidPayloadTimer.stopTimer();
+      }
     }
 
     /** Cancel. */
@@ -962,6 +1079,32 @@ public class MergeCoordinator implements MergeMiningCoordinator, BadChainListene
     }
   }
 
+  private record ProposedBlockResult(Block block, List<TransactionReceipt> receipts) {}
+
+  private static class BlockCreationMetrics {
+    private final Counter attempts;
+    private final Counter evaluatedTransactions;
+    private final OperationTimer timeToFirstValidPayload;
+
+    private BlockCreationMetrics(final MetricsSystem metricsSystem) {
+      attempts =
+          metricsSystem.createCounter(
+              BesuMetricCategory.BLOCKCHAIN,
+              "pos_block_creation_attempts_total",
+              "Total number of attempts to build a better block for a payload");
+      evaluatedTransactions =
+          metricsSystem.createCounter(
+              BesuMetricCategory.BLOCKCHAIN,
+              "pos_block_creation_evaluated_transactions_total",
+              "Total number of pending transactions evaluated by the block creation attempts");
+      timeToFirstValidPayload =
+          metricsSystem.createTimer(
+              BesuMetricCategory.BLOCKCHAIN,
+              "pos_block_creation_first_valid_payload_seconds",
+              "Time from the payload preparation to the first valid block built for it");
+    }
+  }
+
   /** The interface Proposal builder executor. */
   public interface ProposalBuilderExecutor {
     /**
@@ -23,6 +23,7 @@ import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.atLeast;
 import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.clearInvocations;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doCallRealMethod;
 import static org.mockito.Mockito.doReturn;
@@ -44,6 +45,7 @@ import org.hyperledger.besu.crypto.SignatureAlgorithmFactory;
 import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.BlockProcessingResult;
 import org.hyperledger.besu.ethereum.ProtocolContext;
 import org.hyperledger.besu.ethereum.chain.BadBlockManager;
 import org.hyperledger.besu.ethereum.chain.BlockAddedEvent;
@@ -210,7 +212,8 @@ public class MergeCoordinatorTest implements MergeGenesisConfigHelper {
             transactions,
             miningParameters,
             backwardSyncContext,
-            Optional.empty());
+            Optional.empty(),
+            metricsSystem);
   }
 
   @Test
@@ -260,6 +263,7 @@ public class MergeCoordinatorTest implements MergeGenesisConfigHelper {
                       this.miningParameters.getMinTransactionGasPrice(),
                       address.or(miningParameters::getCoinbase).orElse(Address.ZERO),
                       parentHeader,
+                      Optional.empty(),
                       Optional.empty()));
 
           doCallRealMethod()
@@ -279,7 +283,8 @@ public class MergeCoordinatorTest implements MergeGenesisConfigHelper {
                 proposalBuilderExecutor,
                 miningParameters,
                 backwardSyncContext,
-                mergeBlockCreatorFactory));
+                mergeBlockCreatorFactory,
+                metricsSystem));
 
     final AtomicLong retries = new AtomicLong(0);
     doAnswer(
@@ -384,6 +389,96 @@ public class MergeCoordinatorTest implements MergeGenesisConfigHelper {
     }
   }
 
+  @Test
+  public void betterBlocksShouldOnlyEvaluateNewTransactions()
+      throws InterruptedException, ExecutionException {
+    final AtomicLong retries = new AtomicLong(0);
+    doAnswer(
+            invocation -> {
+              if (retries.getAndIncrement() < 5) {
+                // a new transaction every time a block is built
+                transactions.addLocalTransaction(
+                    createTransaction(retries.get() - 1), Optional.empty());
+              } else {
+                coordinator.finalizeProposalById(
+                    invocation.getArgument(0, PayloadIdentifier.class));
+              }
+              return null;
+            })
+        .when(mergeContext)
+        .putPayloadById(any(), any());
+
+    var payloadId =
+        coordinator.preparePayload(
+            genesisState.getBlock().getHeader(),
+            System.currentTimeMillis() / 1000,
+            Bytes32.ZERO,
+            suggestedFeeRecipient,
+            Optional.empty());
+
+    blockCreationTask.get();
+
+    ArgumentCaptor<BlockWithReceipts> blockWithReceipts =
+        ArgumentCaptor.forClass(BlockWithReceipts.class);
+    verify(mergeContext, times(6)).putPayloadById(eq(payloadId), blockWithReceipts.capture());
+    assertThat(blockWithReceipts.getValue().getBlock().getBody().getTransactions()).hasSize(5);
+
+    // one attempt per new transaction, and each transaction is evaluated only once
+    assertThat(metricsSystem.getCounterValue("pos_block_creation_attempts_total")).isEqualTo(5);
+    assertThat(metricsSystem.getCounterValue("pos_block_creation_evaluated_transactions_total"))
+        .isEqualTo(5);
+  }
+
+  @Test
+  public void proposedBlockShouldBeRememberedWithoutExecutingItAgain()
+      throws InterruptedException, ExecutionException {
+    doAnswer(
+            invocation -> {
+              if (!invocation
+                  .getArgument(1, BlockWithReceipts.class)
+                  .getBlock()
+                  .getBody()
+                  .getTransactions()
+                  .isEmpty()) {
+                coordinator.finalizeProposalById(
+                    invocation.getArgument(0, PayloadIdentifier.class));
+              }
+              return null;
+            })
+        .when(mergeContext)
+        .putPayloadById(any(), any());
+
+    transactions.addLocalTransaction(createTransaction(0), Optional.empty());
+
+    var payloadId =
+        coordinator.preparePayload(
+            genesisState.getBlock().getHeader(),
+            System.currentTimeMillis() / 1000,
+            Bytes32.ZERO,
+            suggestedFeeRecipient,
+            Optional.empty());
+
+    blockCreationTask.get();
+
+    ArgumentCaptor<BlockWithReceipts> blockWithReceipts =
+        ArgumentCaptor.forClass(BlockWithReceipts.class);
+    verify(mergeContext, times(2)).putPayloadById(eq(payloadId), blockWithReceipts.capture());
+    final BlockWithReceipts proposed = blockWithReceipts.getValue();
+
+    clearInvocations(protocolSchedule);
+    final BlockProcessingResult result = coordinator.rememberBlock(proposed.getBlock());
+
+    assertThat(result.isSuccessful()).isTrue();
+    assertThat(result.getReceipts()).isEqualTo(proposed.getReceipts());
+    assertThat(blockchain.getBlockByHash(proposed.getHash())).contains(proposed.getBlock());
+    verify(protocolSchedule, never()).getByBlockHeader(proposed.getHeader());
+
+    // a block with the same header but another body is validated as usual
+    final Block otherBody = new Block(proposed.getHeader(), BlockBody.empty());
+    assertThat(coordinator.validateBlock(otherBody).isSuccessful()).isFalse();
+    verify(protocolSchedule).getByBlockHeader(proposed.getHeader());
+  }
+
   @Test
   public void blockCreationRepetitionShouldTakeNotLessThanRepetitionMinDuration()
       throws InterruptedException, ExecutionException {
@@ -662,7 +757,8 @@ public class MergeCoordinatorTest implements MergeGenesisConfigHelper {
             transactions,
             miningParameters,
             backwardSyncContext,
-            Optional.empty());
+            Optional.empty(),
+            metricsSystem);
 
     final PayloadIdentifier payloadId =
         this.coordinator.preparePayload(
@@ -946,7 +1042,8 @@ public class MergeCoordinatorTest implements MergeGenesisConfigHelper {
             transactions,
             new MiningParameters.Builder().coinbase(coinbase).build(),
             mock(BackwardSyncContext.class),
-            Optional.empty());
+            Optional.empty(),
+            metricsSystem);
 
     var blockZero = mockHeaderBuilder.number(0L).difficulty(Difficulty.of(1336L)).buildHeader();
     var blockOne =
@@ -1008,7 +1105,8 @@ public class MergeCoordinatorTest implements MergeGenesisConfigHelper {
             transactions,
             new MiningParameters.Builder().coinbase(coinbase).build(),
             mock(BackwardSyncContext.class),
-            Optional.empty());
+            Optional.empty(),
+            metricsSystem);
 
     var blockZero = mockHeaderBuilder.number(0L).buildHeader();
     var blockOne = mockHeaderBuilder.number(1L).parentHash(blockZero.getHash()).buildHeader();
@@ -1156,7 +1254,8 @@ public class MergeCoordinatorTest implements MergeGenesisConfigHelper {
                 transactions,
                 new MiningParameters.Builder().coinbase(coinbase).build(),
                 mock(BackwardSyncContext.class),
-                Optional.empty()));
+                Optional.empty(),
+                metricsSystem));
 
     return mockCoordinator;
   }
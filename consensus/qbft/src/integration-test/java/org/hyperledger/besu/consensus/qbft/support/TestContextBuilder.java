@@ -69,6 +69,7 @@ import org.hyperledger.besu.consensus.qbft.statemachine.QbftBlockHeightManagerFa
 import org.hyperledger.besu.consensus.qbft.statemachine.QbftController;
 import org.hyperledger.besu.consensus.qbft.statemachine.QbftRoundFactory;
 import org.hyperledger.besu.consensus.qbft.validation.MessageValidatorFactory;
+import org.hyperledger.besu.consensus.qbft.validation.ProposalExecutionCache;
 import org.hyperledger.besu.consensus.qbft.validator.ForkingValidatorProvider;
 import org.hyperledger.besu.consensus.qbft.validator.TransactionValidatorProvider;
 import org.hyperledger.besu.consensus.qbft.validator.ValidatorContractController;
@@ -496,9 +497,14 @@ public class TestContextBuilder {
 
     final MessageFactory messageFactory = new MessageFactory(nodeKey);
 
+    final ProposalExecutionCache proposalExecutionCache = new ProposalExecutionCache();
     final MessageValidatorFactory messageValidatorFactory =
         new MessageValidatorFactory(
-            proposerSelector, protocolSchedule, protocolContext, BFT_EXTRA_DATA_ENCODER);
+            proposerSelector,
+            protocolSchedule,
+            protocolContext,
+            BFT_EXTRA_DATA_ENCODER,
+            proposalExecutionCache);
 
     final Subscribers<MinedBlockObserver> minedBlockObservers = Subscribers.create();
 
@@ -522,7 +528,8 @@ public class TestContextBuilder {
                     minedBlockObservers,
                     messageValidatorFactory,
                     messageFactory,
-                    BFT_EXTRA_DATA_ENCODER),
+                    BFT_EXTRA_DATA_ENCODER,
+                    proposalExecutionCache),
                 messageValidatorFactory,
                 messageFactory,
                 new ValidatorModeTransitionLogger(forksSchedule)),
@@ -0,0 +1,157 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.consensus.qbft;
+
+import org.hyperledger.besu.consensus.common.bft.BftExecutors;
+import org.hyperledger.besu.consensus.common.bft.BftHelpers;
+import org.hyperledger.besu.consensus.common.bft.BftMessageAuthenticator;
+import org.hyperledger.besu.consensus.common.bft.ConsensusRoundIdentifier;
+import org.hyperledger.besu.consensus.common.bft.events.BftReceivedMessageEvent;
+import org.hyperledger.besu.consensus.common.bft.messagewrappers.BftMessage;
+import org.hyperledger.besu.consensus.common.bft.payload.SignedData;
+import org.hyperledger.besu.consensus.qbft.messagedata.CommitMessageData;
+import org.hyperledger.besu.consensus.qbft.messagedata.PrepareMessageData;
+import org.hyperledger.besu.consensus.qbft.messagedata.QbftMessageDecoder;
+import org.hyperledger.besu.consensus.qbft.messagedata.RoundChangeMessageData;
+import org.hyperledger.besu.consensus.qbft.messagewrappers.Prepare;
+import org.hyperledger.besu.consensus.qbft.messagewrappers.RoundChange;
+import org.hyperledger.besu.consensus.qbft.payload.MessageFactory;
+import org.hyperledger.besu.consensus.qbft.payload.PreparePayload;
+import org.hyperledger.besu.cryptoservices.NodeKey;
+import org.hyperledger.besu.cryptoservices.NodeKeyUtils;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.p2p.rlpx.wire.DefaultMessage;
+import org.hyperledger.besu.ethereum.p2p.rlpx.wire.Message;
+import org.hyperledger.besu.ethereum.p2p.rlpx.wire.MessageData;
+import org.hyperledger.besu.ethereum.p2p.rlpx.wire.RawMessage;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures the time taken to decode and recover the authors of the messages received by a
+ * validator in a round: a prepare and a commit from every validator, and a round change from every
+ * validator carrying a prepared certificate of a quorum of prepares.
+ *
+ * <p>The messages are either authenticated one after the other on the calling thread, as the bft
+ * processor did, or on the message authentication pool with the bft processor waiting for each of
+ * them in order.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class MessageAuthenticationBenchmark {
+
+  private static final int MESSAGE_TRACKING_LIMIT = 10_000;
+
+  @Param({"50", "100"})
+  public int validatorCount;
+
+  private final QbftMessageDecoder messageDecoder =
+      new QbftMessageDecoder(new QbftExtraDataCodec());
+  private final List<Message> messages = new ArrayList<>();
+  private BftExecutors bftExecutors;
+  private BftMessageAuthenticator messageAuthenticator;
+
+  @Setup(Level.Trial)
+  public void prepare() {
+    final ConsensusRoundIdentifier roundIdentifier = new ConsensusRoundIdentifier(1, 0);
+    final Hash digest = Hash.hash(Hash.ZERO);
+    final List<NodeKey> nodeKeys = new ArrayList<>();
+    for (int i = 0; i < validatorCount; i++) {
+      nodeKeys.add(NodeKeyUtils.generate());
+    }
+
+    final List<SignedData<PreparePayload>> preparedCertificate =
+        nodeKeys.stream()
+            .limit(BftHelpers.calculateRequiredValidatorQuorum(validatorCount))
+            .map(nodeKey -> new MessageFactory(nodeKey).createPrepare(roundIdentifier, digest))
+            .map(Prepare::getSignedPayload)
+            .collect(Collectors.toList());
+
+    final ConsensusRoundIdentifier nextRound = new ConsensusRoundIdentifier(1, 1);
+    for (final NodeKey nodeKey : nodeKeys) {
+      final MessageFactory messageFactory = new MessageFactory(nodeKey);
+      addMessage(PrepareMessageData.create(messageFactory.createPrepare(roundIdentifier, digest)));
+      addMessage(
+          CommitMessageData.create(
+              messageFactory.createCommit(roundIdentifier, digest, nodeKey.sign(digest))));
+      final RoundChange roundChange = messageFactory.createRoundChange(nextRound, Optional.empty());
+      addMessage(
+          RoundChangeMessageData.create(
+              new RoundChange(
+                  roundChange.getSignedPayload(), Optional.empty(), preparedCertificate)));
+    }
+
+    bftExecutors = BftExecutors.create(new NoOpMetricsSystem(), BftExecutors.ConsensusType.QBFT);
+    bftExecutors.start();
+    messageAuthenticator =
+        new BftMessageAuthenticator(bftExecutors, messageDecoder, MESSAGE_TRACKING_LIMIT);
+  }
+
+  private void addMessage(final MessageData messageData) {
+    // as received from the network, so that messages are decoded from their bytes
+    messages.add(
+        new DefaultMessage(null, new RawMessage(messageData.getCode(), messageData.getData())));
+  }
+
+  @TearDown(Level.Trial)
+  public void stop() throws InterruptedException {
+    bftExecutors.stop();
+    bftExecutors.awaitStop();
+  }
+
+  @Benchmark
+  public List<BftMessage<?>> authenticateOnEventThread() {
+    final List<BftMessage<?>> authenticated = new ArrayList<>(messages.size());
+    for (final Message message : messages) {
+      final BftMessage<?> bftMessage = messageDecoder.apply(message.getData());
+      bftMessage.recoverAuthors();
+      authenticated.add(bftMessage);
+    }
+    return authenticated;
+  }
+
+  @Benchmark
+  public List<BftMessage<?>> authenticateInParallel() {
+    final List<BftReceivedMessageEvent> events = new ArrayList<>(messages.size());
+    for (final Message message : messages) {
+      final CompletableFuture<BftMessage<?>> authentication = new CompletableFuture<>();
+      events.add(new BftReceivedMessageEvent(message, Optional.of(authentication)));
+      messageAuthenticator.authenticate(message.getData(), authentication);
+    }
+    final List<BftMessage<?>> authenticated = new ArrayList<>(messages.size());
+    for (final BftReceivedMessageEvent event : events) {
+      authenticated.add(event.getAuthenticatedMessage().orElseThrow());
+    }
+    return authenticated;
+  }
+}
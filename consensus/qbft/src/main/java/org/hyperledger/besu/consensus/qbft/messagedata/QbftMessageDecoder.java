@@ -0,0 +1,62 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.consensus.qbft.messagedata;
+
+import org.hyperledger.besu.consensus.common.bft.BftExtraDataCodec;
+import org.hyperledger.besu.consensus.common.bft.messagewrappers.BftMessage;
+import org.hyperledger.besu.ethereum.p2p.rlpx.wire.MessageData;
+
+import java.util.function.Function;
+
+/** Decodes QBFT v1 messages into their message wrappers. */
+public class QbftMessageDecoder implements Function<MessageData, BftMessage<?>> {
+
+  private final BftExtraDataCodec bftExtraDataCodec;
+
+  /**
+   * Instantiates a new Qbft message decoder.
+   *
+   * @param bftExtraDataCodec the bft extra data codec
+   */
+  public QbftMessageDecoder(final BftExtraDataCodec bftExtraDataCodec) {
+    this.bftExtraDataCodec = bftExtraDataCodec;
+  }
+
+  /**
+   * Decode a QBFT message.
+   *
+   * @param messageData the message data
+   * @return the decoded message
+   * @throws IllegalArgumentException if the message code is not a QBFT v1 message code
+   */
+  @Override
+  public BftMessage<?> apply(final MessageData messageData) {
+    switch (messageData.getCode()) {
+      case QbftV1.PROPOSAL:
+        return ProposalMessageData.fromMessageData(messageData).decode(bftExtraDataCodec);
+      case QbftV1.PREPARE:
+        return PrepareMessageData.fromMessageData(messageData).decode();
+      case QbftV1.COMMIT:
+        return CommitMessageData.fromMessageData(messageData).decode();
+      case QbftV1.ROUND_CHANGE:
+        return RoundChangeMessageData.fromMessageData(messageData).decode(bftExtraDataCodec);
+      default:
+        throw new IllegalArgumentException(
+            String.format(
+                "Received message with messageCode=%d does not conform to any recognised QBFT message structure",
+                messageData.getCode()));
+    }
+  }
+}
@@ -78,6 +78,13 @@ public class Proposal extends BftMessage<ProposalPayload> {
     return getPayload().getProposedBlock();
   }
 
+  @Override
+  public void recoverAuthors() {
+    super.recoverAuthors();
+    roundChanges.forEach(SignedData::getAuthor);
+    prepares.forEach(SignedData::getAuthor);
+  }
+
   @Override
   public Bytes encode() {
     final BytesValueRLPOutput rlpOut = new BytesValueRLPOutput();
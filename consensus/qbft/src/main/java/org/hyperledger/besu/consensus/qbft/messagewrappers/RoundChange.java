@@ -89,6 +89,12 @@ public class RoundChange extends BftMessage<RoundChangePayload> {
     return getPayload().getPreparedRoundMetadata().map(PreparedRoundMetadata::getPreparedRound);
   }
 
+  @Override
+  public void recoverAuthors() {
+    super.recoverAuthors();
+    prepares.forEach(SignedData::getAuthor);
+  }
+
   @Override
   public Bytes encode() {
     final BytesValueRLPOutput rlpOut = new BytesValueRLPOutput();
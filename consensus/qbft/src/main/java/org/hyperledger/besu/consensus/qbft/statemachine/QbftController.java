@@ -18,26 +18,28 @@ import org.hyperledger.besu.consensus.common.bft.BftExtraDataCodec;
 import org.hyperledger.besu.consensus.common.bft.Gossiper;
 import org.hyperledger.besu.consensus.common.bft.MessageTracker;
 import org.hyperledger.besu.consensus.common.bft.SynchronizerUpdater;
+import org.hyperledger.besu.consensus.common.bft.messagewrappers.BftMessage;
 import org.hyperledger.besu.consensus.common.bft.statemachine.BaseBftController;
 import org.hyperledger.besu.consensus.common.bft.statemachine.BaseBlockHeightManager;
 import org.hyperledger.besu.consensus.common.bft.statemachine.BftFinalState;
 import org.hyperledger.besu.consensus.common.bft.statemachine.FutureMessageBuffer;
-import org.hyperledger.besu.consensus.qbft.messagedata.CommitMessageData;
-import org.hyperledger.besu.consensus.qbft.messagedata.PrepareMessageData;
-import org.hyperledger.besu.consensus.qbft.messagedata.ProposalMessageData;
-import org.hyperledger.besu.consensus.qbft.messagedata.QbftV1;
-import org.hyperledger.besu.consensus.qbft.messagedata.RoundChangeMessageData;
+import org.hyperledger.besu.consensus.qbft.messagedata.QbftMessageDecoder;
+import org.hyperledger.besu.consensus.qbft.messagewrappers.Commit;
+import org.hyperledger.besu.consensus.qbft.messagewrappers.Prepare;
+import org.hyperledger.besu.consensus.qbft.messagewrappers.Proposal;
+import org.hyperledger.besu.consensus.qbft.messagewrappers.RoundChange;
 import org.hyperledger.besu.ethereum.chain.Blockchain;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.p2p.rlpx.wire.Message;
-import org.hyperledger.besu.ethereum.p2p.rlpx.wire.MessageData;
+
+import java.util.Optional;
 
 /** The Qbft controller. */
 public class QbftController extends BaseBftController {
 
   private BaseQbftBlockHeightManager currentHeightManager;
   private final QbftBlockHeightManagerFactory qbftBlockHeightManagerFactory;
-  private final BftExtraDataCodec bftExtraDataCodec;
+  private final QbftMessageDecoder messageDecoder;
 
   /**
    * Instantiates a new Qbft controller.
@@ -69,47 +71,33 @@ public class QbftController extends BaseBftController {
         futureMessageBuffer,
         sychronizerUpdater);
     this.qbftBlockHeightManagerFactory = qbftBlockHeightManagerFactory;
-    this.bftExtraDataCodec = bftExtraDataCodec;
+    this.messageDecoder = new QbftMessageDecoder(bftExtraDataCodec);
   }
 
   @Override
   protected void handleMessage(final Message message) {
-    final MessageData messageData = message.getData();
-
-    switch (messageData.getCode()) {
-      case QbftV1.PROPOSAL:
-        consumeMessage(
-            message,
-            ProposalMessageData.fromMessageData(messageData).decode(bftExtraDataCodec),
-            currentHeightManager::handleProposalPayload);
-        break;
-
-      case QbftV1.PREPARE:
-        consumeMessage(
-            message,
-            PrepareMessageData.fromMessageData(messageData).decode(),
-            currentHeightManager::handlePreparePayload);
-        break;
-
-      case QbftV1.COMMIT:
-        consumeMessage(
-            message,
-            CommitMessageData.fromMessageData(messageData).decode(),
-            currentHeightManager::handleCommitPayload);
-        break;
+    handleMessage(message, Optional.empty());
+  }
 
-      case QbftV1.ROUND_CHANGE:
-        consumeMessage(
-            message,
-            RoundChangeMessageData.fromMessageData(messageData).decode(bftExtraDataCodec),
-            currentHeightManager::handleRoundChangePayload);
-        break;
+  @Override
+  protected void handleMessage(
+      final Message message, final Optional<BftMessage<?>> authenticatedMessage) {
+    final BftMessage<?> bftMessage =
+        authenticatedMessage.orElseGet(() -> messageDecoder.apply(message.getData()));
 
-      default:
-        throw new IllegalArgumentException(
-            String.format(
-                "Received message with messageCode=%d does not conform to any recognised QBFT message structure",
-                message.getData().getCode()));
+    if (bftMessage instanceof Proposal proposal) {
+      consumeMessage(message, proposal, currentHeightManager::handleProposalPayload);
+    } else if (bftMessage instanceof Prepare prepare) {
+      consumeMessage(message, prepare, currentHeightManager::handlePreparePayload);
+    } else if (bftMessage instanceof Commit commit) {
+      consumeMessage(message, commit, currentHeightManager::handleCommitPayload);
+    } else if (bftMessage instanceof RoundChange roundChange) {
+      consumeMessage(message, roundChange, currentHeightManager::handleRoundChangePayload);
+    } else {
+      throw new IllegalArgumentException(
+          String.format(
+              "Received message with messageCode=%d does not conform to any recognised QBFT message structure",
+              message.getData().getCode()));
     }
   }
 
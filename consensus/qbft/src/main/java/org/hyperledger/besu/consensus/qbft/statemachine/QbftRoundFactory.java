@@ -22,6 +22,7 @@ import org.hyperledger.besu.consensus.common.bft.statemachine.BftFinalState;
 import org.hyperledger.besu.consensus.qbft.network.QbftMessageTransmitter;
 import org.hyperledger.besu.consensus.qbft.payload.MessageFactory;
 import org.hyperledger.besu.consensus.qbft.validation.MessageValidatorFactory;
+import org.hyperledger.besu.consensus.qbft.validation.ProposalExecutionCache;
 import org.hyperledger.besu.ethereum.ProtocolContext;
 import org.hyperledger.besu.ethereum.blockcreation.BlockCreator;
 import org.hyperledger.besu.ethereum.chain.MinedBlockObserver;
@@ -39,6 +40,7 @@ public class QbftRoundFactory {
   private final MessageValidatorFactory messageValidatorFactory;
   private final MessageFactory messageFactory;
   private final BftExtraDataCodec bftExtraDataCodec;
+  private final ProposalExecutionCache proposalExecutionCache;
 
   /**
    * Instantiates a new Qbft round factory.
@@ -50,6 +52,7 @@ public class QbftRoundFactory {
    * @param messageValidatorFactory the message validator factory
    * @param messageFactory the message factory
    * @param bftExtraDataCodec the bft extra data codec
+   * @param proposalExecutionCache the cache of the execution of the proposed blocks
    */
   public QbftRoundFactory(
       final BftFinalState finalState,
@@ -58,7 +61,8 @@ public class QbftRoundFactory {
       final Subscribers<MinedBlockObserver> minedBlockObservers,
       final MessageValidatorFactory messageValidatorFactory,
       final MessageFactory messageFactory,
-      final BftExtraDataCodec bftExtraDataCodec) {
+      final BftExtraDataCodec bftExtraDataCodec,
+      final ProposalExecutionCache proposalExecutionCache) {
     this.finalState = finalState;
     this.blockCreatorFactory = finalState.getBlockCreatorFactory();
     this.protocolContext = protocolContext;
@@ -67,6 +71,7 @@ public class QbftRoundFactory {
     this.messageValidatorFactory = messageValidatorFactory;
     this.messageFactory = messageFactory;
     this.bftExtraDataCodec = bftExtraDataCodec;
+    this.proposalExecutionCache = proposalExecutionCache;
   }
 
   /**
@@ -110,7 +115,11 @@ public class QbftRoundFactory {
         roundState,
         blockCreator,
         protocolContext,
-        protocolSchedule.getByBlockNumber(roundIdentifier.getSequenceNumber()).getBlockImporter(),
+        proposalExecutionCache.reusingExecutionsFor(
+            protocolSchedule
+                .getByBlockNumber(roundIdentifier.getSequenceNumber())
+                .getBlockImporter(),
+            roundIdentifier),
         minedBlockObservers,
         finalState.getNodeKey(),
         messageFactory,
@@ -36,6 +36,7 @@ public class MessageValidatorFactory {
   private final BftProtocolSchedule protocolSchedule;
   private final ProtocolContext protocolContext;
   private final BftExtraDataCodec bftExtraDataCodec;
+  private final ProposalExecutionCache proposalExecutionCache;
 
   /**
    * Instantiates a new Message validator factory.
@@ -44,16 +45,19 @@ public class MessageValidatorFactory {
    * @param protocolSchedule the protocol schedule
    * @param protocolContext the protocol context
    * @param bftExtraDataCodec the bft extra data codec
+   * @param proposalExecutionCache the cache of the execution of the proposed blocks
    */
   public MessageValidatorFactory(
       final ProposerSelector proposerSelector,
       final BftProtocolSchedule protocolSchedule,
       final ProtocolContext protocolContext,
-      final BftExtraDataCodec bftExtraDataCodec) {
+      final BftExtraDataCodec bftExtraDataCodec,
+      final ProposalExecutionCache proposalExecutionCache) {
     this.proposerSelector = proposerSelector;
     this.protocolSchedule = protocolSchedule;
     this.protocolContext = protocolContext;
     this.bftExtraDataCodec = bftExtraDataCodec;
+    this.proposalExecutionCache = proposalExecutionCache;
   }
 
   private Collection<Address> getValidatorsAfterBlock(final BlockHeader parentHeader) {
@@ -102,7 +106,11 @@ public class MessageValidatorFactory {
 
     final Collection<Address> validatorsForHeight = getValidatorsAfterBlock(parentHeader);
     final BlockValidator blockValidator =
-        protocolSchedule.getByBlockNumber(roundIdentifier.getSequenceNumber()).getBlockValidator();
+        proposalExecutionCache.recordingExecutionsOf(
+            protocolSchedule
+                .getByBlockNumber(roundIdentifier.getSequenceNumber())
+                .getBlockValidator(),
+            roundIdentifier);
 
     final ProposalValidator proposalValidator =
         new ProposalValidator(
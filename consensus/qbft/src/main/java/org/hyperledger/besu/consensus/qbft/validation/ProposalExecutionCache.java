@@ -0,0 +1,243 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.consensus.qbft.validation;
+
+import org.hyperledger.besu.consensus.common.bft.ConsensusRoundIdentifier;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.BlockProcessingOutputs;
+import org.hyperledger.besu.ethereum.BlockProcessingResult;
+import org.hyperledger.besu.ethereum.BlockValidator;
+import org.hyperledger.besu.ethereum.ProtocolContext;
+import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.BlockImporter;
+import org.hyperledger.besu.ethereum.core.TransactionReceipt;
+import org.hyperledger.besu.ethereum.mainnet.BlockImportResult;
+import org.hyperledger.besu.ethereum.mainnet.HeaderValidationMode;
+
+import java.util.List;
+import java.util.Optional;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Remembers the result of the execution of the proposed blocks, done when their proposal is
+ * validated, so that a committed block is imported without being executed again.
+ *
+ * <p>Executing a proposed block persists its world state, and the hash of a BFT block covers
+ * neither its round nor its commit seals, so the committed block has the same hash as the proposed
+ * one. On import, its header is still fully validated, commit seals included, and its body is
+ * checked against the receipts of the execution.
+ */
+public class ProposalExecutionCache {
+  private static final Logger LOG = LoggerFactory.getLogger(ProposalExecutionCache.class);
+
+  private static final int MAX_EXECUTED_PROPOSALS = 16;
+
+  private final Cache<ProposalKey, ExecutedProposal> executedProposals =
+      CacheBuilder.newBuilder().maximumSize(MAX_EXECUTED_PROPOSALS).build();
+
+  /**
+   * Returns a block validator remembering the result of the blocks it successfully executes, as
+   * proposed for the given round.
+   *
+   * @param blockValidator the block validator to delegate to
+   * @param roundIdentifier the round of the proposals validated
+   * @return the block validator
+   */
+  public BlockValidator recordingExecutionsOf(
+      final BlockValidator blockValidator, final ConsensusRoundIdentifier roundIdentifier) {
+    return new RecordingBlockValidator(blockValidator, roundIdentifier);
+  }
+
+  /**
+   * Returns a block importer reusing the result of the execution of the block proposed for the
+   * given round, when the imported block is that block and the world state is still the one
+   * resulting from its execution.
+   *
+   * @param blockImporter the block importer to delegate to
+   * @param roundIdentifier the round of the blocks imported
+   * @return the block importer
+   */
+  public BlockImporter reusingExecutionsFor(
+      final BlockImporter blockImporter, final ConsensusRoundIdentifier roundIdentifier) {
+    return new ReusingBlockImporter(blockImporter, roundIdentifier);
+  }
+
+  private void record(
+      final ConsensusRoundIdentifier roundIdentifier,
+      final Block block,
+      final BlockProcessingResult result) {
+    if (result.isSuccessful()) {
+      result
+          .getYield()
+          .map(BlockProcessingOutputs::getReceipts)
+          .ifPresent(
+              receipts ->
+                  executedProposals.put(
+                      new ProposalKey(block.getHash(), roundIdentifier.getRoundNumber()),
+                      new ExecutedProposal(block, receipts)));
+    }
+  }
+
+  private Optional<List<TransactionReceipt>> getReceipts(
+      final ConsensusRoundIdentifier roundIdentifier, final Block block) {
+    return Optional.ofNullable(
+            executedProposals.getIfPresent(
+                new ProposalKey(block.getHash(), roundIdentifier.getRoundNumber())))
+        .filter(executed -> executed.block().getBody().equals(block.getBody()))
+        .map(ExecutedProposal::receipts);
+  }
+
+  private record ProposalKey(Hash blockHash, int round) {}
+
+  private record ExecutedProposal(Block block, List<TransactionReceipt> receipts) {}
+
+  private class RecordingBlockValidator implements BlockValidator {
+    private final BlockValidator delegate;
+    private final ConsensusRoundIdentifier roundIdentifier;
+
+    private RecordingBlockValidator(
+        final BlockValidator delegate, final ConsensusRoundIdentifier roundIdentifier) {
+      this.delegate = delegate;
+      this.roundIdentifier = roundIdentifier;
+    }
+
+    @Override
+    public BlockProcessingResult validateAndProcessBlock(
+        final ProtocolContext context,
+        final Block block,
+        final HeaderValidationMode headerValidationMode,
+        final HeaderValidationMode ommerValidationMode) {
+      final BlockProcessingResult result =
+          delegate.validateAndProcessBlock(
+              context, block, headerValidationMode, ommerValidationMode);
+      record(roundIdentifier, block, result);
+      return result;
+    }
+
+    @Override
+    public BlockProcessingResult validateAndProcessBlock(
+        final ProtocolContext context,
+        final Block block,
+        final HeaderValidationMode headerValidationMode,
+        final HeaderValidationMode ommerValidationMode,
+        final boolean shouldPersist) {
+      final BlockProcessingResult result =
+          delegate.validateAndProcessBlock(
+              context, block, headerValidationMode, ommerValidationMode, shouldPersist);
+      if (shouldPersist) {
+        record(roundIdentifier, block, result);
+      }
+      return result;
+    }
+
+    @Override
+    public BlockProcessingResult validateAndProcessBlock(
+        final ProtocolContext context,
+        final Block block,
+        final HeaderValidationMode headerValidationMode,
+        final HeaderValidationMode ommerValidationMode,
+        final boolean shouldPersist,
+        final boolean shouldRecordBadBlock) {
+      final BlockProcessingResult result =
+          delegate.validateAndProcessBlock(
+              context,
+              block,
+              headerValidationMode,
+              ommerValidationMode,
+              shouldPersist,
+              shouldRecordBadBlock);
+      if (shouldPersist) {
+        record(roundIdentifier, block, result);
+      }
+      return result;
+    }
+
+    @Override
+    public boolean fastBlockValidation(
+        final ProtocolContext context,
+        final Block block,
+        final List<TransactionReceipt> receipts,
+        final HeaderValidationMode headerValidationMode,
+        final HeaderValidationMode ommerValidationMode,
+        final boolean detachedBodyValidated) {
+      return delegate.fastBlockValidation(
+          context,
+          block,
+          receipts,
+          headerValidationMode,
+          ommerValidationMode,
+          detachedBodyValidated);
+    }
+  }
+
+  private class ReusingBlockImporter implements BlockImporter {
+    private final BlockImporter delegate;
+    private final ConsensusRoundIdentifier roundIdentifier;
+
+    private ReusingBlockImporter(
+        final BlockImporter delegate, final ConsensusRoundIdentifier roundIdentifier) {
+      this.delegate = delegate;
+      this.roundIdentifier = roundIdentifier;
+    }
+
+    @Override
+    public BlockImportResult importBlock(
+        final ProtocolContext context,
+        final Block block,
+        final HeaderValidationMode headerValidationMode,
+        final HeaderValidationMode ommerValidationMode) {
+      final Optional<List<TransactionReceipt>> maybeReceipts =
+          getReceipts(roundIdentifier, block);
+      if (maybeReceipts.isPresent()
+          && !context.getBlockchain().contains(block.getHash())
+          && isPersistedWorldStateOf(context, block.getHeader())) {
+        LOG.debug("Importing block {} with the result of its proposal", block.toLogString());
+        return delegate.fastImportBlock(
+            context, block, maybeReceipts.get(), headerValidationMode, ommerValidationMode);
+      }
+      return delegate.importBlock(context, block, headerValidationMode, ommerValidationMode);
+    }
+
+    @Override
+    public BlockImportResult fastImportBlock(
+        final ProtocolContext context,
+        final Block block,
+        final List<TransactionReceipt> receipts,
+        final HeaderValidationMode headerValidationMode,
+        final HeaderValidationMode ommerValidationMode,
+        final boolean detachedBodyValidated) {
+      return delegate.fastImportBlock(
+          context,
+          block,
+          receipts,
+          headerValidationMode,
+          ommerValidationMode,
+          detachedBodyValidated);
+    }
+
+    // the world state may have been moved since, by the validation of another proposal
+    private boolean isPersistedWorldStateOf(
+        final ProtocolContext context, final BlockHeader header) {
+      return context
+          .getWorldStateArchive()
+          .isPersistedWorldState(header.getStateRoot(), header.getHash());
+    }
+  }
+}
@@ -55,6 +55,8 @@ import org.hyperledger.besu.ethereum.p2p.rlpx.wire.Message;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import com.google.common.collect.ImmutableList;
 import org.junit.jupiter.api.BeforeEach;
@@ -257,6 +259,23 @@ public class QbftControllerTest {
     verifyNoMoreInteractions(blockHeightManager);
   }
 
+  @Test
+  public void authenticatedProposalIsPassedToBlockHeightManagerWithoutBeingDecodedAgain() {
+    when(proposal.getAuthor()).thenReturn(validator);
+    when(proposal.getRoundIdentifier()).thenReturn(roundIdentifier);
+    when(proposalMessageData.getCode()).thenReturn(QbftV1.PROPOSAL);
+    proposalMessage = new DefaultMessage(null, proposalMessageData);
+    constructQbftController();
+    qbftController.start();
+    qbftController.handleMessageEvent(
+        new BftReceivedMessageEvent(
+            proposalMessage, Optional.of(CompletableFuture.completedFuture(proposal))));
+
+    verify(proposalMessageData, never()).decode(any());
+    verify(blockHeightManager).handleProposalPayload(proposal);
+    verify(qbftGossip).send(proposalMessage);
+  }
+
   @Test
   public void prepareForCurrentHeightIsPassedToBlockHeightManager() {
     setupPrepare(roundIdentifier, validator);
@@ -0,0 +1,132 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.consensus.qbft.validation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.consensus.common.bft.ConsensusRoundIdentifier;
+import org.hyperledger.besu.ethereum.BlockProcessingOutputs;
+import org.hyperledger.besu.ethereum.BlockProcessingResult;
+import org.hyperledger.besu.ethereum.BlockValidator;
+import org.hyperledger.besu.ethereum.ProtocolContext;
+import org.hyperledger.besu.ethereum.chain.MutableBlockchain;
+import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.BlockDataGenerator;
+import org.hyperledger.besu.ethereum.core.BlockImporter;
+import org.hyperledger.besu.ethereum.core.MutableWorldState;
+import org.hyperledger.besu.ethereum.core.TransactionReceipt;
+import org.hyperledger.besu.ethereum.mainnet.BlockImportResult;
+import org.hyperledger.besu.ethereum.mainnet.HeaderValidationMode;
+import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class ProposalExecutionCacheTest {
+
+  @Mock private BlockValidator blockValidator;
+  @Mock private BlockImporter blockImporter;
+  @Mock private ProtocolContext protocolContext;
+  @Mock private MutableBlockchain blockchain;
+  @Mock private WorldStateArchive worldStateArchive;
+
+  private final BlockDataGenerator blockDataGenerator = new BlockDataGenerator();
+  private final Block block = blockDataGenerator.block();
+  private final List<TransactionReceipt> receipts = blockDataGenerator.receipts(block);
+  private final ConsensusRoundIdentifier roundIdentifier = new ConsensusRoundIdentifier(1, 2);
+  private final ProposalExecutionCache proposalExecutionCache = new ProposalExecutionCache();
+
+  @BeforeEach
+  public void setup() {
+    when(blockValidator.validateAndProcessBlock(
+            protocolContext, block, HeaderValidationMode.LIGHT, HeaderValidationMode.FULL))
+        .thenReturn(
+            new BlockProcessingResult(
+                Optional.of(new BlockProcessingOutputs(mock(MutableWorldState.class), receipts))));
+    final BlockProcessingResult result =
+        proposalExecutionCache
+            .recordingExecutionsOf(blockValidator, roundIdentifier)
+            .validateAndProcessBlock(
+                protocolContext, block, HeaderValidationMode.LIGHT, HeaderValidationMode.FULL);
+    assertThat(result.isSuccessful()).isTrue();
+  }
+
+  @Test
+  public void committedProposalIsImportedWithTheResultOfItsExecution() {
+    when(protocolContext.getBlockchain()).thenReturn(blockchain);
+    when(protocolContext.getWorldStateArchive()).thenReturn(worldStateArchive);
+    when(worldStateArchive.isPersistedWorldState(
+            block.getHeader().getStateRoot(), block.getHash()))
+        .thenReturn(true);
+    when(blockImporter.fastImportBlock(
+            protocolContext,
+            block,
+            receipts,
+            HeaderValidationMode.FULL,
+            HeaderValidationMode.FULL))
+        .thenReturn(new BlockImportResult(true));
+
+    final BlockImportResult result =
+        proposalExecutionCache
+            .reusingExecutionsFor(blockImporter, roundIdentifier)
+            .importBlock(protocolContext, block, HeaderValidationMode.FULL);
+
+    assertThat(result.isImported()).isTrue();
+    verify(blockImporter, never()).importBlock(any(), any(), any(), any());
+  }
+
+  @Test
+  public void blockProposedInAnotherRoundIsExecutedOnImport() {
+    final ConsensusRoundIdentifier nextRound = new ConsensusRoundIdentifier(1, 3);
+    when(blockImporter.importBlock(
+            protocolContext, block, HeaderValidationMode.FULL, HeaderValidationMode.FULL))
+        .thenReturn(new BlockImportResult(true));
+
+    proposalExecutionCache
+        .reusingExecutionsFor(blockImporter, nextRound)
+        .importBlock(protocolContext, block, HeaderValidationMode.FULL);
+
+    verify(blockImporter, never()).fastImportBlock(any(), any(), any(), any(), any());
+  }
+
+  @Test
+  public void blockIsExecutedOnImportWhenTheWorldStateHasMovedSinceItsProposal() {
+    when(protocolContext.getBlockchain()).thenReturn(blockchain);
+    when(protocolContext.getWorldStateArchive()).thenReturn(worldStateArchive);
+    when(worldStateArchive.isPersistedWorldState(any(), eq(block.getHash()))).thenReturn(false);
+    when(blockImporter.importBlock(
+            protocolContext, block, HeaderValidationMode.FULL, HeaderValidationMode.FULL))
+        .thenReturn(new BlockImportResult(true));
+
+    proposalExecutionCache
+        .reusingExecutionsFor(blockImporter, roundIdentifier)
+        .importBlock(protocolContext, block, HeaderValidationMode.FULL);
+
+    verify(blockImporter, never()).fastImportBlock(any(), any(), any(), any(), any());
+  }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.crypto;
+
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.bouncycastle.jcajce.provider.digest.Keccak;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+@State(Scope.Thread)
+public class Keccak256Benchmark {
+  private static final int BATCH_SIZE = 1024;
+
+  // 32: slot and address hashes, 532: a full branch node, 4096: contract code
+  @Param({"32", "532", "4096"})
+  public int size;
+
+  private final MessageDigest bouncyCastleDigest = new Keccak.Digest256();
+  private Bytes input;
+  private List<Bytes> batch;
+
+  @Setup(Level.Trial)
+  public void prepare() {
+    final Random random = new Random(1);
+    final byte[] bytes = new byte[size];
+    random.nextBytes(bytes);
+    input = Bytes.wrap(bytes);
+    batch = new ArrayList<>(BATCH_SIZE);
+    for (int i = 0; i < BATCH_SIZE; i++) {
+      random.nextBytes(bytes);
+      batch.add(Bytes.wrap(bytes.clone()));
+    }
+  }
+
+  @Benchmark
+  public Bytes32 bouncyCastleClone() throws CloneNotSupportedException {
+    final MessageDigest digest = (MessageDigest) bouncyCastleDigest.clone();
+    input.update(digest);
+    return Bytes32.wrap(digest.digest());
+  }
+
+  @Benchmark
+  public Bytes32 keccak256() {
+    return Hash.keccak256(input);
+  }
+
+  @Benchmark
+  public List<Bytes32> bouncyCastleCloneBatch() throws CloneNotSupportedException {
+    final List<Bytes32> digests = new ArrayList<>(BATCH_SIZE);
+    for (final Bytes value : batch) {
+      final MessageDigest digest = (MessageDigest) bouncyCastleDigest.clone();
+      value.update(digest);
+      digests.add(Bytes32.wrap(digest.digest()));
+    }
+    return digests;
+  }
+
+  @Benchmark
+  public List<Bytes32> keccak256Batch() {
+    return Hash.keccak256(batch);
+  }
+}
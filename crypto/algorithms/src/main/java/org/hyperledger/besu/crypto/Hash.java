@@ -15,13 +15,17 @@
 package org.hyperledger.besu.crypto;
 
 import static org.hyperledger.besu.crypto.MessageDigestFactory.BLAKE2BF_ALG;
-import static org.hyperledger.besu.crypto.MessageDigestFactory.KECCAK256_ALG;
 import static org.hyperledger.besu.crypto.MessageDigestFactory.RIPEMD160_ALG;
 import static org.hyperledger.besu.crypto.MessageDigestFactory.SHA256_ALG;
 
+import java.nio.ByteBuffer;
+import java.security.DigestException;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.List;
 import java.util.function.Supplier;
+import java.util.stream.IntStream;
 
 import com.google.common.base.Suppliers;
 import org.apache.tuweni.bytes.Bytes;
@@ -31,8 +35,8 @@ import org.apache.tuweni.bytes.Bytes32;
 public abstract class Hash {
   private Hash() {}
 
-  private static final Supplier<MessageDigest> KECCAK256_SUPPLIER =
-      Suppliers.memoize(() -> messageDigest(KECCAK256_ALG));
+  private static final int PARALLEL_KECCAK256_BATCH_SIZE = 512;
+
   private static final Supplier<MessageDigest> SHA256_SUPPLIER =
       Suppliers.memoize(() -> messageDigest(SHA256_ALG));
   private static final Supplier<MessageDigest> RIPEMD160_SUPPLIER =
@@ -83,7 +87,65 @@ public abstract class Hash {
    * @return A digest.
    */
   public static Bytes32 keccak256(final Bytes input) {
-    return Bytes32.wrap(digestUsingAlgorithm(input, KECCAK256_SUPPLIER));
+    final Keccak256MessageDigest digest = Keccak256MessageDigest.threadLocal();
+    input.update(digest);
+    return Bytes32.wrap(digest.digest());
+  }
+
+  /**
+   * Digest a slice of an array using keccak-256, without copying it.
+   *
+   * @param input The array holding the bytes to produce the digest for.
+   * @param offset The offset of the first byte to digest.
+   * @param length The number of bytes to digest.
+   * @return A digest.
+   */
+  public static Bytes32 keccak256(final byte[] input, final int offset, final int length) {
+    final Keccak256MessageDigest digest = Keccak256MessageDigest.threadLocal();
+    digest.update(input, offset, length);
+    return Bytes32.wrap(digest.digest());
+  }
+
+  /**
+   * Digest the remaining bytes of a buffer using keccak-256, without copying them. The buffer
+   * position is advanced to its limit.
+   *
+   * @param input The buffer holding the bytes to produce the digest for.
+   * @return A digest.
+   */
+  public static Bytes32 keccak256(final ByteBuffer input) {
+    final Keccak256MessageDigest digest = Keccak256MessageDigest.threadLocal();
+    digest.update(input);
+    return Bytes32.wrap(digest.digest());
+  }
+
+  /**
+   * Digest each of many independent inputs using keccak-256. The digests share a single backing
+   * array, and large batches are hashed in parallel.
+   *
+   * @param inputs The inputs to produce the digests for.
+   * @return The digests, in the order of the inputs.
+   */
+  public static List<Bytes32> keccak256(final List<? extends Bytes> inputs) {
+    final int count = inputs.size();
+    final byte[] digests = new byte[count * Keccak256MessageDigest.DIGEST_LENGTH];
+    final IntStream indices = IntStream.range(0, count);
+    (count >= PARALLEL_KECCAK256_BATCH_SIZE ? indices.parallel() : indices)
+        .forEach(i -> keccak256Into(inputs.get(i), digests, i));
+    final Bytes32[] result = new Bytes32[count];
+    Arrays.setAll(result, i -> Bytes32.wrap(digests, i * Keccak256MessageDigest.DIGEST_LENGTH));
+    return Arrays.asList(result);
+  }
+
+  private static void keccak256Into(final Bytes input, final byte[] output, final int index) {
+    final Keccak256MessageDigest digest = Keccak256MessageDigest.threadLocal();
+    input.update(digest);
+    final int length = Keccak256MessageDigest.DIGEST_LENGTH;
+    try {
+      digest.digest(output, index * length, length);
+    } catch (final DigestException e) {
+      throw new RuntimeException(e);
+    }
   }
 
   /**
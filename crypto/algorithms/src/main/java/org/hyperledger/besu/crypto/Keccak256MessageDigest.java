@@ -0,0 +1,324 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.crypto;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.util.Arrays;
+
+/**
+ * Pure Java Keccak-256 message digest, the variant of SHA3-256 with the original Keccak padding
+ * used throughout Ethereum.
+ *
+ * <p>Input is absorbed directly from arrays and from NIO buffers, including direct and memory
+ * mapped ones, without intermediate copies of whole blocks, and the digest can be written into a
+ * caller supplied array. The digest is reset after each computation, so one instance, such as the
+ * one returned by {@link #threadLocal()}, can be reused for any number of inputs. Instances are
+ * not thread safe.
+ */
+public final class Keccak256MessageDigest extends MessageDigest implements Cloneable {
+  /** The length in bytes of a Keccak-256 digest. */
+  public static final int DIGEST_LENGTH = 32;
+
+  private static final int RATE = 136;
+  private static final int RATE_LANES = RATE / Long.BYTES;
+  private static final int ROUNDS = 24;
+  private static final long[] ROUND_CONSTANTS = {
+    0x0000000000000001L, 0x0000000000008082L, 0x800000000000808AL, 0x8000000080008000L,
+    0x000000000000808BL, 0x0000000080000001L, 0x8000000080008081L, 0x8000000000008009L,
+    0x000000000000008AL, 0x0000000000000088L, 0x0000000080008009L, 0x000000008000000AL,
+    0x000000008000808BL, 0x800000000000008BL, 0x8000000000008089L, 0x8000000000008003L,
+    0x8000000000008002L, 0x8000000000000080L, 0x000000000000800AL, 0x800000008000000AL,
+    0x8000000080008081L, 0x8000000000008080L, 0x0000000080000001L, 0x8000000080008008L
+  };
+  private static final VarHandle LONG_LITTLE_ENDIAN =
+      MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+  private static final ThreadLocal<Keccak256MessageDigest> THREAD_LOCAL =
+      ThreadLocal.withInitial(Keccak256MessageDigest::new);
+
+  private long[] state = new long[25];
+  private byte[] buffer = new byte[RATE];
+  private int bufferPosition;
+
+  /** Instantiates a new Keccak-256 message digest. */
+  public Keccak256MessageDigest() {
+    super(MessageDigestFactory.KECCAK256_ALG);
+  }
+
+  /**
+   * Returns the digest instance of the calling thread, reset and ready to absorb a new input.
+   *
+   * @return the digest of the calling thread
+   */
+  public static Keccak256MessageDigest threadLocal() {
+    final Keccak256MessageDigest digest = THREAD_LOCAL.get();
+    digest.reset();
+    return digest;
+  }
+
+  @Override
+  protected int engineGetDigestLength() {
+    return DIGEST_LENGTH;
+  }
+
+  @Override
+  protected void engineUpdate(final byte input) {
+    buffer[bufferPosition++] = input;
+    if (bufferPosition == RATE) {
+      absorb(buffer, 0);
+      bufferPosition = 0;
+    }
+  }
+
+  @Override
+  protected void engineUpdate(final byte[] input, final int offset, final int length) {
+    int position = offset;
+    int remaining = length;
+    if (bufferPosition > 0) {
+      final int count = Math.min(remaining, RATE - bufferPosition);
+      System.arraycopy(input, position, buffer, bufferPosition, count);
+      bufferPosition += count;
+      if (bufferPosition < RATE) {
+        return;
+      }
+      absorb(buffer, 0);
+      bufferPosition = 0;
+      position += count;
+      remaining -= count;
+    }
+    while (remaining >= RATE) {
+      absorb(input, position);
+      position += RATE;
+      remaining -= RATE;
+    }
+    System.arraycopy(input, position, buffer, 0, remaining);
+    bufferPosition = remaining;
+  }
+
+  @Override
+  protected void engineUpdate(final ByteBuffer input) {
+    if (input.hasArray()) {
+      engineUpdate(input.array(), input.arrayOffset() + input.position(), input.remaining());
+      input.position(input.limit());
+      return;
+    }
+    int position = input.position();
+    final int limit = input.limit();
+    if (bufferPosition > 0) {
+      final int count = Math.min(limit - position, RATE - bufferPosition);
+      input.get(position, buffer, bufferPosition, count);
+      bufferPosition += count;
+      position += count;
+      if (bufferPosition < RATE) {
+        input.position(position);
+        return;
+      }
+      absorb(buffer, 0);
+      bufferPosition = 0;
+    }
+    final boolean littleEndian = input.order() == ByteOrder.LITTLE_ENDIAN;
+    while (limit - position >= RATE) {
+      for (int lane = 0; lane < RATE_LANES; lane++) {
+        final long value = input.getLong(position + lane * Long.BYTES);
+        state[lane] ^= littleEndian ? value : Long.reverseBytes(value);
+      }
+      permute(state);
+      position += RATE;
+    }
+    bufferPosition = limit - position;
+    input.get(position, buffer, 0, bufferPosition);
+    input.position(limit);
+  }
+
+  @Override
+  protected byte[] engineDigest() {
+    final byte[] digest = new byte[DIGEST_LENGTH];
+    finish(digest, 0);
+    return digest;
+  }
+
+  @Override
+  protected int engineDigest(final byte[] output, final int offset, final int length)
+      throws DigestException {
+    if (length < DIGEST_LENGTH) {
+      throw new DigestException("Output buffer too small for a " + DIGEST_LENGTH + " byte digest");
+    }
+    finish(output, offset);
+    return DIGEST_LENGTH;
+  }
+
+  @Override
+  protected void engineReset() {
+    Arrays.fill(state, 0L);
+    bufferPosition = 0;
+  }
+
+  @Override
+  public Keccak256MessageDigest clone() throws CloneNotSupportedException {
+    final Keccak256MessageDigest clone = (Keccak256MessageDigest) super.clone();
+    clone.state = state.clone();
+    clone.buffer = buffer.clone();
+    return clone;
+  }
+
+  private void finish(final byte[] output, final int offset) {
+    Arrays.fill(buffer, bufferPosition, RATE, (byte) 0);
+    buffer[bufferPosition] = 0x01;
+    buffer[RATE - 1] |= (byte) 0x80;
+    absorb(buffer, 0);
+    for (int lane = 0; lane < DIGEST_LENGTH / Long.BYTES; lane++) {
+      LONG_LITTLE_ENDIAN.set(output, offset + lane * Long.BYTES, state[lane]);
+    }
+    engineReset();
+  }
+
+  private void absorb(final byte[] input, final int offset) {
+    for (int lane = 0; lane < RATE_LANES; lane++) {
+      state[lane] ^= (long) LONG_LITTLE_ENDIAN.get(input, offset + lane * Long.BYTES);
+    }
+    permute(state);
+  }
+
+  // the Keccak-f[1600] permutation with the state held in locals, lane (x, y) is held in aNN with
+  // NN = x + 5 * y, the theta step is folded into the rho and pi step
+  private static void permute(final long[] state) {
+    long a00 = state[0];
+    long a01 = state[1];
+    long a02 = state[2];
+    long a03 = state[3];
+    long a04 = state[4];
+    long a05 = state[5];
+    long a06 = state[6];
+    long a07 = state[7];
+    long a08 = state[8];
+    long a09 = state[9];
+    long a10 = state[10];
+    long a11 = state[11];
+    long a12 = state[12];
+    long a13 = state[13];
+    long a14 = state[14];
+    long a15 = state[15];
+    long a16 = state[16];
+    long a17 = state[17];
+    long a18 = state[18];
+    long a19 = state[19];
+    long a20 = state[20];
+    long a21 = state[21];
+    long a22 = state[22];
+    long a23 = state[23];
+    long a24 = state[24];
+
+    for (int round = 0; round < ROUNDS; round++) {
+      // theta
+      final long c0 = a00 ^ a05 ^ a10 ^ a15 ^ a20;
+      final long c1 = a01 ^ a06 ^ a11 ^ a16 ^ a21;
+      final long c2 = a02 ^ a07 ^ a12 ^ a17 ^ a22;
+      final long c3 = a03 ^ a08 ^ a13 ^ a18 ^ a23;
+      final long c4 = a04 ^ a09 ^ a14 ^ a19 ^ a24;
+      final long d0 = c4 ^ Long.rotateLeft(c1, 1);
+      final long d1 = c0 ^ Long.rotateLeft(c2, 1);
+      final long d2 = c1 ^ Long.rotateLeft(c3, 1);
+      final long d3 = c2 ^ Long.rotateLeft(c4, 1);
+      final long d4 = c3 ^ Long.rotateLeft(c0, 1);
+
+      // rho and pi
+      final long b00 = a00 ^ d0;
+      final long b01 = Long.rotateLeft(a06 ^ d1, 44);
+      final long b02 = Long.rotateLeft(a12 ^ d2, 43);
+      final long b03 = Long.rotateLeft(a18 ^ d3, 21);
+      final long b04 = Long.rotateLeft(a24 ^ d4, 14);
+      final long b05 = Long.rotateLeft(a03 ^ d3, 28);
+      final long b06 = Long.rotateLeft(a09 ^ d4, 20);
+      final long b07 = Long.rotateLeft(a10 ^ d0, 3);
+      final long b08 = Long.rotateLeft(a16 ^ d1, 45);
+      final long b09 = Long.rotateLeft(a22 ^ d2, 61);
+      final long b10 = Long.rotateLeft(a01 ^ d1, 1);
+      final long b11 = Long.rotateLeft(a07 ^ d2, 6);
+      final long b12 = Long.rotateLeft(a13 ^ d3, 25);
+      final long b13 = Long.rotateLeft(a19 ^ d4, 8);
+      final long b14 = Long.rotateLeft(a20 ^ d0, 18);
+      final long b15 = Long.rotateLeft(a04 ^ d4, 27);
+      final long b16 = Long.rotateLeft(a05 ^ d0, 36);
+      final long b17 = Long.rotateLeft(a11 ^ d1, 10);
+      final long b18 = Long.rotateLeft(a17 ^ d2, 15);
+      final long b19 = Long.rotateLeft(a23 ^ d3, 56);
+      final long b20 = Long.rotateLeft(a02 ^ d2, 62);
+      final long b21 = Long.rotateLeft(a08 ^ d3, 55);
+      final long b22 = Long.rotateLeft(a14 ^ d4, 39);
+      final long b23 = Long.rotateLeft(a15 ^ d0, 41);
+      final long b24 = Long.rotateLeft(a21 ^ d1, 2);
+
+      // chi
+      a00 = b00 ^ (~b01 & b02);
+      a01 = b01 ^ (~b02 & b03);
+      a02 = b02 ^ (~b03 & b04);
+      a03 = b03 ^ (~b04 & b00);
+      a04 = b04 ^ (~b00 & b01);
+      a05 = b05 ^ (~b06 & b07);
+      a06 = b06 ^ (~b07 & b08);
+      a07 = b07 ^ (~b08 & b09);
+      a08 = b08 ^ (~b09 & b05);
+      a09 = b09 ^ (~b05 & b06);
+      a10 = b10 ^ (~b11 & b12);
+      a11 = b11 ^ (~b12 & b13);
+      a12 = b12 ^ (~b13 & b14);
+      a13 = b13 ^ (~b14 & b10);
+      a14 = b14 ^ (~b10 & b11);
+      a15 = b15 ^ (~b16 & b17);
+      a16 = b16 ^ (~b17 & b18);
+      a17 = b17 ^ (~b18 & b19);
+      a18 = b18 ^ (~b19 & b15);
+      a19 = b19 ^ (~b15 & b16);
+      a20 = b20 ^ (~b21 & b22);
+      a21 = b21 ^ (~b22 & b23);
+      a22 = b22 ^ (~b23 & b24);
+      a23 = b23 ^ (~b24 & b20);
+      a24 = b24 ^ (~b20 & b21);
+
+      // iota
+      a00 ^= ROUND_CONSTANTS[round];
+    }
+
+    state[0] = a00;
+    state[1] = a01;
+    state[2] = a02;
+    state[3] = a03;
+    state[4] = a04;
+    state[5] = a05;
+    state[6] = a06;
+    state[7] = a07;
+    state[8] = a08;
+    state[9] = a09;
+    state[10] = a10;
+    state[11] = a11;
+    state[12] = a12;
+    state[13] = a13;
+    state[14] = a14;
+    state[15] = a15;
+    state[16] = a16;
+    state[17] = a17;
+    state[18] = a18;
+    state[19] = a19;
+    state[20] = a20;
+    state[21] = a21;
+    state[22] = a22;
+    state[23] = a23;
+    state[24] = a24;
+  }
+}
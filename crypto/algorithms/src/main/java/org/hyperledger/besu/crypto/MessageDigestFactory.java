@@ -18,7 +18,6 @@ import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.security.Security;
 
-import org.bouncycastle.jcajce.provider.digest.Keccak;
 import org.bouncycastle.jcajce.provider.digest.RIPEMD160;
 import org.bouncycastle.jcajce.provider.digest.SHA256;
 import org.bouncycastle.jce.provider.BouncyCastleProvider;
@@ -52,7 +51,7 @@ public class MessageDigestFactory {
   @SuppressWarnings("DoNotInvokeMessageDigestDirectly")
   public static MessageDigest create(final String algorithm) throws NoSuchAlgorithmException {
     return switch (algorithm) {
-      case KECCAK256_ALG -> new Keccak.Digest256();
+      case KECCAK256_ALG -> new Keccak256MessageDigest();
       case SHA256_ALG -> new SHA256.Digest();
       case RIPEMD160_ALG -> new RIPEMD160.Digest();
       case BLAKE2BF_ALG -> new Blake2bfMessageDigest();
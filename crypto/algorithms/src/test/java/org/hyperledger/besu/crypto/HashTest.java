@@ -15,9 +15,15 @@
 package org.hyperledger.besu.crypto;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.toList;
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.stream.IntStream;
+
 import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
 import org.bouncycastle.util.encoders.Hex;
 import org.junit.Test;
 
@@ -52,6 +58,27 @@ public class HashTest {
     assertThat(resultCow).isEqualTo(Bytes.fromHexString(cowKeccak256));
   }
 
+  /** Validate keccak256 of slices, buffers and batches. */
+  @Test
+  public void keccak256OfSlicesBuffersAndBatches() {
+    final byte[] horse = "horse".getBytes(UTF_8);
+    final byte[] padded =
+        Bytes.concatenate(Bytes.of(1, 2), Bytes.wrap(horse), Bytes.of(3)).toArray();
+
+    assertThat(Hash.keccak256(padded, 2, horse.length))
+        .isEqualTo(Bytes.fromHexString(horseKeccak256));
+    assertThat(Hash.keccak256(ByteBuffer.wrap(padded, 2, horse.length)))
+        .isEqualTo(Bytes.fromHexString(horseKeccak256));
+
+    final List<Bytes> inputs =
+        IntStream.range(0, 1000).mapToObj(i -> Bytes.ofUnsignedInt(i)).collect(toList());
+    final List<Bytes32> digests = Hash.keccak256(inputs);
+    assertThat(digests).hasSize(inputs.size());
+    for (int i = 0; i < inputs.size(); i++) {
+      assertThat(digests.get(i)).isEqualTo(Hash.keccak256(inputs.get(i)));
+    }
+  }
+
   /** Validate sha256 hash. */
   @Test
   public void sha256Hash() {
@@ -0,0 +1,113 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.crypto;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.security.MessageDigest;
+import java.util.Random;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.bouncycastle.jcajce.provider.digest.Keccak;
+import org.junit.Test;
+
+public class Keccak256MessageDigestTest {
+
+  private final Random random = new Random(1);
+
+  @Test
+  public void shouldComputeKnownDigests() {
+    assertThat(digest(new byte[0]))
+        .isEqualTo(
+            Bytes.fromHexString(
+                "c5d2460186f7233c927e7db2dcc703c0e500b653ca82273b7bfad8045d85a470"));
+    assertThat(digest("cow".getBytes(UTF_8)))
+        .isEqualTo(
+            Bytes.fromHexString(
+                "c85ef7d79691fe79573b1a7064c19c1a9819ebdbd1faaab1a8ec92344438aaf4"));
+    assertThat(digest("a".repeat(200).getBytes(UTF_8)))
+        .isEqualTo(
+            Bytes.fromHexString(
+                "96ea54061def936c4be90b518992fdc6f12f535068a256229aca54267b4d084d"));
+  }
+
+  @Test
+  public void shouldMatchBouncyCastleAcrossBlockBoundaries() {
+    for (int length = 0; length <= 3 * 136 + 1; length++) {
+      final byte[] input = randomBytes(length);
+      final MessageDigest reference = new Keccak.Digest256();
+      assertThat(digest(input)).isEqualTo(Bytes.wrap(reference.digest(input)));
+    }
+  }
+
+  @Test
+  public void shouldDigestInputSplitAcrossUpdates() {
+    final byte[] input = randomBytes(500);
+    final Bytes expected = digest(input);
+    final Keccak256MessageDigest digest = new Keccak256MessageDigest();
+    for (final int split : new int[] {1, 135, 136, 137, 300}) {
+      digest.update(input, 0, split);
+      digest.update(input[split]);
+      digest.update(input, split + 1, input.length - split - 1);
+      assertThat(Bytes.wrap(digest.digest())).isEqualTo(expected);
+    }
+  }
+
+  @Test
+  public void shouldDigestDirectBuffersInEitherByteOrder() {
+    final byte[] input = randomBytes(400);
+    final Bytes expected = digest(input);
+    for (final ByteOrder order : new ByteOrder[] {ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN}) {
+      final ByteBuffer buffer = ByteBuffer.allocateDirect(input.length + 3).order(order);
+      buffer.position(3);
+      buffer.put(input);
+      buffer.position(3);
+
+      final Keccak256MessageDigest digest = new Keccak256MessageDigest();
+      digest.update(input, 0, 10);
+      buffer.position(13);
+      digest.update(buffer);
+
+      assertThat(buffer.hasRemaining()).isFalse();
+      assertThat(Bytes.wrap(digest.digest())).isEqualTo(expected);
+    }
+  }
+
+  @Test
+  public void shouldCloneIndependentState() throws CloneNotSupportedException {
+    final byte[] input = randomBytes(300);
+    final Keccak256MessageDigest digest = new Keccak256MessageDigest();
+    digest.update(input, 0, 150);
+    final Keccak256MessageDigest clone = digest.clone();
+    digest.update(input, 150, 150);
+    clone.update(input, 150, 150);
+
+    assertThat(Bytes.wrap(clone.digest())).isEqualTo(Bytes.wrap(digest.digest()));
+    assertThat(Bytes.wrap(digest.digest())).isEqualTo(digest(new byte[0]));
+  }
+
+  private static Bytes digest(final byte[] input) {
+    return Bytes.wrap(Keccak256MessageDigest.threadLocal().digest(input));
+  }
+
+  private byte[] randomBytes(final int length) {
+    final byte[] bytes = new byte[length];
+    random.nextBytes(bytes);
+    return bytes;
+  }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.api.jsonrpc.internal.results;
+
+import org.hyperledger.besu.ethereum.eth.manager.EthPeer;
+
+import java.util.OptionalDouble;
+import javax.annotation.Nullable;
+
+import com.fasterxml.jackson.annotation.JsonGetter;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import org.immutables.value.Value;
+
+/** How fast a peer answers our requests, as measured from its recent responses. */
+@JsonPropertyOrder({"latency", "throughput", "outstandingRequests", "maxOutstandingRequests"})
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Value.Immutable
+@Value.Style(allParameters = true)
+public interface PeerPerformanceResult {
+
+  static PeerPerformanceResult fromEthPeer(final EthPeer peer) {
+    return ImmutablePeerPerformanceResult.builder()
+        .latency(round(peer.measuredResponseLatencyMillis()))
+        .throughput(round(peer.measuredResponseThroughput()))
+        .outstandingRequests(peer.outstandingRequests())
+        .maxOutstandingRequests(peer.maxOutstandingRequests())
+        .build();
+  }
+
+  private static Long round(final OptionalDouble value) {
+    return value.isPresent() ? Math.round(value.getAsDouble()) : null;
+  }
+
+  /** Average response latency in milliseconds, absent until enough responses arrived. */
+  @Nullable
+  @JsonGetter(value = "latency")
+  Long getLatency();
+
+  /** Average response throughput in bytes per second, absent until enough responses arrived. */
+  @Nullable
+  @JsonGetter(value = "throughput")
+  Long getThroughput();
+
+  @JsonGetter(value = "outstandingRequests")
+  int getOutstandingRequests();
+
+  @JsonGetter(value = "maxOutstandingRequests")
+  int getMaxOutstandingRequests();
+}
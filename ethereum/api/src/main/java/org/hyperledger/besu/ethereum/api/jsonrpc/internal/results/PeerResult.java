@@ -29,7 +29,17 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.TextNode;
 import org.immutables.value.Value;
 
-@JsonPropertyOrder({"version", "name", "caps", "network", "port", "id", "protocols", "enode"})
+@JsonPropertyOrder({
+  "version",
+  "name",
+  "caps",
+  "network",
+  "port",
+  "id",
+  "protocols",
+  "enode",
+  "performance"
+})
 @Value.Immutable
 @Value.Style(allParameters = true)
 public interface PeerResult {
@@ -50,6 +60,7 @@ public interface PeerResult {
         .id(peerInfo.getNodeId().toString())
         .protocols(Map.of(peer.getProtocolName(), ProtocolsResult.fromEthPeer(peer)))
         .enode(connection.getRemoteEnode().toString())
+        .performance(PeerPerformanceResult.fromEthPeer(peer))
         .build();
   }
 
@@ -76,4 +87,7 @@ public interface PeerResult {
 
   @JsonGetter(value = "enode")
   String getEnode();
+
+  @JsonGetter(value = "performance")
+  PeerPerformanceResult getPerformance();
 }
@@ -17,6 +17,7 @@ package org.hyperledger.besu.ethereum.api.query;
 import static com.google.common.base.Preconditions.checkArgument;
 import static org.hyperledger.besu.ethereum.api.query.cache.TransactionLogBloomCacher.BLOCKS_PER_BLOOM_CACHE;
 
+import org.hyperledger.besu.datatypes.AccountValue;
 import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.datatypes.Wei;
@@ -33,6 +34,7 @@ import org.hyperledger.besu.ethereum.core.MutableWorldState;
 import org.hyperledger.besu.ethereum.core.Transaction;
 import org.hyperledger.besu.ethereum.core.TransactionReceipt;
 import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
+import org.hyperledger.besu.ethereum.worldstate.ArchivedStateReader;
 import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive;
 import org.hyperledger.besu.evm.account.Account;
 import org.hyperledger.besu.evm.log.LogsBloomFilter;
@@ -197,7 +199,11 @@ public class BlockchainQueries {
   public Optional<UInt256> storageAt(
       final Address address, final UInt256 storageIndex, final Hash blockHash) {
     return fromAccount(
-        address, blockHash, account -> account.getStorageValue(storageIndex), UInt256.ZERO);
+        address,
+        blockHash,
+        account -> account.getStorageValue(storageIndex),
+        UInt256.ZERO,
+        archivedState -> archivedState.getStorageValue(address, storageIndex));
   }
 
   /**
@@ -222,7 +228,13 @@ public class BlockchainQueries {
    * @return The balance of the account in Wei.
    */
   public Optional<Wei> accountBalance(final Address address, final Hash blockHash) {
-    return fromAccount(address, blockHash, Account::getBalance, Wei.ZERO);
+    return fromAccount(
+        address,
+        blockHash,
+        Account::getBalance,
+        Wei.ZERO,
+        archivedState ->
+            archivedState.getAccount(address).map(AccountValue::getBalance).orElse(Wei.ZERO));
   }
 
   /**
@@ -247,7 +259,12 @@ public class BlockchainQueries {
    * @return The code associated with this address.
    */
   public Optional<Bytes> getCode(final Address address, final Hash blockHash) {
-    return fromAccount(address, blockHash, Account::getCode, Bytes.EMPTY);
+    return fromAccount(
+        address,
+        blockHash,
+        Account::getCode,
+        Bytes.EMPTY,
+        archivedState -> archivedState.getCode(address).orElse(Bytes.EMPTY));
   }
 
   /**
@@ -305,9 +322,13 @@ public class BlockchainQueries {
    * @return The number of transactions sent from the given address.
    */
   public long getTransactionCount(final Address address, final Hash blockHash) {
-    return getAndMapWorldState(
-            blockHash, worldState -> Optional.ofNullable(worldState.get(address)))
-        .map(Account::getNonce)
+    return fromAccount(
+            address,
+            blockHash,
+            Account::getNonce,
+            0L,
+            archivedState ->
+                archivedState.getAccount(address).map(AccountValue::getNonce).orElse(0L))
         .orElse(0L);
   }
 
@@ -955,17 +976,28 @@ public class BlockchainQueries {
                         (int) ((gasCollection.length) * apiConfig.getGasPriceFraction()))]));
   }
 
+  /*
+   * Reads a value of an account from the world state of the block or, when that world state can not
+   * be loaded any more, from the history the world state archive may keep of the accounts.
+   */
   private <T> Optional<T> fromAccount(
       final Address address,
       final Hash blockHash,
       final Function<Account, T> getter,
-      final T noAccountValue) {
+      final T noAccountValue,
+      final Function<ArchivedStateReader, T> archivedGetter) {
     return getAndMapWorldState(
-        blockHash,
-        worldState ->
-            Optional.ofNullable(worldState.get(address))
-                .map(getter)
-                .or(() -> Optional.ofNullable(noAccountValue)));
+            blockHash,
+            worldState ->
+                Optional.ofNullable(worldState.get(address))
+                    .map(getter)
+                    .or(() -> Optional.ofNullable(noAccountValue)))
+        .or(
+            () ->
+                blockchain
+                    .getBlockHeader(blockHash)
+                    .flatMap(worldStateArchive::getArchivedState)
+                    .map(archivedGetter));
   }
 
   private List<TransactionWithMetadata> formatTransactions(
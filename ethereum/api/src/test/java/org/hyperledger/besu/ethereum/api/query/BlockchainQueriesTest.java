@@ -20,6 +20,8 @@ import static com.google.common.base.Preconditions.checkArgument;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hyperledger.besu.ethereum.core.InMemoryKeyValueStorageProvider.createInMemoryBlockchain;
 import static org.hyperledger.besu.ethereum.core.InMemoryKeyValueStorageProvider.createInMemoryWorldStateArchive;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.datatypes.Hash;
@@ -33,6 +35,8 @@ import org.hyperledger.besu.ethereum.core.LogWithMetadata;
 import org.hyperledger.besu.ethereum.core.Transaction;
 import org.hyperledger.besu.ethereum.core.TransactionReceipt;
 import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
+import org.hyperledger.besu.ethereum.worldstate.ArchivedStateReader;
+import org.hyperledger.besu.ethereum.worldstate.StateTrieAccountValue;
 import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive;
 import org.hyperledger.besu.evm.account.Account;
 import org.hyperledger.besu.evm.worldstate.WorldState;
@@ -45,6 +49,7 @@ import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
+import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.units.bigints.UInt256;
 import org.junit.Before;
 import org.junit.Test;
@@ -278,6 +283,33 @@ public class BlockchainQueriesTest {
     assertThat(result).isEqualTo(Wei.ZERO);
   }
 
+  @Test
+  public void readsAccountsFromTheArchivedStateWhenTheWorldStateIsNotAvailable() {
+    final BlockchainWithData data = setupBlockchain(2);
+    final Block block = data.blockData.get(1).block;
+    final Address address = gen.address();
+    final WorldStateArchive worldStateArchive = mock(WorldStateArchive.class);
+    final ArchivedStateReader archivedState = mock(ArchivedStateReader.class);
+    when(worldStateArchive.getArchivedState(block.getHeader()))
+        .thenReturn(Optional.of(archivedState));
+    when(archivedState.getAccount(address))
+        .thenReturn(
+            Optional.of(
+                new StateTrieAccountValue(5, Wei.of(7), Hash.EMPTY_TRIE_HASH, Hash.EMPTY)));
+    when(archivedState.getCode(address)).thenReturn(Optional.of(Bytes.of(1)));
+    when(archivedState.getStorageValue(address, UInt256.ONE)).thenReturn(UInt256.valueOf(3));
+    final BlockchainQueries queries =
+        new BlockchainQueries(data.blockchain, worldStateArchive, scheduler);
+
+    assertThat(queries.accountBalance(address, block.getHash())).contains(Wei.of(7));
+    assertThat(queries.getTransactionCount(address, block.getHash())).isEqualTo(5L);
+    assertThat(queries.getCode(address, block.getHash())).contains(Bytes.of(1));
+    assertThat(queries.storageAt(address, UInt256.ONE, block.getHash()))
+        .contains(UInt256.valueOf(3));
+    // a block neither loadable nor archived has no state
+    assertThat(queries.accountBalance(address, data.blockData.get(0).block.getHash())).isEmpty();
+  }
+
   @Test
   public void getOmmerCountByHash() {
     final BlockchainWithData data = setupBlockchain(3);
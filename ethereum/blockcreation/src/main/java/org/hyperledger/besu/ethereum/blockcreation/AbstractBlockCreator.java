@@ -45,7 +45,10 @@ import org.hyperledger.besu.ethereum.mainnet.ScheduleBasedBlockHeaderFunctions;
 import org.hyperledger.besu.ethereum.mainnet.WithdrawalsProcessor;
 import org.hyperledger.besu.ethereum.mainnet.feemarket.BaseFeeMarket;
 import org.hyperledger.besu.ethereum.mainnet.feemarket.FeeMarket;
+import org.hyperledger.besu.evm.account.Account;
 import org.hyperledger.besu.evm.account.EvmAccount;
+import org.hyperledger.besu.evm.account.MutableAccount;
+import org.hyperledger.besu.evm.worldstate.UpdateTrackingAccount;
 import org.hyperledger.besu.evm.worldstate.WorldUpdater;
 import org.hyperledger.besu.plugin.data.TransactionType;
 import org.hyperledger.besu.plugin.services.exception.StorageException;
@@ -90,6 +93,9 @@ public abstract class AbstractBlockCreator implements AsyncBlockCreator {
 
   private final AtomicBoolean isCancelled = new AtomicBoolean(false);
 
+  // transactions selected by the previous call to createBlockIncrementally, if any
+  private IncrementalSelection incrementalSelection;
+
   protected AbstractBlockCreator(
       final Address coinbase,
       final MiningBeneficiaryCalculator miningBeneficiaryCalculator,
@@ -160,19 +166,82 @@ public abstract class AbstractBlockCreator implements AsyncBlockCreator {
       final Optional<Bytes32> maybePrevRandao,
       final long timestamp,
       boolean rewardCoinbase) {
+    return createBlock(
+        maybeTransactions,
+        maybeOmmers,
+        maybeWithdrawals,
+        maybePrevRandao,
+        timestamp,
+        rewardCoinbase,
+        false);
+  }
+
+  /**
+   * Creates a block with transactions selected from the pending transactions incrementally: the
+   * transactions selected by the previous call for the same timestamp and prevRandao are kept, and
+   * only the pending transactions that are not part of that selection yet are evaluated. Any other
+   * timestamp or prevRandao starts a new selection.
+   *
+   * <p>The selected transactions are executed only once, on a world state at the parent which is
+   * kept between calls. Their state changes are then replayed on a new world state at the parent
+   * to finalize each block, so that withdrawals and rewards are never applied twice.
+   *
+   * <p>The selection must be released with {@link #releaseIncrementalSelection()} once no more
+   * blocks are going to be created.
+   */
+  protected BlockCreationResult createBlockIncrementally(
+      final Optional<List<BlockHeader>> maybeOmmers,
+      final Optional<List<Withdrawal>> maybeWithdrawals,
+      final Optional<Bytes32> maybePrevRandao,
+      final long timestamp,
+      final boolean rewardCoinbase) {
+    try {
+      return createBlock(
+          Optional.empty(),
+          maybeOmmers,
+          maybeWithdrawals,
+          maybePrevRandao,
+          timestamp,
+          rewardCoinbase,
+          true);
+    } catch (final RuntimeException ex) {
+      // the selection may have been left half updated, start over on the next call
+      releaseIncrementalSelection();
+      throw ex;
+    }
+  }
+
+  /** Releases the world state of the transactions selected by createBlockIncrementally. */
+  public void releaseIncrementalSelection() {
+    if (incrementalSelection != null) {
+      incrementalSelection.close();
+      incrementalSelection = null;
+    }
+  }
+
+  private BlockCreationResult createBlock(
+      final Optional<List<Transaction>> maybeTransactions,
+      final Optional<List<BlockHeader>> maybeOmmers,
+      final Optional<List<Withdrawal>> maybeWithdrawals,
+      final Optional<Bytes32> maybePrevRandao,
+      final long timestamp,
+      final boolean rewardCoinbase,
+      final boolean incremental) {
 
     try (final MutableWorldState disposableWorldState = duplicateWorldStateAtParent()) {
       final ProtocolSpec newProtocolSpec =
           protocolSchedule.getForNextBlockHeader(parentHeader, timestamp);
 
+      if (incremental) {
+        prepareIncrementalSelection(timestamp, maybePrevRandao, newProtocolSpec);
+      }
       final ProcessableBlockHeader processableBlockHeader =
-          createPendingBlockHeader(timestamp, maybePrevRandao, newProtocolSpec);
+          incremental
+              ? incrementalSelection.processableBlockHeader
+              : createPendingBlockHeader(timestamp, maybePrevRandao, newProtocolSpec);
       final Address miningBeneficiary =
           miningBeneficiaryCalculator.getMiningBeneficiary(processableBlockHeader.getNumber());
-      final Wei dataGasPrice =
-          newProtocolSpec
-              .getFeeMarket()
-              .dataPrice(parentHeader.getExcessDataGas().orElse(DataGas.ZERO));
+      final Wei dataGasPrice = dataGasPrice(newProtocolSpec);
 
       throwIfStopped();
 
@@ -180,13 +249,15 @@ public abstract class AbstractBlockCreator implements AsyncBlockCreator {
 
       throwIfStopped();
       final TransactionSelectionResults transactionResults =
-          selectTransactions(
-              processableBlockHeader,
-              disposableWorldState,
-              maybeTransactions,
-              miningBeneficiary,
-              dataGasPrice,
-              newProtocolSpec);
+          incremental
+              ? incrementalSelection.selectNewTransactions(disposableWorldState)
+              : selectTransactions(
+                  processableBlockHeader,
+                  disposableWorldState,
+                  maybeTransactions,
+                  miningBeneficiary,
+                  dataGasPrice,
+                  newProtocolSpec);
 
       transactionResults.logSelectionStats();
 
@@ -259,7 +330,10 @@ public abstract class AbstractBlockCreator implements AsyncBlockCreator {
           new Block(
               blockHeader,
               new BlockBody(
-                  transactionResults.getTransactions(), ommers, withdrawals, maybeDeposits));
+                  List.copyOf(transactionResults.getTransactions()),
+                  ommers,
+                  withdrawals,
+                  maybeDeposits));
       return new BlockCreationResult(block, transactionResults);
     } catch (final SecurityModuleException ex) {
       throw new IllegalStateException("Failed to create block signature", ex);
@@ -307,28 +381,14 @@ public abstract class AbstractBlockCreator implements AsyncBlockCreator {
       final Wei dataGasPrice,
       final ProtocolSpec protocolSpec)
       throws RuntimeException {
-    final MainnetTransactionProcessor transactionProcessor = protocolSpec.getTransactionProcessor();
-
-    final AbstractBlockProcessor.TransactionReceiptFactory transactionReceiptFactory =
-        protocolSpec.getTransactionReceiptFactory();
-
     final BlockTransactionSelector selector =
-        new BlockTransactionSelector(
-            transactionProcessor,
-            protocolContext.getBlockchain(),
-            disposableWorldState,
-            pendingTransactions,
+        createTransactionSelector(
             processableBlockHeader,
-            transactionReceiptFactory,
-            minTransactionGasPrice,
-            minBlockOccupancyRatio,
-            isCancelled::get,
+            disposableWorldState,
             miningBeneficiary,
             dataGasPrice,
-            protocolSpec.getFeeMarket(),
-            protocolSpec.getGasCalculator(),
-            protocolSpec.getGasLimitCalculator(),
-            protocolContext.getTransactionSelectorFactory());
+            protocolSpec,
+            Optional.empty());
 
     if (transactions.isPresent()) {
       return selector.evaluateTransactions(transactions.get());
@@ -337,6 +397,88 @@ public abstract class AbstractBlockCreator implements AsyncBlockCreator {
     }
   }
 
+  private BlockTransactionSelector createTransactionSelector(
+      final ProcessableBlockHeader processableBlockHeader,
+      final MutableWorldState worldState,
+      final Address miningBeneficiary,
+      final Wei dataGasPrice,
+      final ProtocolSpec protocolSpec,
+      final Optional<WorldUpdater> maybeSelectionUpdater) {
+    final MainnetTransactionProcessor transactionProcessor = protocolSpec.getTransactionProcessor();
+
+    final AbstractBlockProcessor.TransactionReceiptFactory transactionReceiptFactory =
+        protocolSpec.getTransactionReceiptFactory();
+
+    return new BlockTransactionSelector(
+        transactionProcessor,
+        protocolContext.getBlockchain(),
+        worldState,
+        pendingTransactions,
+        processableBlockHeader,
+        transactionReceiptFactory,
+        minTransactionGasPrice,
+        minBlockOccupancyRatio,
+        isCancelled::get,
+        miningBeneficiary,
+        dataGasPrice,
+        protocolSpec.getFeeMarket(),
+        protocolSpec.getGasCalculator(),
+        protocolSpec.getGasLimitCalculator(),
+        protocolContext.getTransactionSelectorFactory(),
+        maybeSelectionUpdater,
+        getTransactionPreEvaluator());
+  }
+
+  /**
+   * Returns the pre-evaluator used to discard invalid pending transactions in parallel, before
+   * they are selected. None by default.
+   *
+   * @return the transaction pre-evaluator, if any
+   */
+  protected Optional<TransactionPreEvaluator> getTransactionPreEvaluator() {
+    return Optional.empty();
+  }
+
+  private void prepareIncrementalSelection(
+      final long timestamp,
+      final Optional<Bytes32> maybePrevRandao,
+      final ProtocolSpec protocolSpec) {
+    if (incrementalSelection != null
+        && incrementalSelection.timestamp == timestamp
+        && incrementalSelection.maybePrevRandao.equals(maybePrevRandao)) {
+      return;
+    }
+    releaseIncrementalSelection();
+
+    final ProcessableBlockHeader processableBlockHeader =
+        createPendingBlockHeader(timestamp, maybePrevRandao, protocolSpec);
+    final MutableWorldState worldState = duplicateWorldStateAtParent();
+    // stacked on the world state updater, which is never committed, to keep the parent state intact
+    final WorldUpdater selectionUpdater = worldState.updater().updater();
+    final BlockTransactionSelector selector =
+        createTransactionSelector(
+            processableBlockHeader,
+            worldState,
+            miningBeneficiaryCalculator.getMiningBeneficiary(processableBlockHeader.getNumber()),
+            dataGasPrice(protocolSpec),
+            protocolSpec,
+            Optional.of(selectionUpdater));
+    incrementalSelection =
+        new IncrementalSelection(
+            timestamp,
+            maybePrevRandao,
+            processableBlockHeader,
+            worldState,
+            selectionUpdater,
+            selector);
+  }
+
+  private Wei dataGasPrice(final ProtocolSpec protocolSpec) {
+    return protocolSpec
+        .getFeeMarket()
+        .dataPrice(parentHeader.getExcessDataGas().orElse(DataGas.ZERO));
+  }
+
   private MutableWorldState duplicateWorldStateAtParent() {
     final Hash parentStateRoot = parentHeader.getStateRoot();
     return protocolContext
@@ -470,4 +612,63 @@ public abstract class AbstractBlockCreator implements AsyncBlockCreator {
   protected interface MiningBeneficiaryCalculator {
     Address getMiningBeneficiary(long blockNumber);
   }
+
+  private static class IncrementalSelection {
+    private final long timestamp;
+    private final Optional<Bytes32> maybePrevRandao;
+    private final ProcessableBlockHeader processableBlockHeader;
+    private final MutableWorldState worldState;
+    private final WorldUpdater selectionUpdater;
+    private final BlockTransactionSelector selector;
+
+    private IncrementalSelection(
+        final long timestamp,
+        final Optional<Bytes32> maybePrevRandao,
+        final ProcessableBlockHeader processableBlockHeader,
+        final MutableWorldState worldState,
+        final WorldUpdater selectionUpdater,
+        final BlockTransactionSelector selector) {
+      this.timestamp = timestamp;
+      this.maybePrevRandao = maybePrevRandao;
+      this.processableBlockHeader = processableBlockHeader;
+      this.worldState = worldState;
+      this.selectionUpdater = selectionUpdater;
+      this.selector = selector;
+    }
+
+    /**
+     * Extends the selection with the new pending transactions, then applies the state changes of
+     * all the selected transactions to the given world state, which must be at the parent.
+     */
+    private TransactionSelectionResults selectNewTransactions(final MutableWorldState blockState) {
+      final TransactionSelectionResults results = selector.buildTransactionListForBlock();
+
+      // same as StackedUpdater.commit, except that the changes are copied to another world state
+      final WorldUpdater updater = blockState.updater();
+      selectionUpdater.getDeletedAccountAddresses().forEach(updater::deleteAccount);
+      for (final Account touched : selectionUpdater.getTouchedAccounts()) {
+        final UpdateTrackingAccount<?> update = (UpdateTrackingAccount<?>) touched;
+        final MutableAccount account = updater.getOrCreate(update.getAddress()).getMutable();
+        account.setNonce(update.getNonce());
+        account.setBalance(update.getBalance());
+        if (update.codeWasUpdated()) {
+          account.setCode(update.getCode());
+        }
+        if (update.getStorageWasCleared()) {
+          account.clearStorage();
+        }
+        update.getUpdatedStorage().forEach(account::setStorageValue);
+      }
+      updater.commit();
+      return results;
+    }
+
+    private void close() {
+      try {
+        worldState.close();
+      } catch (final Exception e) {
+        LOG.debug("Failed to close the world state of the incremental selection", e);
+      }
+    }
+  }
 }
@@ -15,6 +15,7 @@
 package org.hyperledger.besu.ethereum.blockcreation;
 
 import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.datatypes.Wei;
 import org.hyperledger.besu.ethereum.GasLimitCalculator;
 import org.hyperledger.besu.ethereum.chain.Blockchain;
@@ -33,6 +34,7 @@ import org.hyperledger.besu.ethereum.processing.TransactionProcessingResult;
 import org.hyperledger.besu.ethereum.transaction.TransactionInvalidReason;
 import org.hyperledger.besu.ethereum.vm.BlockHashLookup;
 import org.hyperledger.besu.ethereum.vm.CachingBlockHashLookup;
+import org.hyperledger.besu.evm.account.Account;
 import org.hyperledger.besu.evm.gascalculator.GasCalculator;
 import org.hyperledger.besu.evm.log.Log;
 import org.hyperledger.besu.evm.worldstate.WorldUpdater;
@@ -43,6 +45,7 @@ import org.hyperledger.besu.plugin.services.txselection.TransactionSelectorFacto
 
 import java.util.ArrayList;
 import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -75,6 +78,17 @@ import org.slf4j.LoggerFactory;
  *
  * Once "used" this class must be discarded and another created. This class contains state which is
  * not cleared between executions of buildTransactionListForBlock().
+ *
+ * <p>When the selected transactions are committed to a dedicated world updater, which outlives a
+ * single block creation, buildTransactionListForBlock() can instead be called again to extend the
+ * previous selection with the pending transactions that arrived in the meantime. Transactions
+ * already covered by the selection are skipped, and only the new ones are evaluated.
+ *
+ * <p>When a {@link TransactionPreEvaluator} is provided, the pending transactions are first
+ * validated in parallel, against the pending block header and the state of the parent block. Only
+ * the failures that no earlier transaction of the block can fix, like an invalid signature or a
+ * nonce already used, are reported, and those transactions are then discarded by the sequential
+ * selection without being processed.
  */
 public class BlockTransactionSelector {
 
@@ -147,6 +161,10 @@ public class BlockTransactionSelector {
       selectionResults.add(res);
     }
 
+    public int getEvaluatedTransactionsCount() {
+      return selectionResults.size();
+    }
+
     public void logSelectionStats() {
       if (LOG.isDebugEnabled()) {
         final Map<TransactionSelectionResult, Long> selectionStats =
@@ -227,9 +245,14 @@ public class BlockTransactionSelector {
   private final GasCalculator gasCalculator;
   private final GasLimitCalculator gasLimitCalculator;
   private final TransactionSelector transactionSelector;
+  // when present, selected transactions are committed to it instead of to the world state
+  private final Optional<WorldUpdater> maybeSelectionUpdater;
+  private final Optional<TransactionPreEvaluator> maybePreEvaluator;
 
   private final TransactionSelectionResults transactionSelectionResults =
       new TransactionSelectionResults();
+  private final Map<Address, Long> highestSelectedNonces = new HashMap<>();
+  private Map<Hash, ValidationResult<TransactionInvalidReason>> preRejectedTransactions = Map.of();
 
   public BlockTransactionSelector(
       final MainnetTransactionProcessor transactionProcessor,
@@ -247,6 +270,44 @@ public class BlockTransactionSelector {
       final GasCalculator gasCalculator,
       final GasLimitCalculator gasLimitCalculator,
       final Optional<TransactionSelectorFactory> transactionSelectorFactory) {
+    this(
+        transactionProcessor,
+        blockchain,
+        worldState,
+        pendingTransactions,
+        processableBlockHeader,
+        transactionReceiptFactory,
+        minTransactionGasPrice,
+        minBlockOccupancyRatio,
+        isCancelled,
+        miningBeneficiary,
+        dataGasPrice,
+        feeMarket,
+        gasCalculator,
+        gasLimitCalculator,
+        transactionSelectorFactory,
+        Optional.empty(),
+        Optional.empty());
+  }
+
+  public BlockTransactionSelector(
+      final MainnetTransactionProcessor transactionProcessor,
+      final Blockchain blockchain,
+      final MutableWorldState worldState,
+      final PendingTransactions pendingTransactions,
+      final ProcessableBlockHeader processableBlockHeader,
+      final AbstractBlockProcessor.TransactionReceiptFactory transactionReceiptFactory,
+      final Wei minTransactionGasPrice,
+      final Double minBlockOccupancyRatio,
+      final Supplier<Boolean> isCancelled,
+      final Address miningBeneficiary,
+      final Wei dataGasPrice,
+      final FeeMarket feeMarket,
+      final GasCalculator gasCalculator,
+      final GasLimitCalculator gasLimitCalculator,
+      final Optional<TransactionSelectorFactory> transactionSelectorFactory,
+      final Optional<WorldUpdater> maybeSelectionUpdater,
+      final Optional<TransactionPreEvaluator> maybePreEvaluator) {
     this.transactionProcessor = transactionProcessor;
     this.blockchain = blockchain;
     this.worldState = worldState;
@@ -263,6 +324,8 @@ public class BlockTransactionSelector {
     this.gasLimitCalculator = gasLimitCalculator;
     this.transactionSelector =
         transactionSelectorFactory.map(TransactionSelectorFactory::create).orElse(null);
+    this.maybeSelectionUpdater = maybeSelectionUpdater;
+    this.maybePreEvaluator = maybePreEvaluator;
   }
 
   /*
@@ -276,8 +339,13 @@ public class BlockTransactionSelector {
         .setMessage("Transaction pool stats {}")
         .addArgument(pendingTransactions.logStats())
         .log();
+    maybePreEvaluator.ifPresent(this::preEvaluateTransactions);
     pendingTransactions.selectTransactions(
         pendingTransaction -> {
+          if (isAlreadySelected(pendingTransaction)) {
+            // selected by a previous call, keep going with the next transactions of the sender
+            return TransactionSelectionResult.SELECTED;
+          }
           final var res = evaluateTransaction(pendingTransaction, false);
           transactionSelectionResults.addSelectionResult(res);
           return res;
@@ -340,7 +408,15 @@ public class BlockTransactionSelector {
       return TransactionSelectionResult.DATA_PRICE_BELOW_CURRENT_MIN;
     }
 
-    final WorldUpdater worldStateUpdater = worldState.updater();
+    final WorldUpdater worldStateUpdater =
+        maybeSelectionUpdater.map(WorldUpdater::updater).orElseGet(worldState::updater);
+    final ValidationResult<TransactionInvalidReason> preRejectedResult =
+        preRejectedTransactions.get(transaction.getHash());
+    if (preRejectedResult != null) {
+      return handleInvalidTransaction(
+          transaction, preRejectedResult, reportFutureNonceTransactionsAsInvalid);
+    }
+
     final BlockHashLookup blockHashLookup =
         new CachingBlockHashLookup(processableBlockHeader, blockchain);
 
@@ -385,6 +461,7 @@ public class BlockTransactionSelector {
         final long dataGasUsed = gasCalculator.dataGasCost(transaction.getBlobCount());
 
         transactionSelectionResults.update(transaction, receipt, gasUsedByTransaction, dataGasUsed);
+        highestSelectedNonces.merge(transaction.getSender(), transaction.getNonce(), Math::max);
 
         LOG.atTrace()
             .setMessage("Selected {} for block creation")
@@ -393,21 +470,82 @@ public class BlockTransactionSelector {
       }
       return txSelectionResult;
     } else {
+      return handleInvalidTransaction(
+          transaction,
+          effectiveResult.getValidationResult(),
+          reportFutureNonceTransactionsAsInvalid);
+    }
+  }
 
-      final boolean isIncorrectNonce = isIncorrectNonce(effectiveResult.getValidationResult());
-      if (!isIncorrectNonce || reportFutureNonceTransactionsAsInvalid) {
-        transactionSelectionResults.updateWithInvalidTransaction(
-            transaction, effectiveResult.getValidationResult());
-      }
-      return transactionSelectionResultForInvalidResult(
-          transaction, effectiveResult.getValidationResult());
+  private TransactionSelectionResult handleInvalidTransaction(
+      final Transaction transaction,
+      final ValidationResult<TransactionInvalidReason> validationResult,
+      final boolean reportFutureNonceTransactionsAsInvalid) {
+    final boolean isIncorrectNonce = isIncorrectNonce(validationResult);
+    if (!isIncorrectNonce || reportFutureNonceTransactionsAsInvalid) {
+      transactionSelectionResults.updateWithInvalidTransaction(transaction, validationResult);
+    }
+    return transactionSelectionResultForInvalidResult(transaction, validationResult);
+  }
+
+  private void preEvaluateTransactions(final TransactionPreEvaluator preEvaluator) {
+    // the candidates are the transactions the selection goes through first, in the same order,
+    // so the pool is only walked until enough of them have been collected
+    final int maxCandidates = preEvaluator.getMaxCandidates();
+    final List<Transaction> candidates = new ArrayList<>(maxCandidates);
+    pendingTransactions.selectTransactions(
+        transaction -> {
+          if (!isAlreadySelected(transaction)) {
+            candidates.add(transaction);
+          }
+          return candidates.size() < maxCandidates
+              ? TransactionSelectionResult.SELECTED
+              : TransactionSelectionResult.BLOCK_FULL;
+        });
+    preRejectedTransactions =
+        preEvaluator.findInvalidTransactions(candidates, this::preEvaluateTransaction);
+  }
+
+  /*
+   * Runs concurrently, before the selection starts, so it only reads the pending block header and
+   * the world state, which still is the state of the parent block. Only the failures that hold
+   * whatever the transactions selected before this one are reported: an insufficient balance or a
+   * nonce gap could be fixed by an earlier transaction of the block, while a nonce below the one of
+   * the parent state can not.
+   */
+  private ValidationResult<TransactionInvalidReason> preEvaluateTransaction(
+      final Transaction transaction) {
+    final ValidationResult<TransactionInvalidReason> result =
+        transactionProcessor
+            .getTransactionValidator()
+            .validate(
+                transaction,
+                processableBlockHeader.getBaseFee(),
+                TransactionValidationParams.mining());
+    if (!result.isValid()) {
+      return result;
+    }
+    final Account sender = worldState.get(transaction.getSender());
+    final long senderNonce = sender == null ? Account.DEFAULT_NONCE : sender.getNonce();
+    if (transaction.getNonce() < senderNonce) {
+      return ValidationResult.invalid(
+          TransactionInvalidReason.NONCE_TOO_LOW,
+          String.format(
+              "transaction nonce %s below sender account nonce %s",
+              transaction.getNonce(), senderNonce));
     }
+    return ValidationResult.valid();
   }
 
   private List<org.hyperledger.besu.plugin.data.Log> getLogs(final List<Log> logs) {
     return logs.stream().map(LogsWrapper::new).collect(Collectors.toList());
   }
 
+  private boolean isAlreadySelected(final Transaction transaction) {
+    final Long highestSelectedNonce = highestSelectedNonces.get(transaction.getSender());
+    return highestSelectedNonce != null && transaction.getNonce() <= highestSelectedNonce;
+  }
+
   private boolean transactionDataPriceBelowMin(final Transaction transaction) {
     if (transaction.getType().supportsBlob()) {
       if (transaction.getMaxFeePerDataGas().orElseThrow().lessThan(dataGasPrice)) {
@@ -0,0 +1,154 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.blockcreation;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.eth.manager.MonitoredExecutors;
+import org.hyperledger.besu.ethereum.mainnet.ValidationResult;
+import org.hyperledger.besu.ethereum.transaction.TransactionInvalidReason;
+import org.hyperledger.besu.metrics.BesuMetricCategory;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import com.google.common.collect.Lists;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Evaluates candidate transactions in parallel, ahead of the sequential transaction selection, to
+ * find the ones that are certain to be invalid for the block being built.
+ *
+ * <p>The evaluation must only depend on the pending block header and on read-only state, since it
+ * runs concurrently and before any transaction has been selected. The sequential selection then
+ * discards the transactions found invalid without processing them again. A single instance can be
+ * shared by all the block creations of a node, and must be stopped with it.
+ */
+public class TransactionPreEvaluator {
+  private static final Logger LOG = LoggerFactory.getLogger(TransactionPreEvaluator.class);
+
+  public static final int DEFAULT_PARALLELISM =
+      Math.min(4, Runtime.getRuntime().availableProcessors());
+  // below this size, a batch is not worth the hand-off to another thread
+  private static final int MIN_BATCH_SIZE = 32;
+
+  private final int parallelism;
+  private final int maxCandidates;
+  private final ExecutorService executor;
+  private final LabelledMetric<Counter> rejectedCounter;
+
+  public TransactionPreEvaluator(
+      final int parallelism, final int maxCandidates, final MetricsSystem metricsSystem) {
+    this.parallelism = parallelism;
+    this.maxCandidates = maxCandidates;
+    this.executor =
+        MonitoredExecutors.newFixedThreadPool(
+            "Tx-Pre-Evaluation", parallelism, parallelism, metricsSystem);
+    this.rejectedCounter =
+        metricsSystem.createLabelledCounter(
+            BesuMetricCategory.BLOCKCHAIN,
+            "block_creation_pre_evaluation_rejected_total",
+            "Count of candidate transactions rejected by the pre-evaluation of block creation",
+            "reason");
+  }
+
+  /**
+   * Returns the maximum number of candidates evaluated for a block.
+   *
+   * @return the maximum number of candidates
+   */
+  public int getMaxCandidates() {
+    return maxCandidates;
+  }
+
+  /**
+   * Evaluates up to the configured maximum number of candidates, in parallel, and returns the
+   * result of the ones that are invalid.
+   *
+   * <p>If the evaluation fails, an empty map is returned, and all the candidates are left to the
+   * sequential selection.
+   *
+   * @param candidates the transactions to evaluate, in order of priority
+   * @param evaluation the thread safe evaluation to run for each candidate
+   * @return the invalid results by transaction hash
+   */
+  public Map<Hash, ValidationResult<TransactionInvalidReason>> findInvalidTransactions(
+      final List<Transaction> candidates,
+      final Function<Transaction, ValidationResult<TransactionInvalidReason>> evaluation) {
+    final List<Transaction> evaluated =
+        candidates.subList(0, Math.min(maxCandidates, candidates.size()));
+    if (evaluated.isEmpty()) {
+      return Map.of();
+    }
+    final int batchSize =
+        Math.max(MIN_BATCH_SIZE, (evaluated.size() + parallelism - 1) / parallelism);
+    final Map<Hash, ValidationResult<TransactionInvalidReason>> invalidTransactions =
+        new HashMap<>();
+    try {
+      // All the batches are submitted before waiting for the first one. A stopped executor rejects
+      // them, which is handled like any other failure.
+      Lists.partition(evaluated, batchSize).stream()
+          .map(batch -> CompletableFuture.supplyAsync(() -> evaluate(batch, evaluation), executor))
+          .toList()
+          .forEach(batch -> invalidTransactions.putAll(batch.join()));
+    } catch (final RuntimeException e) {
+      LOG.debug("Pre-evaluation of candidate transactions failed, skipping it", e);
+      return Map.of();
+    }
+    invalidTransactions
+        .values()
+        .forEach(result -> rejectedCounter.labels(result.getInvalidReason().name()).inc());
+    return invalidTransactions;
+  }
+
+  /** Stops the evaluation threads, interrupting any evaluation in progress. */
+  public void stop() {
+    executor.shutdownNow();
+  }
+
+  /**
+   * Waits for the evaluation threads to terminate once stopped.
+   *
+   * @throws InterruptedException if interrupted while waiting
+   */
+  public void awaitStop() throws InterruptedException {
+    if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+      LOG.error("{} executor did not shutdown cleanly.", getClass().getSimpleName());
+    }
+  }
+
+  private static Map<Hash, ValidationResult<TransactionInvalidReason>> evaluate(
+      final List<Transaction> batch,
+      final Function<Transaction, ValidationResult<TransactionInvalidReason>> evaluation) {
+    final Map<Hash, ValidationResult<TransactionInvalidReason>> invalidTransactions =
+        new HashMap<>();
+    for (final Transaction transaction : batch) {
+      final ValidationResult<TransactionInvalidReason> result = evaluation.apply(transaction);
+      if (!result.isValid()) {
+        invalidTransactions.put(transaction.getHash(), result);
+      }
+    }
+    return invalidTransactions;
+  }
+}
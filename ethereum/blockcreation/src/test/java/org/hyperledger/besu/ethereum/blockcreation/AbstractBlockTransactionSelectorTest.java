@@ -19,6 +19,8 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import org.hyperledger.besu.config.GenesisConfigFile;
@@ -45,6 +47,7 @@ import org.hyperledger.besu.ethereum.eth.transactions.ImmutableTransactionPoolCo
 import org.hyperledger.besu.ethereum.eth.transactions.PendingTransactions;
 import org.hyperledger.besu.ethereum.eth.transactions.sorter.BaseFeePendingTransactionsSorter;
 import org.hyperledger.besu.ethereum.mainnet.MainnetTransactionProcessor;
+import org.hyperledger.besu.ethereum.mainnet.MainnetTransactionValidator;
 import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
 import org.hyperledger.besu.ethereum.mainnet.ValidationResult;
 import org.hyperledger.besu.ethereum.mainnet.feemarket.FeeMarket;
@@ -55,6 +58,8 @@ import org.hyperledger.besu.evm.gascalculator.GasCalculator;
 import org.hyperledger.besu.evm.gascalculator.LondonGasCalculator;
 import org.hyperledger.besu.evm.internal.EvmConfiguration;
 import org.hyperledger.besu.evm.worldstate.WorldState;
+import org.hyperledger.besu.evm.worldstate.WorldUpdater;
+import org.hyperledger.besu.metrics.StubMetricsSystem;
 import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
 import org.hyperledger.besu.plugin.data.TransactionSelectionResult;
 import org.hyperledger.besu.plugin.data.TransactionType;
@@ -659,6 +664,206 @@ public abstract class AbstractBlockTransactionSelectorTest {
     assertThat(results.getTransactions().size()).isEqualTo(0);
   }
 
+  @Test
+  public void transactionsRejectedByPreEvaluationAreDiscardedWithoutBeingProcessed() {
+    final ProcessableBlockHeader blockHeader = createBlock(5000);
+    final TransactionTestFixture txTestFixture = new TransactionTestFixture();
+
+    final Transaction validTransaction =
+        txTestFixture
+            .nonce(1)
+            .gasLimit(1)
+            .createTransaction(SignatureAlgorithmFactory.getInstance().generateKeyPair());
+    ensureTransactionIsValid(validTransaction, 2000, 10000);
+    final Transaction invalidSignatureTransaction =
+        txTestFixture
+            .nonce(1)
+            .gasLimit(1)
+            .createTransaction(SignatureAlgorithmFactory.getInstance().generateKeyPair());
+    final Transaction nonceTooLowTransaction =
+        txTestFixture
+            .nonce(1)
+            .gasLimit(1)
+            .createTransaction(SignatureAlgorithmFactory.getInstance().generateKeyPair());
+    final WorldUpdater updater = worldState.updater();
+    updater.createAccount(nonceTooLowTransaction.getSender()).getMutable().setNonce(2);
+    updater.commit();
+
+    final MainnetTransactionValidator transactionValidator =
+        mock(MainnetTransactionValidator.class);
+    when(transactionProcessor.getTransactionValidator()).thenReturn(transactionValidator);
+    when(transactionValidator.validate(any(), any(), any())).thenReturn(ValidationResult.valid());
+    when(transactionValidator.validate(eq(invalidSignatureTransaction), any(), any()))
+        .thenReturn(ValidationResult.invalid(TransactionInvalidReason.INVALID_SIGNATURE));
+
+    pendingTransactions.addRemoteTransaction(validTransaction, Optional.empty());
+    pendingTransactions.addRemoteTransaction(invalidSignatureTransaction, Optional.empty());
+    pendingTransactions.addRemoteTransaction(nonceTooLowTransaction, Optional.empty());
+
+    final StubMetricsSystem stubMetricsSystem = new StubMetricsSystem();
+    final BlockTransactionSelector selector =
+        new BlockTransactionSelector(
+            transactionProcessor,
+            blockchain,
+            worldState,
+            pendingTransactions,
+            blockHeader,
+            this::createReceipt,
+            Wei.ZERO,
+            MIN_OCCUPANCY_80_PERCENT,
+            this::isCancelled,
+            AddressHelpers.ofValue(1),
+            Wei.ZERO,
+            getFeeMarket(),
+            new LondonGasCalculator(),
+            GasLimitCalculator.constant(),
+            Optional.empty(),
+            Optional.empty(),
+            Optional.of(new TransactionPreEvaluator(2, 16, stubMetricsSystem)));
+
+    final BlockTransactionSelector.TransactionSelectionResults results =
+        selector.buildTransactionListForBlock();
+
+    assertThat(results.getTransactions()).containsExactly(validTransaction);
+    assertThat(results.getInvalidTransactions())
+        .extracting(BlockTransactionSelector.TransactionValidationResult::transaction)
+        .containsExactlyInAnyOrder(invalidSignatureTransaction, nonceTooLowTransaction);
+    assertThat(pendingTransactions.getTransactionByHash(invalidSignatureTransaction.getHash()))
+        .isNotPresent();
+    assertThat(pendingTransactions.getTransactionByHash(nonceTooLowTransaction.getHash()))
+        .isNotPresent();
+    verify(transactionProcessor, never())
+        .processTransaction(
+            any(),
+            any(),
+            any(),
+            eq(invalidSignatureTransaction),
+            any(),
+            any(),
+            anyBoolean(),
+            any(),
+            any());
+    verify(transactionProcessor, never())
+        .processTransaction(
+            any(),
+            any(),
+            any(),
+            eq(nonceTooLowTransaction),
+            any(),
+            any(),
+            anyBoolean(),
+            any(),
+            any());
+    assertThat(
+            stubMetricsSystem.getCounterValue(
+                "block_creation_pre_evaluation_rejected_total", "INVALID_SIGNATURE"))
+        .isEqualTo(1);
+    assertThat(
+            stubMetricsSystem.getCounterValue(
+                "block_creation_pre_evaluation_rejected_total", "NONCE_TOO_LOW"))
+        .isEqualTo(1);
+  }
+
+  @Test
+  public void preEvaluationOnlyChecksTheHighestPriorityCandidatesUpToTheCap() {
+    final ProcessableBlockHeader blockHeader = createBlock(5000);
+    final TransactionTestFixture txTestFixture = new TransactionTestFixture();
+
+    final Transaction lowPriorityTransaction =
+        txTestFixture
+            .nonce(1)
+            .gasLimit(1)
+            .gasPrice(Wei.of(10))
+            .createTransaction(SignatureAlgorithmFactory.getInstance().generateKeyPair());
+    final Transaction highPriorityTransaction =
+        txTestFixture
+            .nonce(1)
+            .gasLimit(1)
+            .gasPrice(Wei.of(20))
+            .createTransaction(SignatureAlgorithmFactory.getInstance().generateKeyPair());
+    ensureTransactionIsValid(lowPriorityTransaction, 2000, 10000);
+    ensureTransactionIsValid(highPriorityTransaction, 2000, 10000);
+
+    final MainnetTransactionValidator transactionValidator =
+        mock(MainnetTransactionValidator.class);
+    when(transactionProcessor.getTransactionValidator()).thenReturn(transactionValidator);
+    when(transactionValidator.validate(any(), any(), any())).thenReturn(ValidationResult.valid());
+
+    pendingTransactions.addRemoteTransaction(lowPriorityTransaction, Optional.empty());
+    pendingTransactions.addRemoteTransaction(highPriorityTransaction, Optional.empty());
+
+    final TransactionPreEvaluator preEvaluator =
+        new TransactionPreEvaluator(2, 1, new NoOpMetricsSystem());
+    final BlockTransactionSelector.TransactionSelectionResults results =
+        createBlockSelectorWithPreEvaluator(blockHeader, preEvaluator)
+            .buildTransactionListForBlock();
+    preEvaluator.stop();
+
+    assertThat(results.getTransactions())
+        .containsExactly(highPriorityTransaction, lowPriorityTransaction);
+    verify(transactionValidator).validate(eq(highPriorityTransaction), any(), any());
+    verify(transactionValidator, never()).validate(eq(lowPriorityTransaction), any(), any());
+  }
+
+  @Test
+  public void stoppedPreEvaluationLeavesAllTransactionsToTheSelection() throws Exception {
+    final ProcessableBlockHeader blockHeader = createBlock(5000);
+    final Transaction invalidSignatureTransaction =
+        new TransactionTestFixture()
+            .nonce(1)
+            .gasLimit(1)
+            .createTransaction(SignatureAlgorithmFactory.getInstance().generateKeyPair());
+    ensureTransactionIsInvalid(
+        invalidSignatureTransaction, TransactionInvalidReason.INVALID_SIGNATURE);
+    pendingTransactions.addRemoteTransaction(invalidSignatureTransaction, Optional.empty());
+
+    final TransactionPreEvaluator preEvaluator =
+        new TransactionPreEvaluator(2, 16, new NoOpMetricsSystem());
+    preEvaluator.stop();
+    preEvaluator.awaitStop();
+
+    final BlockTransactionSelector.TransactionSelectionResults results =
+        createBlockSelectorWithPreEvaluator(blockHeader, preEvaluator)
+            .buildTransactionListForBlock();
+
+    assertThat(results.getInvalidTransactions())
+        .extracting(BlockTransactionSelector.TransactionValidationResult::transaction)
+        .containsExactly(invalidSignatureTransaction);
+    verify(transactionProcessor)
+        .processTransaction(
+            any(),
+            any(),
+            any(),
+            eq(invalidSignatureTransaction),
+            any(),
+            any(),
+            anyBoolean(),
+            any(),
+            any());
+  }
+
+  private BlockTransactionSelector createBlockSelectorWithPreEvaluator(
+      final ProcessableBlockHeader blockHeader, final TransactionPreEvaluator preEvaluator) {
+    return new BlockTransactionSelector(
+        transactionProcessor,
+        blockchain,
+        worldState,
+        pendingTransactions,
+        blockHeader,
+        this::createReceipt,
+        Wei.ZERO,
+        MIN_OCCUPANCY_80_PERCENT,
+        this::isCancelled,
+        AddressHelpers.ofValue(1),
+        Wei.ZERO,
+        getFeeMarket(),
+        new LondonGasCalculator(),
+        GasLimitCalculator.constant(),
+        Optional.empty(),
+        Optional.empty(),
+        Optional.of(preEvaluator));
+  }
+
   protected BlockTransactionSelector createBlockSelector(
       final MainnetTransactionProcessor transactionProcessor,
       final ProcessableBlockHeader blockHeader,
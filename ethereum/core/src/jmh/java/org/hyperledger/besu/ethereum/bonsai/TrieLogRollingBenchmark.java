@@ -0,0 +1,143 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.bonsai;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.bonsai.cache.CachedMerkleTrieLoader;
+import org.hyperledger.besu.ethereum.bonsai.trielog.TrieLogManager;
+import org.hyperledger.besu.ethereum.bonsai.worldview.BonsaiWorldState;
+import org.hyperledger.besu.ethereum.bonsai.worldview.BonsaiWorldStateUpdateAccumulator;
+import org.hyperledger.besu.ethereum.chain.MutableBlockchain;
+import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.BlockBody;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.BlockHeaderTestFixture;
+import org.hyperledger.besu.ethereum.core.InMemoryKeyValueStorageProvider;
+import org.hyperledger.besu.evm.account.MutableAccount;
+import org.hyperledger.besu.evm.worldstate.WorldUpdater;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.tuweni.units.bigints.UInt256;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures the time to roll a Bonsai world state back by a number of blocks and forward again to
+ * the head, as historical calls and tracing do, depending on the distance rolled.
+ *
+ * <p>Every block changes the same hot accounts and storage slots, and creates a new account. The
+ * archive squashes the trie logs to apply each change once, the sequential benchmark applies every
+ * trie log in turn like the archive used to.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TrieLogRollingBenchmark {
+
+  private static final int BLOCKS = 512;
+  private static final int HOT_ACCOUNTS = 100;
+  private static final int HOT_SLOTS = 16;
+
+  @Param({"1", "16", "128", "512"})
+  public int distance;
+
+  private MutableBlockchain blockchain;
+  private BonsaiWorldStateProvider archive;
+  private BonsaiWorldState worldState;
+  private final List<BlockHeader> headers = new ArrayList<>();
+
+  @Setup
+  public void prepare() {
+    final BlockHeader genesis =
+        new BlockHeaderTestFixture().number(0).stateRoot(Hash.EMPTY_TRIE_HASH).buildHeader();
+    blockchain =
+        InMemoryKeyValueStorageProvider.createInMemoryBlockchain(
+            new Block(genesis, BlockBody.empty()));
+    archive =
+        new BonsaiWorldStateProvider(
+            new InMemoryKeyValueStorageProvider(),
+            blockchain,
+            new CachedMerkleTrieLoader(new NoOpMetricsSystem()),
+            new NoOpMetricsSystem(),
+            null);
+    worldState = (BonsaiWorldState) archive.getMutable();
+    worldState.persist(genesis);
+    headers.add(genesis);
+
+    for (int number = 1; number <= BLOCKS; number++) {
+      final WorldUpdater updater = worldState.updater();
+      for (int i = 0; i < HOT_ACCOUNTS; i++) {
+        final MutableAccount account = updater.getOrCreate(address(i)).getMutable();
+        account.incrementBalance(Wei.ONE);
+        account.setStorageValue(UInt256.valueOf(number % HOT_SLOTS), UInt256.valueOf(number));
+      }
+      updater.createAccount(address(HOT_ACCOUNTS + number), 0, Wei.ONE);
+      updater.commit();
+
+      final BlockHeader header =
+          new BlockHeaderTestFixture()
+              .number(number)
+              .parentHash(headers.get(number - 1).getHash())
+              .stateRoot(worldState.frontierRootHash())
+              .buildHeader();
+      worldState.persist(header);
+      blockchain.appendBlock(new Block(header, BlockBody.empty()), List.of());
+      headers.add(header);
+    }
+  }
+
+  private static Address address(final int index) {
+    return Address.fromHexString(String.format("0x%040x", index + 1));
+  }
+
+  @Benchmark
+  public BonsaiWorldState rollSquashed() {
+    archive.getMutable(null, headers.get(BLOCKS - distance).getHash()).orElseThrow();
+    archive.getMutable(null, headers.get(BLOCKS).getHash()).orElseThrow();
+    return worldState;
+  }
+
+  @Benchmark
+  public BonsaiWorldState rollSequentially() {
+    final TrieLogManager trieLogManager = archive.getTrieLogManager();
+    BonsaiWorldStateUpdateAccumulator updater =
+        (BonsaiWorldStateUpdateAccumulator) worldState.updater();
+    for (int number = BLOCKS; number > BLOCKS - distance; number--) {
+      updater.rollBack(trieLogManager.getTrieLogLayer(headers.get(number).getHash()).get());
+    }
+    updater.commit();
+    worldState.persist(headers.get(BLOCKS - distance));
+
+    updater = (BonsaiWorldStateUpdateAccumulator) worldState.updater();
+    for (int number = BLOCKS - distance + 1; number <= BLOCKS; number++) {
+      updater.rollForward(trieLogManager.getTrieLogLayer(headers.get(number).getHash()).get());
+    }
+    updater.commit();
+    worldState.persist(headers.get(BLOCKS));
+    return worldState;
+  }
+}
@@ -43,10 +43,23 @@ public interface BlockValidator {
       final boolean shouldPersist,
       final boolean shouldRecordBadBlock);
 
+  default boolean fastBlockValidation(
+      final ProtocolContext context,
+      final Block block,
+      final List<TransactionReceipt> receipts,
+      final HeaderValidationMode headerValidationMode,
+      final HeaderValidationMode ommerValidationMode) {
+    return fastBlockValidation(
+        context, block, receipts, headerValidationMode, ommerValidationMode, false);
+  }
+
+  // detachedBodyValidated skips the body checks of BlockBodyValidator.validateBodyLightDetachedOnly
+  // for a block which has already passed them
   boolean fastBlockValidation(
       final ProtocolContext context,
       final Block block,
       final List<TransactionReceipt> receipts,
       final HeaderValidationMode headerValidationMode,
-      final HeaderValidationMode ommerValidationMode);
+      final HeaderValidationMode ommerValidationMode,
+      final boolean detachedBodyValidated);
 }
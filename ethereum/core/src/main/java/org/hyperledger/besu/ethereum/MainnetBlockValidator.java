@@ -213,14 +213,19 @@ public class MainnetBlockValidator implements BlockValidator {
       final Block block,
       final List<TransactionReceipt> receipts,
       final HeaderValidationMode headerValidationMode,
-      final HeaderValidationMode ommerValidationMode) {
+      final HeaderValidationMode ommerValidationMode,
+      final boolean detachedBodyValidated) {
     final BlockHeader header = block.getHeader();
     if (!blockHeaderValidator.validateHeader(header, context, headerValidationMode)) {
       badBlockManager.addBadBlock(block, Optional.empty());
       return false;
     }
 
-    if (!blockBodyValidator.validateBodyLight(context, block, receipts, ommerValidationMode)) {
+    final boolean bodyValid =
+        detachedBodyValidated
+            ? blockBodyValidator.validateBodyLightSkipDetached(context, block, ommerValidationMode)
+            : blockBodyValidator.validateBodyLight(context, block, receipts, ommerValidationMode);
+    if (!bodyValid) {
       badBlockManager.addBadBlock(block, Optional.empty());
       return false;
     }
@@ -22,8 +22,12 @@ import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.ethereum.bonsai.cache.CachedMerkleTrieLoader;
 import org.hyperledger.besu.ethereum.bonsai.cache.CachedWorldStorageManager;
+import org.hyperledger.besu.ethereum.bonsai.storage.BonsaiHistoryIndexer;
+import org.hyperledger.besu.ethereum.bonsai.storage.BonsaiHistoryStorage;
 import org.hyperledger.besu.ethereum.bonsai.storage.BonsaiWorldStateKeyValueStorage;
 import org.hyperledger.besu.ethereum.bonsai.trielog.TrieLogManager;
+import org.hyperledger.besu.ethereum.bonsai.trielog.TrieLogPruner;
+import org.hyperledger.besu.ethereum.bonsai.trielog.TrieLogSquasher;
 import org.hyperledger.besu.ethereum.bonsai.worldview.BonsaiWorldState;
 import org.hyperledger.besu.ethereum.bonsai.worldview.BonsaiWorldStateUpdateAccumulator;
 import org.hyperledger.besu.ethereum.chain.Blockchain;
@@ -34,19 +38,27 @@ import org.hyperledger.besu.ethereum.rlp.RLP;
 import org.hyperledger.besu.ethereum.storage.StorageProvider;
 import org.hyperledger.besu.ethereum.trie.MerkleTrieException;
 import org.hyperledger.besu.ethereum.trie.patricia.StoredMerklePatriciaTrie;
+import org.hyperledger.besu.ethereum.worldstate.ArchivedStateReader;
 import org.hyperledger.besu.ethereum.worldstate.DataStorageFormat;
 import org.hyperledger.besu.ethereum.worldstate.StateTrieAccountValue;
 import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive;
 import org.hyperledger.besu.evm.worldstate.WorldState;
+import org.hyperledger.besu.metrics.BesuMetricCategory;
 import org.hyperledger.besu.metrics.ObservableMetricsSystem;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
 import org.hyperledger.besu.plugin.BesuContext;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.metrics.OperationTimer;
 import org.hyperledger.besu.plugin.services.trielogs.TrieLog;
 
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 import com.google.common.annotations.VisibleForTesting;
@@ -67,6 +79,15 @@ public class BonsaiWorldStateProvider implements WorldStateArchive {
 
   private final CachedMerkleTrieLoader cachedMerkleTrieLoader;
 
+  private final Optional<BonsaiHistoryIndexer> historyIndexer;
+  private final Optional<TrieLogPruner> trieLogPruner;
+
+  // the historical world states being rolled, so that concurrent requests roll each block once
+  private final Map<Hash, CompletableFuture<Void>> rollingWorldStates = new ConcurrentHashMap<>();
+  private final Counter reusedWorldStatesCounter;
+  private final Counter rolledWorldStatesCounter;
+  private final OperationTimer rollingWaitTimer;
+
   public BonsaiWorldStateProvider(
       final StorageProvider provider,
       final Blockchain blockchain,
@@ -90,6 +111,44 @@ public class BonsaiWorldStateProvider implements WorldStateArchive {
       final CachedMerkleTrieLoader cachedMerkleTrieLoader,
       final ObservableMetricsSystem metricsSystem,
       final BesuContext pluginContext) {
+    this(
+        worldStateStorage,
+        blockchain,
+        maxLayersToLoad,
+        cachedMerkleTrieLoader,
+        metricsSystem,
+        pluginContext,
+        Optional.empty());
+  }
+
+  public BonsaiWorldStateProvider(
+      final BonsaiWorldStateKeyValueStorage worldStateStorage,
+      final Blockchain blockchain,
+      final Optional<Long> maxLayersToLoad,
+      final CachedMerkleTrieLoader cachedMerkleTrieLoader,
+      final ObservableMetricsSystem metricsSystem,
+      final BesuContext pluginContext,
+      final Optional<BonsaiHistoryStorage> historyStorage) {
+    this(
+        worldStateStorage,
+        blockchain,
+        maxLayersToLoad,
+        cachedMerkleTrieLoader,
+        metricsSystem,
+        pluginContext,
+        historyStorage,
+        Optional.empty());
+  }
+
+  public BonsaiWorldStateProvider(
+      final BonsaiWorldStateKeyValueStorage worldStateStorage,
+      final Blockchain blockchain,
+      final Optional<Long> maxLayersToLoad,
+      final CachedMerkleTrieLoader cachedMerkleTrieLoader,
+      final ObservableMetricsSystem metricsSystem,
+      final BesuContext pluginContext,
+      final Optional<BonsaiHistoryStorage> historyStorage,
+      final Optional<Long> trieLogBlocksRetained) {
 
     // TODO: de-dup constructors
     this.trieLogManager =
@@ -104,12 +163,25 @@ public class BonsaiWorldStateProvider implements WorldStateArchive {
     this.worldStateStorage = worldStateStorage;
     this.persistedState = new BonsaiWorldState(this, worldStateStorage);
     this.cachedMerkleTrieLoader = cachedMerkleTrieLoader;
+    this.reusedWorldStatesCounter = createReusedWorldStatesCounter(metricsSystem);
+    this.rolledWorldStatesCounter = createRolledWorldStatesCounter(metricsSystem);
+    this.rollingWaitTimer = createRollingWaitTimer(metricsSystem);
     blockchain
         .getBlockHeader(persistedState.worldStateBlockHash)
         .ifPresent(
             blockHeader ->
                 this.trieLogManager.addCachedLayer(
                     blockHeader, persistedState.worldStateRootHash, persistedState));
+    this.historyIndexer =
+        historyStorage.map(
+            storage -> new BonsaiHistoryIndexer(storage, blockchain, trieLogManager));
+    historyIndexer.ifPresent(blockchain::observeBlockAdded);
+    this.trieLogPruner =
+        trieLogBlocksRetained.map(
+            blocksRetained ->
+                new TrieLogPruner(
+                    worldStateStorage, blockchain, trieLogManager, blocksRetained, metricsSystem));
+    trieLogPruner.ifPresent(TrieLogPruner::initialize);
   }
 
   @VisibleForTesting
@@ -123,6 +195,12 @@ public class BonsaiWorldStateProvider implements WorldStateArchive {
     this.worldStateStorage = worldStateStorage;
     this.persistedState = new BonsaiWorldState(this, worldStateStorage);
     this.cachedMerkleTrieLoader = cachedMerkleTrieLoader;
+    this.historyIndexer = Optional.empty();
+    this.trieLogPruner = Optional.empty();
+    final NoOpMetricsSystem metricsSystem = new NoOpMetricsSystem();
+    this.reusedWorldStatesCounter = createReusedWorldStatesCounter(metricsSystem);
+    this.rolledWorldStatesCounter = createRolledWorldStatesCounter(metricsSystem);
+    this.rollingWaitTimer = createRollingWaitTimer(metricsSystem);
     blockchain
         .getBlockHeader(persistedState.worldStateBlockHash)
         .ifPresent(
@@ -153,6 +231,12 @@ public class BonsaiWorldStateProvider implements WorldStateArchive {
         || worldStateStorage.isWorldStateAvailable(rootHash, blockHash);
   }
 
+  @Override
+  public synchronized boolean isPersistedWorldState(final Hash rootHash, final Hash blockHash) {
+    return persistedState.blockHash().equals(blockHash)
+        && persistedState.rootHash().equals(rootHash);
+  }
+
   @Override
   public Optional<MutableWorldState> getMutable(
       final BlockHeader blockHeader, final boolean shouldPersistState) {
@@ -167,17 +251,66 @@ public class BonsaiWorldStateProvider implements WorldStateArchive {
             trieLogManager.getMaxLayersToLoad());
         return Optional.empty();
       }
-      return trieLogManager
-          .getWorldState(blockHeader.getHash())
-          .or(() -> trieLogManager.getNearestWorldState(blockHeader))
-          .or(() -> trieLogManager.getHeadWorldState(blockchain::getBlockHeader))
-          .flatMap(
-              bonsaiWorldState ->
-                  rollMutableStateToBlockHash(bonsaiWorldState, blockHeader.getHash()))
-          .map(MutableWorldState::freeze);
+      return getHistoricalWorldState(blockHeader).map(MutableWorldState::freeze);
+    }
+  }
+
+  /**
+   * Returns a world state for a block, reusing the cached view of the block if there is one, or
+   * else rolling the nearest cached view to it. Each view is rolled on its own layered storage, so
+   * requests for different blocks roll in parallel, while concurrent requests for the same block
+   * wait for a single roll and reuse its view.
+   */
+  private Optional<MutableWorldState> getHistoricalWorldState(final BlockHeader blockHeader) {
+    final Hash blockHash = blockHeader.getHash();
+    final Optional<MutableWorldState> cached = getCachedWorldState(blockHash);
+    if (cached.isPresent()) {
+      return cached;
+    }
+    final CompletableFuture<Void> rolling = new CompletableFuture<>();
+    final CompletableFuture<Void> otherRolling = rollingWorldStates.putIfAbsent(blockHash, rolling);
+    if (otherRolling != null) {
+      try (final OperationTimer.TimingContext ignored = rollingWaitTimer.startTimer()) {
+        otherRolling.join();
+      }
+      // the other roll may have failed, or its view already been scrubbed
+      return getCachedWorldState(blockHash).or(() -> rollHistoricalWorldState(blockHeader));
+    }
+    try {
+      return rollHistoricalWorldState(blockHeader);
+    } finally {
+      rollingWorldStates.remove(blockHash, rolling);
+      rolling.complete(null);
     }
   }
 
+  private Optional<MutableWorldState> getCachedWorldState(final Hash blockHash) {
+    final Optional<MutableWorldState> cached =
+        trieLogManager.getWorldState(blockHash).map(MutableWorldState.class::cast);
+    cached.ifPresent(__ -> reusedWorldStatesCounter.inc());
+    return cached;
+  }
+
+  private Optional<MutableWorldState> rollHistoricalWorldState(final BlockHeader blockHeader) {
+    rolledWorldStatesCounter.inc();
+    // once persisted, the rolled view is added to the cached layers
+    return trieLogManager
+        .getNearestWorldState(blockHeader)
+        .or(() -> trieLogManager.getHeadWorldState(blockchain::getBlockHeader))
+        .flatMap(worldState -> rollMutableStateToBlockHash(worldState, blockHeader.getHash()));
+  }
+
+  /**
+   * Reads the state of a canonical block from the Bonsai history, with a single seek per account,
+   * code or storage slot, when the history has been built from genesis.
+   */
+  @Override
+  public Optional<ArchivedStateReader> getArchivedState(final BlockHeader blockHeader) {
+    return historyIndexer
+        .filter(indexer -> indexer.isArchived(blockHeader))
+        .map(indexer -> indexer.getHistoryStorage().readerAt(blockHeader.getNumber()));
+  }
+
   @Override
   public synchronized Optional<MutableWorldState> getMutable(
       final Hash rootHash, final Hash blockHash) {
@@ -199,13 +332,15 @@ public class BonsaiWorldStateProvider implements WorldStateArchive {
         if (maybePersistedHeader.isEmpty()) {
           trieLogManager.getTrieLogLayer(mutableState.blockHash()).ifPresent(rollBacks::add);
         } else {
+          final List<Hash> rollBackHashes = new ArrayList<>();
+          final List<Hash> rollForwardHashes = new ArrayList<>();
           BlockHeader targetHeader = blockchain.getBlockHeader(blockHash).get();
           BlockHeader persistedHeader = maybePersistedHeader.get();
           // roll back from persisted to even with target
           Hash persistedBlockHash = persistedHeader.getBlockHash();
           while (persistedHeader.getNumber() > targetHeader.getNumber()) {
             LOG.debug("Rollback {}", persistedBlockHash);
-            rollBacks.add(trieLogManager.getTrieLogLayer(persistedBlockHash).get());
+            rollBackHashes.add(persistedBlockHash);
             persistedHeader = blockchain.getBlockHeader(persistedHeader.getParentHash()).get();
             persistedBlockHash = persistedHeader.getBlockHash();
           }
@@ -213,7 +348,7 @@ public class BonsaiWorldStateProvider implements WorldStateArchive {
           Hash targetBlockHash = targetHeader.getBlockHash();
           while (persistedHeader.getNumber() < targetHeader.getNumber()) {
             LOG.debug("Rollforward {}", targetBlockHash);
-            rollForwards.add(trieLogManager.getTrieLogLayer(targetBlockHash).get());
+            rollForwardHashes.add(targetBlockHash);
             targetHeader = blockchain.getBlockHeader(targetHeader.getParentHash()).get();
             targetBlockHash = targetHeader.getBlockHash();
           }
@@ -222,30 +357,41 @@ public class BonsaiWorldStateProvider implements WorldStateArchive {
           while (!persistedBlockHash.equals(targetBlockHash)) {
             LOG.debug("Paired Rollback {}", persistedBlockHash);
             LOG.debug("Paired Rollforward {}", targetBlockHash);
-            rollForwards.add(trieLogManager.getTrieLogLayer(targetBlockHash).get());
+            rollForwardHashes.add(targetBlockHash);
             targetHeader = blockchain.getBlockHeader(targetHeader.getParentHash()).get();
 
-            rollBacks.add(trieLogManager.getTrieLogLayer(persistedBlockHash).get());
+            rollBackHashes.add(persistedBlockHash);
             persistedHeader = blockchain.getBlockHeader(persistedHeader.getParentHash()).get();
 
             targetBlockHash = targetHeader.getBlockHash();
             persistedBlockHash = persistedHeader.getBlockHash();
           }
+
+          // load all the trie logs at once, rather than while walking the chain
+          final List<Hash> blockHashes = new ArrayList<>(rollBackHashes);
+          blockHashes.addAll(rollForwardHashes);
+          final List<? extends TrieLog> trieLogs = trieLogManager.getTrieLogLayers(blockHashes);
+          rollBacks.addAll(trieLogs.subList(0, rollBackHashes.size()));
+          rollForwards.addAll(trieLogs.subList(rollBackHashes.size(), trieLogs.size()));
         }
 
         // attempt the state rolling
         final BonsaiWorldStateUpdateAccumulator bonsaiUpdater =
             (BonsaiWorldStateUpdateAccumulator) mutableState.updater();
         try {
+          // squash the trie logs to apply every account, code and slot change only once, however
+          // many blocks changed it
+          final TrieLogSquasher squasher = new TrieLogSquasher();
           for (final TrieLog rollBack : rollBacks) {
             LOG.debug("Attempting Rollback of {}", rollBack.getBlockHash());
-            bonsaiUpdater.rollBack(rollBack);
+            squasher.rollBack(rollBack);
           }
           for (int i = rollForwards.size() - 1; i >= 0; i--) {
             final var forward = rollForwards.get(i);
             LOG.debug("Attempting Rollforward of {}", rollForwards.get(i).getBlockHash());
-            bonsaiUpdater.rollForward(forward);
+            squasher.rollForward(forward);
           }
+          bonsaiUpdater.rollForward(squasher.squash(blockHash));
           bonsaiUpdater.commit();
 
           mutableState.persist(blockchain.getBlockHeader(blockHash).get());
@@ -282,6 +428,27 @@ public class BonsaiWorldStateProvider implements WorldStateArchive {
     }
   }
 
+  private static Counter createReusedWorldStatesCounter(final ObservableMetricsSystem metrics) {
+    return metrics.createCounter(
+        BesuMetricCategory.BLOCKCHAIN,
+        "bonsai_historical_world_states_reused",
+        "Number of historical world states served from the view cached for their block");
+  }
+
+  private static Counter createRolledWorldStatesCounter(final ObservableMetricsSystem metrics) {
+    return metrics.createCounter(
+        BesuMetricCategory.BLOCKCHAIN,
+        "bonsai_historical_world_states_rolled",
+        "Number of historical world states rolled from the nearest cached view");
+  }
+
+  private static OperationTimer createRollingWaitTimer(final ObservableMetricsSystem metrics) {
+    return metrics.createTimer(
+        BesuMetricCategory.BLOCKCHAIN,
+        "bonsai_historical_world_state_rolling_wait",
+        "Time spent waiting for a historical world state being rolled by another request");
+  }
+
   public CachedMerkleTrieLoader getCachedMerkleTrieLoader() {
     return cachedMerkleTrieLoader;
   }
@@ -378,6 +545,16 @@ public class BonsaiWorldStateProvider implements WorldStateArchive {
 
   @Override
   public void close() {
+    historyIndexer.ifPresent(BonsaiHistoryIndexer::close);
+    trieLogPruner.ifPresent(
+        pruner -> {
+          pruner.stop();
+          try {
+            pruner.awaitStop();
+          } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+        });
     try {
       worldStateStorage.close();
     } catch (Exception e) {
@@ -22,7 +22,9 @@ import org.hyperledger.besu.ethereum.bonsai.storage.BonsaiWorldStateKeyValueStor
 import org.hyperledger.besu.ethereum.bonsai.storage.BonsaiWorldStateKeyValueStorage.BonsaiStorageSubscriber;
 import org.hyperledger.besu.ethereum.trie.MerkleTrie;
 import org.hyperledger.besu.ethereum.trie.MerkleTrieException;
+import org.hyperledger.besu.ethereum.trie.TrieNodeEncodingCache;
 import org.hyperledger.besu.ethereum.trie.patricia.StoredMerklePatriciaTrie;
+import org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration;
 import org.hyperledger.besu.metrics.BesuMetricCategory;
 import org.hyperledger.besu.metrics.ObservableMetricsSystem;
 import org.hyperledger.besu.metrics.prometheus.PrometheusMetricsSystem;
@@ -46,17 +48,41 @@ public class CachedMerkleTrieLoader implements BonsaiStorageSubscriber {
       CacheBuilder.newBuilder().recordStats().maximumSize(ACCOUNT_CACHE_SIZE).build();
   private final Cache<Bytes, Bytes> storageNodes =
       CacheBuilder.newBuilder().recordStats().maximumSize(STORAGE_CACHE_SIZE).build();
+  private final TrieNodeEncodingCache accountNodeEncodings;
+  private final TrieNodeEncodingCache storageNodeEncodings;
 
   public CachedMerkleTrieLoader(final ObservableMetricsSystem metricsSystem) {
+    this(metricsSystem, DataStorageConfiguration.DEFAULT_CONFIG);
+  }
+
+  public CachedMerkleTrieLoader(
+      final ObservableMetricsSystem metricsSystem,
+      final DataStorageConfiguration dataStorageConfiguration) {
+    this.accountNodeEncodings =
+        new TrieNodeEncodingCache(
+            dataStorageConfiguration.getBonsaiAccountNodeEncodingCacheSize());
+    this.storageNodeEncodings =
+        new TrieNodeEncodingCache(
+            dataStorageConfiguration.getBonsaiStorageNodeEncodingCacheSize());
 
     CacheMetricsCollector cacheMetrics = new CacheMetricsCollector();
     cacheMetrics.addCache("accountsNodes", accountNodes);
     cacheMetrics.addCache("storageNodes", storageNodes);
+    cacheMetrics.addCache("accountNodeEncodings", accountNodeEncodings.getCache());
+    cacheMetrics.addCache("storageNodeEncodings", storageNodeEncodings.getCache());
     if (metricsSystem instanceof PrometheusMetricsSystem)
       ((PrometheusMetricsSystem) metricsSystem)
           .addCollector(BesuMetricCategory.BLOCKCHAIN, () -> cacheMetrics);
   }
 
+  public TrieNodeEncodingCache getAccountNodeEncodings() {
+    return accountNodeEncodings;
+  }
+
+  public TrieNodeEncodingCache getStorageNodeEncodings() {
+    return storageNodeEncodings;
+  }
+
   public void preLoadAccount(
       final BonsaiWorldStateKeyValueStorage worldStateStorage,
       final Hash worldStateRootHash,
@@ -15,6 +15,7 @@
 
 package org.hyperledger.besu.ethereum.bonsai.cache;
 
+import org.hyperledger.besu.ethereum.worldstate.DataStorageConfiguration;
 import org.hyperledger.besu.metrics.ObservableMetricsSystem;
 
 import dagger.Module;
@@ -25,7 +26,8 @@ public class CachedMerkleTrieLoaderModule {
 
   @Provides
   CachedMerkleTrieLoader provideCachedMerkleTrieLoaderModule(
-      final ObservableMetricsSystem metricsSystem) {
-    return new CachedMerkleTrieLoader(metricsSystem);
+      final ObservableMetricsSystem metricsSystem,
+      final DataStorageConfiguration dataStorageConfiguration) {
+    return new CachedMerkleTrieLoader(metricsSystem, dataStorageConfiguration);
   }
 }
@@ -0,0 +1,63 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.bonsai.storage;
+
+import org.hyperledger.besu.datatypes.AccountValue;
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.StorageSlotKey;
+import org.hyperledger.besu.ethereum.rlp.RLP;
+import org.hyperledger.besu.ethereum.worldstate.ArchivedStateReader;
+import org.hyperledger.besu.ethereum.worldstate.StateTrieAccountValue;
+
+import java.util.Optional;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.units.bigints.UInt256;
+
+/**
+ * Reads the accounts, code and storage of a canonical block from the {@link BonsaiHistoryStorage}.
+ */
+class BonsaiArchivedStateReader implements ArchivedStateReader {
+
+  private final BonsaiHistoryStorage historyStorage;
+  private final long blockNumber;
+
+  BonsaiArchivedStateReader(final BonsaiHistoryStorage historyStorage, final long blockNumber) {
+    this.historyStorage = historyStorage;
+    this.blockNumber = blockNumber;
+  }
+
+  @Override
+  public Optional<AccountValue> getAccount(final Address address) {
+    return historyStorage
+        .getAccount(Hash.hash(address), blockNumber)
+        .map(encoded -> StateTrieAccountValue.readFrom(RLP.input(encoded)));
+  }
+
+  @Override
+  public Optional<Bytes> getCode(final Address address) {
+    return historyStorage.getCode(Hash.hash(address), blockNumber);
+  }
+
+  @Override
+  public UInt256 getStorageValue(final Address address, final UInt256 storageKey) {
+    return historyStorage
+        .getStorageValueBySlotHash(
+            Hash.hash(address), new StorageSlotKey(storageKey).getSlotHash(), blockNumber)
+        .map(UInt256::fromBytes)
+        .orElse(UInt256.ZERO);
+  }
+}
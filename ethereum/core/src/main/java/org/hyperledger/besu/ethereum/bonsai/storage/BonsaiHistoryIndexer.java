@@ -0,0 +1,247 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.bonsai.storage;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.bonsai.trielog.TrieLogManager;
+import org.hyperledger.besu.ethereum.chain.BlockAddedEvent;
+import org.hyperledger.besu.ethereum.chain.BlockAddedObserver;
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.plugin.services.trielogs.TrieLog;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps the {@link BonsaiHistoryStorage} in sync with the canonical chain, by indexing the trie
+ * logs of the blocks becoming canonical and removing the ones of the blocks reverted by a reorg.
+ *
+ * <p>Indexing runs on its own thread, so block imports never wait for it. When several heads are
+ * added while it is busy, only the last one is indexed, the blocks in between being indexed with
+ * it.
+ *
+ * <p>The history can only be read once it is complete, which is when it was built from genesis
+ * during a full sync. When it is enabled on a database that already has blocks, or when a trie log
+ * is missing, the history is left incomplete and is no longer updated.
+ */
+public class BonsaiHistoryIndexer implements BlockAddedObserver {
+
+  private static final Logger LOG = LoggerFactory.getLogger(BonsaiHistoryIndexer.class);
+
+  private final BonsaiHistoryStorage historyStorage;
+  private final Blockchain blockchain;
+  private final TrieLogManager trieLogManager;
+  private final ExecutorService executorService;
+
+  // the most recent canonical head waiting to be indexed
+  private final AtomicReference<BlockHeader> pendingHead = new AtomicReference<>();
+  // the last indexed block, only set when the history is complete
+  private volatile Optional<BlockHeader> indexedHead;
+  private volatile boolean complete;
+
+  public BonsaiHistoryIndexer(
+      final BonsaiHistoryStorage historyStorage,
+      final Blockchain blockchain,
+      final TrieLogManager trieLogManager) {
+    this(
+        historyStorage,
+        blockchain,
+        trieLogManager,
+        new ThreadPoolExecutor(
+            0,
+            1,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(),
+            new ThreadFactoryBuilder()
+                .setDaemon(true)
+                .setNameFormat("BonsaiHistoryIndexer-%d")
+                .build()));
+  }
+
+  @VisibleForTesting
+  BonsaiHistoryIndexer(
+      final BonsaiHistoryStorage historyStorage,
+      final Blockchain blockchain,
+      final TrieLogManager trieLogManager,
+      final ExecutorService executorService) {
+    this.historyStorage = historyStorage;
+    this.blockchain = blockchain;
+    this.trieLogManager = trieLogManager;
+    this.executorService = executorService;
+    if (historyStorage.getHistoryStart().isEmpty()) {
+      final long chainHead = blockchain.getChainHeadBlockNumber();
+      if (chainHead == BlockHeader.GENESIS_BLOCK_NUMBER) {
+        historyStorage.updater().setHistoryStart(BlockHeader.GENESIS_BLOCK_NUMBER).commit();
+      } else {
+        LOG.warn(
+            "Bonsai history enabled on a database that already has {} blocks, it can only be built"
+                + " from genesis with a full sync. Historical state will be loaded from trie logs.",
+            chainHead);
+        historyStorage.updater().setHistoryStart(chainHead + 1).commit();
+      }
+    }
+    this.complete =
+        historyStorage
+            .getHistoryStart()
+            .filter(start -> start == BlockHeader.GENESIS_BLOCK_NUMBER)
+            .isPresent();
+    this.indexedHead =
+        complete
+            ? historyStorage.getIndexedHead().flatMap(blockchain::getBlockHeader)
+            : Optional.empty();
+  }
+
+  public BonsaiHistoryStorage getHistoryStorage() {
+    return historyStorage;
+  }
+
+  /**
+   * Returns whether the state of a block can be read from the history: when the block is canonical
+   * and has been indexed.
+   *
+   * @param blockHeader the header of the block
+   * @return true if the state of the block can be read from the history
+   */
+  public boolean isArchived(final BlockHeader blockHeader) {
+    return indexedHead
+        .filter(head -> blockHeader.getNumber() <= head.getNumber())
+        .filter(this::isCanonical)
+        .filter(__ -> isCanonical(blockHeader))
+        .isPresent();
+  }
+
+  @Override
+  public void onBlockAdded(final BlockAddedEvent event) {
+    if (!complete || !event.isNewCanonicalHead()) {
+      return;
+    }
+    if (pendingHead.getAndSet(event.getBlock().getHeader()) == null) {
+      try {
+        executorService.execute(this::indexPendingHead);
+      } catch (final RejectedExecutionException e) {
+        LOG.debug(
+            "Bonsai history indexer stopped, not indexing {}", event.getBlock().toLogString());
+      }
+    }
+  }
+
+  /** Stops indexing, letting the block being indexed, if any, be committed. */
+  public void close() {
+    executorService.shutdown();
+    try {
+      if (!executorService.awaitTermination(10, TimeUnit.SECONDS)) {
+        LOG.error("Failed to shutdown Bonsai history indexer executor service.");
+      }
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void indexPendingHead() {
+    final BlockHeader newHead = pendingHead.getAndSet(null);
+    if (newHead != null && complete) {
+      indexTo(newHead);
+    }
+  }
+
+  private void indexTo(final BlockHeader newHead) {
+    final BonsaiHistoryStorage.Updater updater = historyStorage.updater();
+    try {
+      BlockHeader head;
+      if (indexedHead.isEmpty()) {
+        // nothing indexed yet, the history starts with the genesis state
+        head = blockchain.getGenesisBlockHeader();
+        updater.addBlock(getTrieLog(head.getHash()), head.getNumber());
+      } else {
+        head = indexedHead.get();
+      }
+
+      final List<BlockHeader> reverted = new ArrayList<>();
+      final List<BlockHeader> added = new ArrayList<>();
+      BlockHeader target = newHead;
+      while (head.getNumber() > target.getNumber()) {
+        reverted.add(head);
+        head = getBlockHeader(head.getParentHash());
+      }
+      while (target.getNumber() > head.getNumber()) {
+        added.add(target);
+        target = getBlockHeader(target.getParentHash());
+      }
+      while (!head.getHash().equals(target.getHash())) {
+        reverted.add(head);
+        head = getBlockHeader(head.getParentHash());
+        added.add(target);
+        target = getBlockHeader(target.getParentHash());
+      }
+
+      // load all the trie logs at once, rather than while walking the chain
+      final List<Hash> blockHashes = new ArrayList<>();
+      reverted.forEach(header -> blockHashes.add(header.getHash()));
+      added.forEach(header -> blockHashes.add(header.getHash()));
+      final List<? extends TrieLog> trieLogs = trieLogManager.getTrieLogLayers(blockHashes);
+      for (int i = 0; i < reverted.size(); i++) {
+        updater.removeBlock(trieLogs.get(i), reverted.get(i).getNumber());
+      }
+      for (int i = added.size() - 1; i >= 0; i--) {
+        updater.addBlock(trieLogs.get(reverted.size() + i), added.get(i).getNumber());
+      }
+      updater.setIndexedHead(newHead.getHash()).commit();
+      indexedHead = Optional.of(newHead);
+    } catch (final RuntimeException e) {
+      updater.rollback();
+      LOG.error(
+          "Failed to index the Bonsai history of block {}, the history is now incomplete."
+              + " Historical state will be loaded from trie logs.",
+          newHead.toLogString(),
+          e);
+      complete = false;
+      indexedHead = Optional.empty();
+      historyStorage.updater().setHistoryStart(newHead.getNumber()).commit();
+    }
+  }
+
+  private boolean isCanonical(final BlockHeader blockHeader) {
+    return blockchain
+        .getBlockHashByNumber(blockHeader.getNumber())
+        .filter(blockHeader.getHash()::equals)
+        .isPresent();
+  }
+
+  private BlockHeader getBlockHeader(final Hash blockHash) {
+    return blockchain
+        .getBlockHeader(blockHash)
+        .orElseThrow(() -> new IllegalStateException("Missing block header " + blockHash));
+  }
+
+  private TrieLog getTrieLog(final Hash blockHash) {
+    return trieLogManager
+        .getTrieLogLayer(blockHash)
+        .orElseThrow(() -> new IllegalStateException("Missing trie log for block " + blockHash));
+  }
+}
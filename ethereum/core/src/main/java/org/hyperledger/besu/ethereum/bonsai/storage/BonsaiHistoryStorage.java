@@ -0,0 +1,254 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.bonsai.storage;
+
+import org.hyperledger.besu.datatypes.AccountValue;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.rlp.RLP;
+import org.hyperledger.besu.ethereum.worldstate.ArchivedStateReader;
+import org.hyperledger.besu.plugin.services.storage.KeyValueStorage;
+import org.hyperledger.besu.plugin.services.storage.KeyValueStorageTransaction;
+import org.hyperledger.besu.plugin.services.trielogs.TrieLog;
+import org.hyperledger.besu.plugin.services.trielogs.TrieLog.LogTuple;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.apache.tuweni.units.bigints.UInt256;
+
+/**
+ * The history of the flat database of a Bonsai world state, used to read the state of any indexed
+ * block without rolling trie logs.
+ *
+ * <p>Every change of an account, of some code or of a storage slot in a canonical block is stored
+ * under its flat database key, prefixed by the kind of value and followed by the block number.
+ * Block numbers are stored inverted, so that the changes of a key are sorted from the most recent
+ * to the oldest: the value of a key at some block is then the first entry found when seeking to
+ * that block, which a single {@link KeyValueStorage#streamFromKey(byte[])} call does. The stored
+ * value is the one the key had after the block, an empty value meaning the key was removed.
+ */
+public class BonsaiHistoryStorage {
+
+  static final byte ACCOUNT = 1;
+  static final byte CODE = 2;
+  static final byte STORAGE = 3;
+
+  // 0x686973746f72795374617274
+  private static final byte[] HISTORY_START_KEY = "historyStart".getBytes(StandardCharsets.UTF_8);
+  // 0x696e646578656448656164
+  private static final byte[] INDEXED_HEAD_KEY = "indexedHead".getBytes(StandardCharsets.UTF_8);
+
+  private final KeyValueStorage historyStorage;
+
+  public BonsaiHistoryStorage(final KeyValueStorage historyStorage) {
+    this.historyStorage = historyStorage;
+  }
+
+  /**
+   * Returns the number of the first indexed block. The history is only complete, and can only be
+   * used to read the state of a block, when it starts at genesis.
+   *
+   * @return the number of the first indexed block, or empty if nothing has been indexed yet
+   */
+  public Optional<Long> getHistoryStart() {
+    return historyStorage.get(HISTORY_START_KEY).map(Bytes::wrap).map(Bytes::toLong);
+  }
+
+  /**
+   * Returns the hash of the last indexed block, the head of the chain of indexed blocks.
+   *
+   * @return the hash of the last indexed block, or empty if nothing has been indexed yet
+   */
+  public Optional<Hash> getIndexedHead() {
+    return historyStorage.get(INDEXED_HEAD_KEY).map(Bytes32::wrap).map(Hash::wrap);
+  }
+
+  public Optional<Bytes> getAccount(final Hash accountHash, final long blockNumber) {
+    return get(ACCOUNT, accountHash, blockNumber);
+  }
+
+  public Optional<Bytes> getCode(final Hash accountHash, final long blockNumber) {
+    return get(CODE, accountHash, blockNumber);
+  }
+
+  public Optional<Bytes> getStorageValueBySlotHash(
+      final Hash accountHash, final Hash slotHash, final long blockNumber) {
+    return get(STORAGE, Bytes.concatenate(accountHash, slotHash), blockNumber);
+  }
+
+  /**
+   * Returns the value a flat database key had after a block.
+   *
+   * @param type the kind of value the key holds
+   * @param flatKey the key of the value in the flat database
+   * @param blockNumber the number of the block
+   * @return the value of the key after the block, or empty if it had no value
+   */
+  Optional<Bytes> get(final byte type, final Bytes flatKey, final long blockNumber) {
+    final Bytes prefix = Bytes.concatenate(Bytes.of(type), flatKey);
+    try (final Stream<Pair<byte[], byte[]>> entries =
+        historyStorage.streamFromKey(historyKey(prefix, blockNumber).toArrayUnsafe())) {
+      return entries
+          .findFirst()
+          .filter(
+              entry ->
+                  entry.getKey().length == prefix.size() + Long.BYTES
+                      && Bytes.wrap(entry.getKey(), 0, prefix.size()).equals(prefix))
+          .map(entry -> Bytes.wrap(entry.getValue()))
+          .filter(value -> !value.isEmpty());
+    }
+  }
+
+  /**
+   * Returns a reader of the accounts, code and storage after a block. The block must be canonical
+   * and indexed, see {@link BonsaiHistoryIndexer#isArchived(BlockHeader)}.
+   *
+   * @param blockNumber the number of the block
+   * @return a reader of the state of the block
+   */
+  public ArchivedStateReader readerAt(final long blockNumber) {
+    return new BonsaiArchivedStateReader(this, blockNumber);
+  }
+
+  public Updater updater() {
+    return new Updater(historyStorage.startTransaction());
+  }
+
+  private static Bytes historyKey(final Bytes prefix, final long blockNumber) {
+    // inverted, so that the most recent changes come first
+    return Bytes.concatenate(prefix, Bytes.ofUnsignedLong(~blockNumber));
+  }
+
+  public static class Updater {
+
+    private final KeyValueStorageTransaction transaction;
+
+    Updater(final KeyValueStorageTransaction transaction) {
+      this.transaction = transaction;
+    }
+
+    /**
+     * Indexes the changes of a canonical block.
+     *
+     * @param trieLog the trie log of the block
+     * @param blockNumber the number of the block
+     * @return this updater
+     */
+    public Updater addBlock(final TrieLog trieLog, final long blockNumber) {
+      forEachChange(
+          trieLog,
+          blockNumber,
+          (key, value) -> transaction.put(key.toArrayUnsafe(), value.toArrayUnsafe()));
+      return this;
+    }
+
+    /**
+     * Removes the changes of a block that is no longer canonical.
+     *
+     * @param trieLog the trie log of the block
+     * @param blockNumber the number of the block
+     * @return this updater
+     */
+    public Updater removeBlock(final TrieLog trieLog, final long blockNumber) {
+      forEachChange(trieLog, blockNumber, (key, value) -> transaction.remove(key.toArrayUnsafe()));
+      return this;
+    }
+
+    public Updater setHistoryStart(final long blockNumber) {
+      transaction.put(HISTORY_START_KEY, Bytes.ofUnsignedLong(blockNumber).toArrayUnsafe());
+      return this;
+    }
+
+    public Updater setIndexedHead(final Hash blockHash) {
+      transaction.put(INDEXED_HEAD_KEY, blockHash.toArrayUnsafe());
+      return this;
+    }
+
+    public void commit() {
+      transaction.commit();
+    }
+
+    public void rollback() {
+      transaction.rollback();
+    }
+
+    private static void forEachChange(
+        final TrieLog trieLog,
+        final long blockNumber,
+        final BiConsumer<Bytes, Bytes> consumer) {
+      trieLog
+          .<LogTuple<AccountValue>>getAccountChanges()
+          .forEach(
+              (address, change) ->
+                  forChange(
+                      ACCOUNT,
+                      Hash.hash(address),
+                      change,
+                      account -> RLP.encode(account::writeTo),
+                      blockNumber,
+                      consumer));
+      trieLog
+          .<LogTuple<Bytes>>getCodeChanges()
+          .forEach(
+              (address, change) ->
+                  forChange(
+                      CODE,
+                      Hash.hash(address),
+                      change,
+                      Function.identity(),
+                      blockNumber,
+                      consumer));
+      trieLog
+          .<LogTuple<UInt256>>getStorageChanges()
+          .forEach(
+              (address, slots) -> {
+                final Hash accountHash = Hash.hash(address);
+                slots.forEach(
+                    (slotKey, change) ->
+                        forChange(
+                            STORAGE,
+                            Bytes.concatenate(accountHash, slotKey.getSlotHash()),
+                            change,
+                            // zero is not stored in the flat database
+                            value -> value.isZero() ? Bytes.EMPTY : value,
+                            blockNumber,
+                            consumer));
+              });
+    }
+
+    private static <T> void forChange(
+        final byte type,
+        final Bytes flatKey,
+        final LogTuple<T> change,
+        final Function<T, Bytes> encoder,
+        final long blockNumber,
+        final BiConsumer<Bytes, Bytes> consumer) {
+      if (change.isUnchanged()) {
+        return;
+      }
+      final T updated = change.getUpdated();
+      consumer.accept(
+          historyKey(Bytes.concatenate(Bytes.of(type), flatKey), blockNumber),
+          updated == null ? Bytes.EMPTY : encoder.apply(updated));
+    }
+  }
+}
@@ -32,11 +32,13 @@ import org.hyperledger.besu.plugin.services.storage.KeyValueStorageTransaction;
 import org.hyperledger.besu.util.Subscribers;
 
 import java.nio.charset.StandardCharsets;
+import java.util.Collection;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
@@ -203,6 +205,26 @@ public class BonsaiWorldStateKeyValueStorage implements WorldStateStorage, AutoC
     return trieLogStorage.get(blockHash.toArrayUnsafe());
   }
 
+  /**
+   * Streams the hashes of the blocks for which a trie log is stored. The stream must be closed.
+   *
+   * @return the hashes of the blocks having a trie log, in no particular order
+   */
+  public Stream<Hash> streamTrieLogBlockHashes() {
+    return trieLogStorage.streamKeys().map(key -> Hash.wrap(Bytes32.wrap(key)));
+  }
+
+  /**
+   * Removes the trie logs of some blocks, in a single transaction.
+   *
+   * @param blockHashes the hashes of the blocks whose trie log is removed
+   */
+  public void pruneTrieLogs(final Collection<Hash> blockHashes) {
+    final KeyValueStorageTransaction transaction = trieLogStorage.startTransaction();
+    blockHashes.forEach(blockHash -> transaction.remove(blockHash.toArrayUnsafe()));
+    transaction.commit();
+  }
+
   public Optional<Bytes> getStateTrieNode(final Bytes location) {
     return trieBranchStorage.get(location.toArrayUnsafe()).map(Bytes::wrap);
   }
@@ -29,8 +29,12 @@ import org.hyperledger.besu.plugin.services.trielogs.TrieLogEvent.TrieLogObserve
 import org.hyperledger.besu.plugin.services.trielogs.TrieLogFactory;
 import org.hyperledger.besu.util.Subscribers;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import com.google.common.annotations.VisibleForTesting;
 import org.apache.tuweni.bytes.Bytes32;
@@ -41,6 +45,8 @@ public abstract class AbstractTrieLogManager implements TrieLogManager {
   private static final Logger LOG = LoggerFactory.getLogger(AbstractTrieLogManager.class);
   public static final long RETAINED_LAYERS = 512; // at least 256 + typical rollbacks
   public static final long LOG_RANGE_LIMIT = 1000; // restrict trielog range queries to 1k logs
+  // below this many trie logs, decoding them in parallel is not worth it
+  private static final int PARALLEL_DECODING_THRESHOLD = 16;
   protected final Blockchain blockchain;
   protected final BonsaiWorldStateKeyValueStorage rootWorldStateStorage;
 
@@ -152,6 +158,29 @@ public abstract class AbstractTrieLogManager implements TrieLogManager {
     return rootWorldStateStorage.getTrieLog(blockHash).map(trieLogFactory::deserialize);
   }
 
+  @Override
+  public List<TrieLog> getTrieLogLayers(final List<Hash> blockHashes) {
+    // read all the trie logs first, in a single pass over the storage, then decode them together
+    final List<byte[]> encoded = new ArrayList<>(blockHashes.size());
+    for (final Hash blockHash : blockHashes) {
+      encoded.add(
+          rootWorldStateStorage
+              .getTrieLog(blockHash)
+              .orElseThrow(() -> new NoSuchElementException("Missing trie log for " + blockHash)));
+    }
+    final Stream<byte[]> decoding =
+        encoded.size() < PARALLEL_DECODING_THRESHOLD ? encoded.stream() : encoded.parallelStream();
+    return decoding.map(trieLogFactory::deserialize).map(AbstractTrieLogManager::decoded).toList();
+  }
+
+  // the trie logs are loaded to be rolled, decode their changes now rather than lazily
+  private static TrieLog decoded(final TrieLog trieLog) {
+    if (trieLog instanceof CompactTrieLogLayer compactTrieLog) {
+      compactTrieLog.decodeAll();
+    }
+    return trieLog;
+  }
+
   @Override
   public synchronized long subscribe(final TrieLogObserver sub) {
     return trieLogObservers.subscribe(sub);
@@ -0,0 +1,372 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.bonsai.trielog;
+
+import org.hyperledger.besu.datatypes.AccountValue;
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.StorageSlotKey;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.bonsai.BonsaiValue;
+import org.hyperledger.besu.ethereum.worldstate.StateTrieAccountValue;
+import org.hyperledger.besu.plugin.services.trielogs.TrieLog;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.apache.tuweni.units.bigints.UInt256;
+
+/**
+ * The compact binary encoding of trie logs.
+ *
+ * <p>An encoded trie log starts with a version byte, which is always lower than {@code 0xc0}, so
+ * it cannot be confused with the legacy RLP encoding of {@link TrieLogFactoryImpl#writeTo}, whose
+ * first byte is a list header. It is followed by:
+ *
+ * <ul>
+ *   <li>the block hash (32 bytes) and the block number plus one (varint, 0 when unknown),
+ *   <li>the number of addresses (varint), and the sorted table of the changed addresses (20 bytes
+ *       each),
+ *   <li>the offset of the changes of each address (4 bytes each), relative to the end of the
+ *       offsets table,
+ *   <li>the changes of each address: a byte flagging the presence of account, code and storage
+ *       changes, followed by those changes.
+ * </ul>
+ *
+ * <p>Every change starts with a byte flagging the presence of its prior and updated values, and
+ * whether it is cleared. Updated account values are encoded as a delta of their prior value: the
+ * difference of nonces, and the storage root and code hash only when they changed. Storage changes
+ * are sorted by slot hash, with values in their minimal encoding.
+ *
+ * <p>The offsets table allows {@link CompactTrieLogLayer} to decode only the changes of the
+ * addresses a caller asks for.
+ */
+final class CompactTrieLogFormat {
+
+  static final byte VERSION = 1;
+
+  // the presence of the changes of an address
+  private static final int ACCOUNT_CHANGE = 1;
+  private static final int CODE_CHANGE = 1 << 1;
+  private static final int STORAGE_CHANGES = 1 << 2;
+
+  // the content of a change
+  private static final int PRIOR = 1;
+  private static final int UPDATED = 1 << 1;
+  private static final int CLEARED = 1 << 2;
+  private static final int SAME_STORAGE_ROOT = 1 << 3;
+  private static final int SAME_CODE_HASH = 1 << 4;
+  private static final int SAME_VALUE = 1 << 5;
+
+  private CompactTrieLogFormat() {}
+
+  static boolean isCompact(final byte[] encoded) {
+    return encoded.length > 0 && (encoded[0] & 0xff) < 0xc0;
+  }
+
+  static byte[] encode(final TrieLog layer) {
+    layer.freeze();
+
+    final Set<Address> addresses = new TreeSet<>();
+    addresses.addAll(layer.getAccountChanges().keySet());
+    addresses.addAll(layer.getCodeChanges().keySet());
+    addresses.addAll(layer.getStorageChanges().keySet());
+
+    final Output records = new Output(1024);
+    final int[] offsets = new int[addresses.size()];
+    int index = 0;
+    for (final Address address : addresses) {
+      offsets[index++] = records.size();
+      writeChanges(layer, address, records);
+    }
+
+    final Output output = new Output(64 + addresses.size() * 24 + records.size());
+    output.writeByte(VERSION);
+    output.writeBytes(layer.getBlockHash());
+    output.writeVarLong(layer.getBlockNumber().map(number -> number + 1).orElse(0L));
+    output.writeVarLong(addresses.size());
+    addresses.forEach(output::writeBytes);
+    for (final int offset : offsets) {
+      output.writeInt(offset);
+    }
+    output.writeBytes(records.buffer, records.size());
+    return output.toByteArray();
+  }
+
+  private static void writeChanges(final TrieLog layer, final Address address, final Output out) {
+    final TrieLog.LogTuple<AccountValue> accountChange =
+        Optional.ofNullable(layer.getAccountChanges().get(address))
+            .filter(change -> !change.isUnchanged())
+            .orElse(null);
+    final TrieLog.LogTuple<Bytes> codeChange =
+        Optional.ofNullable(layer.getCodeChanges().get(address))
+            .filter(change -> !change.isUnchanged())
+            .orElse(null);
+    final Map<StorageSlotKey, TrieLog.LogTuple<UInt256>> storageChanges =
+        layer.getStorageChanges().get(address);
+
+    out.writeByte(
+        (accountChange == null ? 0 : ACCOUNT_CHANGE)
+            | (codeChange == null ? 0 : CODE_CHANGE)
+            | (storageChanges == null ? 0 : STORAGE_CHANGES));
+    if (accountChange != null) {
+      writeAccountChange(accountChange, out);
+    }
+    if (codeChange != null) {
+      out.writeByte(changeFlags(codeChange));
+      if (codeChange.getPrior() != null) {
+        out.writeSizedBytes(codeChange.getPrior());
+      }
+      if (codeChange.getUpdated() != null) {
+        out.writeSizedBytes(codeChange.getUpdated());
+      }
+    }
+    if (storageChanges != null) {
+      // storage changes are sorted by slot hash, whatever the map they are in
+      final Map<Hash, TrieLog.LogTuple<UInt256>> sortedChanges = new TreeMap<>();
+      storageChanges.forEach((slot, change) -> sortedChanges.put(slot.getSlotHash(), change));
+      out.writeVarLong(sortedChanges.size());
+      sortedChanges.forEach(
+          (slotHash, change) -> {
+            out.writeBytes(slotHash);
+            final UInt256 prior = change.getPrior();
+            final UInt256 updated = change.getUpdated();
+            final boolean sameValue = prior != null && prior.equals(updated);
+            out.writeByte(changeFlags(change) | (sameValue ? SAME_VALUE : 0));
+            if (prior != null) {
+              out.writeSizedBytes(prior.toMinimalBytes());
+            }
+            if (updated != null && !sameValue) {
+              out.writeSizedBytes(updated.toMinimalBytes());
+            }
+          });
+    }
+  }
+
+  private static void writeAccountChange(
+      final TrieLog.LogTuple<AccountValue> change, final Output out) {
+    final AccountValue prior = change.getPrior();
+    final AccountValue updated = change.getUpdated();
+    final boolean sameStorageRoot =
+        prior != null && updated != null && prior.getStorageRoot().equals(updated.getStorageRoot());
+    final boolean sameCodeHash =
+        prior != null && updated != null && prior.getCodeHash().equals(updated.getCodeHash());
+    out.writeByte(
+        changeFlags(change)
+            | (sameStorageRoot ? SAME_STORAGE_ROOT : 0)
+            | (sameCodeHash ? SAME_CODE_HASH : 0));
+    if (prior != null) {
+      out.writeVarLong(prior.getNonce());
+      out.writeSizedBytes(prior.getBalance().toMinimalBytes());
+      out.writeBytes(prior.getStorageRoot());
+      out.writeBytes(prior.getCodeHash());
+    }
+    if (updated != null) {
+      if (prior == null) {
+        out.writeVarLong(updated.getNonce());
+      } else {
+        out.writeVarLong(zigZag(updated.getNonce() - prior.getNonce()));
+      }
+      out.writeSizedBytes(updated.getBalance().toMinimalBytes());
+      if (!sameStorageRoot) {
+        out.writeBytes(updated.getStorageRoot());
+      }
+      if (!sameCodeHash) {
+        out.writeBytes(updated.getCodeHash());
+      }
+    }
+  }
+
+  private static int changeFlags(final TrieLog.LogTuple<?> change) {
+    return (change.getPrior() == null ? 0 : PRIOR)
+        | (change.getUpdated() == null ? 0 : UPDATED)
+        | (change.isCleared() ? CLEARED : 0);
+  }
+
+  /**
+   * Decodes the changes of an address into a layer.
+   *
+   * @param input the encoded trie log, positioned at the changes of the address
+   * @param address the address whose changes are decoded
+   * @param accounts the account changes of the layer
+   * @param code the code changes of the layer
+   * @param storage the storage changes of the layer
+   */
+  static void readChanges(
+      final ByteBuffer input,
+      final Address address,
+      final Map<Address, BonsaiValue<AccountValue>> accounts,
+      final Map<Address, BonsaiValue<Bytes>> code,
+      final Map<Address, Map<StorageSlotKey, BonsaiValue<UInt256>>> storage) {
+    final int changes = input.get();
+    if ((changes & ACCOUNT_CHANGE) != 0) {
+      accounts.put(address, readAccountChange(input));
+    }
+    if ((changes & CODE_CHANGE) != 0) {
+      final int flags = input.get();
+      final Bytes prior = (flags & PRIOR) != 0 ? readSizedBytes(input) : null;
+      final Bytes updated = (flags & UPDATED) != 0 ? readSizedBytes(input) : null;
+      code.put(address, new BonsaiValue<>(prior, updated, (flags & CLEARED) != 0));
+    }
+    if ((changes & STORAGE_CHANGES) != 0) {
+      final Map<StorageSlotKey, BonsaiValue<UInt256>> storageChanges = new TreeMap<>();
+      final long count = readVarLong(input);
+      for (long i = 0; i < count; i++) {
+        final Hash slotHash = Hash.wrap(readBytes32(input));
+        final int flags = input.get();
+        final UInt256 prior = (flags & PRIOR) != 0 ? readUInt256(input) : null;
+        final UInt256 updated;
+        if ((flags & SAME_VALUE) != 0) {
+          updated = prior;
+        } else {
+          updated = (flags & UPDATED) != 0 ? readUInt256(input) : null;
+        }
+        storageChanges.put(
+            new StorageSlotKey(slotHash, Optional.empty()),
+            new BonsaiValue<>(prior, updated, (flags & CLEARED) != 0));
+      }
+      storage.put(address, storageChanges);
+    }
+  }
+
+  private static BonsaiValue<AccountValue> readAccountChange(final ByteBuffer input) {
+    final int flags = input.get();
+    StateTrieAccountValue prior = null;
+    StateTrieAccountValue updated = null;
+    if ((flags & PRIOR) != 0) {
+      prior =
+          new StateTrieAccountValue(
+              readVarLong(input),
+              Wei.wrap(readSizedBytes(input)),
+              Hash.wrap(readBytes32(input)),
+              Hash.wrap(readBytes32(input)));
+    }
+    if ((flags & UPDATED) != 0) {
+      final long nonce =
+          prior == null ? readVarLong(input) : prior.getNonce() + unZigZag(readVarLong(input));
+      final Wei balance = Wei.wrap(readSizedBytes(input));
+      final Hash storageRoot =
+          (flags & SAME_STORAGE_ROOT) != 0 ? prior.getStorageRoot() : Hash.wrap(readBytes32(input));
+      final Hash codeHash =
+          (flags & SAME_CODE_HASH) != 0 ? prior.getCodeHash() : Hash.wrap(readBytes32(input));
+      updated = new StateTrieAccountValue(nonce, balance, storageRoot, codeHash);
+    }
+    return new BonsaiValue<>(prior, updated, (flags & CLEARED) != 0);
+  }
+
+  static Bytes32 readBytes32(final ByteBuffer input) {
+    final byte[] bytes = new byte[Bytes32.SIZE];
+    input.get(bytes);
+    return Bytes32.wrap(bytes);
+  }
+
+  private static Bytes readSizedBytes(final ByteBuffer input) {
+    final byte[] bytes = new byte[Math.toIntExact(readVarLong(input))];
+    input.get(bytes);
+    return Bytes.wrap(bytes);
+  }
+
+  private static UInt256 readUInt256(final ByteBuffer input) {
+    return UInt256.fromBytes(readSizedBytes(input));
+  }
+
+  static long readVarLong(final ByteBuffer input) {
+    long value = 0;
+    int shift = 0;
+    byte b;
+    do {
+      b = input.get();
+      value |= (long) (b & 0x7f) << shift;
+      shift += 7;
+    } while (b < 0);
+    return value;
+  }
+
+  private static long zigZag(final long value) {
+    return (value << 1) ^ (value >> 63);
+  }
+
+  private static long unZigZag(final long value) {
+    return (value >>> 1) ^ -(value & 1);
+  }
+
+  /** A growable byte buffer, writing the primitives of the format. */
+  private static final class Output {
+    private byte[] buffer;
+    private int size;
+
+    Output(final int initialCapacity) {
+      buffer = new byte[Math.max(initialCapacity, 16)];
+    }
+
+    int size() {
+      return size;
+    }
+
+    byte[] toByteArray() {
+      return Arrays.copyOf(buffer, size);
+    }
+
+    void writeByte(final int value) {
+      ensureCapacity(1);
+      buffer[size++] = (byte) value;
+    }
+
+    void writeInt(final int value) {
+      ensureCapacity(4);
+      for (int i = 3; i >= 0; i--) {
+        buffer[size++] = (byte) (value >>> (8 * i));
+      }
+    }
+
+    void writeVarLong(final long value) {
+      ensureCapacity(10);
+      long remaining = value;
+      while ((remaining & ~0x7fL) != 0) {
+        buffer[size++] = (byte) ((remaining & 0x7f) | 0x80);
+        remaining >>>= 7;
+      }
+      buffer[size++] = (byte) remaining;
+    }
+
+    void writeBytes(final Bytes value) {
+      writeBytes(value.toArrayUnsafe(), value.size());
+    }
+
+    void writeBytes(final byte[] value, final int length) {
+      ensureCapacity(length);
+      System.arraycopy(value, 0, buffer, size, length);
+      size += length;
+    }
+
+    void writeSizedBytes(final Bytes value) {
+      writeVarLong(value.size());
+      writeBytes(value);
+    }
+
+    private void ensureCapacity(final int additional) {
+      if (size + additional > buffer.length) {
+        buffer = Arrays.copyOf(buffer, Math.max(size + additional, buffer.length * 2));
+      }
+    }
+  }
+}
@@ -0,0 +1,226 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.bonsai.trielog;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import org.hyperledger.besu.datatypes.AccountValue;
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.StorageSlotKey;
+import org.hyperledger.besu.ethereum.bonsai.BonsaiValue;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.units.bigints.UInt256;
+
+/**
+ * A trie log layer read from the {@link CompactTrieLogFormat}, which only decodes the changes of an
+ * address when they are first asked for. Asking for all the changes of a kind, as rolling a world
+ * state does, decodes the whole layer.
+ */
+@SuppressWarnings("unchecked")
+class CompactTrieLogLayer extends TrieLogLayer {
+
+  private final byte[] encoded;
+  private final int addressCount;
+  private final int addressesStart;
+  private final int offsetsStart;
+  private final int changesStart;
+
+  // guarded by this
+  private final BitSet decodedAddresses;
+  private volatile boolean fullyDecoded;
+
+  CompactTrieLogLayer(final byte[] encoded) {
+    super(new ConcurrentHashMap<>(), new ConcurrentHashMap<>(), new ConcurrentHashMap<>());
+    checkArgument(
+        encoded.length > 0 && encoded[0] == CompactTrieLogFormat.VERSION,
+        "Unsupported trie log format %s",
+        encoded.length > 0 ? encoded[0] : "(empty)");
+    this.encoded = encoded;
+    final ByteBuffer input = ByteBuffer.wrap(encoded);
+    input.position(1);
+    this.blockHash = Hash.wrap(CompactTrieLogFormat.readBytes32(input));
+    final long blockNumberPlusOne = CompactTrieLogFormat.readVarLong(input);
+    this.blockNumber =
+        blockNumberPlusOne == 0 ? Optional.empty() : Optional.of(blockNumberPlusOne - 1);
+    this.addressCount = Math.toIntExact(CompactTrieLogFormat.readVarLong(input));
+    this.addressesStart = input.position();
+    this.offsetsStart = addressesStart + addressCount * Address.SIZE;
+    this.changesStart = offsetsStart + addressCount * Integer.BYTES;
+    this.decodedAddresses = new BitSet(addressCount);
+    this.fullyDecoded = addressCount == 0;
+    freeze();
+  }
+
+  /** Decodes the changes of every address, if they are not all decoded yet. */
+  void decodeAll() {
+    if (!fullyDecoded) {
+      synchronized (this) {
+        int index = decodedAddresses.nextClearBit(0);
+        while (index < addressCount) {
+          decode(index);
+          index = decodedAddresses.nextClearBit(index + 1);
+        }
+        fullyDecoded = true;
+      }
+    }
+  }
+
+  private void decode(final Address address) {
+    if (fullyDecoded) {
+      return;
+    }
+    final int index = indexOf(address);
+    if (index >= 0) {
+      synchronized (this) {
+        if (!decodedAddresses.get(index)) {
+          decode(index);
+        }
+      }
+    }
+  }
+
+  // must hold the lock
+  private void decode(final int index) {
+    final int addressOffset = addressesStart + index * Address.SIZE;
+    final Address address =
+        Address.wrap(Bytes.wrap(encoded, addressOffset, Address.SIZE).copy());
+    final ByteBuffer input = ByteBuffer.wrap(encoded);
+    input.position(changesStart + input.getInt(offsetsStart + index * Integer.BYTES));
+    CompactTrieLogFormat.readChanges(input, address, accounts, code, storage);
+    decodedAddresses.set(index);
+  }
+
+  // binary search of the sorted addresses table
+  private int indexOf(final Address address) {
+    final byte[] key = address.toArrayUnsafe();
+    int low = 0;
+    int high = addressCount - 1;
+    while (low <= high) {
+      final int mid = (low + high) >>> 1;
+      final int from = addressesStart + mid * Address.SIZE;
+      final int comparison =
+          Arrays.compareUnsigned(encoded, from, from + Address.SIZE, key, 0, Address.SIZE);
+      if (comparison < 0) {
+        low = mid + 1;
+      } else if (comparison > 0) {
+        high = mid - 1;
+      } else {
+        return mid;
+      }
+    }
+    return -1;
+  }
+
+  @Override
+  Map<Address, BonsaiValue<AccountValue>> getAccounts() {
+    decodeAll();
+    return super.getAccounts();
+  }
+
+  @Override
+  Map<Address, BonsaiValue<Bytes>> getCode() {
+    decodeAll();
+    return super.getCode();
+  }
+
+  @Override
+  Map<Address, Map<StorageSlotKey, BonsaiValue<UInt256>>> getStorage() {
+    decodeAll();
+    return super.getStorage();
+  }
+
+  @Override
+  public Map<Address, BonsaiValue<AccountValue>> getAccountChanges() {
+    decodeAll();
+    return super.getAccountChanges();
+  }
+
+  @Override
+  public Map<Address, BonsaiValue<Bytes>> getCodeChanges() {
+    decodeAll();
+    return super.getCodeChanges();
+  }
+
+  @Override
+  public Map<Address, Map<StorageSlotKey, BonsaiValue<UInt256>>> getStorageChanges() {
+    decodeAll();
+    return super.getStorageChanges();
+  }
+
+  @Override
+  public boolean hasStorageChanges(final Address address) {
+    decode(address);
+    return super.hasStorageChanges(address);
+  }
+
+  @Override
+  public Map<StorageSlotKey, BonsaiValue<UInt256>> getStorageChanges(final Address address) {
+    decode(address);
+    return super.getStorageChanges(address);
+  }
+
+  @Override
+  public Optional<Bytes> getPriorCode(final Address address) {
+    decode(address);
+    return super.getPriorCode(address);
+  }
+
+  @Override
+  public Optional<Bytes> getCode(final Address address) {
+    decode(address);
+    return super.getCode(address);
+  }
+
+  @Override
+  public Optional<UInt256> getPriorStorageByStorageSlotKey(
+      final Address address, final StorageSlotKey storageSlotKey) {
+    decode(address);
+    return super.getPriorStorageByStorageSlotKey(address, storageSlotKey);
+  }
+
+  @Override
+  public Optional<UInt256> getStorageByStorageSlotKey(
+      final Address address, final StorageSlotKey storageSlotKey) {
+    decode(address);
+    return super.getStorageByStorageSlotKey(address, storageSlotKey);
+  }
+
+  @Override
+  public Optional<AccountValue> getPriorAccount(final Address address) {
+    decode(address);
+    return super.getPriorAccount(address);
+  }
+
+  @Override
+  public Optional<AccountValue> getAccount(final Address address) {
+    decode(address);
+    return super.getAccount(address);
+  }
+
+  @Override
+  public String dump() {
+    decodeAll();
+    return super.dump();
+  }
+}
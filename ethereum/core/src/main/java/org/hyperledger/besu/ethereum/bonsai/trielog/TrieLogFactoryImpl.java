@@ -21,7 +21,6 @@ import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.datatypes.StorageSlotKey;
 import org.hyperledger.besu.ethereum.bonsai.BonsaiValue;
 import org.hyperledger.besu.ethereum.rlp.BytesValueRLPInput;
-import org.hyperledger.besu.ethereum.rlp.BytesValueRLPOutput;
 import org.hyperledger.besu.ethereum.rlp.RLPInput;
 import org.hyperledger.besu.ethereum.rlp.RLPOutput;
 import org.hyperledger.besu.ethereum.worldstate.StateTrieAccountValue;
@@ -83,11 +82,15 @@ public class TrieLogFactoryImpl implements TrieLogFactory {
     return layer;
   }
 
+  /**
+   * Encodes a trie log in the {@link CompactTrieLogFormat}.
+   *
+   * @param layer the trie log to encode
+   * @return the encoded trie log
+   */
   @Override
   public byte[] serialize(final TrieLog layer) {
-    final BytesValueRLPOutput rlpLog = new BytesValueRLPOutput();
-    writeTo(layer, rlpLog);
-    return rlpLog.encoded().toArrayUnsafe();
+    return CompactTrieLogFormat.encode(layer);
   }
 
   public static void writeTo(final TrieLog layer, final RLPOutput output) {
@@ -141,8 +144,18 @@ public class TrieLogFactoryImpl implements TrieLogFactory {
     output.endList(); // container
   }
 
+  /**
+   * Decodes a trie log, encoded either in the {@link CompactTrieLogFormat}, whose changes are then
+   * decoded lazily, or in the legacy RLP format of {@link #writeTo}.
+   *
+   * @param bytes the encoded trie log
+   * @return the decoded trie log
+   */
   @Override
   public TrieLogLayer deserialize(final byte[] bytes) {
+    if (CompactTrieLogFormat.isCompact(bytes)) {
+      return new CompactTrieLogLayer(bytes);
+    }
     return readFrom(new BytesValueRLPInput(Bytes.wrap(bytes), false));
   }
 
@@ -68,9 +68,16 @@ public class TrieLogLayer implements TrieLog {
 
   public TrieLogLayer() {
     // TODO when tuweni fixes zero length byte comparison consider TreeMap
-    this.accounts = new HashMap<>();
-    this.code = new HashMap<>();
-    this.storage = new HashMap<>();
+    this(new HashMap<>(), new HashMap<>(), new HashMap<>());
+  }
+
+  protected TrieLogLayer(
+      final Map<Address, BonsaiValue<AccountValue>> accounts,
+      final Map<Address, BonsaiValue<Bytes>> code,
+      final Map<Address, Map<StorageSlotKey, BonsaiValue<UInt256>>> storage) {
+    this.accounts = accounts;
+    this.code = code;
+    this.storage = storage;
   }
 
   /** Locks the layer so no new changes can be added; */
@@ -241,16 +248,16 @@ public class TrieLogLayer implements TrieLog {
     if (this == o) {
       return true;
     }
-    if (o == null || getClass() != o.getClass()) {
+    // layers decoded lazily are equal to the layers they were encoded from
+    if (!(o instanceof TrieLogLayer that)) {
       return false;
     }
-    TrieLogLayer that = (TrieLogLayer) o;
     return new EqualsBuilder()
         .append(frozen, that.frozen)
         .append(blockHash, that.blockHash)
-        .append(accounts, that.accounts)
-        .append(code, that.code)
-        .append(storage, that.storage)
+        .append(getAccountChanges(), that.getAccountChanges())
+        .append(getCodeChanges(), that.getCodeChanges())
+        .append(getStorageChanges(), that.getStorageChanges())
         .isEquals();
   }
 
@@ -259,9 +266,9 @@ public class TrieLogLayer implements TrieLog {
     return new HashCodeBuilder(17, 37)
         .append(blockHash)
         .append(frozen)
-        .append(accounts)
-        .append(code)
-        .append(storage)
+        .append(getAccountChanges())
+        .append(getCodeChanges())
+        .append(getStorageChanges())
         .toHashCode();
   }
 }
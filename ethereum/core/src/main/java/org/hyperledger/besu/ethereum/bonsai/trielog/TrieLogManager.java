@@ -22,6 +22,7 @@ import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.plugin.services.trielogs.TrieLog;
 import org.hyperledger.besu.plugin.services.trielogs.TrieLogEvent;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.function.Function;
 
@@ -51,6 +52,15 @@ public interface TrieLogManager {
 
   Optional<? extends TrieLog> getTrieLogLayer(final Hash blockHash);
 
+  /**
+   * Loads the trie logs of several blocks at once, which is cheaper than loading them one by one.
+   *
+   * @param blockHashes the hashes of the blocks
+   * @return the trie logs of the blocks, in the same order
+   * @throws java.util.NoSuchElementException if the trie log of one of the blocks is missing
+   */
+  List<? extends TrieLog> getTrieLogLayers(final List<Hash> blockHashes);
+
   long subscribe(final TrieLogEvent.TrieLogObserver sub);
 
   void unsubscribe(final long id);
@@ -0,0 +1,285 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.bonsai.trielog;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.bonsai.storage.BonsaiWorldStateKeyValueStorage;
+import org.hyperledger.besu.ethereum.chain.BlockAddedEvent;
+import org.hyperledger.besu.ethereum.chain.BlockAddedObserver;
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.metrics.BesuMetricCategory;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.trielogs.TrieLog;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Prunes, in the background, the trie logs of the blocks that are too old to ever be rolled to.
+ *
+ * <p>The trie logs are keyed by block hash, so the pruner keeps track of the height of every stored
+ * trie log within the retention window, loading the existing ones when it is initialized and
+ * observing the ones added later. The stored trie logs already below the window are removed while
+ * loading rather than tracked. When a new head is added, the trie logs of the blocks more than
+ * {@code blocksRetained} blocks below the finalized block (or below the head if there is none) are
+ * removed, in batches, by a single low priority thread, and stop being tracked.
+ *
+ * <p>At least {@link AbstractTrieLogManager#RETAINED_LAYERS} and the maximum number of layers to
+ * load are always retained, so that the layers cached by the trie log manager, and any world state
+ * within the historical block limit, can still be rolled to.
+ */
+public class TrieLogPruner implements BlockAddedObserver {
+
+  private static final Logger LOG = LoggerFactory.getLogger(TrieLogPruner.class);
+
+  static final int PRUNING_BATCH_SIZE = 1_000;
+
+  private final BonsaiWorldStateKeyValueStorage worldStateStorage;
+  private final Blockchain blockchain;
+  private final TrieLogManager trieLogManager;
+  private final long blocksRetained;
+  private final ExecutorService pruningExecutor;
+
+  // the hashes of the blocks whose trie log is stored, by block number
+  private final NavigableMap<Long, Set<Hash>> trieLogsByBlockNumber =
+      new ConcurrentSkipListMap<>();
+  private final AtomicLong trackedTrieLogs = new AtomicLong();
+  private final AtomicBoolean pruningScheduled = new AtomicBoolean(false);
+  private final AtomicBoolean stopped = new AtomicBoolean(false);
+  private final Counter prunedTrieLogsCounter;
+  private long trieLogObserverId;
+  private long blockAddedObserverId;
+
+  public TrieLogPruner(
+      final BonsaiWorldStateKeyValueStorage worldStateStorage,
+      final Blockchain blockchain,
+      final TrieLogManager trieLogManager,
+      final long blocksRetained,
+      final MetricsSystem metricsSystem) {
+    this(
+        worldStateStorage,
+        blockchain,
+        trieLogManager,
+        blocksRetained,
+        metricsSystem,
+        new ThreadPoolExecutor(
+            0,
+            1,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(),
+            new ThreadFactoryBuilder()
+                .setDaemon(true)
+                .setPriority(Thread.MIN_PRIORITY)
+                .setNameFormat("TrieLogPruning-%d")
+                .build()));
+  }
+
+  @VisibleForTesting
+  TrieLogPruner(
+      final BonsaiWorldStateKeyValueStorage worldStateStorage,
+      final Blockchain blockchain,
+      final TrieLogManager trieLogManager,
+      final long blocksRetained,
+      final MetricsSystem metricsSystem,
+      final ExecutorService pruningExecutor) {
+    this.worldStateStorage = worldStateStorage;
+    this.blockchain = blockchain;
+    this.trieLogManager = trieLogManager;
+    this.blocksRetained =
+        Math.max(
+            blocksRetained,
+            Math.max(AbstractTrieLogManager.RETAINED_LAYERS, trieLogManager.getMaxLayersToLoad()));
+    this.pruningExecutor = pruningExecutor;
+    this.prunedTrieLogsCounter =
+        metricsSystem.createCounter(
+            BesuMetricCategory.PRUNER,
+            "bonsai_trie_logs_pruned_total",
+            "Total number of trie logs pruned");
+    metricsSystem.createLongGauge(
+        BesuMetricCategory.PRUNER,
+        "bonsai_trie_logs_stored",
+        "Number of trie logs stored, that are tracked for pruning",
+        trackedTrieLogs::get);
+  }
+
+  /**
+   * Starts tracking the trie logs added by the trie log manager and pruning on new heads, and loads
+   * the heights of the trie logs already stored in the background.
+   */
+  public void initialize() {
+    trieLogObserverId = trieLogManager.subscribe(event -> track(event.layer()));
+    blockAddedObserverId = blockchain.observeBlockAdded(this);
+    pruningExecutor.execute(this::loadStoredTrieLogs);
+  }
+
+  /**
+   * Stops tracking and pruning trie logs. A batch being removed is completed, but no further one is
+   * started.
+   */
+  public void stop() {
+    if (stopped.compareAndSet(false, true)) {
+      LOG.debug("Stopping trie log pruner");
+      trieLogManager.unsubscribe(trieLogObserverId);
+      blockchain.removeObserver(blockAddedObserverId);
+      pruningExecutor.shutdown();
+    }
+  }
+
+  public void awaitStop() throws InterruptedException {
+    if (!pruningExecutor.awaitTermination(10, TimeUnit.SECONDS)) {
+      LOG.error("Failed to shutdown trie log pruner executor service.");
+    }
+  }
+
+  @Override
+  public void onBlockAdded(final BlockAddedEvent event) {
+    if (!event.isNewCanonicalHead() || !pruningScheduled.compareAndSet(false, true)) {
+      return;
+    }
+    try {
+      pruningExecutor.execute(
+          () -> {
+            // clear the flag first, so that a head added while pruning schedules another pass
+            pruningScheduled.set(false);
+            prune();
+          });
+    } catch (final RejectedExecutionException e) {
+      pruningScheduled.set(false);
+      LOG.debug("Trie log pruning rejected, the pruner is shutting down");
+    }
+  }
+
+  /**
+   * Loads the heights of the stored trie logs within the retention window, and removes the ones
+   * below it, so that the trie logs accumulated before pruning was enabled are never all held in
+   * memory.
+   *
+   * @return the number of trie logs removed
+   */
+  @VisibleForTesting
+  long loadStoredTrieLogs() {
+    final long pruneBelow = pruneBelowBlockNumber();
+    long pruned = 0;
+    final List<Hash> batch = new ArrayList<>(PRUNING_BATCH_SIZE);
+    try (final Stream<Hash> blockHashes = worldStateStorage.streamTrieLogBlockHashes()) {
+      final Iterator<Hash> iterator = blockHashes.iterator();
+      while (iterator.hasNext() && !stopped.get()) {
+        final Hash blockHash = iterator.next();
+        final Optional<BlockHeader> header = blockchain.getBlockHeader(blockHash);
+        if (header.isEmpty()) {
+          continue;
+        }
+        if (header.get().getNumber() >= pruneBelow) {
+          track(header.get().getNumber(), blockHash);
+          continue;
+        }
+        batch.add(blockHash);
+        if (batch.size() >= PRUNING_BATCH_SIZE) {
+          pruned += removeTrieLogs(batch);
+        }
+      }
+    }
+    pruned += removeTrieLogs(batch);
+    LOG.debug(
+        "Loaded {} stored trie logs to prune, pruned {} below block {}",
+        trackedTrieLogs.get(),
+        pruned,
+        pruneBelow);
+    return pruned;
+  }
+
+  /**
+   * Removes the trie logs of the blocks older than the retention window.
+   *
+   * @return the number of trie logs removed
+   */
+  @VisibleForTesting
+  long prune() {
+    final long pruneBelow = pruneBelowBlockNumber();
+    long pruned = 0;
+    final List<Hash> batch = new ArrayList<>(PRUNING_BATCH_SIZE);
+    Map.Entry<Long, Set<Hash>> oldest = trieLogsByBlockNumber.firstEntry();
+    while (oldest != null && oldest.getKey() < pruneBelow && !stopped.get()) {
+      trieLogsByBlockNumber.remove(oldest.getKey());
+      batch.addAll(oldest.getValue());
+      if (batch.size() >= PRUNING_BATCH_SIZE) {
+        pruned += removeTrieLogs(batch);
+      }
+      oldest = trieLogsByBlockNumber.firstEntry();
+    }
+    pruned += removeTrieLogs(batch);
+    trackedTrieLogs.addAndGet(-pruned);
+    if (pruned > 0) {
+      LOG.debug("Pruned {} trie logs below block {}", pruned, pruneBelow);
+    }
+    return pruned;
+  }
+
+  private long pruneBelowBlockNumber() {
+    final long referenceBlockNumber =
+        blockchain
+            .getFinalized()
+            .flatMap(blockchain::getBlockHeader)
+            .map(BlockHeader::getNumber)
+            .orElseGet(blockchain::getChainHeadBlockNumber);
+    return referenceBlockNumber - blocksRetained;
+  }
+
+  private int removeTrieLogs(final List<Hash> blockHashes) {
+    if (blockHashes.isEmpty()) {
+      return 0;
+    }
+    final int count = blockHashes.size();
+    worldStateStorage.pruneTrieLogs(blockHashes);
+    prunedTrieLogsCounter.inc(count);
+    blockHashes.clear();
+    return count;
+  }
+
+  private void track(final TrieLog trieLog) {
+    trieLog.getBlockNumber().ifPresent(number -> track(number, trieLog.getBlockHash()));
+  }
+
+  private void track(final long blockNumber, final Hash blockHash) {
+    if (trieLogsByBlockNumber
+        .computeIfAbsent(blockNumber, __ -> ConcurrentHashMap.newKeySet())
+        .add(blockHash)) {
+      trackedTrieLogs.incrementAndGet();
+    }
+  }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.bonsai.trielog;
+
+import org.hyperledger.besu.datatypes.AccountValue;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.bonsai.BonsaiValue;
+import org.hyperledger.besu.plugin.services.trielogs.TrieLog;
+import org.hyperledger.besu.plugin.services.trielogs.TrieLog.LogTuple;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.units.bigints.UInt256;
+
+/**
+ * Squashes a sequence of trie logs into a single trie log holding their net changes, so that the
+ * world state can be rolled across many blocks by applying it once instead of applying every trie
+ * log in turn.
+ *
+ * <p>Trie logs must be added in the order they would be applied: the squashed trie log holds, for
+ * every account, code and storage slot, the value expected before the first change to it, and the
+ * value left by the last one. Entries that are not changes (cached reads) are ignored, like they
+ * are when rolling, and so are entries whose changes cancel out.
+ */
+public class TrieLogSquasher {
+
+  private final TrieLogLayer squashed = new TrieLogLayer();
+
+  /**
+   * Adds the changes of a trie log, as they are applied when rolling forward to its block.
+   *
+   * @param layer the trie log to roll forward
+   * @return this squasher
+   */
+  public TrieLogSquasher rollForward(final TrieLog layer) {
+    return add(layer, false);
+  }
+
+  /**
+   * Adds the changes of a trie log reverted, as they are applied when rolling back from its block.
+   *
+   * @param layer the trie log to roll back
+   * @return this squasher
+   */
+  public TrieLogSquasher rollBack(final TrieLog layer) {
+    return add(layer, true);
+  }
+
+  private TrieLogSquasher add(final TrieLog layer, final boolean reverse) {
+    layer
+        .<LogTuple<AccountValue>>getAccountChanges()
+        .forEach((address, change) -> squash(squashed.getAccounts(), address, change, reverse));
+    layer
+        .<LogTuple<Bytes>>getCodeChanges()
+        .forEach((address, change) -> squash(squashed.getCode(), address, change, reverse));
+    layer
+        .<LogTuple<UInt256>>getStorageChanges()
+        .forEach(
+            (address, slots) ->
+                slots.forEach(
+                    (slotKey, change) -> {
+                      final UInt256 replacement = reverse ? change.getPrior() : change.getUpdated();
+                      final UInt256 expected = reverse ? change.getUpdated() : change.getPrior();
+                      // corner case on deletes, non-change
+                      if (replacement == null && expected != null && expected.isZero()) {
+                        return;
+                      }
+                      squash(
+                          squashed.getStorage().computeIfAbsent(address, a -> new TreeMap<>()),
+                          slotKey,
+                          change,
+                          reverse);
+                    }));
+    return this;
+  }
+
+  private static <K, T> void squash(
+      final Map<K, BonsaiValue<T>> changes,
+      final K key,
+      final LogTuple<T> change,
+      final boolean reverse) {
+    final T expected = reverse ? change.getUpdated() : change.getPrior();
+    final T replacement = reverse ? change.getPrior() : change.getUpdated();
+    if (Objects.equals(expected, replacement)) {
+      // non-change, a cached read.
+      return;
+    }
+    final BonsaiValue<T> squashedChange = changes.get(key);
+    if (squashedChange == null) {
+      changes.put(key, new BonsaiValue<>(expected, replacement, replacement == null));
+    } else {
+      squashedChange.setUpdated(replacement);
+    }
+  }
+
+  /**
+   * Returns the net changes of the trie logs added so far, as a trie log to roll forward.
+   *
+   * @param blockHash the hash of the block the world state is at once the trie log is applied
+   * @return the frozen squashed trie log
+   */
+  public TrieLogLayer squash(final Hash blockHash) {
+    squashed.getAccounts().values().removeIf(BonsaiValue::isUnchanged);
+    squashed.getCode().values().removeIf(BonsaiValue::isUnchanged);
+    squashed
+        .getStorage()
+        .values()
+        .removeIf(
+            slots -> {
+              slots.values().removeIf(BonsaiValue::isUnchanged);
+              return slots.isEmpty();
+            });
+    squashed.setBlockHash(blockHash);
+    squashed.freeze();
+    return squashed;
+  }
+}
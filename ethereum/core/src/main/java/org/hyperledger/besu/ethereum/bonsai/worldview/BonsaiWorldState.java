@@ -37,7 +37,9 @@ import org.hyperledger.besu.ethereum.core.MutableWorldState;
 import org.hyperledger.besu.ethereum.trie.MerkleTrie;
 import org.hyperledger.besu.ethereum.trie.MerkleTrieException;
 import org.hyperledger.besu.ethereum.trie.NodeLoader;
+import org.hyperledger.besu.ethereum.trie.TrieNodeEncodingCache;
 import org.hyperledger.besu.ethereum.trie.patricia.StoredMerklePatriciaTrie;
+import org.hyperledger.besu.ethereum.trie.patricia.StoredNodeFactory;
 import org.hyperledger.besu.ethereum.worldstate.WorldStateStorage;
 import org.hyperledger.besu.evm.account.Account;
 import org.hyperledger.besu.evm.worldstate.WorldUpdater;
@@ -171,7 +173,8 @@ public class BonsaiWorldState
                 archive
                     .getCachedMerkleTrieLoader()
                     .getAccountStateTrieNode(worldStateStorage, location, hash),
-            worldStateRootHash);
+            worldStateRootHash,
+            archive.getCachedMerkleTrieLoader().getAccountNodeEncodings());
 
     // for manicured tries and composting, collect branches here (not implemented)
     updateTheAccounts(maybeStateUpdater, worldStateUpdater, accountTrie);
@@ -257,7 +260,8 @@ public class BonsaiWorldState
                       .getCachedMerkleTrieLoader()
                       .getAccountStorageTrieNode(
                           worldStateStorage, updatedAddressHash, location, key),
-              storageRoot);
+              storageRoot,
+              archive.getCachedMerkleTrieLoader().getStorageNodeEncodings());
 
       // for manicured tries and composting, collect branches here (not implemented)
       for (final Map.Entry<StorageSlotKey, BonsaiValue<UInt256>> storageUpdate :
@@ -551,6 +555,16 @@ public class BonsaiWorldState
         nodeLoader, rootHash, Function.identity(), Function.identity());
   }
 
+  private StoredMerklePatriciaTrie<Bytes, Bytes> createTrie(
+      final NodeLoader nodeLoader,
+      final Bytes32 rootHash,
+      final TrieNodeEncodingCache encodingCache) {
+    return new StoredMerklePatriciaTrie<>(
+        new StoredNodeFactory<>(
+            nodeLoader, Function.identity(), Function.identity(), Optional.of(encodingCache)),
+        rootHash);
+  }
+
   @Override
   public void close() {
     try {
@@ -22,12 +22,15 @@ import org.hyperledger.besu.ethereum.core.Difficulty;
 import org.hyperledger.besu.ethereum.core.LogWithMetadata;
 import org.hyperledger.besu.ethereum.core.Transaction;
 import org.hyperledger.besu.ethereum.core.TransactionReceipt;
+import org.hyperledger.besu.ethereum.rlp.RLP;
 
 import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Consumer;
 
+import org.apache.tuweni.bytes.Bytes;
+
 /** An interface for reading data from the blockchain. */
 public interface Blockchain {
   /**
@@ -167,6 +170,57 @@ public interface Blockchain {
    */
   Optional<List<TransactionReceipt>> getTxReceipts(Hash blockHeaderHash);
 
+  /**
+   * Returns the RLP encoded block header corresponding to the given block number on the canonical
+   * chain. Implementations backed by storage return the stored bytes without decoding them.
+   *
+   * @param blockNumber The reference block number whose header we want to retrieve.
+   * @return The RLP encoded block header corresponding to this block number.
+   */
+  default Optional<Bytes> getBlockHeaderRlp(final long blockNumber) {
+    return getBlockHeader(blockNumber).map(header -> RLP.encode(header::writeTo));
+  }
+
+  /**
+   * Returns the RLP encoded block header corresponding to the given block hash. Implementations
+   * backed by storage return the stored bytes without decoding them.
+   *
+   * @param blockHeaderHash The hash of the block whose header we want to retrieve.
+   * @return The RLP encoded block header corresponding to this block hash.
+   */
+  default Optional<Bytes> getBlockHeaderRlp(final Hash blockHeaderHash) {
+    return getBlockHeader(blockHeaderHash).map(header -> RLP.encode(header::writeTo));
+  }
+
+  /**
+   * Returns the RLP encoded wrapped block body corresponding to the given block header hash, in
+   * the form used by the eth wire protocol. Implementations backed by storage return the stored
+   * bytes without decoding them.
+   *
+   * @param blockHeaderHash The block header hash identifying the block whose body should be
+   *     returned.
+   * @return The RLP encoded block body corresponding to the target block.
+   */
+  default Optional<Bytes> getBlockBodyRlp(final Hash blockHeaderHash) {
+    return getBlockBody(blockHeaderHash).map(body -> RLP.encode(body::writeWrappedBodyTo));
+  }
+
+  /**
+   * Returns the RLP encoded list of transaction receipts for the given block hash. The encoding is
+   * the storage encoding, so receipts may include revert reasons that must be removed before the
+   * receipts are sent to peers.
+   *
+   * @param blockHeaderHash The header hash of the block we're querying.
+   * @return The RLP encoded transaction receipts corresponding to block hash.
+   */
+  default Optional<Bytes> getTxReceiptsRlp(final Hash blockHeaderHash) {
+    return getTxReceipts(blockHeaderHash)
+        .map(
+            receipts ->
+                RLP.encode(
+                    out -> out.writeList(receipts, TransactionReceipt::writeToWithRevertReason)));
+  }
+
   /**
    * Retrieves the header hash of the block at the given height in the canonical chain.
    *
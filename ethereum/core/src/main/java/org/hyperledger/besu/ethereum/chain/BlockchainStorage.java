@@ -24,6 +24,8 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.apache.tuweni.bytes.Bytes;
+
 public interface BlockchainStorage {
 
   Optional<Hash> getChainHead();
@@ -40,12 +42,47 @@ public interface BlockchainStorage {
 
   Optional<List<TransactionReceipt>> getTransactionReceipts(Hash blockHash);
 
+  /**
+   * Returns the block header RLP exactly as stored, without decoding it.
+   *
+   * @param blockHash the hash of the block
+   * @return the RLP encoded block header
+   */
+  Optional<Bytes> getBlockHeaderRlp(Hash blockHash);
+
+  /**
+   * Returns the RLP of the wrapped block body exactly as stored, without decoding it.
+   *
+   * @param blockHash the hash of the block
+   * @return the RLP encoded block body
+   */
+  Optional<Bytes> getBlockBodyRlp(Hash blockHash);
+
+  /**
+   * Returns the RLP list of transaction receipts exactly as stored, without decoding it. Stored
+   * receipts may include revert reasons, which are not part of the wire or consensus encoding.
+   *
+   * @param blockHash the hash of the block
+   * @return the RLP encoded transaction receipts
+   */
+  Optional<Bytes> getTransactionReceiptsRlp(Hash blockHash);
+
   Optional<Hash> getBlockHash(long blockNumber);
 
   Optional<Difficulty> getTotalDifficulty(Hash blockHash);
 
   Optional<TransactionLocation> getTransactionLocation(Hash transactionHash);
 
+  /**
+   * Returns the number of the first block whose canonical chain data may still change. Blocks
+   * below it have been moved to immutable storage and cannot be removed by a reorg.
+   *
+   * @return the number of the first mutable block
+   */
+  default long getFirstMutableBlockNumber() {
+    return BlockHeader.GENESIS_BLOCK_NUMBER;
+  }
+
   Updater updater();
 
   interface Updater {
@@ -19,6 +19,7 @@ import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.plugin.services.storage.KeyValueStorageTransaction;
 
 import java.util.Collection;
+import java.util.Optional;
 import java.util.concurrent.ExecutorService;
 
 import org.slf4j.Logger;
@@ -32,6 +33,7 @@ public class ChainDataPruner implements BlockAddedObserver {
   private final long blocksToRetain;
   private final long pruningFrequency;
   private final ExecutorService pruningExecutor;
+  private final boolean retainCanonicalBlocks;
 
   public ChainDataPruner(
       final BlockchainStorage blockchainStorage,
@@ -39,6 +41,34 @@ public class ChainDataPruner implements BlockAddedObserver {
       final long blocksToRetain,
       final long pruningFrequency,
       final ExecutorService pruningExecutor) {
+    this(
+        blockchainStorage,
+        prunerStorage,
+        blocksToRetain,
+        pruningFrequency,
+        pruningExecutor,
+        false);
+  }
+
+  /**
+   * Creates a chain data pruner.
+   *
+   * @param blockchainStorage the blockchain storage to prune
+   * @param prunerStorage the storage tracking the blocks added at each height
+   * @param blocksToRetain the number of recent blocks for which to keep all chain data
+   * @param pruningFrequency the number of blocks added between two pruning operations
+   * @param pruningExecutor the executor running the pruning operations
+   * @param retainCanonicalBlocks whether only fork blocks are pruned, leaving canonical blocks to
+   *     be moved to the ancient store
+   */
+  public ChainDataPruner(
+      final BlockchainStorage blockchainStorage,
+      final ChainDataPrunerStorage prunerStorage,
+      final long blocksToRetain,
+      final long pruningFrequency,
+      final ExecutorService pruningExecutor,
+      final boolean retainCanonicalBlocks) {
+    this.retainCanonicalBlocks = retainCanonicalBlocks;
     this.blockchainStorage = blockchainStorage;
     this.prunerStorage = prunerStorage;
     this.blocksToRetain = blocksToRetain;
@@ -91,7 +121,12 @@ public class ChainDataPruner implements BlockAddedObserver {
   private void pruneChainDataAtBlock(final KeyValueStorageTransaction tx, final long blockNumber) {
     final Collection<Hash> oldForkBlocks = prunerStorage.getForkBlocks(blockNumber);
     final BlockchainStorage.Updater updater = blockchainStorage.updater();
+    final Optional<Hash> canonicalHash =
+        retainCanonicalBlocks ? blockchainStorage.getBlockHash(blockNumber) : Optional.empty();
     for (final Hash toPrune : oldForkBlocks) {
+      if (canonicalHash.filter(toPrune::equals).isPresent()) {
+        continue;
+      }
       updater.removeBlockHeader(toPrune);
       updater.removeBlockBody(toPrune);
       updater.removeTransactionReceipts(toPrune);
@@ -104,7 +139,9 @@ public class ChainDataPruner implements BlockAddedObserver {
                       .getTransactions()
                       .forEach(t -> updater.removeTransactionLocation(t.getHash())));
     }
-    updater.removeBlockHash(blockNumber);
+    if (!retainCanonicalBlocks) {
+      updater.removeBlockHash(blockNumber);
+    }
     updater.commit();
     prunerStorage.removeForkBlocks(tx, blockNumber);
   }
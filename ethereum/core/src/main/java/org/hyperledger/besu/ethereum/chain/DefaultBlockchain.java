@@ -51,6 +51,7 @@ import java.util.stream.Stream;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Streams;
+import org.apache.tuweni.bytes.Bytes;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -245,6 +246,28 @@ public class DefaultBlockchain implements MutableBlockchain {
     return blockchainStorage.getTransactionReceipts(blockHeaderHash);
   }
 
+  @Override
+  public Optional<Bytes> getBlockHeaderRlp(final long blockNumber) {
+    return blockchainStorage
+        .getBlockHash(blockNumber)
+        .flatMap(blockchainStorage::getBlockHeaderRlp);
+  }
+
+  @Override
+  public Optional<Bytes> getBlockHeaderRlp(final Hash blockHeaderHash) {
+    return blockchainStorage.getBlockHeaderRlp(blockHeaderHash);
+  }
+
+  @Override
+  public Optional<Bytes> getBlockBodyRlp(final Hash blockHeaderHash) {
+    return blockchainStorage.getBlockBodyRlp(blockHeaderHash);
+  }
+
+  @Override
+  public Optional<Bytes> getTxReceiptsRlp(final Hash blockHeaderHash) {
+    return blockchainStorage.getTransactionReceiptsRlp(blockHeaderHash);
+  }
+
   @Override
   public Optional<Hash> getBlockHashByNumber(final long number) {
     return blockchainStorage.getBlockHash(number);
@@ -500,6 +523,14 @@ public class DefaultBlockchain implements MutableBlockchain {
       currentOldChainWithReceipts = getParentBlockWithReceipts(currentOldChainWithReceipts);
     }
     final BlockWithReceipts commonAncestorWithReceipts = currentNewChainWithReceipts;
+    final long firstMutableBlockNumber = blockchainStorage.getFirstMutableBlockNumber();
+    if (commonAncestorWithReceipts.getNumber() + 1 < firstMutableBlockNumber) {
+      // canonical blocks above the common ancestor are immutable, they cannot be replaced
+      throw new IllegalStateException(
+          "Chain reorganization below immutable block "
+              + (firstMutableBlockNumber - 1)
+              + " is not allowed");
+    }
 
     // Update indexed transactions
     newTransactions.forEach(
@@ -570,9 +601,18 @@ public class DefaultBlockchain implements MutableBlockchain {
 
   @Override
   public boolean rewindToBlock(final Hash blockHash) {
+    final Optional<BlockHeader> maybeBlockHeader = blockchainStorage.getBlockHeader(blockHash);
+    final long firstMutableBlockNumber = blockchainStorage.getFirstMutableBlockNumber();
+    if (maybeBlockHeader.isPresent()
+        && maybeBlockHeader.get().getNumber() + 1 < firstMutableBlockNumber) {
+      LOG.warn(
+          "Cannot rewind to block {}, the blocks above it are immutable",
+          maybeBlockHeader.get().getNumber());
+      return false;
+    }
     final BlockchainStorage.Updater updater = blockchainStorage.updater();
     try {
-      final BlockHeader oldBlockHeader = blockchainStorage.getBlockHeader(blockHash).get();
+      final BlockHeader oldBlockHeader = maybeBlockHeader.get();
       final BlockWithReceipts blockWithReceipts = getBlockWithReceipts(oldBlockHeader).get();
       final Block block = blockWithReceipts.getBlock();
 
@@ -61,7 +61,7 @@ public interface MutableBlockchain extends Blockchain {
    *
    * @param blockNumber The block number to roll back to.
    * @return {@code true} on success, {@code false} if the canonical chain height is less than
-   *     {@code blockNumber}
+   *     {@code blockNumber} or if the blocks above it are immutable
    */
   boolean rewindToBlock(final long blockNumber);
 
@@ -70,7 +70,7 @@ public interface MutableBlockchain extends Blockchain {
    *
    * @param blockHash The block hash to roll back to.
    * @return {@code true} on success, {@code false} if the canonical chain height is less than
-   *     {@code blockNumber}
+   *     {@code blockNumber} or if the blocks above it are immutable
    */
   boolean rewindToBlock(final Hash blockHash);
 
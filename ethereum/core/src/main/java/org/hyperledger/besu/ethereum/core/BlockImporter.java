@@ -73,10 +73,36 @@ public interface BlockImporter {
    * @return {@code BlockImportResult}
    * @see BlockImportResult
    */
+  default BlockImportResult fastImportBlock(
+      final ProtocolContext context,
+      final Block block,
+      final List<TransactionReceipt> receipts,
+      final HeaderValidationMode headerValidationMode,
+      final HeaderValidationMode ommerValidationMode) {
+    return fastImportBlock(
+        context, block, receipts, headerValidationMode, ommerValidationMode, false);
+  }
+
+  /**
+   * Attempts to import the given block using "fast" validation, like {@link
+   * #fastImportBlock(ProtocolContext, Block, List, HeaderValidationMode, HeaderValidationMode)},
+   * optionally skipping the body checks which do not need the blockchain.
+   *
+   * @param context The context to attempt to update
+   * @param block The block
+   * @param receipts The receipts associated with this block.
+   * @param headerValidationMode Determines the validation to perform on this header.
+   * @param ommerValidationMode Determines the validation to perform on ommer headers.
+   * @param detachedBodyValidated Whether the block already passed the body checks which do not need
+   *     the blockchain, so that only the remaining ones are performed.
+   * @return {@code BlockImportResult}
+   * @see BlockImportResult
+   */
   BlockImportResult fastImportBlock(
       ProtocolContext context,
       Block block,
       List<TransactionReceipt> receipts,
       HeaderValidationMode headerValidationMode,
-      HeaderValidationMode ommerValidationMode);
+      HeaderValidationMode ommerValidationMode,
+      boolean detachedBodyValidated);
 }
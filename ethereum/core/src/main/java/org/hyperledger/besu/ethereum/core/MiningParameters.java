@@ -39,6 +39,8 @@ public class MiningParameters {
   public static final long DEFAULT_POS_BLOCK_CREATION_REPETITION_MIN_DURATION =
       Duration.ofMillis(500).toMillis();
 
+  public static final int DEFAULT_POS_BLOCK_CREATION_PRE_EVALUATION_MAX_CANDIDATES = 1024;
+
   private final Optional<Address> coinbase;
   private final Optional<AtomicLong> targetGasLimit;
   private final Wei minTransactionGasPrice;
@@ -56,6 +58,7 @@ public class MiningParameters {
   private final int maxOmmerDepth;
   private final long posBlockCreationMaxTime;
   private final long posBlockCreationRepetitionMinDuration;
+  private final int posBlockCreationPreEvaluationMaxCandidates;
 
   private MiningParameters(
       final Address coinbase,
@@ -74,7 +77,8 @@ public class MiningParameters {
       final long powJobTimeToLive,
       final int maxOmmerDepth,
       final long posBlockCreationMaxTime,
-      final long posBlockCreationRepetitionMinDuration) {
+      final long posBlockCreationRepetitionMinDuration,
+      final int posBlockCreationPreEvaluationMaxCandidates) {
     this.coinbase = Optional.ofNullable(coinbase);
     this.targetGasLimit = Optional.ofNullable(targetGasLimit).map(AtomicLong::new);
     this.minTransactionGasPrice = minTransactionGasPrice;
@@ -92,6 +96,7 @@ public class MiningParameters {
     this.maxOmmerDepth = maxOmmerDepth;
     this.posBlockCreationMaxTime = posBlockCreationMaxTime;
     this.posBlockCreationRepetitionMinDuration = posBlockCreationRepetitionMinDuration;
+    this.posBlockCreationPreEvaluationMaxCandidates = posBlockCreationPreEvaluationMaxCandidates;
   }
 
   public Optional<Address> getCoinbase() {
@@ -162,6 +167,10 @@ public class MiningParameters {
     return posBlockCreationRepetitionMinDuration;
   }
 
+  public int getPosBlockCreationPreEvaluationMaxCandidates() {
+    return posBlockCreationPreEvaluationMaxCandidates;
+  }
+
   @Override
   public boolean equals(final Object o) {
     if (this == o) return true;
@@ -181,7 +190,9 @@ public class MiningParameters {
         && remoteSealersLimit == that.remoteSealersLimit
         && powJobTimeToLive == that.powJobTimeToLive
         && posBlockCreationMaxTime == that.posBlockCreationMaxTime
-        && posBlockCreationRepetitionMinDuration == that.posBlockCreationRepetitionMinDuration;
+        && posBlockCreationRepetitionMinDuration == that.posBlockCreationRepetitionMinDuration
+        && posBlockCreationPreEvaluationMaxCandidates
+            == that.posBlockCreationPreEvaluationMaxCandidates;
   }
 
   @Override
@@ -201,7 +212,8 @@ public class MiningParameters {
         remoteSealersTimeToLive,
         powJobTimeToLive,
         posBlockCreationMaxTime,
-        posBlockCreationRepetitionMinDuration);
+        posBlockCreationRepetitionMinDuration,
+        posBlockCreationPreEvaluationMaxCandidates);
   }
 
   @Override
@@ -241,6 +253,8 @@ public class MiningParameters {
         + posBlockCreationMaxTime
         + ", posBlockCreationRepetitionMinDuration="
         + posBlockCreationRepetitionMinDuration
+        + ", posBlockCreationPreEvaluationMaxCandidates="
+        + posBlockCreationPreEvaluationMaxCandidates
         + '}';
   }
 
@@ -266,6 +280,9 @@ public class MiningParameters {
     private long posBlockCreationRepetitionMinDuration =
         DEFAULT_POS_BLOCK_CREATION_REPETITION_MIN_DURATION;
 
+    private int posBlockCreationPreEvaluationMaxCandidates =
+        DEFAULT_POS_BLOCK_CREATION_PRE_EVALUATION_MAX_CANDIDATES;
+
     public Builder() {
       // zero arg
     }
@@ -292,6 +309,8 @@ public class MiningParameters {
       this.posBlockCreationMaxTime = existing.getPosBlockCreationMaxTime();
       this.posBlockCreationRepetitionMinDuration =
           existing.getPosBlockCreationRepetitionMinDuration();
+      this.posBlockCreationPreEvaluationMaxCandidates =
+          existing.getPosBlockCreationPreEvaluationMaxCandidates();
     }
 
     public Builder coinbase(final Address address) {
@@ -380,6 +399,12 @@ public class MiningParameters {
       return this;
     }
 
+    public Builder posBlockCreationPreEvaluationMaxCandidates(
+        final int posBlockCreationPreEvaluationMaxCandidates) {
+      this.posBlockCreationPreEvaluationMaxCandidates = posBlockCreationPreEvaluationMaxCandidates;
+      return this;
+    }
+
     public MiningParameters build() {
       return new MiningParameters(
           coinbase,
@@ -398,7 +423,8 @@ public class MiningParameters {
           powJobTimeToLive,
           maxOmmerDepth,
           posBlockCreationMaxTime,
-          posBlockCreationRepetitionMinDuration);
+          posBlockCreationRepetitionMinDuration,
+          posBlockCreationPreEvaluationMaxCandidates);
     }
   }
 }
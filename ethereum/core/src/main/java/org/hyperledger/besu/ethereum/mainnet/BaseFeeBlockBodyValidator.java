@@ -15,7 +15,6 @@
 package org.hyperledger.besu.ethereum.mainnet;
 
 import org.hyperledger.besu.datatypes.Wei;
-import org.hyperledger.besu.ethereum.ProtocolContext;
 import org.hyperledger.besu.ethereum.core.Block;
 import org.hyperledger.besu.ethereum.core.BlockBody;
 import org.hyperledger.besu.ethereum.core.Transaction;
@@ -37,13 +36,10 @@ public class BaseFeeBlockBodyValidator extends MainnetBlockBodyValidator {
   }
 
   @Override
-  public boolean validateBodyLight(
-      final ProtocolContext context,
-      final Block block,
-      final List<TransactionReceipt> receipts,
-      final HeaderValidationMode ommerValidationMode) {
+  public boolean validateBodyLightDetachedOnly(
+      final Block block, final List<TransactionReceipt> receipts) {
 
-    return super.validateBodyLight(context, block, receipts, ommerValidationMode)
+    return super.validateBodyLightDetachedOnly(block, receipts)
         && validateTransactionGasPrice(block);
   }
 
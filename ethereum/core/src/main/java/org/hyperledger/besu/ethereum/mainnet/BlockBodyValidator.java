@@ -56,4 +56,27 @@ public interface BlockBodyValidator {
       Block block,
       List<TransactionReceipt> receipts,
       final HeaderValidationMode ommerValidationMode);
+
+  /**
+   * Performs the checks of {@link #validateBodyLight} that do not need the blockchain, such as the
+   * transactions and receipts roots. These can run before the parent block is imported.
+   *
+   * @param block The block to validate
+   * @param receipts The receipts that correspond to the blocks transactions
+   * @return {@code true} if valid; otherwise {@code false}
+   */
+  boolean validateBodyLightDetachedOnly(Block block, List<TransactionReceipt> receipts);
+
+  /**
+   * Performs the checks of {@link #validateBodyLight} that need the blockchain, such as the ommer
+   * checks. Together with {@link #validateBodyLightDetachedOnly} it validates as much as {@link
+   * #validateBodyLight}.
+   *
+   * @param context The context to validate against
+   * @param block The block to validate
+   * @param ommerValidationMode The validation mode to use for ommer headers
+   * @return {@code true} if valid; otherwise {@code false}
+   */
+  boolean validateBodyLightSkipDetached(
+      ProtocolContext context, Block block, final HeaderValidationMode ommerValidationMode);
 }
@@ -73,6 +73,13 @@ public class MainnetBlockBodyValidator implements BlockBodyValidator {
       final Block block,
       final List<TransactionReceipt> receipts,
       final HeaderValidationMode ommerValidationMode) {
+    return validateBodyLightDetachedOnly(block, receipts)
+        && validateBodyLightSkipDetached(context, block, ommerValidationMode);
+  }
+
+  @Override
+  public boolean validateBodyLightDetachedOnly(
+      final Block block, final List<TransactionReceipt> receipts) {
     final BlockHeader header = block.getHeader();
     final BlockBody body = block.getBody();
 
@@ -96,7 +103,8 @@ public class MainnetBlockBodyValidator implements BlockBodyValidator {
       return false;
     }
 
-    if (!validateEthHash(context, block, ommerValidationMode)) {
+    final Bytes32 ommerHash = BodyValidation.ommersHash(body.getOmmers());
+    if (!validateOmmersHash(header, header.getOmmersHash(), ommerHash)) {
       return false;
     }
 
@@ -181,23 +189,13 @@ public class MainnetBlockBodyValidator implements BlockBodyValidator {
     return true;
   }
 
-  private boolean validateEthHash(
+  @Override
+  public boolean validateBodyLightSkipDetached(
       final ProtocolContext context,
       final Block block,
       final HeaderValidationMode ommerValidationMode) {
-    final BlockHeader header = block.getHeader();
-    final BlockBody body = block.getBody();
-
-    final Bytes32 ommerHash = BodyValidation.ommersHash(body.getOmmers());
-    if (!validateOmmersHash(header, header.getOmmersHash(), ommerHash)) {
-      return false;
-    }
-
-    if (!validateOmmers(context, header, body.getOmmers(), ommerValidationMode)) {
-      return false;
-    }
-
-    return true;
+    return validateOmmers(
+        context, block.getHeader(), block.getBody().getOmmers(), ommerValidationMode);
   }
 
   private static boolean validateOmmersHash(
@@ -62,10 +62,16 @@ public class MainnetBlockImporter implements BlockImporter {
       final Block block,
       final List<TransactionReceipt> receipts,
       final HeaderValidationMode headerValidationMode,
-      final HeaderValidationMode ommerValidationMode) {
+      final HeaderValidationMode ommerValidationMode,
+      final boolean detachedBodyValidated) {
 
     if (blockValidator.fastBlockValidation(
-        context, block, receipts, headerValidationMode, ommerValidationMode)) {
+        context,
+        block,
+        receipts,
+        headerValidationMode,
+        ommerValidationMode,
+        detachedBodyValidated)) {
       context.getBlockchain().appendBlock(block, receipts);
       return new BlockImportResult(true);
     }
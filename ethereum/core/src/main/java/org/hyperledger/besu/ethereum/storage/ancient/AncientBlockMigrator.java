@@ -0,0 +1,246 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.storage.ancient;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.chain.BlockAddedEvent;
+import org.hyperledger.besu.ethereum.chain.BlockAddedObserver;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.Difficulty;
+import org.hyperledger.besu.ethereum.storage.keyvalue.KeyValueStoragePrefixedKeyBlockchainStorage;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.google.common.annotations.VisibleForTesting;
+import org.apache.tuweni.bytes.Bytes;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Moves the data of canonical blocks that can no longer be reorganized from the key value storage
+ * to the {@link AncientBlockStore}.
+ *
+ * <p>A block is migrated once it is both finalized, when the chain has a finalized block, and
+ * more than {@code blocksRetained} blocks below the chain head. Each batch of blocks is made
+ * durable in the ancient store before it is removed from the key value storage, so an interrupted
+ * migration only leaves blocks duplicated, which is reconciled on the next run.
+ */
+public class AncientBlockMigrator implements BlockAddedObserver {
+  private static final Logger LOG = LoggerFactory.getLogger(AncientBlockMigrator.class);
+  @VisibleForTesting static final int BATCH_SIZE = 1024;
+
+  private final AncientBlockchainStorage blockchainStorage;
+  private final KeyValueStoragePrefixedKeyBlockchainStorage recentStorage;
+  private final AncientBlockStore ancientStore;
+  private final long blocksRetained;
+  private final ExecutorService executor;
+  private final AtomicBoolean migrationInProgress = new AtomicBoolean(false);
+
+  public AncientBlockMigrator(
+      final AncientBlockchainStorage blockchainStorage,
+      final long blocksRetained,
+      final ExecutorService executor) {
+    this.blockchainStorage = blockchainStorage;
+    this.recentStorage = blockchainStorage.getRecentStorage();
+    this.ancientStore = blockchainStorage.getAncientStore();
+    this.blocksRetained = blocksRetained;
+    this.executor = executor;
+  }
+
+  @Override
+  public void onBlockAdded(final BlockAddedEvent event) {
+    if (!event.isNewCanonicalHead() || !migrationInProgress.compareAndSet(false, true)) {
+      return;
+    }
+    final long chainHeadNumber = event.getBlock().getHeader().getNumber();
+    try {
+      executor.execute(
+          () -> {
+            try {
+              migrateUpTo(chainHeadNumber);
+            } catch (final RuntimeException e) {
+              LOG.error("Failed to move blocks to the ancient store", e);
+            } finally {
+              migrationInProgress.set(false);
+            }
+          });
+    } catch (final RejectedExecutionException e) {
+      migrationInProgress.set(false);
+    }
+  }
+
+  /**
+   * Stops moving blocks, letting the batch being moved, if any, complete so that the storage can be
+   * closed afterwards.
+   */
+  public void close() {
+    executor.shutdown();
+    try {
+      if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+        LOG.error("Failed to shutdown ancient block migrator executor service.");
+      }
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  @VisibleForTesting
+  void migrateUpTo(final long chainHeadNumber) {
+    final long finalizedNumber =
+        blockchainStorage
+            .getFinalized()
+            .flatMap(blockchainStorage::getBlockHeader)
+            .map(BlockHeader::getNumber)
+            .orElse(Long.MAX_VALUE);
+    final long targetNumber = Math.min(chainHeadNumber - blocksRetained, finalizedNumber);
+    if (targetNumber < BlockHeader.GENESIS_BLOCK_NUMBER) {
+      return;
+    }
+
+    reconcile();
+    long nextNumber =
+        ancientStore.isEmpty()
+            ? findFirstBlockToMigrate(targetNumber)
+            : ancientStore.getNextBlockNumber();
+    while (nextNumber >= 0 && nextNumber <= targetNumber) {
+      final long batchEnd = Math.min(targetNumber, nextNumber + BATCH_SIZE - 1);
+      final List<Hash> migrated = new ArrayList<>();
+      for (long number = nextNumber; number <= batchEnd; number++) {
+        final Optional<Hash> appended = appendToAncientStore(number);
+        if (appended.isEmpty()) {
+          LOG.debug("Stopped moving blocks to the ancient store at incomplete block {}", number);
+          break;
+        }
+        migrated.add(appended.get());
+      }
+      if (migrated.isEmpty()) {
+        return;
+      }
+      ancientStore.flush();
+      removeFromRecentStorage(nextNumber, migrated);
+      LOG.debug(
+          "Moved blocks {} to {} to the ancient store",
+          nextNumber,
+          nextNumber + migrated.size() - 1);
+      if (nextNumber + migrated.size() <= batchEnd) {
+        return;
+      }
+      nextNumber = batchEnd + 1;
+    }
+  }
+
+  private Optional<Hash> appendToAncientStore(final long blockNumber) {
+    final Optional<Hash> maybeHash = recentStorage.getBlockHash(blockNumber);
+    if (maybeHash.isEmpty()) {
+      return Optional.empty();
+    }
+    final Hash hash = maybeHash.get();
+    final Optional<Bytes> header = recentStorage.getBlockHeaderRlp(hash);
+    final Optional<Bytes> body = recentStorage.getBlockBodyRlp(hash);
+    final Optional<Bytes> receipts = recentStorage.getTransactionReceiptsRlp(hash);
+    final Optional<Bytes> totalDifficulty =
+        recentStorage.getTotalDifficulty(hash).map(Difficulty::getAsBytes32);
+    if (header.isEmpty() || body.isEmpty() || receipts.isEmpty() || totalDifficulty.isEmpty()) {
+      return Optional.empty();
+    }
+    ancientStore.append(
+        blockNumber, header.get(), body.get(), receipts.get(), totalDifficulty.get());
+    return maybeHash;
+  }
+
+  private void removeFromRecentStorage(final long firstBlockNumber, final List<Hash> blockHashes) {
+    final KeyValueStoragePrefixedKeyBlockchainStorage.Updater updater = recentStorage.updater();
+    for (int i = 0; i < blockHashes.size(); i++) {
+      final Hash hash = blockHashes.get(i);
+      updater.removeBlockHeader(hash);
+      updater.removeBlockBody(hash);
+      updater.removeTransactionReceipts(hash);
+      updater.removeTotalDifficulty(hash);
+      updater.putAncientBlockNumber(hash, firstBlockNumber + i);
+    }
+    updater.commit();
+  }
+
+  /**
+   * Removes from the key value storage the blocks that were made durable in the ancient store by a
+   * migration that was interrupted before it could remove them.
+   */
+  private void reconcile() {
+    if (ancientStore.isEmpty()) {
+      return;
+    }
+    final List<Hash> duplicated = new ArrayList<>();
+    long number = ancientStore.getNextBlockNumber() - 1;
+    while (number >= ancientStore.getFirstBlockNumber() && duplicated.size() < BATCH_SIZE) {
+      final Optional<Hash> hash = recentStorage.getBlockHash(number);
+      if (hash.isEmpty() || recentStorage.getBlockHeaderRlp(hash.get()).isEmpty()) {
+        break;
+      }
+      duplicated.add(hash.get());
+      number--;
+    }
+    if (!duplicated.isEmpty()) {
+      Collections.reverse(duplicated);
+      removeFromRecentStorage(number + 1, duplicated);
+      LOG.info("Removed {} blocks already held by the ancient store", duplicated.size());
+    }
+  }
+
+  /**
+   * Finds the first block to move to an empty ancient store. This is the genesis block on a fully
+   * synced chain, otherwise the lowest block above genesis whose data is fully available, for
+   * example the checkpoint block of a checkpoint synced chain.
+   *
+   * @param targetNumber the number of the last block that can be moved
+   * @return the number of the first block to move, or -1 if no block can be moved yet
+   */
+  private long findFirstBlockToMigrate(final long targetNumber) {
+    if (isComplete(BlockHeader.GENESIS_BLOCK_NUMBER)
+        && (targetNumber == BlockHeader.GENESIS_BLOCK_NUMBER || isComplete(1))) {
+      return BlockHeader.GENESIS_BLOCK_NUMBER;
+    }
+    if (!isComplete(targetNumber)) {
+      return -1;
+    }
+    long low = 1;
+    long high = targetNumber;
+    while (low < high) {
+      final long middle = (low + high) >>> 1;
+      if (isComplete(middle)) {
+        high = middle;
+      } else {
+        low = middle + 1;
+      }
+    }
+    return low;
+  }
+
+  private boolean isComplete(final long blockNumber) {
+    return recentStorage
+        .getBlockHash(blockNumber)
+        .filter(hash -> recentStorage.getBlockHeaderRlp(hash).isPresent())
+        .filter(hash -> recentStorage.getBlockBodyRlp(hash).isPresent())
+        .filter(hash -> recentStorage.getTransactionReceiptsRlp(hash).isPresent())
+        .filter(hash -> recentStorage.getTotalDifficulty(hash).isPresent())
+        .isPresent();
+  }
+}
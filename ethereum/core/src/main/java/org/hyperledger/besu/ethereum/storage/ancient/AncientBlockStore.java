@@ -0,0 +1,237 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.storage.ancient;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import org.hyperledger.besu.ethereum.rlp.RLP;
+import org.hyperledger.besu.ethereum.rlp.RLPInput;
+import org.hyperledger.besu.plugin.services.exception.StorageException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * Immutable flat-file storage for the RLP of finalized blocks, indexed by block number.
+ *
+ * <p>Blocks are appended in strictly increasing number order from the first stored block onward.
+ * Appended blocks become durable once {@link #flush()} returns, which records the stored block
+ * range in a metadata file only after the data of every table has been forced to disk.
+ *
+ * <p>Headers are stored uncompressed, since they are mostly made of hashes which don't compress,
+ * so that they can be decoded straight from the memory mapped files with {@link
+ * #readBlockHeader(long, Function)}. The other tables are snappy compressed.
+ */
+public class AncientBlockStore implements Closeable {
+  /** The name of the directory holding the ancient store, relative to the data directory. */
+  public static final String DIRECTORY_NAME = "ancient";
+
+  private static final String META_FILE_NAME = "ancient.meta";
+
+  private final Path directory;
+  private final AncientTable headers;
+  private final AncientTable bodies;
+  private final AncientTable receipts;
+  private final AncientTable totalDifficulties;
+
+  private volatile long firstBlockNumber;
+  private volatile long blockCount;
+
+  private AncientBlockStore(
+      final Path directory,
+      final long firstBlockNumber,
+      final long blockCount,
+      final int maxSegmentSize) {
+    this.directory = directory;
+    this.firstBlockNumber = firstBlockNumber;
+    this.blockCount = blockCount;
+    this.headers = AncientTable.open(directory, "headers", maxSegmentSize, false, blockCount);
+    this.bodies = AncientTable.open(directory, "bodies", maxSegmentSize, true, blockCount);
+    this.receipts = AncientTable.open(directory, "receipts", maxSegmentSize, true, blockCount);
+    this.totalDifficulties =
+        AncientTable.open(directory, "difficulties", maxSegmentSize, true, blockCount);
+  }
+
+  /**
+   * Opens the ancient store in the given directory, creating it if needed.
+   *
+   * @param directory the directory holding the store files
+   * @param maxSegmentSize the maximum size in bytes of a data segment file
+   * @return the opened store
+   */
+  public static AncientBlockStore open(final Path directory, final int maxSegmentSize) {
+    try {
+      Files.createDirectories(directory);
+      final Path metaFile = directory.resolve(META_FILE_NAME);
+      if (!Files.exists(metaFile)) {
+        return new AncientBlockStore(directory, 0, 0, maxSegmentSize);
+      }
+      final ByteBuffer meta = ByteBuffer.wrap(Files.readAllBytes(metaFile));
+      return new AncientBlockStore(directory, meta.getLong(), meta.getLong(), maxSegmentSize);
+    } catch (final IOException e) {
+      throw new StorageException("Unable to open ancient store in " + directory, e);
+    }
+  }
+
+  public boolean isEmpty() {
+    return blockCount == 0;
+  }
+
+  /**
+   * Returns the number of the first block held by the store, only meaningful if the store is not
+   * empty.
+   *
+   * @return the number of the first stored block
+   */
+  public long getFirstBlockNumber() {
+    return firstBlockNumber;
+  }
+
+  /**
+   * Returns the number of the next block to append. Every block below it, from the first stored
+   * block onward, is held by the store.
+   *
+   * @return the number of the next block to append
+   */
+  public long getNextBlockNumber() {
+    return firstBlockNumber + blockCount;
+  }
+
+  public boolean contains(final long blockNumber) {
+    return blockNumber >= firstBlockNumber && blockNumber < firstBlockNumber + blockCount;
+  }
+
+  public Optional<Bytes> getBlockHeader(final long blockNumber) {
+    return get(headers, blockNumber);
+  }
+
+  /**
+   * Decodes the header of a block straight from the memory mapped header table, so that the values
+   * of the decoded header are not copied.
+   *
+   * @param blockNumber the number of the block
+   * @param reader reads the header from the RLP input
+   * @return the decoded header, or empty if the store does not hold the block
+   * @param <T> the type of the decoded header
+   */
+  public <T> Optional<T> readBlockHeader(
+      final long blockNumber, final Function<RLPInput, T> reader) {
+    if (!contains(blockNumber)) {
+      return Optional.empty();
+    }
+    return headers.getBuffer(blockNumber - firstBlockNumber).map(RLP::input).map(reader);
+  }
+
+  public Optional<Bytes> getBlockBody(final long blockNumber) {
+    return get(bodies, blockNumber);
+  }
+
+  public Optional<Bytes> getTransactionReceipts(final long blockNumber) {
+    return get(receipts, blockNumber);
+  }
+
+  public Optional<Bytes> getTotalDifficulty(final long blockNumber) {
+    return get(totalDifficulties, blockNumber);
+  }
+
+  /**
+   * Appends a block to the store. The first block appended to an empty store may have any number,
+   * every following block must have the number returned by {@link #getNextBlockNumber()}.
+   *
+   * @param blockNumber the number of the block
+   * @param header the RLP of the block header
+   * @param body the RLP of the wrapped block body
+   * @param transactionReceipts the RLP list of the block receipts
+   * @param totalDifficulty the total difficulty of the chain up to this block
+   */
+  public synchronized void append(
+      final long blockNumber,
+      final Bytes header,
+      final Bytes body,
+      final Bytes transactionReceipts,
+      final Bytes totalDifficulty) {
+    if (isEmpty()) {
+      firstBlockNumber = blockNumber;
+    } else {
+      checkArgument(
+          blockNumber == getNextBlockNumber(),
+          "Expected block %s to be appended but got block %s",
+          getNextBlockNumber(),
+          blockNumber);
+    }
+    headers.append(header);
+    bodies.append(body);
+    receipts.append(transactionReceipts);
+    totalDifficulties.append(totalDifficulty);
+    blockCount++;
+  }
+
+  /** Makes all appended blocks durable. */
+  public synchronized void flush() {
+    tables().forEach(AncientTable::flush);
+    final Path metaFile = directory.resolve(META_FILE_NAME);
+    final Path tempMetaFile = directory.resolve(META_FILE_NAME + ".tmp");
+    try {
+      try (final FileChannel channel =
+          FileChannel.open(
+              tempMetaFile,
+              StandardOpenOption.CREATE,
+              StandardOpenOption.WRITE,
+              StandardOpenOption.TRUNCATE_EXISTING)) {
+        final ByteBuffer meta =
+            ByteBuffer.allocate(2 * Long.BYTES).putLong(firstBlockNumber).putLong(blockCount);
+        channel.write(meta.flip());
+        channel.force(true);
+      }
+      Files.move(
+          tempMetaFile,
+          metaFile,
+          StandardCopyOption.ATOMIC_MOVE,
+          StandardCopyOption.REPLACE_EXISTING);
+    } catch (final IOException e) {
+      throw new StorageException("Unable to write ancient store metadata", e);
+    }
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    flush();
+    for (final AncientTable table : tables()) {
+      table.close();
+    }
+  }
+
+  private Optional<Bytes> get(final AncientTable table, final long blockNumber) {
+    if (!contains(blockNumber)) {
+      return Optional.empty();
+    }
+    return table.get(blockNumber - firstBlockNumber);
+  }
+
+  private List<AncientTable> tables() {
+    return List.of(headers, bodies, receipts, totalDifficulties);
+  }
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.storage.ancient;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.chain.BlockchainStorage;
+import org.hyperledger.besu.ethereum.chain.TransactionLocation;
+import org.hyperledger.besu.ethereum.core.BlockBody;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.BlockHeaderFunctions;
+import org.hyperledger.besu.ethereum.core.Difficulty;
+import org.hyperledger.besu.ethereum.core.TransactionReceipt;
+import org.hyperledger.besu.ethereum.rlp.RLP;
+import org.hyperledger.besu.ethereum.storage.keyvalue.KeyValueStoragePrefixedKeyBlockchainStorage;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+
+/**
+ * Blockchain storage that keeps recent blocks in the key value storage and serves finalized blocks
+ * moved by the {@link AncientBlockMigrator} from the {@link AncientBlockStore}.
+ *
+ * <p>The canonical block number to hash mapping and the transaction locations stay in the key value
+ * storage, which also maps the hash of every ancient block to its number.
+ */
+public class AncientBlockchainStorage implements BlockchainStorage, Closeable {
+  private final KeyValueStoragePrefixedKeyBlockchainStorage recentStorage;
+  private final AncientBlockStore ancientStore;
+  private final BlockHeaderFunctions blockHeaderFunctions;
+
+  public AncientBlockchainStorage(
+      final KeyValueStoragePrefixedKeyBlockchainStorage recentStorage,
+      final AncientBlockStore ancientStore,
+      final BlockHeaderFunctions blockHeaderFunctions) {
+    this.recentStorage = recentStorage;
+    this.ancientStore = ancientStore;
+    this.blockHeaderFunctions = blockHeaderFunctions;
+  }
+
+  @Override
+  public Optional<Hash> getChainHead() {
+    return recentStorage.getChainHead();
+  }
+
+  @Override
+  public Collection<Hash> getForkHeads() {
+    return recentStorage.getForkHeads();
+  }
+
+  @Override
+  public Optional<Hash> getFinalized() {
+    return recentStorage.getFinalized();
+  }
+
+  @Override
+  public Optional<Hash> getSafeBlock() {
+    return recentStorage.getSafeBlock();
+  }
+
+  @Override
+  public Optional<BlockHeader> getBlockHeader(final Hash blockHash) {
+    return recentStorage
+        .getBlockHeader(blockHash)
+        .or(
+            () ->
+                recentStorage
+                    .getAncientBlockNumber(blockHash)
+                    .flatMap(
+                        number ->
+                            ancientStore.readBlockHeader(
+                                number, in -> BlockHeader.readFrom(in, blockHeaderFunctions))));
+  }
+
+  @Override
+  public Optional<BlockBody> getBlockBody(final Hash blockHash) {
+    return recentStorage
+        .getBlockBody(blockHash)
+        .or(
+            () ->
+                getAncientBlockBodyRlp(blockHash)
+                    .map(
+                        bytes ->
+                            BlockBody.readWrappedBodyFrom(RLP.input(bytes), blockHeaderFunctions)));
+  }
+
+  @Override
+  public Optional<List<TransactionReceipt>> getTransactionReceipts(final Hash blockHash) {
+    return recentStorage
+        .getTransactionReceipts(blockHash)
+        .or(
+            () ->
+                getAncientTransactionReceiptsRlp(blockHash)
+                    .map(bytes -> RLP.input(bytes).readList(TransactionReceipt::readFrom)));
+  }
+
+  @Override
+  public Optional<Bytes> getBlockHeaderRlp(final Hash blockHash) {
+    return recentStorage.getBlockHeaderRlp(blockHash).or(() -> getAncientBlockHeaderRlp(blockHash));
+  }
+
+  @Override
+  public Optional<Bytes> getBlockBodyRlp(final Hash blockHash) {
+    return recentStorage.getBlockBodyRlp(blockHash).or(() -> getAncientBlockBodyRlp(blockHash));
+  }
+
+  @Override
+  public Optional<Bytes> getTransactionReceiptsRlp(final Hash blockHash) {
+    return recentStorage
+        .getTransactionReceiptsRlp(blockHash)
+        .or(() -> getAncientTransactionReceiptsRlp(blockHash));
+  }
+
+  @Override
+  public Optional<Hash> getBlockHash(final long blockNumber) {
+    return recentStorage.getBlockHash(blockNumber);
+  }
+
+  @Override
+  public Optional<Difficulty> getTotalDifficulty(final Hash blockHash) {
+    return recentStorage
+        .getTotalDifficulty(blockHash)
+        .or(
+            () ->
+                recentStorage
+                    .getAncientBlockNumber(blockHash)
+                    .flatMap(ancientStore::getTotalDifficulty)
+                    .map(bytes -> Difficulty.wrap(Bytes32.wrap(bytes, 0))));
+  }
+
+  @Override
+  public Optional<TransactionLocation> getTransactionLocation(final Hash transactionHash) {
+    return recentStorage.getTransactionLocation(transactionHash);
+  }
+
+  @Override
+  public long getFirstMutableBlockNumber() {
+    return ancientStore.isEmpty()
+        ? BlockHeader.GENESIS_BLOCK_NUMBER
+        : ancientStore.getNextBlockNumber();
+  }
+
+  @Override
+  public Updater updater() {
+    return recentStorage.updater();
+  }
+
+  @Override
+  public void close() throws IOException {
+    ancientStore.close();
+  }
+
+  KeyValueStoragePrefixedKeyBlockchainStorage getRecentStorage() {
+    return recentStorage;
+  }
+
+  AncientBlockStore getAncientStore() {
+    return ancientStore;
+  }
+
+  private Optional<Bytes> getAncientBlockHeaderRlp(final Hash blockHash) {
+    return recentStorage.getAncientBlockNumber(blockHash).flatMap(ancientStore::getBlockHeader);
+  }
+
+  private Optional<Bytes> getAncientBlockBodyRlp(final Hash blockHash) {
+    return recentStorage.getAncientBlockNumber(blockHash).flatMap(ancientStore::getBlockBody);
+  }
+
+  private Optional<Bytes> getAncientTransactionReceiptsRlp(final Hash blockHash) {
+    return recentStorage
+        .getAncientBlockNumber(blockHash)
+        .flatMap(ancientStore::getTransactionReceipts);
+  }
+}
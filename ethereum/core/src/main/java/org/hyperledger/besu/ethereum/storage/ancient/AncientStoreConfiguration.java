@@ -0,0 +1,44 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.storage.ancient;
+
+public class AncientStoreConfiguration {
+  public static final long DEFAULT_BLOCKS_RETAINED = 90_000;
+  public static final int DEFAULT_MAX_SEGMENT_SIZE = 1 << 30;
+  public static final AncientStoreConfiguration DEFAULT =
+      new AncientStoreConfiguration(false, DEFAULT_BLOCKS_RETAINED, DEFAULT_MAX_SEGMENT_SIZE);
+  private final boolean enabled;
+  private final long blocksRetained;
+  private final int maxSegmentSize;
+
+  public AncientStoreConfiguration(
+      final boolean enabled, final long blocksRetained, final int maxSegmentSize) {
+    this.enabled = enabled;
+    this.blocksRetained = blocksRetained;
+    this.maxSegmentSize = maxSegmentSize;
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public long getBlocksRetained() {
+    return blocksRetained;
+  }
+
+  public int getMaxSegmentSize() {
+    return maxSegmentSize;
+  }
+}
@@ -0,0 +1,290 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.storage.ancient;
+
+import org.hyperledger.besu.plugin.services.exception.StorageException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.xerial.snappy.Snappy;
+
+/**
+ * An append-only table of items addressed by their position, snappy compressed unless the table is
+ * opened uncompressed.
+ *
+ * <p>Items are appended to data segment files of at most {@code maxSegmentSize} bytes. A separate
+ * index file holds one fixed-size entry per item with the segment, offset and length of its data,
+ * so that any item can be located with a single lookup. Reads are served from memory mapped files
+ * and may happen concurrently with appends, which must be made from a single thread.
+ *
+ * <p>The items of an uncompressed table are read straight from the memory mapped segments, without
+ * being copied. Stored items are never modified, so they can be referenced for as long as needed.
+ */
+class AncientTable implements Closeable {
+  private static final int INDEX_ENTRY_SIZE = 3 * Integer.BYTES;
+  private static final int INDEX_ENTRIES_PER_CHUNK = 1 << 20;
+  private static final long INDEX_CHUNK_SIZE = (long) INDEX_ENTRIES_PER_CHUNK * INDEX_ENTRY_SIZE;
+
+  private final Path directory;
+  private final String name;
+  private final int maxSegmentSize;
+  private final boolean compressed;
+  private final FileChannel indexChannel;
+  private final List<MappedByteBuffer> indexChunks = new CopyOnWriteArrayList<>();
+  private final List<MappedByteBuffer> segments = new CopyOnWriteArrayList<>();
+
+  private FileChannel activeSegmentChannel;
+  private int activeSegment;
+  private int writeOffset;
+  private volatile long itemCount;
+
+  private AncientTable(
+      final Path directory,
+      final String name,
+      final int maxSegmentSize,
+      final boolean compressed,
+      final FileChannel indexChannel) {
+    this.directory = directory;
+    this.name = name;
+    this.maxSegmentSize = maxSegmentSize;
+    this.compressed = compressed;
+    this.indexChannel = indexChannel;
+  }
+
+  /**
+   * Opens the table, creating its files if needed. Items stored beyond {@code itemCount} were not
+   * flushed before the table was last closed, and are overwritten by subsequent appends.
+   *
+   * @param directory the directory holding the table files
+   * @param name the name of the table
+   * @param maxSegmentSize the maximum size in bytes of a data segment file
+   * @param compressed whether items are snappy compressed
+   * @param itemCount the number of items known to be durably stored
+   * @return the opened table
+   */
+  static AncientTable open(
+      final Path directory,
+      final String name,
+      final int maxSegmentSize,
+      final boolean compressed,
+      final long itemCount) {
+    try {
+      final FileChannel indexChannel =
+          FileChannel.open(
+              directory.resolve(name + ".idx"),
+              StandardOpenOption.CREATE,
+              StandardOpenOption.READ,
+              StandardOpenOption.WRITE);
+      final AncientTable table =
+          new AncientTable(directory, name, maxSegmentSize, compressed, indexChannel);
+      table.load(itemCount);
+      return table;
+    } catch (final IOException e) {
+      throw new StorageException("Unable to open ancient table " + name, e);
+    }
+  }
+
+  private void load(final long durableItemCount) throws IOException {
+    for (long chunk = 0; chunk * INDEX_ENTRIES_PER_CHUNK < durableItemCount; chunk++) {
+      mapIndexChunk(chunk);
+    }
+    if (durableItemCount > 0) {
+      final long last = durableItemCount - 1;
+      activeSegment = readSegment(last);
+      writeOffset = readOffset(last) + readLength(last);
+    }
+    for (int segment = 0; segment < activeSegment; segment++) {
+      final Path segmentPath = segmentPath(segment);
+      if (!Files.exists(segmentPath)) {
+        throw new StorageException("Missing ancient segment file " + segmentPath);
+      }
+      try (final FileChannel channel = FileChannel.open(segmentPath, StandardOpenOption.READ)) {
+        segments.add(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+      }
+    }
+    openActiveSegment();
+    itemCount = durableItemCount;
+  }
+
+  long size() {
+    return itemCount;
+  }
+
+  /**
+   * Returns the item stored at the given position.
+   *
+   * @param index the position of the item
+   * @return the uncompressed item, or empty if the table holds no item at this position
+   */
+  Optional<Bytes> get(final long index) {
+    if (index < 0 || index >= itemCount) {
+      return Optional.empty();
+    }
+    if (!compressed) {
+      return Optional.of(Bytes.wrapByteBuffer(slice(index)));
+    }
+    final byte[] stored = new byte[readLength(index)];
+    segments.get(readSegment(index)).get(readOffset(index), stored);
+    try {
+      return Optional.of(Bytes.wrap(Snappy.uncompress(stored)));
+    } catch (final IOException e) {
+      throw new StorageException("Corrupted item " + index + " in ancient table " + name, e);
+    }
+  }
+
+  /**
+   * Returns the item stored at the given position as a buffer. The buffer of an uncompressed table
+   * is a read-only view of the memory mapped segment holding the item.
+   *
+   * @param index the position of the item
+   * @return the uncompressed item, or empty if the table holds no item at this position
+   */
+  Optional<ByteBuffer> getBuffer(final long index) {
+    if (!compressed) {
+      return index < 0 || index >= itemCount ? Optional.empty() : Optional.of(slice(index));
+    }
+    return get(index).map(item -> ByteBuffer.wrap(item.toArrayUnsafe()));
+  }
+
+  /**
+   * Appends an item at the end of the table. The item is only guaranteed to survive a restart
+   * once {@link #flush()} has been called and the new item count has been recorded.
+   *
+   * @param item the item to append
+   */
+  void append(final Bytes item) {
+    try {
+      final byte[] stored =
+          compressed ? Snappy.compress(item.toArrayUnsafe()) : item.toArrayUnsafe();
+      if (stored.length > maxSegmentSize) {
+        throw new IllegalArgumentException(
+            "Item of " + stored.length + " bytes does not fit in an ancient segment");
+      }
+      if ((long) writeOffset + stored.length > maxSegmentSize) {
+        sealActiveSegment();
+      }
+      write(activeSegmentChannel, ByteBuffer.wrap(stored), writeOffset);
+
+      final long index = itemCount;
+      if (index / INDEX_ENTRIES_PER_CHUNK == indexChunks.size()) {
+        mapIndexChunk(indexChunks.size());
+      }
+      final ByteBuffer entry =
+          ByteBuffer.allocate(INDEX_ENTRY_SIZE)
+              .putInt(activeSegment)
+              .putInt(writeOffset)
+              .putInt(stored.length)
+              .flip();
+      write(indexChannel, entry, index * INDEX_ENTRY_SIZE);
+
+      writeOffset += stored.length;
+      itemCount = index + 1;
+    } catch (final IOException e) {
+      throw new StorageException("Unable to append to ancient table " + name, e);
+    }
+  }
+
+  /** Forces all appended items to the underlying storage device. */
+  void flush() {
+    try {
+      activeSegmentChannel.force(false);
+      indexChannel.force(false);
+    } catch (final IOException e) {
+      throw new StorageException("Unable to flush ancient table " + name, e);
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    try {
+      flush();
+    } finally {
+      activeSegmentChannel.close();
+      indexChannel.close();
+    }
+  }
+
+  private void sealActiveSegment() throws IOException {
+    activeSegmentChannel.force(false);
+    activeSegmentChannel.close();
+    activeSegment++;
+    writeOffset = 0;
+    openActiveSegment();
+  }
+
+  private void openActiveSegment() throws IOException {
+    activeSegmentChannel =
+        FileChannel.open(
+            segmentPath(activeSegment),
+            StandardOpenOption.CREATE,
+            StandardOpenOption.READ,
+            StandardOpenOption.WRITE);
+    // the active segment is mapped at its full size up front so that appended items are readable
+    // without remapping, the file is extended sparsely
+    segments.add(activeSegmentChannel.map(FileChannel.MapMode.READ_ONLY, 0, maxSegmentSize));
+  }
+
+  private ByteBuffer slice(final long index) {
+    return segments
+        .get(readSegment(index))
+        .slice(readOffset(index), readLength(index))
+        .asReadOnlyBuffer();
+  }
+
+  private void mapIndexChunk(final long chunk) throws IOException {
+    indexChunks.add(
+        indexChannel.map(FileChannel.MapMode.READ_ONLY, chunk * INDEX_CHUNK_SIZE, INDEX_CHUNK_SIZE));
+  }
+
+  private int readSegment(final long index) {
+    return readIndexInt(index, 0);
+  }
+
+  private int readOffset(final long index) {
+    return readIndexInt(index, Integer.BYTES);
+  }
+
+  private int readLength(final long index) {
+    return readIndexInt(index, 2 * Integer.BYTES);
+  }
+
+  private int readIndexInt(final long index, final int fieldOffset) {
+    final MappedByteBuffer chunk = indexChunks.get((int) (index / INDEX_ENTRIES_PER_CHUNK));
+    return chunk.getInt((int) (index % INDEX_ENTRIES_PER_CHUNK) * INDEX_ENTRY_SIZE + fieldOffset);
+  }
+
+  private Path segmentPath(final int segment) {
+    return directory.resolve(String.format("%s.%04d.dat", name, segment));
+  }
+
+  private static void write(final FileChannel channel, final ByteBuffer buffer, final long position)
+      throws IOException {
+    long writePosition = position;
+    while (buffer.hasRemaining()) {
+      writePosition += channel.write(buffer, writePosition);
+    }
+  }
+}
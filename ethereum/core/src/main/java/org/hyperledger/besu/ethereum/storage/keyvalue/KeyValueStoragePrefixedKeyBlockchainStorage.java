@@ -56,6 +56,7 @@ public class KeyValueStoragePrefixedKeyBlockchainStorage implements BlockchainSt
   private static final Bytes BLOCK_HASH_PREFIX = Bytes.of(5);
   private static final Bytes TOTAL_DIFFICULTY_PREFIX = Bytes.of(6);
   private static final Bytes TRANSACTION_LOCATION_PREFIX = Bytes.of(7);
+  private static final Bytes ANCIENT_BLOCK_NUMBER_PREFIX = Bytes.of(8);
   final KeyValueStorage blockchainStorage;
   final VariablesStorage variablesStorage;
   final BlockHeaderFunctions blockHeaderFunctions;
@@ -107,6 +108,21 @@ public class KeyValueStoragePrefixedKeyBlockchainStorage implements BlockchainSt
     return get(TRANSACTION_RECEIPTS_PREFIX, blockHash).map(this::rlpDecodeTransactionReceipts);
   }
 
+  @Override
+  public Optional<Bytes> getBlockHeaderRlp(final Hash blockHash) {
+    return get(BLOCK_HEADER_PREFIX, blockHash);
+  }
+
+  @Override
+  public Optional<Bytes> getBlockBodyRlp(final Hash blockHash) {
+    return get(BLOCK_BODY_PREFIX, blockHash);
+  }
+
+  @Override
+  public Optional<Bytes> getTransactionReceiptsRlp(final Hash blockHash) {
+    return get(TRANSACTION_RECEIPTS_PREFIX, blockHash);
+  }
+
   @Override
   public Optional<Hash> getBlockHash(final long blockNumber) {
     return get(BLOCK_HASH_PREFIX, UInt256.valueOf(blockNumber)).map(this::bytesToHash);
@@ -123,6 +139,16 @@ public class KeyValueStoragePrefixedKeyBlockchainStorage implements BlockchainSt
         .map(bytes -> TransactionLocation.readFrom(RLP.input(bytes)));
   }
 
+  /**
+   * Returns the number of a block whose data has been moved to the ancient store.
+   *
+   * @param blockHash the hash of the block
+   * @return the number of the block if it is held by the ancient store
+   */
+  public Optional<Long> getAncientBlockNumber(final Hash blockHash) {
+    return get(ANCIENT_BLOCK_NUMBER_PREFIX, blockHash).map(Bytes::toLong);
+  }
+
   @Override
   public Updater updater() {
     return new Updater(blockchainStorage.startTransaction(), variablesStorage.updater());
@@ -293,6 +319,16 @@ public class KeyValueStoragePrefixedKeyBlockchainStorage implements BlockchainSt
       set(TOTAL_DIFFICULTY_PREFIX, blockHash, totalDifficulty);
     }
 
+    /**
+     * Records that the data of a block has been moved to the ancient store.
+     *
+     * @param blockHash the hash of the block
+     * @param blockNumber the number of the block
+     */
+    public void putAncientBlockNumber(final Hash blockHash, final long blockNumber) {
+      set(ANCIENT_BLOCK_NUMBER_PREFIX, blockHash, Bytes.ofUnsignedLong(blockNumber));
+    }
+
     @Override
     public void setChainHead(final Hash blockHash) {
       variablesUpdater.setChainHead(blockHash);
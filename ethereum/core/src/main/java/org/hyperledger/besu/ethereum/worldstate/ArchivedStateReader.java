@@ -0,0 +1,39 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.worldstate;
+
+import org.hyperledger.besu.datatypes.AccountValue;
+import org.hyperledger.besu.datatypes.Address;
+
+import java.util.Optional;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.units.bigints.UInt256;
+
+/**
+ * Reads the accounts, code and storage of a past block from a history kept by the world state
+ * archive, when the world state of that block can no longer be loaded.
+ *
+ * <p>It only offers these point reads: it has no trie, so it can not be used to execute
+ * transactions, compute root hashes or generate proofs.
+ */
+public interface ArchivedStateReader {
+
+  Optional<AccountValue> getAccount(Address address);
+
+  Optional<Bytes> getCode(Address address);
+
+  UInt256 getStorageValue(Address address, UInt256 storageKey);
+}
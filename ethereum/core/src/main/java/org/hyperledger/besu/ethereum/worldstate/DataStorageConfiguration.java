@@ -22,6 +22,11 @@ import org.immutables.value.Value;
 public interface DataStorageConfiguration {
 
   long DEFAULT_BONSAI_MAX_LAYERS_TO_LOAD = 512;
+  long DEFAULT_BONSAI_ACCOUNT_NODE_ENCODING_CACHE_SIZE = 64L * 1024 * 1024;
+  long DEFAULT_BONSAI_STORAGE_NODE_ENCODING_CACHE_SIZE = 128L * 1024 * 1024;
+  boolean DEFAULT_BONSAI_ARCHIVE_ENABLED = false;
+  boolean DEFAULT_BONSAI_TRIE_LOG_PRUNING_ENABLED = false;
+  long DEFAULT_BONSAI_TRIE_LOG_RETENTION_THRESHOLD = 512;
 
   DataStorageConfiguration DEFAULT_CONFIG =
       ImmutableDataStorageConfiguration.builder()
@@ -32,4 +37,29 @@ public interface DataStorageConfiguration {
   DataStorageFormat getDataStorageFormat();
 
   Long getBonsaiMaxLayersToLoad();
+
+  @Value.Default
+  default Long getBonsaiAccountNodeEncodingCacheSize() {
+    return DEFAULT_BONSAI_ACCOUNT_NODE_ENCODING_CACHE_SIZE;
+  }
+
+  @Value.Default
+  default Long getBonsaiStorageNodeEncodingCacheSize() {
+    return DEFAULT_BONSAI_STORAGE_NODE_ENCODING_CACHE_SIZE;
+  }
+
+  @Value.Default
+  default Boolean getBonsaiArchiveEnabled() {
+    return DEFAULT_BONSAI_ARCHIVE_ENABLED;
+  }
+
+  @Value.Default
+  default Boolean getBonsaiTrieLogPruningEnabled() {
+    return DEFAULT_BONSAI_TRIE_LOG_PRUNING_ENABLED;
+  }
+
+  @Value.Default
+  default Long getBonsaiTrieLogRetentionThreshold() {
+    return DEFAULT_BONSAI_TRIE_LOG_RETENTION_THRESHOLD;
+  }
 }
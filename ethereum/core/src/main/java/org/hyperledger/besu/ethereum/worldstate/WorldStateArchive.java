@@ -36,12 +36,36 @@ public interface WorldStateArchive extends Closeable {
 
   boolean isWorldStateAvailable(Hash rootHash, Hash blockHash);
 
+  /**
+   * Whether the world state updated by block imports is the world state of the given block, so
+   * that the block can be appended to the chain without being executed again.
+   *
+   * @param rootHash the state root of the block
+   * @param blockHash the hash of the block
+   * @return true if the persisted world state is the world state of the block
+   */
+  default boolean isPersistedWorldState(final Hash rootHash, final Hash blockHash) {
+    return isWorldStateAvailable(rootHash, blockHash);
+  }
+
   Optional<MutableWorldState> getMutable(BlockHeader blockHeader, boolean isPersistingState);
 
   Optional<MutableWorldState> getMutable(Hash rootHash, Hash blockHash);
 
   MutableWorldState getMutable();
 
+  /**
+   * Returns a reader of the accounts, code and storage of a block whose world state can not be
+   * loaded any more, when the archive keeps a history of them. Only the callers that need nothing
+   * but these values should use it, the others should treat the state as not available.
+   *
+   * @param blockHeader the header of the block
+   * @return a reader of the state of the block, or empty if the block is not in the history
+   */
+  default Optional<ArchivedStateReader> getArchivedState(final BlockHeader blockHeader) {
+    return Optional.empty();
+  }
+
   /**
    * Resetting the archive cache and adding the new pivot as the only entry
    *
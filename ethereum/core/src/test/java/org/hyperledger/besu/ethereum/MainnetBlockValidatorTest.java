@@ -20,6 +20,8 @@ import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import org.hyperledger.besu.datatypes.Hash;
@@ -37,6 +39,7 @@ import org.hyperledger.besu.ethereum.mainnet.HeaderValidationMode;
 import org.hyperledger.besu.ethereum.mainnet.MainnetBlockHeaderFunctions;
 import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive;
 
+import java.util.Collections;
 import java.util.Optional;
 
 import org.junit.Before;
@@ -267,4 +270,46 @@ public class MainnetBlockValidatorTest {
 
     assertThat(badBlockManager.getBadBlocks().size()).isEqualTo(1);
   }
+
+  @Test
+  public void fastBlockValidationShouldSkipDetachedBodyChecksWhenAlreadyValidated() {
+    when(blockHeaderValidator.validateHeader(
+            badBlock.getHeader(), protocolContext, HeaderValidationMode.LIGHT))
+        .thenReturn(true);
+    when(blockBodyValidator.validateBodyLightSkipDetached(
+            protocolContext, badBlock, HeaderValidationMode.LIGHT))
+        .thenReturn(true);
+
+    assertThat(
+            mainnetBlockValidator.fastBlockValidation(
+                protocolContext,
+                badBlock,
+                Collections.emptyList(),
+                HeaderValidationMode.LIGHT,
+                HeaderValidationMode.LIGHT,
+                true))
+        .isTrue();
+    verify(blockBodyValidator, never()).validateBodyLight(any(), any(), any(), any());
+  }
+
+  @Test
+  public void fastBlockValidationShouldRunAllBodyChecksByDefault() {
+    when(blockHeaderValidator.validateHeader(
+            badBlock.getHeader(), protocolContext, HeaderValidationMode.LIGHT))
+        .thenReturn(true);
+    when(blockBodyValidator.validateBodyLight(
+            protocolContext, badBlock, Collections.emptyList(), HeaderValidationMode.LIGHT))
+        .thenReturn(false);
+
+    assertThat(
+            mainnetBlockValidator.fastBlockValidation(
+                protocolContext,
+                badBlock,
+                Collections.emptyList(),
+                HeaderValidationMode.LIGHT,
+                HeaderValidationMode.LIGHT))
+        .isFalse();
+    verify(blockBodyValidator, never()).validateBodyLightSkipDetached(any(), any(), any());
+    assertThat(badBlockManager.getBadBlocks()).containsExactly(badBlock);
+  }
 }
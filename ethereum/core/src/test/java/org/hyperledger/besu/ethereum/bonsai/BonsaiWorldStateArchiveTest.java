@@ -19,6 +19,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.hyperledger.besu.ethereum.bonsai.storage.BonsaiWorldStateKeyValueStorage.WORLD_BLOCK_HASH_KEY;
 import static org.hyperledger.besu.ethereum.bonsai.storage.BonsaiWorldStateKeyValueStorage.WORLD_ROOT_HASH_KEY;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
@@ -37,6 +38,7 @@ import org.hyperledger.besu.ethereum.bonsai.worldview.BonsaiWorldState;
 import org.hyperledger.besu.ethereum.chain.Blockchain;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.core.BlockHeaderTestFixture;
+import org.hyperledger.besu.ethereum.core.MutableWorldState;
 import org.hyperledger.besu.ethereum.rlp.BytesValueRLPOutput;
 import org.hyperledger.besu.ethereum.storage.StorageProvider;
 import org.hyperledger.besu.ethereum.storage.keyvalue.KeyValueSegmentIdentifier;
@@ -44,8 +46,13 @@ import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
 import org.hyperledger.besu.plugin.services.storage.KeyValueStorageTransaction;
 import org.hyperledger.besu.plugin.services.storage.SnappableKeyValueStorage;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
 
+import org.awaitility.Awaitility;
 import org.junit.Before;
 import org.junit.Ignore;
 import org.junit.Test;
@@ -138,6 +145,53 @@ public class BonsaiWorldStateArchiveTest {
         .containsInstanceOf(BonsaiWorldState.class);
   }
 
+  @Test
+  public void testConcurrentGetMutableOfSameBlockRollsOnce() throws Exception {
+    bonsaiWorldStateArchive =
+        new BonsaiWorldStateProvider(
+            trieLogManager,
+            new BonsaiWorldStateKeyValueStorage(storageProvider, new NoOpMetricsSystem()),
+            blockchain,
+            new CachedMerkleTrieLoader(new NoOpMetricsSystem()));
+    final BlockHeader blockHeader = blockBuilder.number(10).buildHeader();
+    final BlockHeader chainHead = blockBuilder.number(20).buildHeader();
+    final BonsaiWorldState rolledWorldState = mock(BonsaiWorldState.class);
+    when(rolledWorldState.blockHash()).thenReturn(blockHeader.getHash());
+    when(rolledWorldState.freeze()).thenReturn(rolledWorldState);
+    final BonsaiWorldState cachedWorldState = mock(BonsaiWorldState.class);
+    when(cachedWorldState.freeze()).thenReturn(cachedWorldState);
+
+    when(trieLogManager.getMaxLayersToLoad()).thenReturn(Long.valueOf(512));
+    when(blockchain.getChainHeadHeader()).thenReturn(chainHead);
+    // the view of the block is only cached once it has been rolled
+    when(trieLogManager.getWorldState(blockHeader.getHash()))
+        .thenReturn(Optional.empty(), Optional.empty(), Optional.of(cachedWorldState));
+    final CountDownLatch rollingStarted = new CountDownLatch(1);
+    final CountDownLatch rollingAllowed = new CountDownLatch(1);
+    when(trieLogManager.getNearestWorldState(blockHeader))
+        .thenAnswer(
+            __ -> {
+              rollingStarted.countDown();
+              rollingAllowed.await();
+              return Optional.of(rolledWorldState);
+            });
+
+    final CompletableFuture<Optional<MutableWorldState>> rolling =
+        CompletableFuture.supplyAsync(() -> bonsaiWorldStateArchive.getMutable(blockHeader, false));
+    rollingStarted.await();
+    final AtomicReference<Optional<MutableWorldState>> waited = new AtomicReference<>();
+    final Thread waiting =
+        new Thread(() -> waited.set(bonsaiWorldStateArchive.getMutable(blockHeader, false)));
+    waiting.start();
+    Awaitility.await().until(() -> waiting.getState() == Thread.State.WAITING);
+    rollingAllowed.countDown();
+    waiting.join();
+
+    assertThat(rolling.get()).contains(rolledWorldState);
+    assertThat(waited.get()).contains(cachedWorldState);
+    verify(trieLogManager).getNearestWorldState(blockHeader);
+  }
+
   @SuppressWarnings({"unchecked", "rawtypes"})
   @Test
   public void testGetMutableWithStorageInconsistencyRollbackTheState() {
@@ -205,9 +259,13 @@ public class BonsaiWorldStateArchiveTest {
     final BlockHeader blockHeaderChainB =
         blockBuilder.number(1).timestamp(2).parentHash(genesis.getHash()).buildHeader();
 
-    doAnswer(__ -> Optional.of(mock(TrieLogLayer.class)))
+    doAnswer(
+            invocation ->
+                invocation.<List<Hash>>getArgument(0).stream()
+                    .map(__ -> mock(TrieLogLayer.class))
+                    .toList())
         .when(trieLogManager)
-        .getTrieLogLayer(any(Hash.class));
+        .getTrieLogLayers(anyList());
 
     var worldStateStorage =
         new BonsaiWorldStateKeyValueStorage(storageProvider, new NoOpMetricsSystem());
@@ -230,8 +288,8 @@ public class BonsaiWorldStateArchiveTest {
         .containsInstanceOf(BonsaiWorldState.class);
 
     // verify is trying to get the trie log layers to rollback and roll forward
-    verify(trieLogManager).getTrieLogLayer(eq(blockHeaderChainA.getHash()));
-    verify(trieLogManager).getTrieLogLayer(eq(blockHeaderChainB.getHash()));
+    verify(trieLogManager)
+        .getTrieLogLayers(eq(List.of(blockHeaderChainA.getHash(), blockHeaderChainB.getHash())));
   }
 
   @SuppressWarnings({"unchecked"})
@@ -26,6 +26,7 @@ import org.hyperledger.besu.ethereum.bonsai.cache.CachedMerkleTrieLoader;
 import org.hyperledger.besu.ethereum.bonsai.storage.BonsaiWorldStateKeyValueStorage;
 import org.hyperledger.besu.ethereum.bonsai.trielog.TrieLogFactoryImpl;
 import org.hyperledger.besu.ethereum.bonsai.trielog.TrieLogLayer;
+import org.hyperledger.besu.ethereum.bonsai.trielog.TrieLogSquasher;
 import org.hyperledger.besu.ethereum.bonsai.worldview.BonsaiWorldState;
 import org.hyperledger.besu.ethereum.bonsai.worldview.BonsaiWorldStateUpdateAccumulator;
 import org.hyperledger.besu.ethereum.chain.Blockchain;
@@ -33,7 +34,6 @@ import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.core.Difficulty;
 import org.hyperledger.besu.ethereum.core.InMemoryKeyValueStorageProvider;
 import org.hyperledger.besu.ethereum.mainnet.MainnetBlockHeaderFunctions;
-import org.hyperledger.besu.ethereum.rlp.BytesValueRLPInput;
 import org.hyperledger.besu.ethereum.storage.keyvalue.KeyValueSegmentIdentifier;
 import org.hyperledger.besu.evm.account.MutableAccount;
 import org.hyperledger.besu.evm.log.LogsBloomFilter;
@@ -202,8 +202,7 @@ public class LogRollingTests {
 
     final Optional<byte[]> value = trieLogStorage.get(headerOne.getHash().toArrayUnsafe());
 
-    final TrieLogLayer layer =
-        TrieLogFactoryImpl.readFrom(new BytesValueRLPInput(Bytes.wrap(value.get()), false));
+    final TrieLogLayer layer = new TrieLogFactoryImpl().deserialize(value.get());
 
     secondUpdater.rollForward(layer);
     secondUpdater.commit();
@@ -272,6 +271,54 @@ public class LogRollingTests {
     assertThat(secondWorldState.rootHash()).isEqualByComparingTo(worldState.rootHash());
   }
 
+  @Test
+  public void rollForwardTwiceSquashed() {
+    final BonsaiWorldState worldState =
+        new BonsaiWorldState(
+            archive, new BonsaiWorldStateKeyValueStorage(provider, new NoOpMetricsSystem()));
+
+    final WorldUpdater updater = worldState.updater();
+    final MutableAccount mutableAccount =
+        updater.createAccount(addressOne, 1, Wei.of(1L)).getMutable();
+    mutableAccount.setCode(Bytes.of(0, 1, 2));
+    mutableAccount.setStorageValue(UInt256.ONE, UInt256.ONE);
+    updater.commit();
+
+    worldState.persist(headerOne);
+
+    final WorldUpdater updater2 = worldState.updater();
+    final MutableAccount mutableAccount2 = updater2.getAccount(addressOne).getMutable();
+    mutableAccount2.setStorageValue(UInt256.ONE, UInt256.valueOf(2));
+    updater2.commit();
+
+    worldState.persist(headerTwo);
+
+    final BonsaiWorldState secondWorldState =
+        new BonsaiWorldState(
+            secondArchive,
+            new BonsaiWorldStateKeyValueStorage(secondProvider, new NoOpMetricsSystem()));
+    final BonsaiWorldStateUpdateAccumulator secondUpdater =
+        (BonsaiWorldStateUpdateAccumulator) secondWorldState.updater();
+
+    final TrieLogLayer squashed =
+        new TrieLogSquasher()
+            .rollForward(getTrieLogLayer(trieLogStorage, headerOne.getHash()))
+            .rollForward(getTrieLogLayer(trieLogStorage, headerTwo.getHash()))
+            .squash(headerTwo.getHash());
+    secondUpdater.rollForward(squashed);
+    secondUpdater.commit();
+    secondWorldState.persist(null);
+
+    assertKeyValueStorageEqual(accountStorage, secondAccountStorage);
+    assertKeyValueStorageEqual(codeStorage, secondCodeStorage);
+    assertKeyValueStorageEqual(storageStorage, secondStorageStorage);
+    final KeyValueStorageTransaction tx = trieBranchStorage.startTransaction();
+    tx.remove(BonsaiWorldStateKeyValueStorage.WORLD_BLOCK_HASH_KEY);
+    tx.commit();
+    assertKeyValueStorageEqual(trieBranchStorage, secondTrieBranchStorage);
+    assertThat(secondWorldState.rootHash()).isEqualByComparingTo(worldState.rootHash());
+  }
+
   @Test
   public void rollBackOnce() {
     final BonsaiWorldState worldState =
@@ -330,7 +377,7 @@ public class LogRollingTests {
   private TrieLogLayer getTrieLogLayer(final InMemoryKeyValueStorage storage, final Bytes key) {
     return storage
         .get(key.toArrayUnsafe())
-        .map(bytes -> TrieLogFactoryImpl.readFrom(new BytesValueRLPInput(Bytes.wrap(bytes), false)))
+        .map(new TrieLogFactoryImpl()::deserialize)
         .get();
   }
 
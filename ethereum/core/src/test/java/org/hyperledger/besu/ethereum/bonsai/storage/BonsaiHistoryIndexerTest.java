@@ -0,0 +1,215 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.bonsai.storage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hyperledger.besu.ethereum.core.InMemoryKeyValueStorageProvider.createInMemoryBlockchain;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import org.hyperledger.besu.datatypes.AccountValue;
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.bonsai.trielog.TrieLogLayer;
+import org.hyperledger.besu.ethereum.bonsai.trielog.TrieLogManager;
+import org.hyperledger.besu.ethereum.chain.MutableBlockchain;
+import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.BlockDataGenerator;
+import org.hyperledger.besu.ethereum.core.Difficulty;
+import org.hyperledger.besu.ethereum.worldstate.StateTrieAccountValue;
+import org.hyperledger.besu.services.kvstore.InMemoryKeyValueStorage;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import org.junit.Before;
+import org.junit.Test;
+
+public class BonsaiHistoryIndexerTest {
+
+  private static final Address ADDRESS = Address.fromHexString("0x01");
+
+  private final BlockDataGenerator gen = new BlockDataGenerator(1);
+  private final Block genesis = gen.genesisBlock();
+  private final MutableBlockchain blockchain = createInMemoryBlockchain(genesis);
+  // sorted like a RocksDB column family
+  private final BonsaiHistoryStorage historyStorage =
+      new BonsaiHistoryStorage(new InMemoryKeyValueStorage(new TreeMap<>()) {});
+  private final TrieLogManager trieLogManager = mock(TrieLogManager.class);
+  private final Map<Hash, TrieLogLayer> trieLogs = new HashMap<>();
+
+  @Before
+  public void setUp() {
+    doAnswer(invocation -> Optional.ofNullable(trieLogs.get(invocation.<Hash>getArgument(0))))
+        .when(trieLogManager)
+        .getTrieLogLayer(any());
+    doAnswer(
+            invocation ->
+                invocation.<List<Hash>>getArgument(0).stream()
+                    .map(
+                        blockHash ->
+                            Optional.ofNullable(trieLogs.get(blockHash))
+                                .orElseThrow(() -> new NoSuchElementException("Missing trie log")))
+                    .toList())
+        .when(trieLogManager)
+        .getTrieLogLayers(any());
+    trieLogs.put(genesis.getHash(), new TrieLogLayer().addAccountChange(ADDRESS, null, account(0)));
+  }
+
+  private static StateTrieAccountValue account(final long nonce) {
+    return new StateTrieAccountValue(nonce, Wei.of(nonce), Hash.EMPTY_TRIE_HASH, Hash.EMPTY);
+  }
+
+  private BonsaiHistoryIndexer createIndexer() {
+    final BonsaiHistoryIndexer indexer =
+        new BonsaiHistoryIndexer(
+            historyStorage, blockchain, trieLogManager, MoreExecutors.newDirectExecutorService());
+    blockchain.observeBlockAdded(indexer);
+    return indexer;
+  }
+
+  /** Appends a block setting the nonce of the account, the highest difficulty wins a reorg. */
+  private Block appendBlock(final Block parent, final long nonce, final long difficulty) {
+    final Block block =
+        gen.block(gen.nextBlockOptions(parent).setDifficulty(Difficulty.of(difficulty)));
+    final long parentNonce =
+        Optional.ofNullable(trieLogs.get(parent.getHash()))
+            .map(trieLog -> trieLog.getAccount(ADDRESS).orElseThrow().getNonce())
+            .orElse(0L);
+    trieLogs.put(
+        block.getHash(),
+        new TrieLogLayer().addAccountChange(ADDRESS, account(parentNonce), account(nonce)));
+    blockchain.appendBlock(block, gen.receipts(block));
+    return block;
+  }
+
+  private Optional<Long> nonceAt(final long blockNumber) {
+    return historyStorage.readerAt(blockNumber).getAccount(ADDRESS).map(AccountValue::getNonce);
+  }
+
+  @Test
+  public void indexesTheCanonicalChainFromGenesis() {
+    final BonsaiHistoryIndexer indexer = createIndexer();
+
+    final Block block1 = appendBlock(genesis, 1, 1);
+    final Block block2 = appendBlock(block1, 2, 1);
+
+    assertThat(historyStorage.getHistoryStart()).contains(0L);
+    assertThat(historyStorage.getIndexedHead()).contains(block2.getHash());
+    assertThat(indexer.isArchived(genesis.getHeader())).isTrue();
+    assertThat(indexer.isArchived(block2.getHeader())).isTrue();
+    assertThat(nonceAt(0)).contains(0L);
+    assertThat(nonceAt(1)).contains(1L);
+    assertThat(nonceAt(2)).contains(2L);
+  }
+
+  @Test
+  public void resumesFromTheIndexedHeadAfterARestart() {
+    final BonsaiHistoryIndexer indexer = createIndexer();
+    final Block block1 = appendBlock(genesis, 1, 1);
+    indexer.close();
+    // blocks imported while the indexer is not running
+    final Block block2 = appendBlock(block1, 2, 1);
+
+    final BonsaiHistoryIndexer restarted = createIndexer();
+    assertThat(restarted.isArchived(block1.getHeader())).isTrue();
+    assertThat(restarted.isArchived(block2.getHeader())).isFalse();
+
+    final Block block3 = appendBlock(block2, 3, 1);
+
+    assertThat(restarted.isArchived(block2.getHeader())).isTrue();
+    assertThat(restarted.isArchived(block3.getHeader())).isTrue();
+    assertThat(nonceAt(2)).contains(2L);
+    assertThat(nonceAt(3)).contains(3L);
+  }
+
+  @Test
+  public void leavesTheHistoryIncompleteWhenEnabledOnADatabaseWithBlocks() {
+    final Block block1 = appendBlock(genesis, 1, 1);
+    final Block block2 = appendBlock(block1, 2, 1);
+
+    final BonsaiHistoryIndexer indexer = createIndexer();
+    final Block block3 = appendBlock(block2, 3, 1);
+
+    assertThat(historyStorage.getHistoryStart()).contains(3L);
+    assertThat(historyStorage.getIndexedHead()).isEmpty();
+    assertThat(indexer.isArchived(block1.getHeader())).isFalse();
+    assertThat(indexer.isArchived(block3.getHeader())).isFalse();
+    assertThat(createIndexer().isArchived(block3.getHeader())).isFalse();
+  }
+
+  @Test
+  public void reindexesTheCanonicalChainAfterAReorg() {
+    final BonsaiHistoryIndexer indexer = createIndexer();
+    final Block block1 = appendBlock(genesis, 1, 1);
+    final Block block2 = appendBlock(block1, 2, 1);
+    final Block block3 = appendBlock(block2, 3, 1);
+
+    // a shorter fork with a higher total difficulty becomes canonical
+    final Block forkBlock2 = appendBlock(block1, 102, 10);
+
+    assertThat(blockchain.getChainHeadHash()).isEqualTo(forkBlock2.getHash());
+    assertThat(historyStorage.getIndexedHead()).contains(forkBlock2.getHash());
+    assertThat(indexer.isArchived(block1.getHeader())).isTrue();
+    assertThat(indexer.isArchived(block2.getHeader())).isFalse();
+    assertThat(indexer.isArchived(block3.getHeader())).isFalse();
+    assertThat(indexer.isArchived(forkBlock2.getHeader())).isTrue();
+    assertThat(nonceAt(1)).contains(1L);
+    // the changes of the reverted blocks are removed
+    assertThat(nonceAt(2)).contains(102L);
+    assertThat(nonceAt(3)).contains(102L);
+
+    final Block forkBlock3 = appendBlock(forkBlock2, 103, 1);
+
+    assertThat(indexer.isArchived(forkBlock3.getHeader())).isTrue();
+    assertThat(nonceAt(3)).contains(103L);
+  }
+
+  @Test
+  public void stopsIndexingWhenATrieLogIsMissing() {
+    final BonsaiHistoryIndexer indexer = createIndexer();
+    final Block block1 = appendBlock(genesis, 1, 1);
+    final Block block2 =
+        gen.block(gen.nextBlockOptions(block1).setDifficulty(Difficulty.of(1)));
+    blockchain.appendBlock(block2, gen.receipts(block2));
+
+    assertThat(historyStorage.getHistoryStart()).contains(2L);
+    assertThat(indexer.isArchived(block1.getHeader())).isFalse();
+
+    appendBlock(block2, 3, 1);
+
+    assertThat(indexer.isArchived(block1.getHeader())).isFalse();
+    assertThat(historyStorage.getIndexedHead()).contains(block1.getHash());
+  }
+
+  @Test
+  public void ignoresBlocksAddedAfterClose() {
+    final BonsaiHistoryIndexer indexer = createIndexer();
+    final Block block1 = appendBlock(genesis, 1, 1);
+    indexer.close();
+
+    final Block block2 = appendBlock(block1, 2, 1);
+
+    assertThat(historyStorage.getIndexedHead()).contains(block1.getHash());
+    assertThat(indexer.isArchived(block2.getHeader())).isFalse();
+  }
+}
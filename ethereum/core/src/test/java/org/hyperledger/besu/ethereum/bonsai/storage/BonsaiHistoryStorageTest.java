@@ -0,0 +1,152 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.bonsai.storage;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.datatypes.AccountValue;
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.StorageSlotKey;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.bonsai.trielog.TrieLogLayer;
+import org.hyperledger.besu.ethereum.rlp.RLP;
+import org.hyperledger.besu.ethereum.worldstate.ArchivedStateReader;
+import org.hyperledger.besu.ethereum.worldstate.StateTrieAccountValue;
+import org.hyperledger.besu.services.kvstore.InMemoryKeyValueStorage;
+
+import java.util.Optional;
+import java.util.TreeMap;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.units.bigints.UInt256;
+import org.junit.Test;
+
+public class BonsaiHistoryStorageTest {
+
+  private static final Address ADDRESS = Address.fromHexString("0x01");
+  private static final Address OTHER_ADDRESS = Address.fromHexString("0x02");
+  private static final Hash ACCOUNT_HASH = Hash.hash(ADDRESS);
+  private static final StorageSlotKey SLOT = new StorageSlotKey(UInt256.ONE);
+
+  // sorted like a RocksDB column family
+  private final BonsaiHistoryStorage historyStorage =
+      new BonsaiHistoryStorage(new InMemoryKeyValueStorage(new TreeMap<>()) {});
+
+  private static StateTrieAccountValue account(final long nonce) {
+    return new StateTrieAccountValue(nonce, Wei.of(nonce), Hash.EMPTY_TRIE_HASH, Hash.EMPTY);
+  }
+
+  private static Optional<Bytes> encoded(final StateTrieAccountValue account) {
+    return Optional.of(RLP.encode(account::writeTo));
+  }
+
+  private void indexSampleBlocks() {
+    historyStorage
+        .updater()
+        .addBlock(
+            new TrieLogLayer()
+                .addAccountChange(ADDRESS, null, account(1))
+                .addCodeChange(ADDRESS, null, Bytes.of(1), Hash.ZERO)
+                .addStorageChange(ADDRESS, SLOT, null, UInt256.ONE)
+                .addAccountChange(OTHER_ADDRESS, null, account(7)),
+            0)
+        .addBlock(new TrieLogLayer().addAccountChange(ADDRESS, account(1), account(2)), 5)
+        .addBlock(
+            new TrieLogLayer()
+                .addAccountChange(ADDRESS, account(2), null)
+                .addCodeChange(ADDRESS, Bytes.of(1), null, Hash.ZERO)
+                .addStorageChange(ADDRESS, SLOT, UInt256.ONE, null),
+            9)
+        .commit();
+  }
+
+  @Test
+  public void readsTheValueOfTheLastChangeAtOrBeforeTheBlock() {
+    indexSampleBlocks();
+
+    for (long block = 0; block < 5; block++) {
+      assertThat(historyStorage.getAccount(ACCOUNT_HASH, block)).isEqualTo(encoded(account(1)));
+      assertThat(historyStorage.getCode(ACCOUNT_HASH, block)).contains(Bytes.of(1));
+      assertThat(historyStorage.getStorageValueBySlotHash(ACCOUNT_HASH, SLOT.getSlotHash(), block))
+          .contains(UInt256.ONE);
+    }
+    for (long block = 5; block < 9; block++) {
+      assertThat(historyStorage.getAccount(ACCOUNT_HASH, block)).isEqualTo(encoded(account(2)));
+      assertThat(historyStorage.getCode(ACCOUNT_HASH, block)).contains(Bytes.of(1));
+    }
+    for (long block = 9; block < 12; block++) {
+      assertThat(historyStorage.getAccount(ACCOUNT_HASH, block)).isEmpty();
+      assertThat(historyStorage.getCode(ACCOUNT_HASH, block)).isEmpty();
+      assertThat(historyStorage.getStorageValueBySlotHash(ACCOUNT_HASH, SLOT.getSlotHash(), block))
+          .isEmpty();
+    }
+    // the changes of other keys are not mixed up
+    assertThat(historyStorage.getAccount(Hash.hash(OTHER_ADDRESS), 100))
+        .isEqualTo(encoded(account(7)));
+    assertThat(historyStorage.getAccount(Hash.hash(Address.fromHexString("0x03")), 100)).isEmpty();
+  }
+
+  @Test
+  public void ignoresUnchangedValues() {
+    final TrieLogLayer creation = new TrieLogLayer().addAccountChange(ADDRESS, null, account(1));
+    historyStorage
+        .updater()
+        .addBlock(creation, 0)
+        .addBlock(new TrieLogLayer().addAccountChange(ADDRESS, account(1), account(1)), 3)
+        .commit();
+
+    historyStorage.updater().removeBlock(creation, 0).commit();
+
+    assertThat(historyStorage.getAccount(ACCOUNT_HASH, 3)).isEmpty();
+  }
+
+  @Test
+  public void removesRevertedBlocks() {
+    final TrieLogLayer forkBlock = new TrieLogLayer().addAccountChange(ADDRESS, account(2), null);
+    indexSampleBlocks();
+    historyStorage.updater().removeBlock(forkBlock, 9).commit();
+
+    assertThat(historyStorage.getAccount(ACCOUNT_HASH, 9)).isEqualTo(encoded(account(2)));
+    // the other changes of the reverted block are left untouched
+    assertThat(historyStorage.getCode(ACCOUNT_HASH, 9)).isEmpty();
+  }
+
+  @Test
+  public void tracksIndexingProgress() {
+    assertThat(historyStorage.getHistoryStart()).isEmpty();
+    assertThat(historyStorage.getIndexedHead()).isEmpty();
+
+    historyStorage.updater().setHistoryStart(0).setIndexedHead(Hash.ZERO).commit();
+
+    assertThat(historyStorage.getHistoryStart()).contains(0L);
+    assertThat(historyStorage.getIndexedHead()).contains(Hash.ZERO);
+  }
+
+  @Test
+  public void archivedStateReaderReadsTheHistory() {
+    indexSampleBlocks();
+
+    final ArchivedStateReader reader = historyStorage.readerAt(6);
+
+    assertThat(reader.getAccount(ADDRESS).map(AccountValue::getNonce)).contains(2L);
+    assertThat(reader.getAccount(Address.fromHexString("0x03"))).isEmpty();
+    assertThat(reader.getCode(ADDRESS)).contains(Bytes.of(1));
+    assertThat(reader.getStorageValue(ADDRESS, UInt256.ONE)).isEqualTo(UInt256.ONE);
+    assertThat(reader.getStorageValue(ADDRESS, UInt256.valueOf(2))).isEqualTo(UInt256.ZERO);
+    assertThat(historyStorage.readerAt(9).getStorageValue(ADDRESS, UInt256.ONE))
+        .isEqualTo(UInt256.ZERO);
+  }
+}
@@ -15,8 +15,9 @@
  */
 package org.hyperledger.besu.ethereum.bonsai.trielog;
 
-import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.assertj.core.api.Assertions.assertThat;
 
+import org.hyperledger.besu.datatypes.AccountValue;
 import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.datatypes.StorageSlotKey;
@@ -24,6 +25,7 @@ import org.hyperledger.besu.datatypes.Wei;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.core.BlockHeaderTestFixture;
 import org.hyperledger.besu.ethereum.core.BlockchainSetupUtil;
+import org.hyperledger.besu.ethereum.rlp.BytesValueRLPOutput;
 import org.hyperledger.besu.ethereum.worldstate.DataStorageFormat;
 import org.hyperledger.besu.ethereum.worldstate.StateTrieAccountValue;
 import org.hyperledger.besu.plugin.services.trielogs.TrieLog;
@@ -71,4 +73,71 @@ public class TrieLogFactoryTests {
     TrieLog layer = factory.deserialize(rlp);
     assertThat(layer).isEqualTo(trieLogFixture);
   }
+
+  @Test
+  public void testDeserializeLegacyRlpFormat() {
+    final BytesValueRLPOutput rlp = new BytesValueRLPOutput();
+    TrieLogFactoryImpl.writeTo(trieLogFixture, rlp);
+
+    TrieLog layer = new TrieLogFactoryImpl().deserialize(rlp.encoded().toArrayUnsafe());
+    assertThat(layer).isNotInstanceOf(CompactTrieLogLayer.class);
+    assertThat(layer).isEqualTo(trieLogFixture);
+  }
+
+  @Test
+  public void testSerializeDeserializeDeltas() {
+    final Address deleted = Address.fromHexString("0x01");
+    final TrieLogLayer trieLog =
+        new TrieLogLayer()
+            .setBlockHash(headerFixture.getBlockHash())
+            .setBlockNumber(1_234_567L)
+            .addAccountChange(
+                accountFixture,
+                new StateTrieAccountValue(5, Wei.fromEth(2), Hash.EMPTY_TRIE_HASH, Hash.EMPTY),
+                new StateTrieAccountValue(4, Wei.ONE, Hash.EMPTY_TRIE_HASH, Hash.ZERO))
+            .addAccountChange(
+                deleted,
+                new StateTrieAccountValue(1, Wei.ZERO, Hash.ZERO, Hash.EMPTY_TRIE_HASH),
+                null)
+            .addCodeChange(deleted, Bytes.fromHexString("0x6001"), null, Hash.ZERO)
+            .addStorageChange(deleted, new StorageSlotKey(UInt256.ONE), UInt256.MAX_VALUE, null)
+            .addStorageChange(
+                accountFixture, new StorageSlotKey(UInt256.ZERO), UInt256.ONE, UInt256.ONE)
+            .addStorageChange(
+                accountFixture, new StorageSlotKey(UInt256.ONE), UInt256.ZERO, UInt256.valueOf(3));
+
+    final TrieLogFactory factory = new TrieLogFactoryImpl();
+    final byte[] compact = factory.serialize(trieLog);
+    final BytesValueRLPOutput rlp = new BytesValueRLPOutput();
+    TrieLogFactoryImpl.writeTo(trieLog, rlp);
+    assertThat(compact.length).isLessThan(rlp.encodedSize());
+
+    final TrieLog layer = factory.deserialize(compact);
+    assertThat(layer).isEqualTo(trieLog);
+    assertThat(layer.getBlockNumber()).contains(1_234_567L);
+    assertThat(layer.getCodeChanges().get(deleted).isCleared()).isTrue();
+  }
+
+  @Test
+  public void testDecodeOnlyRequestedAddresses() {
+    final TrieLogLayer trieLog = new TrieLogLayer().setBlockHash(headerFixture.getBlockHash());
+    for (int i = 0; i < 100; i++) {
+      trieLog.addAccountChange(
+          Address.fromHexString(Integer.toHexString(i)),
+          null,
+          new StateTrieAccountValue(i, Wei.of(i), Hash.EMPTY_TRIE_HASH, Hash.EMPTY));
+    }
+    final TrieLogFactory factory = new TrieLogFactoryImpl();
+
+    final CompactTrieLogLayer layer =
+        (CompactTrieLogLayer) factory.deserialize(factory.serialize(trieLog));
+    assertThat(layer.accounts).isEmpty();
+
+    final Address address = Address.fromHexString(Integer.toHexString(42));
+    assertThat(layer.getAccount(address).map(AccountValue::getNonce)).contains(42L);
+    assertThat(layer.getAccount(accountFixture)).isEmpty();
+    assertThat(layer.accounts).containsOnlyKeys(address);
+
+    assertThat(layer.getAccountChanges()).isEqualTo(trieLog.getAccountChanges());
+  }
 }
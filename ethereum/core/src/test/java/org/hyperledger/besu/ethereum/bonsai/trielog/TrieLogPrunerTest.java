@@ -0,0 +1,197 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.bonsai.trielog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.bonsai.storage.BonsaiWorldStateKeyValueStorage;
+import org.hyperledger.besu.ethereum.chain.BlockAddedEvent;
+import org.hyperledger.besu.ethereum.chain.Blockchain;
+import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.BlockBody;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.BlockHeaderTestFixture;
+import org.hyperledger.besu.ethereum.core.InMemoryKeyValueStorageProvider;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.hyperledger.besu.plugin.services.trielogs.TrieLogEvent.TrieLogObserver;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class TrieLogPrunerTest {
+
+  private static final int STORED_BLOCKS = 1_100;
+
+  @Mock Blockchain blockchain;
+  @Mock TrieLogManager trieLogManager;
+
+  private final BonsaiWorldStateKeyValueStorage worldStateStorage =
+      new BonsaiWorldStateKeyValueStorage(
+          new InMemoryKeyValueStorageProvider(), new NoOpMetricsSystem());
+  private final List<BlockHeader> headers = new ArrayList<>();
+  private final Map<Hash, BlockHeader> headersByHash = new HashMap<>();
+
+  @Before
+  public void setup() {
+    final BonsaiWorldStateKeyValueStorage.BonsaiUpdater updater = worldStateStorage.updater();
+    for (int i = 0; i < STORED_BLOCKS; i++) {
+      final BlockHeader header = new BlockHeaderTestFixture().number(i).buildHeader();
+      headers.add(header);
+      headersByHash.put(header.getHash(), header);
+      updater.getTrieLogStorageTransaction().put(header.getHash().toArrayUnsafe(), new byte[] {1});
+    }
+    updater.commit();
+    lenient()
+        .when(blockchain.getBlockHeader(any(Hash.class)))
+        .thenAnswer(
+            invocation -> Optional.ofNullable(headersByHash.get(invocation.<Hash>getArgument(0))));
+    when(trieLogManager.getMaxLayersToLoad()).thenReturn(512L);
+  }
+
+  private TrieLogPruner createPruner(final long blocksRetained) {
+    final TrieLogPruner pruner =
+        new TrieLogPruner(
+            worldStateStorage,
+            blockchain,
+            trieLogManager,
+            blocksRetained,
+            new NoOpMetricsSystem(),
+            MoreExecutors.newDirectExecutorService());
+    pruner.initialize();
+    return pruner;
+  }
+
+  private void assertTrieLogsStoredFrom(final int firstRetained) {
+    for (int i = 0; i < STORED_BLOCKS; i++) {
+      assertThat(worldStateStorage.getTrieLog(headers.get(i).getHash()).isPresent())
+          .describedAs("trie log of block %d", i)
+          .isEqualTo(i >= firstRetained);
+    }
+  }
+
+  @Test
+  public void prunesTrieLogsBelowRetentionWindowOfHead() {
+    when(blockchain.getFinalized()).thenReturn(Optional.empty());
+    when(blockchain.getChainHeadBlockNumber()).thenReturn(600L);
+    final TrieLogPruner pruner = createPruner(600);
+    assertTrieLogsStoredFrom(0);
+
+    when(blockchain.getChainHeadBlockNumber()).thenReturn(STORED_BLOCKS - 1L);
+    assertThat(pruner.prune()).isEqualTo(STORED_BLOCKS - 1 - 600);
+    assertTrieLogsStoredFrom(STORED_BLOCKS - 1 - 600);
+    assertThat(pruner.prune()).isZero();
+  }
+
+  @Test
+  public void prunesStoredTrieLogsBelowRetentionWindowWhenLoadingThem() {
+    when(blockchain.getFinalized()).thenReturn(Optional.empty());
+    when(blockchain.getChainHeadBlockNumber()).thenReturn(STORED_BLOCKS - 1L);
+    final TrieLogPruner pruner = createPruner(600);
+
+    assertTrieLogsStoredFrom(STORED_BLOCKS - 1 - 600);
+    assertThat(pruner.prune()).isZero();
+  }
+
+  @Test
+  public void retainsTrieLogsBelowFinalizedBlock() {
+    final Hash finalized = headers.get(900).getHash();
+    when(blockchain.getFinalized()).thenReturn(Optional.of(finalized));
+    createPruner(600);
+
+    assertTrieLogsStoredFrom(300);
+  }
+
+  @Test
+  public void retainsAtLeastTheLayersThatCanBeLoaded() {
+    when(blockchain.getFinalized()).thenReturn(Optional.empty());
+    when(blockchain.getChainHeadBlockNumber()).thenReturn(STORED_BLOCKS - 1L);
+    final TrieLogPruner pruner = createPruner(10);
+
+    pruner.prune();
+    assertTrieLogsStoredFrom(STORED_BLOCKS - 1 - 512);
+  }
+
+  @Test
+  public void prunesTrieLogsAddedAfterInitializationOnNewHead() {
+    final BonsaiWorldStateKeyValueStorage emptyStorage =
+        new BonsaiWorldStateKeyValueStorage(
+            new InMemoryKeyValueStorageProvider(), new NoOpMetricsSystem());
+    final TrieLogPruner pruner =
+        new TrieLogPruner(
+            emptyStorage,
+            blockchain,
+            trieLogManager,
+            512,
+            new NoOpMetricsSystem(),
+            MoreExecutors.newDirectExecutorService());
+    pruner.initialize();
+    final ArgumentCaptor<TrieLogObserver> observer = ArgumentCaptor.forClass(TrieLogObserver.class);
+    verify(trieLogManager).subscribe(observer.capture());
+
+    final BlockHeader old = headers.get(10);
+    final BonsaiWorldStateKeyValueStorage.BonsaiUpdater updater = emptyStorage.updater();
+    updater.getTrieLogStorageTransaction().put(old.getHash().toArrayUnsafe(), new byte[] {1});
+    updater.commit();
+    observer
+        .getValue()
+        .onTrieLogAdded(
+            new TrieLogAddedEvent(
+                new TrieLogLayer().setBlockHash(old.getHash()).setBlockNumber(old.getNumber())));
+
+    when(blockchain.getFinalized()).thenReturn(Optional.empty());
+    when(blockchain.getChainHeadBlockNumber()).thenReturn(STORED_BLOCKS - 1L);
+    final Block head = new Block(headers.get(STORED_BLOCKS - 1), BlockBody.empty());
+    pruner.onBlockAdded(BlockAddedEvent.createForHeadAdvancement(head, List.of(), List.of()));
+
+    assertThat(emptyStorage.getTrieLog(old.getHash())).isEmpty();
+  }
+
+  @Test
+  public void stopsPruningOnceStopped() throws InterruptedException {
+    when(blockchain.getFinalized()).thenReturn(Optional.empty());
+    when(blockchain.getChainHeadBlockNumber()).thenReturn(600L);
+    when(trieLogManager.subscribe(any())).thenReturn(3L);
+    when(blockchain.observeBlockAdded(any())).thenReturn(5L);
+    final TrieLogPruner pruner = createPruner(600);
+
+    pruner.stop();
+    pruner.awaitStop();
+    verify(trieLogManager).unsubscribe(3L);
+    verify(blockchain).removeObserver(5L);
+
+    when(blockchain.getChainHeadBlockNumber()).thenReturn(STORED_BLOCKS - 1L);
+    final Block head = new Block(headers.get(STORED_BLOCKS - 1), BlockBody.empty());
+    pruner.onBlockAdded(BlockAddedEvent.createForHeadAdvancement(head, List.of(), List.of()));
+    assertThat(pruner.prune()).isZero();
+    assertTrieLogsStoredFrom(0);
+  }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.bonsai.trielog;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.StorageSlotKey;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.bonsai.BonsaiValue;
+import org.hyperledger.besu.ethereum.worldstate.StateTrieAccountValue;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.units.bigints.UInt256;
+import org.junit.Test;
+
+public class TrieLogSquasherTest {
+
+  private static final Address ADDRESS = Address.fromHexString("0x01");
+  private static final Address OTHER_ADDRESS = Address.fromHexString("0x02");
+  private static final StorageSlotKey SLOT = new StorageSlotKey(UInt256.ONE);
+
+  private static StateTrieAccountValue account(final long nonce) {
+    return new StateTrieAccountValue(nonce, Wei.of(nonce), Hash.EMPTY_TRIE_HASH, Hash.EMPTY);
+  }
+
+  @Test
+  public void keepsFirstPriorAndLastUpdatedValues() {
+    final TrieLogLayer first =
+        new TrieLogLayer()
+            .addAccountChange(ADDRESS, account(1), account(2))
+            .addCodeChange(ADDRESS, null, Bytes.of(1), Hash.ZERO)
+            .addStorageChange(ADDRESS, SLOT, UInt256.ONE, UInt256.valueOf(2));
+    final TrieLogLayer second =
+        new TrieLogLayer()
+            .addAccountChange(ADDRESS, account(2), account(3))
+            .addCodeChange(ADDRESS, Bytes.of(1), Bytes.of(2), Hash.ZERO)
+            .addStorageChange(ADDRESS, SLOT, UInt256.valueOf(2), UInt256.valueOf(3));
+
+    final TrieLogLayer squashed =
+        new TrieLogSquasher().rollForward(first).rollForward(second).squash(Hash.ZERO);
+
+    assertThat(squashed.getBlockHash()).isEqualTo(Hash.ZERO);
+    assertThat(squashed.getAccounts())
+        .containsOnlyKeys(ADDRESS)
+        .containsEntry(ADDRESS, new BonsaiValue<>(account(1), account(3)));
+    assertThat(squashed.getCode()).containsEntry(ADDRESS, new BonsaiValue<>(null, Bytes.of(2)));
+    assertThat(squashed.getStorageChanges(ADDRESS))
+        .containsEntry(SLOT, new BonsaiValue<>(UInt256.ONE, UInt256.valueOf(3)));
+  }
+
+  @Test
+  public void revertsRolledBackTrieLogs() {
+    final TrieLogLayer layer =
+        new TrieLogLayer()
+            .addAccountChange(ADDRESS, account(1), account(2))
+            .addStorageChange(ADDRESS, SLOT, null, UInt256.valueOf(2));
+
+    final TrieLogLayer squashed = new TrieLogSquasher().rollBack(layer).squash(Hash.ZERO);
+
+    assertThat(squashed.getAccounts())
+        .containsEntry(ADDRESS, new BonsaiValue<>(account(2), account(1)));
+    assertThat(squashed.getStorageChanges(ADDRESS))
+        .containsEntry(SLOT, new BonsaiValue<>(UInt256.valueOf(2), null, true));
+  }
+
+  @Test
+  public void dropsChangesThatCancelOut() {
+    final TrieLogLayer forward =
+        new TrieLogLayer()
+            .addAccountChange(ADDRESS, account(1), account(2))
+            .addAccountChange(OTHER_ADDRESS, account(5), account(6))
+            .addStorageChange(ADDRESS, SLOT, UInt256.ONE, UInt256.valueOf(2));
+
+    final TrieLogLayer squashed =
+        new TrieLogSquasher().rollForward(forward).rollBack(forward).squash(Hash.ZERO);
+
+    assertThat(squashed.getAccounts()).isEmpty();
+    assertThat(squashed.getStorage()).isEmpty();
+  }
+
+  @Test
+  public void ignoresCachedReads() {
+    final TrieLogLayer read =
+        new TrieLogLayer()
+            .addAccountChange(ADDRESS, account(1), account(1))
+            .addStorageChange(ADDRESS, SLOT, UInt256.ZERO, null);
+    final TrieLogLayer write =
+        new TrieLogLayer()
+            .addAccountChange(ADDRESS, account(1), account(2))
+            .addStorageChange(ADDRESS, SLOT, UInt256.ZERO, UInt256.ONE);
+
+    final TrieLogLayer squashed =
+        new TrieLogSquasher().rollForward(read).rollForward(write).squash(Hash.ZERO);
+
+    assertThat(squashed.getAccounts())
+        .containsEntry(ADDRESS, new BonsaiValue<>(account(1), account(2)));
+    assertThat(squashed.getStorageChanges(ADDRESS))
+        .containsEntry(SLOT, new BonsaiValue<>(UInt256.ZERO, UInt256.ONE));
+  }
+}
@@ -117,6 +117,44 @@ public class ChainDataPrunerTest {
     }
   }
 
+  @Test
+  public void forkPruningRetainingCanonicalBlocks() {
+    final BlockDataGenerator gen = new BlockDataGenerator();
+    final BlockchainStorage blockchainStorage =
+        new KeyValueStoragePrefixedKeyBlockchainStorage(
+            new InMemoryKeyValueStorage(),
+            new VariablesKeyValueStorage(new InMemoryKeyValueStorage()),
+            new MainnetBlockHeaderFunctions());
+    final ChainDataPruner chainDataPruner =
+        new ChainDataPruner(
+            blockchainStorage,
+            new ChainDataPrunerStorage(new InMemoryKeyValueStorage()),
+            512,
+            0,
+            new BlockingExecutor(),
+            true);
+    Block genesisBlock = gen.genesisBlock();
+    final MutableBlockchain blockchain =
+        DefaultBlockchain.createMutable(
+            genesisBlock, blockchainStorage, new NoOpMetricsSystem(), 0);
+    blockchain.observeBlockAdded(chainDataPruner);
+
+    List<Block> canonicalChain = gen.blockSequence(genesisBlock, 530);
+    List<Block> forkChain = gen.blockSequence(genesisBlock, 16);
+    for (Block blk : forkChain) {
+      blockchain.storeBlock(blk, gen.receipts(blk));
+    }
+    for (Block blk : canonicalChain) {
+      blockchain.appendBlock(blk, gen.receipts(blk));
+    }
+    // Fork blocks below the retained range are pruned, canonical blocks are kept
+    for (int i = 0; i < 16; i++) {
+      assertThat(blockchain.getBlockByHash(forkChain.get(i).getHash())).isEmpty();
+      assertThat(blockchain.getBlockByHash(canonicalChain.get(i).getHash())).isPresent();
+      assertThat(blockchain.getBlockHashByNumber(i + 1)).contains(canonicalChain.get(i).getHash());
+    }
+  }
+
   protected static class BlockingExecutor extends AbstractExecutorService {
     @Override
     public void shutdown() {}
@@ -82,6 +82,34 @@ class MainnetBlockBodyValidatorTest {
         .isTrue();
   }
 
+  @Test
+  void validatesDetachedChecksWithoutTheParentBlock() {
+    final Block block =
+        blockDataGenerator.block(
+            new BlockOptions()
+                .setBlockNumber(1)
+                .setGasUsed(0)
+                .hasTransactions(false)
+                .hasOmmers(false)
+                .setReceiptsRoot(BodyValidation.receiptsRoot(emptyList()))
+                .setLogsBloom(LogsBloomFilter.empty())
+                .setWithdrawals(Optional.of(withdrawals))
+                .setWithdrawalsRoot(BodyValidation.withdrawalsRoot(withdrawals)));
+
+    when(protocolSchedule.getByBlockHeader(any())).thenReturn(protocolSpec);
+    when(protocolSpec.getWithdrawalsValidator()).thenReturn(withdrawalsValidator);
+    when(protocolSpec.getDepositsValidator()).thenReturn(depositsValidator);
+    when(withdrawalsValidator.validateWithdrawals(Optional.of(withdrawals))).thenReturn(true);
+    when(withdrawalsValidator.validateWithdrawalsRoot(block)).thenReturn(true);
+    when(depositsValidator.validateDeposits(any(), any())).thenReturn(true);
+    when(depositsValidator.validateDepositsRoot(block)).thenReturn(true);
+
+    assertThat(
+            new MainnetBlockBodyValidator(protocolSchedule)
+                .validateBodyLightDetachedOnly(block, emptyList()))
+        .isTrue();
+  }
+
   @Test
   void validationFailsIfWithdrawalsValidationFails() {
     final Block block =
@@ -0,0 +1,180 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.storage.ancient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.chain.DefaultBlockchain;
+import org.hyperledger.besu.ethereum.chain.MutableBlockchain;
+import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.BlockDataGenerator;
+import org.hyperledger.besu.ethereum.core.TransactionReceipt;
+import org.hyperledger.besu.ethereum.mainnet.MainnetBlockHeaderFunctions;
+import org.hyperledger.besu.ethereum.storage.keyvalue.KeyValueStoragePrefixedKeyBlockchainStorage;
+import org.hyperledger.besu.ethereum.storage.keyvalue.VariablesKeyValueStorage;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.hyperledger.besu.services.kvstore.InMemoryKeyValueStorage;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class AncientBlockMigratorTest {
+  private static final long BLOCKS_RETAINED = 10;
+
+  @TempDir Path directory;
+
+  private final BlockDataGenerator gen = new BlockDataGenerator();
+  private final List<Block> blocks = new ArrayList<>();
+  private final List<List<TransactionReceipt>> receipts = new ArrayList<>();
+  private KeyValueStoragePrefixedKeyBlockchainStorage recentStorage;
+  private AncientBlockStore ancientStore;
+  private AncientBlockchainStorage blockchainStorage;
+  private MutableBlockchain blockchain;
+  private AncientBlockMigrator migrator;
+
+  @BeforeEach
+  public void setUp() {
+    recentStorage =
+        new KeyValueStoragePrefixedKeyBlockchainStorage(
+            new InMemoryKeyValueStorage(),
+            new VariablesKeyValueStorage(new InMemoryKeyValueStorage()),
+            new MainnetBlockHeaderFunctions());
+    ancientStore = AncientBlockStore.open(directory, 1 << 20);
+    blockchainStorage =
+        new AncientBlockchainStorage(
+            recentStorage, ancientStore, new MainnetBlockHeaderFunctions());
+    final Block genesisBlock = gen.genesisBlock();
+    blockchain =
+        DefaultBlockchain.createMutable(
+            genesisBlock, blockchainStorage, new NoOpMetricsSystem(), 0);
+    blocks.add(genesisBlock);
+    receipts.add(List.of());
+    migrator =
+        new AncientBlockMigrator(
+            blockchainStorage, BLOCKS_RETAINED, MoreExecutors.newDirectExecutorService());
+  }
+
+  @AfterEach
+  public void tearDown() throws IOException {
+    migrator.close();
+    blockchainStorage.close();
+  }
+
+  @Test
+  public void shouldMoveBlocksBelowRetainedRangeToAncientStore() {
+    blockchain.observeBlockAdded(migrator);
+    appendBlocks(100);
+
+    assertThat(ancientStore.getFirstBlockNumber()).isZero();
+    assertThat(ancientStore.getNextBlockNumber()).isEqualTo(91);
+    assertThat(blockchainStorage.getFirstMutableBlockNumber()).isEqualTo(91);
+    for (int number = 0; number <= 100; number++) {
+      final Hash hash = blocks.get(number).getHash();
+      assertThat(recentStorage.getBlockHeader(hash).isPresent()).isEqualTo(number > 90);
+      assertBlockDataIsAvailable(number);
+    }
+  }
+
+  @Test
+  public void shouldNotMoveBlocksOnceClosed() {
+    migrator.close();
+    blockchain.observeBlockAdded(migrator);
+    appendBlocks(100);
+
+    assertThat(ancientStore.isEmpty()).isTrue();
+    assertThat(blockchainStorage.getFirstMutableBlockNumber()).isZero();
+  }
+
+  @Test
+  public void shouldNotMoveBlocksAboveFinalizedBlock() {
+    appendBlocks(100);
+    blockchain.setFinalized(blocks.get(50).getHash());
+
+    migrator.migrateUpTo(blockchain.getChainHeadBlockNumber());
+
+    assertThat(ancientStore.getNextBlockNumber()).isEqualTo(51);
+    for (int number = 0; number <= 100; number++) {
+      assertBlockDataIsAvailable(number);
+    }
+  }
+
+  @Test
+  public void shouldRemoveBlocksAlreadyHeldByAncientStore() {
+    appendBlocks(20);
+    // simulate a migration interrupted after the ancient store was flushed
+    for (int number = 0; number < 5; number++) {
+      final Hash hash = blocks.get(number).getHash();
+      ancientStore.append(
+          number,
+          recentStorage.getBlockHeaderRlp(hash).orElseThrow(),
+          recentStorage.getBlockBodyRlp(hash).orElseThrow(),
+          recentStorage.getTransactionReceiptsRlp(hash).orElseThrow(),
+          recentStorage.getTotalDifficulty(hash).orElseThrow().getAsBytes32());
+    }
+    ancientStore.flush();
+
+    migrator.migrateUpTo(blockchain.getChainHeadBlockNumber());
+
+    assertThat(ancientStore.getNextBlockNumber()).isEqualTo(11);
+    for (int number = 0; number <= 20; number++) {
+      final Hash hash = blocks.get(number).getHash();
+      assertThat(recentStorage.getBlockHeader(hash).isPresent()).isEqualTo(number > 10);
+      assertBlockDataIsAvailable(number);
+    }
+  }
+
+  @Test
+  public void shouldNotRewindBelowAncientBlocks() {
+    appendBlocks(30);
+    migrator.migrateUpTo(blockchain.getChainHeadBlockNumber());
+    assertThat(ancientStore.getNextBlockNumber()).isEqualTo(21);
+
+    assertThat(blockchain.rewindToBlock(10)).isFalse();
+    assertThat(blockchain.rewindToBlock(blocks.get(10).getHash())).isFalse();
+    assertThat(blockchain.getChainHeadBlockNumber()).isEqualTo(30);
+
+    assertThat(blockchain.rewindToBlock(20)).isTrue();
+    assertThat(blockchain.getChainHeadBlockNumber()).isEqualTo(20);
+  }
+
+  private void appendBlocks(final int count) {
+    for (final Block block : gen.blockSequence(blocks.get(blocks.size() - 1), count)) {
+      final List<TransactionReceipt> blockReceipts = gen.receipts(block);
+      blocks.add(block);
+      receipts.add(blockReceipts);
+      blockchain.appendBlock(block, blockReceipts);
+    }
+  }
+
+  private void assertBlockDataIsAvailable(final int number) {
+    final Block block = blocks.get(number);
+    final Hash hash = block.getHash();
+    assertThat(blockchain.getBlockHashByNumber(number)).contains(hash);
+    assertThat(blockchain.getBlockHeader(number)).contains(block.getHeader());
+    assertThat(blockchain.getBlockBody(hash)).contains(block.getBody());
+    assertThat(blockchain.getTxReceipts(hash)).contains(receipts.get(number));
+    assertThat(blockchain.getTotalDifficultyByHash(hash)).isPresent();
+    assertThat(blockchain.getBlockHeaderRlp(hash)).isPresent();
+  }
+}
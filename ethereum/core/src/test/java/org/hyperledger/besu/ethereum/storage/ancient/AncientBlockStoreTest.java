@@ -0,0 +1,177 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.storage.ancient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.hyperledger.besu.ethereum.rlp.RLP;
+import org.hyperledger.besu.ethereum.rlp.RLPInput;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class AncientBlockStoreTest {
+  private static final int MAX_SEGMENT_SIZE = 1 << 20;
+
+  @TempDir Path directory;
+
+  @Test
+  public void shouldReadAppendedBlocks() throws IOException {
+    try (final AncientBlockStore store = AncientBlockStore.open(directory, MAX_SEGMENT_SIZE)) {
+      assertThat(store.isEmpty()).isTrue();
+      appendBlocks(store, 10, 20);
+
+      assertThat(store.isEmpty()).isFalse();
+      assertThat(store.getFirstBlockNumber()).isEqualTo(10);
+      assertThat(store.getNextBlockNumber()).isEqualTo(30);
+      for (long number = 10; number < 30; number++) {
+        assertBlock(store, number);
+      }
+      assertThat(store.contains(9)).isFalse();
+      assertThat(store.getBlockHeader(9)).isEmpty();
+      assertThat(store.getBlockHeader(30)).isEmpty();
+    }
+  }
+
+  @Test
+  public void shouldKeepFlushedBlocksWhenReopened() throws IOException {
+    try (final AncientBlockStore store = AncientBlockStore.open(directory, MAX_SEGMENT_SIZE)) {
+      appendBlocks(store, 0, 5);
+    }
+
+    try (final AncientBlockStore store = AncientBlockStore.open(directory, MAX_SEGMENT_SIZE)) {
+      assertThat(store.getFirstBlockNumber()).isZero();
+      assertThat(store.getNextBlockNumber()).isEqualTo(5);
+      for (long number = 0; number < 5; number++) {
+        assertBlock(store, number);
+      }
+      appendBlocks(store, 5, 5);
+      for (long number = 0; number < 10; number++) {
+        assertBlock(store, number);
+      }
+    }
+  }
+
+  @Test
+  public void shouldDiscardBlocksAppendedAfterLastFlush() {
+    final AncientBlockStore store = AncientBlockStore.open(directory, MAX_SEGMENT_SIZE);
+    appendBlocks(store, 0, 5);
+    store.flush();
+    appendBlocks(store, 5, 5);
+    // the store is not closed, simulating an unclean shutdown
+
+    final AncientBlockStore reopened = AncientBlockStore.open(directory, MAX_SEGMENT_SIZE);
+    assertThat(reopened.getNextBlockNumber()).isEqualTo(5);
+    assertThat(reopened.getBlockHeader(5)).isEmpty();
+
+    reopened.append(5, Bytes.of(1), Bytes.of(2), Bytes.of(3), Bytes.of(4));
+    assertThat(reopened.getBlockHeader(5)).contains(Bytes.of(1));
+    assertBlock(reopened, 4);
+  }
+
+  @Test
+  public void shouldRollOverToNewSegments() throws IOException {
+    final int smallSegmentSize = 256;
+    try (final AncientBlockStore store = AncientBlockStore.open(directory, smallSegmentSize)) {
+      appendBlocks(store, 0, 100);
+      for (long number = 0; number < 100; number++) {
+        assertBlock(store, number);
+      }
+    }
+    assertThat(directory.resolve("headers.0001.dat")).exists();
+
+    try (final AncientBlockStore store = AncientBlockStore.open(directory, smallSegmentSize)) {
+      for (long number = 0; number < 100; number++) {
+        assertBlock(store, number);
+      }
+    }
+  }
+
+  @Test
+  public void shouldDecodeHeadersFromTheMappedTable() throws IOException {
+    final Bytes header =
+        RLP.encode(
+            out -> {
+              out.startList();
+              out.writeLongScalar(7);
+              out.writeBytes(Bytes32.repeat((byte) 1));
+              out.endList();
+            });
+    try (final AncientBlockStore store = AncientBlockStore.open(directory, MAX_SEGMENT_SIZE)) {
+      store.append(7, header, body(7), receipts(7), difficulty(7));
+
+      assertThat(store.readBlockHeader(7, RLPInput::raw)).contains(header);
+      assertThat(
+              store.readBlockHeader(
+                  7,
+                  in -> {
+                    in.enterList();
+                    final long number = in.readLongScalar();
+                    final Bytes32 hash = in.readBytes32();
+                    in.leaveList();
+                    return number + ":" + hash;
+                  }))
+          .contains("7:" + Bytes32.repeat((byte) 1));
+      assertThat(store.readBlockHeader(8, RLPInput::raw)).isEmpty();
+    }
+  }
+
+  @Test
+  public void shouldRejectNonConsecutiveBlocks() throws IOException {
+    try (final AncientBlockStore store = AncientBlockStore.open(directory, MAX_SEGMENT_SIZE)) {
+      appendBlocks(store, 0, 2);
+
+      assertThatThrownBy(() -> store.append(3, Bytes.EMPTY, Bytes.EMPTY, Bytes.EMPTY, Bytes.EMPTY))
+          .isInstanceOf(IllegalArgumentException.class);
+      assertThat(store.getNextBlockNumber()).isEqualTo(2);
+    }
+  }
+
+  private static void appendBlocks(
+      final AncientBlockStore store, final long from, final int count) {
+    for (long number = from; number < from + count; number++) {
+      store.append(number, header(number), body(number), receipts(number), difficulty(number));
+    }
+  }
+
+  private static void assertBlock(final AncientBlockStore store, final long number) {
+    assertThat(store.getBlockHeader(number)).contains(header(number));
+    assertThat(store.getBlockBody(number)).contains(body(number));
+    assertThat(store.getTransactionReceipts(number)).contains(receipts(number));
+    assertThat(store.getTotalDifficulty(number)).contains(difficulty(number));
+  }
+
+  private static Bytes header(final long number) {
+    return Bytes.concatenate(Bytes.of(1), Bytes.ofUnsignedLong(number));
+  }
+
+  private static Bytes body(final long number) {
+    return Bytes.concatenate(Bytes.of(2), Bytes.ofUnsignedLong(number), Bytes.wrap(new byte[32]));
+  }
+
+  private static Bytes receipts(final long number) {
+    return Bytes.concatenate(Bytes.of(3), Bytes.ofUnsignedLong(number));
+  }
+
+  private static Bytes difficulty(final long number) {
+    return Bytes.concatenate(Bytes.of(4), Bytes.ofUnsignedLong(number));
+  }
+}
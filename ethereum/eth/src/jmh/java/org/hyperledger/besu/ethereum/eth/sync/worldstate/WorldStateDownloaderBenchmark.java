@@ -117,6 +117,7 @@ public class WorldStateDownloaderBenchmark {
             syncConfig.getWorldStateRequestParallelism(),
             syncConfig.getWorldStateMaxRequestsWithoutProgress(),
             syncConfig.getWorldStateMinMillisBeforeStalling(),
+            syncConfig.isRingBufferPipesEnabled(),
             Clock.fixed(Instant.ofEpochSecond(1000), ZoneOffset.UTC),
             metricsSystem);
   }
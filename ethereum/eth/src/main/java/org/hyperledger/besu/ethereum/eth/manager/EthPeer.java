@@ -48,13 +48,16 @@ import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.OptionalDouble;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
+import java.util.function.ToDoubleFunction;
 import javax.annotation.Nonnull;
 
 import com.google.common.annotations.VisibleForTesting;
@@ -67,6 +70,12 @@ public class EthPeer implements Comparable<EthPeer> {
   private static final Logger LOG = LoggerFactory.getLogger(EthPeer.class);
 
   private static final int MAX_OUTSTANDING_REQUESTS = 5;
+  // Peers answering faster than the default latency can have up to this many requests in flight
+  private static final int MAX_OUTSTANDING_REQUESTS_FAST_PEER = 2 * MAX_OUTSTANDING_REQUESTS;
+  // Latency assumed until the statistics of a peer are reliable
+  static final long DEFAULT_RESPONSE_LATENCY_MILLIS = 1_000;
+  // Latency recorded for requests that timed out, matching the default request timeout
+  static final long TIMEOUT_RESPONSE_LATENCY_MILLIS = 5_000;
 
   private PeerConnection connection;
 
@@ -156,17 +165,19 @@ public class EthPeer implements Comparable<EthPeer> {
         Map.ofEntries(
             Map.entry(
                 EthPV62.GET_BLOCK_HEADERS,
-                new RequestManager(this, supportsRequestId, protocolName)),
+                new RequestManager(this, supportsRequestId, protocolName, clock)),
             Map.entry(
                 EthPV62.GET_BLOCK_BODIES,
-                new RequestManager(this, supportsRequestId, protocolName)),
+                new RequestManager(this, supportsRequestId, protocolName, clock)),
             Map.entry(
-                EthPV63.GET_RECEIPTS, new RequestManager(this, supportsRequestId, protocolName)),
+                EthPV63.GET_RECEIPTS,
+                new RequestManager(this, supportsRequestId, protocolName, clock)),
             Map.entry(
-                EthPV63.GET_NODE_DATA, new RequestManager(this, supportsRequestId, protocolName)),
+                EthPV63.GET_NODE_DATA,
+                new RequestManager(this, supportsRequestId, protocolName, clock)),
             Map.entry(
                 EthPV65.GET_POOLED_TRANSACTIONS,
-                new RequestManager(this, supportsRequestId, protocolName))));
+                new RequestManager(this, supportsRequestId, protocolName, clock))));
   }
 
   private void initSnapRequestManagers() {
@@ -174,10 +185,16 @@ public class EthPeer implements Comparable<EthPeer> {
     requestManagers.put(
         SnapProtocol.NAME,
         Map.ofEntries(
-            Map.entry(SnapV1.GET_ACCOUNT_RANGE, new RequestManager(this, true, SnapProtocol.NAME)),
-            Map.entry(SnapV1.GET_STORAGE_RANGE, new RequestManager(this, true, SnapProtocol.NAME)),
-            Map.entry(SnapV1.GET_BYTECODES, new RequestManager(this, true, SnapProtocol.NAME)),
-            Map.entry(SnapV1.GET_TRIE_NODES, new RequestManager(this, true, SnapProtocol.NAME))));
+            Map.entry(
+                SnapV1.GET_ACCOUNT_RANGE,
+                new RequestManager(this, true, SnapProtocol.NAME, clock)),
+            Map.entry(
+                SnapV1.GET_STORAGE_RANGE,
+                new RequestManager(this, true, SnapProtocol.NAME, clock)),
+            Map.entry(
+                SnapV1.GET_BYTECODES, new RequestManager(this, true, SnapProtocol.NAME, clock)),
+            Map.entry(
+                SnapV1.GET_TRIE_NODES, new RequestManager(this, true, SnapProtocol.NAME, clock))));
   }
 
   public void markValidated(final PeerValidator validator) {
@@ -211,6 +228,9 @@ public class EthPeer implements Comparable<EthPeer> {
 
   public void recordRequestTimeout(final int requestCode) {
     LOG.debug("Timed out while waiting for response from peer {}", this);
+    getRequestManagerForRequest(requestCode)
+        .map(RequestManager::getResponseStatistics)
+        .ifPresent(statistics -> statistics.recordTimeout(TIMEOUT_RESPONSE_LATENCY_MILLIS));
     reputation.recordRequestTimeout(requestCode).ifPresent(this::disconnect);
   }
 
@@ -439,6 +459,18 @@ public class EthPeer implements Comparable<EthPeer> {
     return Optional.empty();
   }
 
+  private Optional<RequestManager> getRequestManagerForRequest(final int requestCode) {
+    // Request codes are distinct across the eth and snap protocols, start with the main protocol
+    return Optional.ofNullable(requestManagers.get(protocolName))
+        .map(managers -> managers.get(requestCode))
+        .or(
+            () ->
+                requestManagers.values().stream()
+                    .map(managers -> managers.get(requestCode))
+                    .filter(Objects::nonNull)
+                    .findFirst());
+  }
+
   public Map<Integer, AtomicInteger> timeoutCounts() {
     return reputation.timeoutCounts();
   }
@@ -570,7 +602,103 @@ public class EthPeer implements Comparable<EthPeer> {
   }
 
   public boolean hasAvailableRequestCapacity() {
-    return outstandingRequests() < MAX_OUTSTANDING_REQUESTS;
+    return outstandingRequests() < maxOutstandingRequests();
+  }
+
+  /**
+   * Returns how many requests can be in flight to this peer at the same time. Peers answering
+   * faster than the default latency are allowed proportionally more requests, up to twice as many.
+   *
+   * @return the maximum number of outstanding requests
+   */
+  public int maxOutstandingRequests() {
+    final double latency = estimatedResponseLatencyMillis();
+    final long scaled =
+        Math.round(MAX_OUTSTANDING_REQUESTS * DEFAULT_RESPONSE_LATENCY_MILLIS / latency);
+    return (int)
+        Math.max(MAX_OUTSTANDING_REQUESTS, Math.min(MAX_OUTSTANDING_REQUESTS_FAST_PEER, scaled));
+  }
+
+  /**
+   * Estimates the latency of responses of this peer to the given type of request, falling back to
+   * its latency across all requests when there is not enough data for this type of request.
+   *
+   * @param requestCode the code of the request message
+   * @return the estimated latency in milliseconds
+   */
+  public double estimatedResponseLatencyMillis(final int requestCode) {
+    return getRequestManagerForRequest(requestCode)
+        .map(RequestManager::getResponseStatistics)
+        .filter(ResponseStatistics::isReliable)
+        .map(ResponseStatistics::getLatencyMillis)
+        .orElseGet(this::estimatedResponseLatencyMillis);
+  }
+
+  /**
+   * Estimates the latency of responses of this peer across all types of request, weighting each
+   * type by the number of responses received.
+   *
+   * @return the estimated latency in milliseconds, or the default latency if not enough responses
+   *     have been received
+   */
+  public double estimatedResponseLatencyMillis() {
+    return measuredResponseLatencyMillis().orElse(DEFAULT_RESPONSE_LATENCY_MILLIS);
+  }
+
+  /**
+   * Returns the measured latency of responses of this peer across all types of request.
+   *
+   * @return the latency in milliseconds, or empty if not enough responses have been received
+   */
+  public OptionalDouble measuredResponseLatencyMillis() {
+    return weightedAverage(ResponseStatistics::getLatencyMillis);
+  }
+
+  /**
+   * Returns the measured throughput of responses of this peer across all types of request.
+   *
+   * @return the throughput in bytes per second, or empty if not enough responses have been
+   *     received
+   */
+  public OptionalDouble measuredResponseThroughput() {
+    return weightedAverage(ResponseStatistics::getBytesPerSecond);
+  }
+
+  /**
+   * Estimates when a new request of the given type sent now to this peer would be answered, taking
+   * into account the requests already in flight.
+   *
+   * @param requestCode the code of the request message
+   * @return the expected time to complete the request, in milliseconds
+   */
+  public double expectedCompletionMillis(final int requestCode) {
+    return (outstandingRequests() + 1) * estimatedResponseLatencyMillis(requestCode);
+  }
+
+  /**
+   * Estimates when a new request sent now to this peer would be answered, taking into account the
+   * requests already in flight.
+   *
+   * @return the expected time to complete the request, in milliseconds
+   */
+  public double expectedCompletionMillis() {
+    return (outstandingRequests() + 1) * estimatedResponseLatencyMillis();
+  }
+
+  private OptionalDouble weightedAverage(final ToDoubleFunction<ResponseStatistics> value) {
+    double total = 0;
+    long samples = 0;
+    for (final Map<Integer, RequestManager> managers : requestManagers.values()) {
+      for (final RequestManager requestManager : managers.values()) {
+        final ResponseStatistics statistics = requestManager.getResponseStatistics();
+        final long count = statistics.getSampleCount();
+        total += count * value.applyAsDouble(statistics);
+        samples += count;
+      }
+    }
+    return samples < ResponseStatistics.MIN_RELIABLE_SAMPLES
+        ? OptionalDouble.empty()
+        : OptionalDouble.of(total / samples);
   }
 
   public Set<Capability> getAgreedCapabilities() {
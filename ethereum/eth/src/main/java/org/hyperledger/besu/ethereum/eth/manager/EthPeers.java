@@ -35,9 +35,11 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalDouble;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -66,6 +68,10 @@ public class EthPeers {
   public static final Comparator<EthPeer> LEAST_TO_MOST_BUSY =
       Comparator.comparing(EthPeer::outstandingRequests)
           .thenComparing(EthPeer::getLastRequestTimestamp);
+
+  public static final Comparator<EthPeer> FASTEST_EXPECTED_COMPLETION =
+      Comparator.comparingDouble((final EthPeer p) -> p.expectedCompletionMillis())
+          .thenComparing(LEAST_TO_MOST_BUSY);
   public static final int NODE_ID_LENGTH = 64;
 
   private final Map<Bytes, EthPeer> completeConnections = new ConcurrentHashMap<>();
@@ -134,6 +140,16 @@ public class EthPeers {
         "pending_peer_requests_current",
         "Number of peer requests currently pending because peers are busy",
         pendingRequests::size);
+    metricsSystem.createGauge(
+        BesuMetricCategory.PEERS,
+        "response_latency_milliseconds",
+        "Average of the measured response latency of the peers ready for requests",
+        () -> averageOverAvailablePeers(EthPeer::measuredResponseLatencyMillis));
+    metricsSystem.createGauge(
+        BesuMetricCategory.PEERS,
+        "response_throughput_bytes_per_second",
+        "Average of the measured response throughput of the peers ready for requests",
+        () -> averageOverAvailablePeers(EthPeer::measuredResponseThroughput));
     metricsSystem.createIntegerGauge(
         BesuMetricCategory.ETHEREUM,
         "peer_limit",
@@ -144,6 +160,15 @@ public class EthPeers {
             BesuMetricCategory.PEERS, "connected_total", "Total number of peers connected");
   }
 
+  private double averageOverAvailablePeers(final Function<EthPeer, OptionalDouble> value) {
+    return streamAvailablePeers()
+        .map(value)
+        .filter(OptionalDouble::isPresent)
+        .mapToDouble(OptionalDouble::getAsDouble)
+        .average()
+        .orElse(0);
+  }
+
   public void registerNewConnection(
       final PeerConnection newConnection, final List<PeerValidator> peerValidators) {
     final Bytes id = newConnection.getPeer().getId();
@@ -231,8 +256,37 @@ public class EthPeers {
     return completeConnections.get(peerId);
   }
 
+  /**
+   * Returns a comparator ordering peers from the one expected to answer a given type of request
+   * first, to the one expected to answer it last.
+   *
+   * @param requestCode the code of the request message
+   * @return the comparator
+   */
+  public static Comparator<EthPeer> fastestExpectedCompletion(final int requestCode) {
+    return Comparator.comparingDouble((final EthPeer p) -> p.expectedCompletionMillis(requestCode))
+        .thenComparing(LEAST_TO_MOST_BUSY);
+  }
+
   public PendingPeerRequest executePeerRequest(
       final PeerRequest request, final long minimumBlockNumber, final Optional<EthPeer> peer) {
+    return executePeerRequest(request, minimumBlockNumber, peer, FASTEST_EXPECTED_COMPLETION);
+  }
+
+  public PendingPeerRequest executePeerRequest(
+      final PeerRequest request,
+      final long minimumBlockNumber,
+      final Optional<EthPeer> peer,
+      final int requestCode) {
+    return executePeerRequest(
+        request, minimumBlockNumber, peer, fastestExpectedCompletion(requestCode));
+  }
+
+  private PendingPeerRequest executePeerRequest(
+      final PeerRequest request,
+      final long minimumBlockNumber,
+      final Optional<EthPeer> peer,
+      final Comparator<EthPeer> peerPreference) {
     final long actualMinBlockNumber;
     if (minimumBlockNumber > 0 && currentProtocolSpecSupplier.get().isPoS()) {
       // if on PoS do not enforce a min block number, since the estimated chain height of the remote
@@ -242,7 +296,7 @@ public class EthPeers {
       actualMinBlockNumber = minimumBlockNumber;
     }
     final PendingPeerRequest pendingPeerRequest =
-        new PendingPeerRequest(this, request, actualMinBlockNumber, peer);
+        new PendingPeerRequest(this, request, actualMinBlockNumber, peer, peerPreference);
     synchronized (this) {
       if (!pendingPeerRequest.attemptExecution()) {
         pendingRequests.add(pendingPeerRequest);
@@ -16,10 +16,8 @@ package org.hyperledger.besu.ethereum.eth.manager;
 
 import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.ethereum.chain.Blockchain;
-import org.hyperledger.besu.ethereum.core.BlockBody;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.core.Transaction;
-import org.hyperledger.besu.ethereum.core.TransactionReceipt;
 import org.hyperledger.besu.ethereum.eth.EthProtocolConfiguration;
 import org.hyperledger.besu.ethereum.eth.messages.BlockBodiesMessage;
 import org.hyperledger.besu.ethereum.eth.messages.BlockHeadersMessage;
@@ -38,15 +36,19 @@ import org.hyperledger.besu.ethereum.eth.transactions.TransactionPool;
 import org.hyperledger.besu.ethereum.p2p.rlpx.wire.MessageData;
 import org.hyperledger.besu.ethereum.rlp.BytesValueRLPOutput;
 import org.hyperledger.besu.ethereum.rlp.RLP;
+import org.hyperledger.besu.ethereum.rlp.RLPInput;
 import org.hyperledger.besu.ethereum.worldstate.WorldStateArchive;
 
 import java.util.Collections;
-import java.util.List;
 import java.util.Optional;
 
+import com.google.common.annotations.VisibleForTesting;
 import org.apache.tuweni.bytes.Bytes;
 
 class EthServer {
+  // Status or state root, cumulative gas used, logs bloom and logs
+  private static final int RECEIPT_FIELD_COUNT = 4;
+
   private final Blockchain blockchain;
   private final WorldStateArchive worldStateArchive;
   private final TransactionPool transactionPool;
@@ -123,50 +125,49 @@ class EthServer {
     final int skip = getHeaders.skip();
     final int maxHeaders = Math.min(requestLimit, getHeaders.maxHeaders());
     final boolean reversed = getHeaders.reverse();
-    final BlockHeader firstHeader;
+    final Bytes firstEncodedHeader;
+    final long firstNumber;
     // Query first header by hash or number depending on request arguments
     if (hash.isPresent()) {
       final Hash startHash = hash.get();
-      firstHeader = blockchain.getBlockHeader(startHash).orElse(null);
+      firstEncodedHeader = blockchain.getBlockHeaderRlp(startHash).orElse(null);
+      firstNumber = firstEncodedHeader == null ? 0 : readBlockNumber(firstEncodedHeader);
     } else {
-      final long firstNumber = getHeaders.blockNumber().getAsLong();
-      firstHeader = blockchain.getBlockHeader(firstNumber).orElse(null);
+      firstNumber = getHeaders.blockNumber().getAsLong();
+      firstEncodedHeader = blockchain.getBlockHeaderRlp(firstNumber).orElse(null);
     }
 
     // The initial header was not found, nothing to return
-    if (firstHeader == null) {
+    if (firstEncodedHeader == null) {
       return BlockHeadersMessage.create(Collections.emptyList());
     }
 
-    // Encode the first header
+    // Headers are stored in their wire encoding, so they are copied to the response as is
     int responseSizeEstimate = RLP.MAX_PREFIX_SIZE;
     final BytesValueRLPOutput rlp = new BytesValueRLPOutput();
     rlp.startList();
-    final Bytes firstEncodedHeader = RLP.encode(firstHeader::writeTo);
     if (responseSizeEstimate + firstEncodedHeader.size() > maxMessageSize) {
       return BlockHeadersMessage.create(Collections.emptyList());
     }
     responseSizeEstimate += firstEncodedHeader.size();
     rlp.writeRaw(firstEncodedHeader);
-    // Collect and encode the remaining headers
+    // Collect the remaining headers
     final long numberDelta = reversed ? -(skip + 1) : (skip + 1);
     for (int i = 1; i < maxHeaders; i++) {
-      final long blockNumber = firstHeader.getNumber() + i * numberDelta;
+      final long blockNumber = firstNumber + i * numberDelta;
       if (blockNumber < BlockHeader.GENESIS_BLOCK_NUMBER) {
         break;
       }
-      final Optional<BlockHeader> maybeHeader = blockchain.getBlockHeader(blockNumber);
-      if (maybeHeader.isEmpty()) {
+      final Optional<Bytes> maybeEncodedHeader = blockchain.getBlockHeaderRlp(blockNumber);
+      if (maybeEncodedHeader.isEmpty()) {
         break;
       }
-      final BytesValueRLPOutput headerRlp = new BytesValueRLPOutput();
-      maybeHeader.get().writeTo(headerRlp);
-      final int encodedSize = headerRlp.encodedSize();
-      if (responseSizeEstimate + encodedSize > maxMessageSize) {
+      final Bytes encodedHeader = maybeEncodedHeader.get();
+      if (responseSizeEstimate + encodedHeader.size() > maxMessageSize) {
         break;
       }
-      responseSizeEstimate += encodedSize;
-      rlp.writeRaw(headerRlp.encoded());
+      responseSizeEstimate += encodedHeader.size();
+      rlp.writeRaw(encodedHeader);
     }
     rlp.endList();
 
@@ -190,20 +191,17 @@ class EthServer {
         break;
       }
       count++;
-      final Optional<BlockBody> maybeBody = blockchain.getBlockBody(hash);
-      if (maybeBody.isEmpty()) {
+      final Optional<Bytes> maybeEncodedBody = blockchain.getBlockBodyRlp(hash);
+      if (maybeEncodedBody.isEmpty()) {
         continue;
       }
 
-      final BlockBody body = maybeBody.get();
-      final BytesValueRLPOutput bodyOutput = new BytesValueRLPOutput();
-      body.writeWrappedBodyTo(bodyOutput);
-      final int encodedSize = bodyOutput.encodedSize();
-      if (responseSizeEstimate + encodedSize > maxMessageSize) {
+      final Bytes encodedBody = maybeEncodedBody.get();
+      if (responseSizeEstimate + encodedBody.size() > maxMessageSize) {
         break;
       }
-      responseSizeEstimate += encodedSize;
-      rlp.writeRaw(bodyOutput.encoded());
+      responseSizeEstimate += encodedBody.size();
+      rlp.writeRaw(encodedBody);
     }
     rlp.endList();
     return BlockBodiesMessage.createUnsafe(rlp.encoded());
@@ -226,27 +224,94 @@ class EthServer {
         break;
       }
       count++;
-      final Optional<List<TransactionReceipt>> maybeReceipts = blockchain.getTxReceipts(hash);
-      if (maybeReceipts.isEmpty()) {
+      final Optional<Bytes> maybeEncodedReceipts = blockchain.getTxReceiptsRlp(hash);
+      if (maybeEncodedReceipts.isEmpty()) {
         continue;
       }
-      final BytesValueRLPOutput encodedReceipts = new BytesValueRLPOutput();
-      encodedReceipts.startList();
-      maybeReceipts.get().forEach(r -> r.writeTo(encodedReceipts));
-      encodedReceipts.endList();
-      final int encodedSize = encodedReceipts.encodedSize();
-      if (responseSizeEstimate + encodedSize > maxMessageSize) {
+      final Bytes encodedReceipts = withoutRevertReasons(maybeEncodedReceipts.get());
+      if (responseSizeEstimate + encodedReceipts.size() > maxMessageSize) {
         break;
       }
 
-      responseSizeEstimate += encodedSize;
-      rlp.writeRaw(encodedReceipts.encoded());
+      responseSizeEstimate += encodedReceipts.size();
+      rlp.writeRaw(encodedReceipts);
     }
     rlp.endList();
 
     return ReceiptsMessage.createUnsafe(rlp.encoded());
   }
 
+  private static long readBlockNumber(final Bytes encodedHeader) {
+    final RLPInput input = RLP.input(encodedHeader);
+    input.enterList();
+    // Skip parent hash, ommers hash, coinbase, state, transactions and receipts roots, logs bloom
+    // and difficulty
+    for (int i = 0; i < 8; i++) {
+      input.skipNext();
+    }
+    return input.readLongScalar();
+  }
+
+  /**
+   * Receipts may be stored with their revert reason, which is not part of the wire encoding. The
+   * stored receipts are returned as is when none of them has a revert reason, otherwise they are
+   * re-framed without it, copying the remaining fields without decoding them.
+   *
+   * @param encodedReceipts the stored RLP list of receipts for a block
+   * @return the RLP list of receipts in their wire encoding
+   */
+  @VisibleForTesting
+  static Bytes withoutRevertReasons(final Bytes encodedReceipts) {
+    if (!hasRevertReason(encodedReceipts)) {
+      return encodedReceipts;
+    }
+    final RLPInput input = RLP.input(encodedReceipts);
+    final BytesValueRLPOutput output = new BytesValueRLPOutput();
+    input.enterList();
+    output.startList();
+    while (!input.isEndOfCurrentList()) {
+      if (input.nextIsList()) {
+        writeReceiptFields(input, output);
+      } else {
+        // Typed receipts are the type byte followed by the receipt list
+        final Bytes typedReceipt = input.readBytes();
+        final BytesValueRLPOutput receiptOutput = new BytesValueRLPOutput();
+        writeReceiptFields(RLP.input(typedReceipt.slice(1)), receiptOutput);
+        output.writeBytes(Bytes.concatenate(typedReceipt.slice(0, 1), receiptOutput.encoded()));
+      }
+    }
+    input.leaveList();
+    output.endList();
+    return output.encoded();
+  }
+
+  private static boolean hasRevertReason(final Bytes encodedReceipts) {
+    final RLPInput input = RLP.input(encodedReceipts);
+    input.enterList();
+    while (!input.isEndOfCurrentList()) {
+      final RLPInput receipt =
+          input.nextIsList() ? input.readAsRlp() : RLP.input(input.readBytes().slice(1));
+      receipt.enterList();
+      for (int i = 0; i < RECEIPT_FIELD_COUNT; i++) {
+        receipt.skipNext();
+      }
+      if (!receipt.isEndOfCurrentList()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static void writeReceiptFields(final RLPInput input, final BytesValueRLPOutput output) {
+    input.enterList();
+    output.startList();
+    for (int i = 0; i < RECEIPT_FIELD_COUNT; i++) {
+      output.writeRaw(input.readAsRlp().raw());
+    }
+    input.leaveListLenient();
+    output.endList();
+  }
+
   static MessageData constructGetPooledTransactionsResponse(
       final TransactionPool transactionPool,
       final MessageData message,
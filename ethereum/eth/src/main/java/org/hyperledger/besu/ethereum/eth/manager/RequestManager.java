@@ -20,6 +20,7 @@ import org.hyperledger.besu.ethereum.p2p.rlpx.wire.messages.DisconnectMessage;
 import org.hyperledger.besu.ethereum.rlp.RLPException;
 
 import java.math.BigInteger;
+import java.time.Clock;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
@@ -39,17 +40,30 @@ public class RequestManager {
   private final AtomicLong requestIdCounter =
       new AtomicLong(1); // some clients have issues encoding zero
   private final Map<BigInteger, ResponseStream> responseStreams = new ConcurrentHashMap<>();
+  // When each outstanding request was sent, to measure the latency of responses
+  private final Map<BigInteger, Long> requestTimestamps = new ConcurrentHashMap<>();
   private final EthPeer peer;
   private final boolean supportsRequestId;
   private final String protocolName;
+  private final Clock clock;
+  private final ResponseStatistics responseStatistics = new ResponseStatistics();
 
   private final AtomicInteger outstandingRequests = new AtomicInteger(0);
 
   public RequestManager(
       final EthPeer peer, final boolean supportsRequestId, final String protocolName) {
+    this(peer, supportsRequestId, protocolName, Clock.systemUTC());
+  }
+
+  public RequestManager(
+      final EthPeer peer,
+      final boolean supportsRequestId,
+      final String protocolName,
+      final Clock clock) {
     this.peer = peer;
     this.supportsRequestId = supportsRequestId;
     this.protocolName = protocolName;
+    this.clock = clock;
   }
 
   public int outstandingRequests() {
@@ -60,11 +74,16 @@ public class RequestManager {
     return protocolName;
   }
 
+  public ResponseStatistics getResponseStatistics() {
+    return responseStatistics;
+  }
+
   public ResponseStream dispatchRequest(final RequestSender sender, final MessageData messageData)
       throws PeerNotConnected {
     outstandingRequests.incrementAndGet();
     final BigInteger requestId = BigInteger.valueOf(requestIdCounter.getAndIncrement());
     final ResponseStream stream = createStream(requestId);
+    requestTimestamps.put(requestId, clock.millis());
     sender.send(supportsRequestId ? messageData.wrapMessageData(requestId) : messageData);
     return stream;
   }
@@ -79,13 +98,19 @@ public class RequestManager {
             ethMessage.getData().unwrapMessageData();
         Optional.ofNullable(responseStreams.get(requestIdAndEthMessage.getKey()))
             .ifPresentOrElse(
-                responseStream -> responseStream.processMessage(requestIdAndEthMessage.getValue()),
+                responseStream -> {
+                  recordResponse(
+                      requestTimestamps.get(requestIdAndEthMessage.getKey()), ethMessage);
+                  responseStream.processMessage(requestIdAndEthMessage.getValue());
+                },
                 // Consider incorrect requestIds to be a useless response; too
                 // many of these and we will disconnect.
                 () -> peer.recordUselessResponse("Request ID incorrect"));
 
       } else {
-        // otherwise iterate through all of them
+        // otherwise iterate through all of them, the response being for the oldest request
+        recordResponse(
+            requestTimestamps.values().stream().min(Long::compare).orElse(null), ethMessage);
         streams.forEach(stream -> stream.processMessage(ethMessage.getData()));
       }
     } catch (final RLPException e) {
@@ -108,6 +133,13 @@ public class RequestManager {
     closeOutstandingStreams(responseStreams.values());
   }
 
+  private void recordResponse(final Long requestTimestamp, final EthMessage ethMessage) {
+    if (requestTimestamp != null) {
+      responseStatistics.recordResponse(
+          clock.millis() - requestTimestamp, ethMessage.getData().getSize());
+    }
+  }
+
   private ResponseStream createStream(final BigInteger requestId) {
     final ResponseStream stream = new ResponseStream(peer, () -> deregisterStream(requestId));
     responseStreams.put(requestId, stream);
@@ -121,6 +153,7 @@ public class RequestManager {
 
   private void deregisterStream(final BigInteger id) {
     responseStreams.remove(id);
+    requestTimestamps.remove(id);
   }
 
   @FunctionalInterface
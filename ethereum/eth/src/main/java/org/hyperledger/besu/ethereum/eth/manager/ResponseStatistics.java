@@ -0,0 +1,94 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.manager;
+
+/**
+ * Tracks how fast a peer answers one type of request, as exponentially weighted moving averages of
+ * the latency and the throughput of its responses.
+ *
+ * <p>Recent responses weigh more than older ones, so that the estimates follow changes in the load
+ * of the peer and of the network. Estimates are only considered reliable once a few responses
+ * have been received.
+ */
+public class ResponseStatistics {
+  // Weight of each new sample in the moving averages.
+  static final double SMOOTHING_FACTOR = 0.2;
+  static final int MIN_RELIABLE_SAMPLES = 3;
+
+  private long samples;
+  private double latencyMillis;
+  private double bytesPerSecond;
+
+  /**
+   * Records a response.
+   *
+   * @param latencyMillis the time elapsed between sending the request and receiving the response
+   * @param bytes the size of the response
+   */
+  public synchronized void recordResponse(final long latencyMillis, final long bytes) {
+    // Responses received within the same millisecond still take some time.
+    final double latency = Math.max(latencyMillis, 1);
+    final double throughput = bytes * 1000.0 / latency;
+    if (samples == 0) {
+      this.latencyMillis = latency;
+      this.bytesPerSecond = throughput;
+    } else {
+      this.latencyMillis += SMOOTHING_FACTOR * (latency - this.latencyMillis);
+      this.bytesPerSecond += SMOOTHING_FACTOR * (throughput - this.bytesPerSecond);
+    }
+    samples++;
+  }
+
+  /**
+   * Records a request that timed out, as a response without data received after the timeout.
+   *
+   * @param timeoutMillis the timeout of the request
+   */
+  public void recordTimeout(final long timeoutMillis) {
+    recordResponse(timeoutMillis, 0);
+  }
+
+  public synchronized long getSampleCount() {
+    return samples;
+  }
+
+  public synchronized boolean isReliable() {
+    return samples >= MIN_RELIABLE_SAMPLES;
+  }
+
+  /**
+   * Returns the average latency of responses.
+   *
+   * @return the average latency in milliseconds, or 0 if no response has been received
+   */
+  public synchronized double getLatencyMillis() {
+    return latencyMillis;
+  }
+
+  /**
+   * Returns the average throughput of responses.
+   *
+   * @return the average throughput in bytes per second, or 0 if no response has been received
+   */
+  public synchronized double getBytesPerSecond() {
+    return bytesPerSecond;
+  }
+
+  @Override
+  public synchronized String toString() {
+    return String.format(
+        "ResponseStatistics %.0fms %.0fB/s (%d samples)", latencyMillis, bytesPerSecond, samples);
+  }
+}
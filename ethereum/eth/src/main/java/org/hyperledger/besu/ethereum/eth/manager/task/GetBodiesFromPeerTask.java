@@ -36,10 +36,13 @@ import org.hyperledger.besu.plugin.services.MetricsSystem;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.apache.tuweni.bytes.Bytes32;
@@ -110,32 +113,40 @@ public class GetBodiesFromPeerTask extends AbstractPeerRequestTask<List<Block>>
     }
 
     final BlockBodiesMessage bodiesMessage = BlockBodiesMessage.readFrom(message);
-    final List<BlockBody> bodies = bodiesMessage.bodies(protocolSchedule);
-    if (bodies.size() == 0) {
+    // bodies are decoded one at a time so that we stop as soon as the response doesn't match
+    final Iterator<BlockBody> bodies = bodiesMessage.bodiesIterator(protocolSchedule);
+    if (!bodies.hasNext()) {
       // Message contains no data - nothing to do
       LOG.debug("Message contains no data. Peer: {}", peer);
       return Optional.empty();
-    } else if (bodies.size() > headers.size()) {
-      // Message doesn't match our request - nothing to do
-      LOG.debug("Message doesn't match our request. Peer: {}", peer);
-      return Optional.empty();
     }
 
     final List<Block> blocks = new ArrayList<>(headers.size());
-    for (final BlockBody body : bodies) {
-      final List<BlockHeader> headers = bodyToHeaders.get(new BodyIdentifier(body));
+    final Set<BodyIdentifier> matchedBodies = new HashSet<>();
+    int bodyCount = 0;
+    while (bodies.hasNext()) {
+      if (++bodyCount > headers.size()) {
+        // Message doesn't match our request - nothing to do
+        LOG.debug("Message doesn't match our request. Peer: {}", peer);
+        return Optional.empty();
+      }
+      final BlockBody body = bodies.next();
+      final BodyIdentifier bodyIdentifier = new BodyIdentifier(body);
+      final List<BlockHeader> headers = bodyToHeaders.get(bodyIdentifier);
       if (headers == null) {
         // This message contains unrelated bodies - exit
         LOG.debug("This message contains unrelated bodies. Peer: {}", peer);
         return Optional.empty();
       }
-      headers.forEach(h -> blocks.add(new Block(h, body)));
-      // Clear processed headers
-      headers.clear();
+      if (matchedBodies.add(bodyIdentifier)) {
+        headers.forEach(h -> blocks.add(new Block(h, body)));
+      }
     }
+    // Clear processed headers, only once the whole response has been accepted
+    matchedBodies.forEach(bodyIdentifier -> bodyToHeaders.get(bodyIdentifier).clear());
     LOG.atTrace()
         .setMessage("Associated {} bodies with {} headers to get {} blocks with these hashes: {}")
-        .addArgument(bodies.size())
+        .addArgument(bodyCount)
         .addArgument(headers.size())
         .addArgument(blocks.size())
         .addArgument(() -> blocks.stream().map(Block::toLogString).toList())
@@ -23,6 +23,7 @@ import org.hyperledger.besu.ethereum.p2p.rlpx.wire.MessageData;
 import org.hyperledger.besu.ethereum.rlp.BytesValueRLPInput;
 import org.hyperledger.besu.ethereum.rlp.BytesValueRLPOutput;
 
+import java.util.Iterator;
 import java.util.List;
 
 import org.apache.tuweni.bytes.Bytes;
@@ -73,4 +74,18 @@ public final class BlockBodiesMessage extends AbstractMessageData {
     return new BytesValueRLPInput(data, false)
         .readList(rlp -> BlockBody.readWrappedBodyFrom(rlp, blockHeaderFunctions, true));
   }
+
+  /**
+   * Decodes the bodies of this message one at a time, as they are requested from the returned
+   * iterator, so that a caller can stop decoding as soon as a body is rejected.
+   *
+   * @param protocolSchedule the protocol schedule used to compute the header functions
+   * @return an iterator over the block bodies of this message
+   */
+  public Iterator<BlockBody> bodiesIterator(final ProtocolSchedule protocolSchedule) {
+    final BlockHeaderFunctions blockHeaderFunctions =
+        ScheduleBasedBlockHeaderFunctions.create(protocolSchedule);
+    return new BytesValueRLPInput(data, false)
+        .readListLazily(rlp -> BlockBody.readWrappedBodyFrom(rlp, blockHeaderFunctions, true));
+  }
 }
@@ -0,0 +1,187 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.sync;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import org.hyperledger.besu.metrics.BesuMetricCategory;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+
+import com.google.common.annotations.VisibleForTesting;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Limits the number of requests a download pipeline stage keeps in flight, adjusting the limit
+ * based on how long tracked requests take to complete.
+ *
+ * <p>The limit starts at the minimum and grows by one for each successful request until the first
+ * sign of congestion, then by roughly one per limit's worth of successful requests. When a request
+ * fails, or the smoothed latency rises above twice the lowest latency recently observed, the limit
+ * is cut by a quarter. Requests that were started before a cut are ignored so a single slow burst
+ * only reduces the limit once.
+ *
+ * <p>Use {@link #track(Function)} to wrap the stage's operation and pass this limiter as the
+ * concurrency supplier of the stage.
+ */
+public class AdaptiveConcurrencyLimiter implements IntSupplier {
+  private static final Logger LOG = LoggerFactory.getLogger(AdaptiveConcurrencyLimiter.class);
+
+  @VisibleForTesting static final int LATENCY_WINDOW_SIZE = 100;
+  @VisibleForTesting static final double LATENCY_TOLERANCE = 2.0;
+  @VisibleForTesting static final double BACKOFF_RATIO = 0.75;
+  private static final double LATENCY_SMOOTHING = 0.2;
+
+  private final String name;
+  private final int minLimit;
+  private final int maxLimit;
+  private final boolean adaptive;
+  private final LongSupplier nanoTimeSource;
+
+  private volatile int currentLimit;
+  private double limit;
+  private boolean slowStart = true;
+  private long lastDecreaseTime;
+  private long baselineLatency = Long.MAX_VALUE;
+  private long windowMinLatency = Long.MAX_VALUE;
+  private int windowSamples;
+  private double smoothedLatency = -1;
+
+  public AdaptiveConcurrencyLimiter(
+      final String name,
+      final int minLimit,
+      final int maxLimit,
+      final boolean adaptive,
+      final MetricsSystem metricsSystem) {
+    this(name, minLimit, maxLimit, adaptive, metricsSystem, System::nanoTime);
+  }
+
+  @VisibleForTesting
+  AdaptiveConcurrencyLimiter(
+      final String name,
+      final int minLimit,
+      final int maxLimit,
+      final boolean adaptive,
+      final MetricsSystem metricsSystem,
+      final LongSupplier nanoTimeSource) {
+    checkArgument(minLimit > 0, "minLimit must be positive");
+    checkArgument(minLimit <= maxLimit, "minLimit must not be greater than maxLimit");
+    this.name = name;
+    this.minLimit = minLimit;
+    this.maxLimit = maxLimit;
+    this.adaptive = adaptive;
+    this.nanoTimeSource = nanoTimeSource;
+    this.limit = adaptive ? minLimit : maxLimit;
+    this.currentLimit = (int) limit;
+    this.lastDecreaseTime = nanoTimeSource.getAsLong();
+    metricsSystem.createIntegerGauge(
+        BesuMetricCategory.SYNCHRONIZER,
+        name + "_concurrency_limit",
+        "Current number of concurrent requests allowed for the " + name + " stage",
+        this);
+  }
+
+  @Override
+  public int getAsInt() {
+    return currentLimit;
+  }
+
+  /**
+   * Wraps an asynchronous operation so the completion of each request it starts adjusts the limit.
+   * The returned future is the one created by the operation, so cancelling it still reaches the
+   * underlying request. When adaptive limiting is disabled the operation is returned unchanged.
+   *
+   * @param operation the operation starting a request
+   * @param <I> the type of the operation input
+   * @param <O> the type of the operation result
+   * @return the operation with its requests tracked by this limiter
+   */
+  public <I, O> Function<I, CompletableFuture<O>> track(
+      final Function<I, CompletableFuture<O>> operation) {
+    if (!adaptive) {
+      return operation;
+    }
+    return input -> {
+      final long startTime = nanoTimeSource.getAsLong();
+      final CompletableFuture<O> result = operation.apply(input);
+      result.whenComplete((r, error) -> onComplete(startTime, error));
+      return result;
+    };
+  }
+
+  private synchronized void onComplete(final long startTime, final Throwable error) {
+    if (isCancellation(error) || startTime - lastDecreaseTime < 0) {
+      return;
+    }
+    final long now = nanoTimeSource.getAsLong();
+    if (error != null) {
+      decrease(now);
+      return;
+    }
+    final long latency = now - startTime;
+    recordLatency(latency);
+    if (smoothedLatency > baselineLatency * LATENCY_TOLERANCE) {
+      decrease(now);
+    } else if (slowStart) {
+      updateLimit(limit + 1);
+    } else {
+      updateLimit(limit + 1 / limit);
+    }
+  }
+
+  private void recordLatency(final long latency) {
+    windowMinLatency = Math.min(windowMinLatency, latency);
+    baselineLatency = Math.min(baselineLatency, latency);
+    if (++windowSamples >= LATENCY_WINDOW_SIZE) {
+      // Let the baseline follow changes in network conditions rather than keeping the best ever.
+      baselineLatency = windowMinLatency;
+      windowMinLatency = Long.MAX_VALUE;
+      windowSamples = 0;
+    }
+    smoothedLatency =
+        smoothedLatency < 0
+            ? latency
+            : smoothedLatency + LATENCY_SMOOTHING * (latency - smoothedLatency);
+  }
+
+  private void decrease(final long now) {
+    slowStart = false;
+    lastDecreaseTime = now;
+    smoothedLatency = -1;
+    updateLimit(limit * BACKOFF_RATIO);
+  }
+
+  private void updateLimit(final double newLimit) {
+    limit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+    final int previousLimit = currentLimit;
+    currentLimit = (int) limit;
+    if (previousLimit != currentLimit) {
+      LOG.trace("Concurrency limit for {} changed from {} to {}", name, previousLimit, currentLimit);
+    }
+  }
+
+  private static boolean isCancellation(final Throwable error) {
+    return error instanceof CancellationException
+        || (error instanceof CompletionException
+            && error.getCause() instanceof CancellationException);
+  }
+}
@@ -43,6 +43,7 @@ public class SynchronizerConfiguration {
   public static final int DEFAULT_DOWNLOADER_CHECKPOINT_TIMEOUTS_PERMITTED = 5;
   public static final int DEFAULT_DOWNLOADER_CHAIN_SEGMENT_SIZE = 200;
   public static final int DEFAULT_DOWNLOADER_PARALLELISM = 4;
+  public static final boolean DEFAULT_DOWNLOADER_ADAPTIVE_PARALLELISM_ENABLED = false;
   public static final int DEFAULT_TRANSACTIONS_PARALLELISM = 2;
   public static final int DEFAULT_COMPUTATION_PARALLELISM = 2;
   public static final int DEFAULT_WORLD_STATE_TASK_CACHE_SIZE =
@@ -51,11 +52,15 @@ public class SynchronizerConfiguration {
       TimeUnit.SECONDS.toMillis(60);
 
   public static final boolean DEFAULT_CHECKPOINT_POST_MERGE_ENABLED = false;
+  public static final int DEFAULT_FAST_SYNC_IMPORT_PIPELINE_DEPTH = 0;
+  public static final boolean DEFAULT_RING_BUFFER_PIPES_ENABLED = false;
+  public static final boolean DEFAULT_WORLD_STATE_TASK_SPILL_ENABLED = false;
 
   // Fast sync config
   private final int fastSyncPivotDistance;
   private final float fastSyncFullValidationRate;
   private final int fastSyncMinimumPeerCount;
+  private final int fastSyncImportPipelineDepth;
   private final int worldStateHashCountPerRequest;
   private final int worldStateRequestParallelism;
   private final int worldStateMaxRequestsWithoutProgress;
@@ -80,16 +85,20 @@ public class SynchronizerConfiguration {
   private final int downloaderCheckpointTimeoutsPermitted;
   private final int downloaderChainSegmentSize;
   private final int downloaderParallelism;
+  private final boolean downloaderAdaptiveParallelismEnabled;
   private final int transactionsParallelism;
   private final int computationParallelism;
   private final int maxTrailingPeers;
   private final long worldStateMinMillisBeforeStalling;
   private final long propagationManagerGetBlockTimeoutMillis;
+  private final boolean ringBufferPipesEnabled;
+  private final boolean worldStateTaskSpillEnabled;
 
   private SynchronizerConfiguration(
       final int fastSyncPivotDistance,
       final float fastSyncFullValidationRate,
       final int fastSyncMinimumPeerCount,
+      final int fastSyncImportPipelineDepth,
       final int worldStateHashCountPerRequest,
       final int worldStateRequestParallelism,
       final int worldStateMaxRequestsWithoutProgress,
@@ -104,14 +113,18 @@ public class SynchronizerConfiguration {
       final int downloaderCheckpointTimeoutsPermitted,
       final int downloaderChainSegmentSize,
       final int downloaderParallelism,
+      final boolean downloaderAdaptiveParallelismEnabled,
       final int transactionsParallelism,
       final int computationParallelism,
       final int maxTrailingPeers,
       final long propagationManagerGetBlockTimeoutMillis,
-      final boolean checkpointPostMergeEnabled) {
+      final boolean checkpointPostMergeEnabled,
+      final boolean ringBufferPipesEnabled,
+      final boolean worldStateTaskSpillEnabled) {
     this.fastSyncPivotDistance = fastSyncPivotDistance;
     this.fastSyncFullValidationRate = fastSyncFullValidationRate;
     this.fastSyncMinimumPeerCount = fastSyncMinimumPeerCount;
+    this.fastSyncImportPipelineDepth = fastSyncImportPipelineDepth;
     this.worldStateHashCountPerRequest = worldStateHashCountPerRequest;
     this.worldStateRequestParallelism = worldStateRequestParallelism;
     this.worldStateMaxRequestsWithoutProgress = worldStateMaxRequestsWithoutProgress;
@@ -126,11 +139,14 @@ public class SynchronizerConfiguration {
     this.downloaderCheckpointTimeoutsPermitted = downloaderCheckpointTimeoutsPermitted;
     this.downloaderChainSegmentSize = downloaderChainSegmentSize;
     this.downloaderParallelism = downloaderParallelism;
+    this.downloaderAdaptiveParallelismEnabled = downloaderAdaptiveParallelismEnabled;
     this.transactionsParallelism = transactionsParallelism;
     this.computationParallelism = computationParallelism;
     this.maxTrailingPeers = maxTrailingPeers;
     this.propagationManagerGetBlockTimeoutMillis = propagationManagerGetBlockTimeoutMillis;
     this.checkpointPostMergeEnabled = checkpointPostMergeEnabled;
+    this.ringBufferPipesEnabled = ringBufferPipesEnabled;
+    this.worldStateTaskSpillEnabled = worldStateTaskSpillEnabled;
   }
 
   public static Builder builder() {
@@ -203,10 +219,30 @@ public class SynchronizerConfiguration {
     return downloaderParallelism;
   }
 
+  /**
+   * Whether the number of concurrent header, body and receipt requests should adapt to observed
+   * response latency, with {@link #getDownloaderParallelism()} as the upper bound.
+   *
+   * @return true if the downloader parallelism is adjusted while syncing
+   */
+  public boolean isDownloaderAdaptiveParallelismEnabled() {
+    return downloaderAdaptiveParallelismEnabled;
+  }
+
   public int getTransactionsParallelism() {
     return transactionsParallelism;
   }
 
+  /**
+   * Whether the pipes of the sync pipelines are backed by lock-free ring buffers rather than array
+   * blocking queues.
+   *
+   * @return true if the sync pipelines use ring buffer pipes
+   */
+  public boolean isRingBufferPipesEnabled() {
+    return ringBufferPipesEnabled;
+  }
+
   public int getComputationParallelism() {
     return computationParallelism;
   }
@@ -226,6 +262,17 @@ public class SynchronizerConfiguration {
     return fastSyncMinimumPeerCount;
   }
 
+  /**
+   * The number of block batches whose transactions and receipts roots fast sync may check ahead of
+   * the batch being imported. A depth of 0 disables pipelined import, so each batch is validated
+   * and imported in a single stage.
+   *
+   * @return the maximum number of pre-validated block batches waiting to be imported.
+   */
+  public int getFastSyncImportPipelineDepth() {
+    return fastSyncImportPipelineDepth;
+  }
+
   public int getWorldStateHashCountPerRequest() {
     return worldStateHashCountPerRequest;
   }
@@ -246,6 +293,16 @@ public class SynchronizerConfiguration {
     return worldStateTaskCacheSize;
   }
 
+  /**
+   * Whether the pending requests of the fast sync world state download beyond the task cache size
+   * are spilled to disk, where they survive a restart.
+   *
+   * @return true if the world state download spills its pending requests to disk
+   */
+  public boolean isWorldStateTaskSpillEnabled() {
+    return worldStateTaskSpillEnabled;
+  }
+
   public int getMaxTrailingPeers() {
     return maxTrailingPeers;
   }
@@ -269,10 +326,13 @@ public class SynchronizerConfiguration {
     private SnapSyncConfiguration snapSyncConfiguration = SnapSyncConfiguration.getDefault();
     private int downloaderChainSegmentSize = DEFAULT_DOWNLOADER_CHAIN_SEGMENT_SIZE;
     private int downloaderParallelism = DEFAULT_DOWNLOADER_PARALLELISM;
+    private boolean downloaderAdaptiveParallelismEnabled =
+        DEFAULT_DOWNLOADER_ADAPTIVE_PARALLELISM_ENABLED;
     private int transactionsParallelism = DEFAULT_TRANSACTIONS_PARALLELISM;
     private int computationParallelism = DEFAULT_COMPUTATION_PARALLELISM;
     private int fastSyncPivotDistance = DEFAULT_PIVOT_DISTANCE_FROM_HEAD;
     private float fastSyncFullValidationRate = DEFAULT_FULL_VALIDATION_RATE;
+    private int fastSyncImportPipelineDepth = DEFAULT_FAST_SYNC_IMPORT_PIPELINE_DEPTH;
     private int worldStateHashCountPerRequest = DEFAULT_WORLD_STATE_HASH_COUNT_PER_REQUEST;
     private int worldStateRequestParallelism = DEFAULT_WORLD_STATE_REQUEST_PARALLELISM;
     private int worldStateMaxRequestsWithoutProgress =
@@ -283,6 +343,8 @@ public class SynchronizerConfiguration {
     private long propagationManagerGetBlockTimeoutMillis =
         DEFAULT_PROPAGATION_MANAGER_GET_BLOCK_TIMEOUT_MILLIS;
     private boolean checkpointPostMergeEnabled = DEFAULT_CHECKPOINT_POST_MERGE_ENABLED;
+    private boolean ringBufferPipesEnabled = DEFAULT_RING_BUFFER_PIPES_ENABLED;
+    private boolean worldStateTaskSpillEnabled = DEFAULT_WORLD_STATE_TASK_SPILL_ENABLED;
 
     public Builder fastSyncPivotDistance(final int distance) {
       fastSyncPivotDistance = distance;
@@ -294,6 +356,13 @@ public class SynchronizerConfiguration {
       return this;
     }
 
+    public Builder fastSyncImportPipelineDepth(final int fastSyncImportPipelineDepth) {
+      checkArgument(
+          fastSyncImportPipelineDepth >= 0, "Import pipeline depth must not be negative.");
+      this.fastSyncImportPipelineDepth = fastSyncImportPipelineDepth;
+      return this;
+    }
+
     public Builder snapSyncConfiguration(final SnapSyncConfiguration snapSyncConfiguration) {
       this.snapSyncConfiguration = snapSyncConfiguration;
       return this;
@@ -349,6 +418,12 @@ public class SynchronizerConfiguration {
       return this;
     }
 
+    public Builder downloaderAdaptiveParallelismEnabled(
+        final boolean downloaderAdaptiveParallelismEnabled) {
+      this.downloaderAdaptiveParallelismEnabled = downloaderAdaptiveParallelismEnabled;
+      return this;
+    }
+
     public Builder transactionsParallelism(final int transactionsParallelism) {
       this.transactionsParallelism = transactionsParallelism;
       return this;
@@ -406,11 +481,22 @@ public class SynchronizerConfiguration {
       return this;
     }
 
+    public Builder ringBufferPipesEnabled(final boolean ringBufferPipesEnabled) {
+      this.ringBufferPipesEnabled = ringBufferPipesEnabled;
+      return this;
+    }
+
+    public Builder worldStateTaskSpillEnabled(final boolean worldStateTaskSpillEnabled) {
+      this.worldStateTaskSpillEnabled = worldStateTaskSpillEnabled;
+      return this;
+    }
+
     public SynchronizerConfiguration build() {
       return new SynchronizerConfiguration(
           fastSyncPivotDistance,
           fastSyncFullValidationRate,
           fastSyncMinimumPeerCount,
+          fastSyncImportPipelineDepth,
           worldStateHashCountPerRequest,
           worldStateRequestParallelism,
           worldStateMaxRequestsWithoutProgress,
@@ -425,11 +511,14 @@ public class SynchronizerConfiguration {
           downloaderCheckpointTimeoutsPermitted,
           downloaderChainSegmentSize,
           downloaderParallelism,
+          downloaderAdaptiveParallelismEnabled,
           transactionsParallelism,
           computationParallelism,
           maxTrailingPeers,
           propagationManagerGetBlockTimeoutMillis,
-          checkpointPostMergeEnabled);
+          checkpointPostMergeEnabled,
+          ringBufferPipesEnabled,
+          worldStateTaskSpillEnabled);
     }
   }
 }
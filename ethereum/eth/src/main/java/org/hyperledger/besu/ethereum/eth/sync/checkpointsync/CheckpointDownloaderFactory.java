@@ -149,6 +149,7 @@ public class CheckpointDownloaderFactory extends SnapDownloaderFactory {
             syncConfig.getWorldStateRequestParallelism(),
             syncConfig.getWorldStateMaxRequestsWithoutProgress(),
             syncConfig.getWorldStateMinMillisBeforeStalling(),
+            syncConfig.isRingBufferPipesEnabled(),
             clock,
             metricsSystem);
     final FastSyncDownloader<SnapDataRequest> fastSyncDownloader =
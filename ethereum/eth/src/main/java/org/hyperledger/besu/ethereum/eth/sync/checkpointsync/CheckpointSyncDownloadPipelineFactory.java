@@ -89,7 +89,8 @@ public class CheckpointSyncDownloadPipelineFactory extends FastSyncDownloadPipel
                 "step",
                 "action"),
             true,
-            "checkpointSync")
+            "checkpointSync",
+            syncConfig.isRingBufferPipesEnabled())
         .thenProcessAsyncOrdered("downloadBlock", checkPointDownloadBlockStep::downloadBlock, 1)
         .andFinishWith("importBlock", checkPointBlockImportStep);
   }
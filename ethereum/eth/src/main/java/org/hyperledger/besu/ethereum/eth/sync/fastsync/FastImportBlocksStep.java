@@ -42,6 +42,7 @@ public class FastImportBlocksStep implements Consumer<List<BlockWithReceipts>> {
   private final ValidationPolicy headerValidationPolicy;
   private final ValidationPolicy ommerValidationPolicy;
   private final EthContext ethContext;
+  private final boolean detachedBodyValidated;
   private long accumulatedTime = 0L;
   private OptionalLong logStartBlock = OptionalLong.empty();
   private final BlockHeader pivotHeader;
@@ -53,12 +54,43 @@ public class FastImportBlocksStep implements Consumer<List<BlockWithReceipts>> {
       final ValidationPolicy ommerValidationPolicy,
       final EthContext ethContext,
       final BlockHeader pivotHeader) {
+    this(
+        protocolSchedule,
+        protocolContext,
+        headerValidationPolicy,
+        ommerValidationPolicy,
+        ethContext,
+        pivotHeader,
+        false);
+  }
+
+  /**
+   * Creates a step importing blocks which may already have passed the body checks that do not need
+   * the blockchain, as done by {@link FastValidateBlocksStep} earlier in a pipelined fast sync.
+   *
+   * @param protocolSchedule the protocol schedule
+   * @param protocolContext the protocol context
+   * @param headerValidationPolicy the header validation policy
+   * @param ommerValidationPolicy the ommer validation policy
+   * @param ethContext the eth context
+   * @param pivotHeader the pivot block header
+   * @param detachedBodyValidated whether the detached body checks already ran on incoming blocks
+   */
+  public FastImportBlocksStep(
+      final ProtocolSchedule protocolSchedule,
+      final ProtocolContext protocolContext,
+      final ValidationPolicy headerValidationPolicy,
+      final ValidationPolicy ommerValidationPolicy,
+      final EthContext ethContext,
+      final BlockHeader pivotHeader,
+      final boolean detachedBodyValidated) {
     this.protocolSchedule = protocolSchedule;
     this.protocolContext = protocolContext;
     this.headerValidationPolicy = headerValidationPolicy;
     this.ommerValidationPolicy = ommerValidationPolicy;
     this.ethContext = ethContext;
     this.pivotHeader = pivotHeader;
+    this.detachedBodyValidated = detachedBodyValidated;
   }
 
   @Override
@@ -122,7 +154,8 @@ public class FastImportBlocksStep implements Consumer<List<BlockWithReceipts>> {
             blockWithReceipts.getBlock(),
             blockWithReceipts.getReceipts(),
             headerValidationPolicy.getValidationModeForNextBlock(),
-            ommerValidationPolicy.getValidationModeForNextBlock());
+            ommerValidationPolicy.getValidationModeForNextBlock(),
+            detachedBodyValidated);
     return blockImportResult.isImported();
   }
 }
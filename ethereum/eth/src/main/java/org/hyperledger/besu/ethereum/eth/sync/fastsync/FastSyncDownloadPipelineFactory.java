@@ -23,9 +23,11 @@ import static org.hyperledger.besu.ethereum.mainnet.HeaderValidationMode.SKIP_DE
 
 import org.hyperledger.besu.ethereum.ProtocolContext;
 import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.BlockWithReceipts;
 import org.hyperledger.besu.ethereum.eth.manager.EthContext;
 import org.hyperledger.besu.ethereum.eth.manager.EthPeer;
 import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
+import org.hyperledger.besu.ethereum.eth.sync.AdaptiveConcurrencyLimiter;
 import org.hyperledger.besu.ethereum.eth.sync.DownloadBodiesStep;
 import org.hyperledger.besu.ethereum.eth.sync.DownloadHeadersStep;
 import org.hyperledger.besu.ethereum.eth.sync.DownloadPipelineFactory;
@@ -45,6 +47,7 @@ import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
 import org.hyperledger.besu.services.pipeline.Pipeline;
 import org.hyperledger.besu.services.pipeline.PipelineBuilder;
 
+import java.util.List;
 import java.util.concurrent.CompletionStage;
 
 public class FastSyncDownloadPipelineFactory implements DownloadPipelineFactory {
@@ -57,6 +60,9 @@ public class FastSyncDownloadPipelineFactory implements DownloadPipelineFactory
   protected final FastSyncValidationPolicy attachedValidationPolicy;
   protected final FastSyncValidationPolicy detachedValidationPolicy;
   protected final FastSyncValidationPolicy ommerValidationPolicy;
+  protected final AdaptiveConcurrencyLimiter headersConcurrencyLimiter;
+  protected final AdaptiveConcurrencyLimiter bodiesConcurrencyLimiter;
+  protected final AdaptiveConcurrencyLimiter receiptsConcurrencyLimiter;
 
   public FastSyncDownloadPipelineFactory(
       final SynchronizerConfiguration syncConfig,
@@ -95,6 +101,17 @@ public class FastSyncDownloadPipelineFactory implements DownloadPipelineFactory
             LIGHT_DETACHED_ONLY,
             DETACHED_ONLY,
             fastSyncValidationCounter);
+    final int downloaderParallelism = Math.max(1, syncConfig.getDownloaderParallelism());
+    final boolean adaptive = syncConfig.isDownloaderAdaptiveParallelismEnabled();
+    headersConcurrencyLimiter =
+        new AdaptiveConcurrencyLimiter(
+            "chain_download_headers", 1, downloaderParallelism, adaptive, metricsSystem);
+    bodiesConcurrencyLimiter =
+        new AdaptiveConcurrencyLimiter(
+            "chain_download_bodies", 1, downloaderParallelism, adaptive, metricsSystem);
+    receiptsConcurrencyLimiter =
+        new AdaptiveConcurrencyLimiter(
+            "chain_download_receipts", 1, downloaderParallelism, adaptive, metricsSystem);
   }
 
   @Override
@@ -145,24 +162,53 @@ public class FastSyncDownloadPipelineFactory implements DownloadPipelineFactory
             ethContext,
             fastSyncState.getPivotBlockHeader().get());
 
-    return PipelineBuilder.createPipelineFrom(
-            "fetchCheckpoints",
-            checkpointRangeSource,
-            downloaderParallelism,
-            metricsSystem.createLabelledCounter(
-                BesuMetricCategory.SYNCHRONIZER,
-                "chain_download_pipeline_processed_total",
-                "Number of entries process by each chain download pipeline stage",
-                "step",
-                "action"),
-            true,
-            "fastSync")
-        .thenProcessAsyncOrdered("downloadHeaders", downloadHeadersStep, downloaderParallelism)
-        .thenFlatMap("validateHeadersJoin", validateHeadersJoinUpStep, singleHeaderBufferSize)
-        .inBatches(headerRequestSize)
-        .thenProcessAsyncOrdered("downloadBodies", downloadBodiesStep, downloaderParallelism)
-        .thenProcessAsyncOrdered("downloadReceipts", downloadReceiptsStep, downloaderParallelism)
-        .andFinishWith("importBlock", importBlockStep);
+    final PipelineBuilder<SyncTargetRange, List<BlockWithReceipts>> pipelineBuilder =
+        PipelineBuilder.createPipelineFrom(
+                "fetchCheckpoints",
+                checkpointRangeSource,
+                downloaderParallelism,
+                metricsSystem.createLabelledCounter(
+                    BesuMetricCategory.SYNCHRONIZER,
+                    "chain_download_pipeline_processed_total",
+                    "Number of entries process by each chain download pipeline stage",
+                    "step",
+                    "action"),
+                true,
+                "fastSync",
+                syncConfig.isRingBufferPipesEnabled())
+            .thenProcessAsyncOrdered(
+                "downloadHeaders",
+                headersConcurrencyLimiter.track(downloadHeadersStep),
+                headersConcurrencyLimiter)
+            .thenFlatMap("validateHeadersJoin", validateHeadersJoinUpStep, singleHeaderBufferSize)
+            .inBatches(headerRequestSize)
+            .thenProcessAsyncOrdered(
+                "downloadBodies",
+                bodiesConcurrencyLimiter.track(downloadBodiesStep),
+                bodiesConcurrencyLimiter)
+            .thenProcessAsyncOrdered(
+                "downloadReceipts",
+                receiptsConcurrencyLimiter.track(downloadReceiptsStep),
+                receiptsConcurrencyLimiter);
+
+    final int importPipelineDepth = syncConfig.getFastSyncImportPipelineDepth();
+    if (importPipelineDepth == 0) {
+      return pipelineBuilder.andFinishWith("importBlock", importBlockStep);
+    }
+
+    final FastValidateBlocksStep validateBlocksStep = new FastValidateBlocksStep(protocolSchedule);
+    final FastImportBlocksStep importValidatedBlocksStep =
+        new FastImportBlocksStep(
+            protocolSchedule,
+            protocolContext,
+            attachedValidationPolicy,
+            ommerValidationPolicy,
+            ethContext,
+            fastSyncState.getPivotBlockHeader().get(),
+            true);
+    return pipelineBuilder
+        .thenProcess("validateBlocks", validateBlocksStep, importPipelineDepth)
+        .andFinishWith("importBlock", importValidatedBlocksStep);
   }
 
   protected BlockHeader getCommonAncestor(final SyncTarget syncTarget) {
@@ -0,0 +1,61 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.sync.fastsync;
+
+import org.hyperledger.besu.ethereum.core.BlockWithReceipts;
+import org.hyperledger.besu.ethereum.eth.sync.tasks.exceptions.InvalidBlockException;
+import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
+import org.hyperledger.besu.ethereum.mainnet.ProtocolSpec;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * First stage of a pipelined fast sync import. Performs the body checks that do not need the
+ * blockchain, most notably hashing the transactions and receipts roots, so that they run while
+ * {@link FastImportBlocksStep} is still importing the previous batches. Blocks are only appended by
+ * the block importer, which performs the remaining checks.
+ */
+public class FastValidateBlocksStep
+    implements Function<List<BlockWithReceipts>, List<BlockWithReceipts>> {
+
+  private final ProtocolSchedule protocolSchedule;
+
+  public FastValidateBlocksStep(final ProtocolSchedule protocolSchedule) {
+    this.protocolSchedule = protocolSchedule;
+  }
+
+  @Override
+  public List<BlockWithReceipts> apply(final List<BlockWithReceipts> blocksWithReceipts) {
+    for (final BlockWithReceipts blockWithReceipts : blocksWithReceipts) {
+      final ProtocolSpec protocolSpec =
+          protocolSchedule.getByBlockHeader(blockWithReceipts.getHeader());
+      if (!protocolSpec
+          .getBlockBodyValidator()
+          .validateBodyLightDetachedOnly(
+              blockWithReceipts.getBlock(), blockWithReceipts.getReceipts())) {
+        protocolSpec
+            .getBadBlocksManager()
+            .addBadBlock(blockWithReceipts.getBlock(), Optional.empty());
+        throw new InvalidBlockException(
+            "Failed to import block",
+            blockWithReceipts.getHeader().getNumber(),
+            blockWithReceipts.getHash());
+      }
+    }
+    return blocksWithReceipts;
+  }
+}
@@ -32,7 +32,9 @@ import org.hyperledger.besu.ethereum.mainnet.ScheduleBasedBlockHeaderFunctions;
 import org.hyperledger.besu.ethereum.worldstate.WorldStateStorage;
 import org.hyperledger.besu.metrics.BesuMetricCategory;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.services.tasks.FlatFileTasksPriorityQueues;
 import org.hyperledger.besu.services.tasks.InMemoryTasksPriorityQueues;
+import org.hyperledger.besu.services.tasks.TaskCollection;
 
 import java.io.File;
 import java.io.IOException;
@@ -42,12 +44,15 @@ import java.time.Clock;
 import java.util.Optional;
 import java.util.stream.Stream;
 
+import com.google.common.io.MoreFiles;
+import com.google.common.io.RecursiveDeleteOption;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public class FastDownloaderFactory {
 
   protected static final String FAST_SYNC_FOLDER = "fastsync";
+  private static final String PENDING_REQUESTS_FOLDER = "pendingrequests";
 
   private static final Logger LOG = LoggerFactory.getLogger(FastDownloaderFactory.class);
 
@@ -100,9 +105,12 @@ public class FastDownloaderFactory {
         clearOldFastSyncWorldStateData(worldStateStorage, queueDataDir);
       }
     }
-    final InMemoryTasksPriorityQueues<NodeDataRequest> taskCollection =
+    final TaskCollection<NodeDataRequest> taskCollection =
         createWorldStateDownloaderTaskCollection(
-            metricsSystem, syncConfig.getWorldStateTaskCacheSize());
+            fastSyncDataDirectory.resolve(PENDING_REQUESTS_FOLDER),
+            metricsSystem,
+            syncConfig.getWorldStateTaskCacheSize(),
+            syncConfig.isWorldStateTaskSpillEnabled());
     final WorldStateDownloader worldStateDownloader =
         new FastWorldStateDownloader(
             ethContext,
@@ -112,6 +120,7 @@ public class FastDownloaderFactory {
             syncConfig.getWorldStateRequestParallelism(),
             syncConfig.getWorldStateMaxRequestsWithoutProgress(),
             syncConfig.getWorldStateMinMillisBeforeStalling(),
+            syncConfig.isRingBufferPipesEnabled(),
             clock,
             metricsSystem);
     final FastSyncDownloader<NodeDataRequest> fastSyncDownloader =
@@ -160,11 +169,37 @@ public class FastDownloaderFactory {
     }
   }
 
-  private static InMemoryTasksPriorityQueues<NodeDataRequest>
-      createWorldStateDownloaderTaskCollection(
-          final MetricsSystem metricsSystem, final int worldStateTaskCacheSize) {
-    final InMemoryTasksPriorityQueues<NodeDataRequest> taskCollection =
-        new InMemoryTasksPriorityQueues<>();
+  private static TaskCollection<NodeDataRequest> createWorldStateDownloaderTaskCollection(
+      final Path pendingRequestsDirectory,
+      final MetricsSystem metricsSystem,
+      final int worldStateTaskCacheSize,
+      final boolean spillEnabled) {
+    final TaskCollection<NodeDataRequest> taskCollection;
+    if (spillEnabled) {
+      // Requests left by a previous run are resumed, see NodeDataRequestSerializer
+      final NodeDataRequestSerializer serializer = new NodeDataRequestSerializer();
+      taskCollection =
+          new FlatFileTasksPriorityQueues<>(
+              pendingRequestsDirectory,
+              serializer::serialize,
+              serializer::deserialize,
+              worldStateTaskCacheSize) {
+            @Override
+            public synchronized void clear() {
+              super.clear();
+              serializer.clear();
+            }
+
+            @Override
+            public synchronized void close() {
+              super.close();
+              serializer.clear();
+            }
+          };
+    } else {
+      deletePendingRequests(pendingRequestsDirectory);
+      taskCollection = new InMemoryTasksPriorityQueues<>();
+    }
 
     metricsSystem.createLongGauge(
         BesuMetricCategory.SYNCHRONIZER,
@@ -180,4 +215,15 @@ public class FastDownloaderFactory {
 
     return taskCollection;
   }
+
+  private static void deletePendingRequests(final Path pendingRequestsDirectory) {
+    // Left by a run which spilled its requests to disk, they are not picked up without spilling
+    if (pendingRequestsDirectory.toFile().exists()) {
+      try {
+        MoreFiles.deleteRecursively(pendingRequestsDirectory, RecursiveDeleteOption.ALLOW_INSECURE);
+      } catch (final IOException e) {
+        throw new IllegalStateException(e);
+      }
+    }
+  }
 }
@@ -18,7 +18,7 @@ import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.eth.sync.worldstate.WorldDownloadState;
 import org.hyperledger.besu.ethereum.worldstate.WorldStateStorage;
 import org.hyperledger.besu.ethereum.worldstate.WorldStateStorage.Updater;
-import org.hyperledger.besu.services.tasks.InMemoryTasksPriorityQueues;
+import org.hyperledger.besu.services.tasks.TaskCollection;
 
 import java.time.Clock;
 import java.util.Optional;
@@ -32,7 +32,7 @@ public class FastWorldDownloadState extends WorldDownloadState<NodeDataRequest>
 
   public FastWorldDownloadState(
       final WorldStateStorage worldStateStorage,
-      final InMemoryTasksPriorityQueues<NodeDataRequest> pendingRequests,
+      final TaskCollection<NodeDataRequest> pendingRequests,
       final int maxRequestsWithoutProgress,
       final long minMillisBeforeStalling,
       final Clock clock) {
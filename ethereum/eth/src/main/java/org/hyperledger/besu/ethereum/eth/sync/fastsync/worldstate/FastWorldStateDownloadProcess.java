@@ -103,6 +103,7 @@ public class FastWorldStateDownloadProcess implements WorldStateDownloadProcess
     private BlockHeader pivotBlockHeader;
     private PersistDataStep persistDataStep;
     private CompleteTaskStep completeTaskStep;
+    private boolean ringBufferPipes;
 
     public Builder hashCountPerRequest(final int hashCountPerRequest) {
       this.hashCountPerRequest = hashCountPerRequest;
@@ -149,6 +150,11 @@ public class FastWorldStateDownloadProcess implements WorldStateDownloadProcess
       return this;
     }
 
+    public Builder ringBufferPipes(final boolean ringBufferPipes) {
+      this.ringBufferPipes = ringBufferPipes;
+      return this;
+    }
+
     public FastWorldStateDownloadProcess build() {
       checkNotNull(loadLocalDataStep);
       checkNotNull(requestDataStep);
@@ -170,7 +176,12 @@ public class FastWorldStateDownloadProcess implements WorldStateDownloadProcess
 
       final Pipeline<Task<NodeDataRequest>> completionPipeline =
           PipelineBuilder.<Task<NodeDataRequest>>createPipeline(
-                  "requestDataAvailable", bufferCapacity, outputCounter, true, "node_data_request")
+                  "requestDataAvailable",
+                  bufferCapacity,
+                  outputCounter,
+                  true,
+                  "node_data_request",
+                  ringBufferPipes)
               .andFinishWith(
                   "requestCompleteTask",
                   task ->
@@ -185,7 +196,8 @@ public class FastWorldStateDownloadProcess implements WorldStateDownloadProcess
                   bufferCapacity,
                   outputCounter,
                   true,
-                  "world_state_download")
+                  "world_state_download",
+                  ringBufferPipes)
               .thenFlatMapInParallel(
                   "requestLoadLocalData",
                   task -> loadLocalDataStep.loadLocalData(task, requestsToComplete),
@@ -23,7 +23,7 @@ import org.hyperledger.besu.ethereum.eth.sync.worldstate.WorldStateDownloader;
 import org.hyperledger.besu.ethereum.worldstate.WorldStateStorage;
 import org.hyperledger.besu.metrics.BesuMetricCategory;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
-import org.hyperledger.besu.services.tasks.InMemoryTasksPriorityQueues;
+import org.hyperledger.besu.services.tasks.TaskCollection;
 
 import java.time.Clock;
 import java.util.Optional;
@@ -40,11 +40,12 @@ public class FastWorldStateDownloader implements WorldStateDownloader {
   private static final Logger LOG = LoggerFactory.getLogger(FastWorldStateDownloader.class);
 
   private final long minMillisBeforeStalling;
+  private final boolean ringBufferPipes;
   private final Clock clock;
   private final MetricsSystem metricsSystem;
 
   private final EthContext ethContext;
-  private final InMemoryTasksPriorityQueues<NodeDataRequest> taskCollection;
+  private final TaskCollection<NodeDataRequest> taskCollection;
   private final int hashCountPerRequest;
   private final int maxOutstandingRequests;
   private final int maxNodeRequestsWithoutProgress;
@@ -57,11 +58,12 @@ public class FastWorldStateDownloader implements WorldStateDownloader {
   public FastWorldStateDownloader(
       final EthContext ethContext,
       final WorldStateStorage worldStateStorage,
-      final InMemoryTasksPriorityQueues<NodeDataRequest> taskCollection,
+      final TaskCollection<NodeDataRequest> taskCollection,
       final int hashCountPerRequest,
       final int maxOutstandingRequests,
       final int maxNodeRequestsWithoutProgress,
       final long minMillisBeforeStalling,
+      final boolean ringBufferPipes,
       final Clock clock,
       final MetricsSystem metricsSystem) {
     this.ethContext = ethContext;
@@ -71,6 +73,7 @@ public class FastWorldStateDownloader implements WorldStateDownloader {
     this.maxOutstandingRequests = maxOutstandingRequests;
     this.maxNodeRequestsWithoutProgress = maxNodeRequestsWithoutProgress;
     this.minMillisBeforeStalling = minMillisBeforeStalling;
+    this.ringBufferPipes = ringBufferPipes;
     this.clock = clock;
     this.metricsSystem = metricsSystem;
 
@@ -158,6 +161,7 @@ public class FastWorldStateDownloader implements WorldStateDownloader {
               .downloadState(newDownloadState)
               .pivotBlockHeader(header)
               .metricsSystem(metricsSystem)
+              .ringBufferPipes(ringBufferPipes)
               .build();
 
       newDownloadState.setWorldStateDownloadProcess(downloadProcess);
@@ -19,6 +19,7 @@ import static com.google.common.base.Preconditions.checkNotNull;
 import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.ethereum.eth.sync.worldstate.WorldStateDownloaderException;
 import org.hyperledger.besu.ethereum.rlp.RLP;
+import org.hyperledger.besu.ethereum.rlp.RLPInput;
 import org.hyperledger.besu.ethereum.rlp.RLPOutput;
 import org.hyperledger.besu.ethereum.worldstate.WorldStateStorage;
 import org.hyperledger.besu.services.tasks.TasksPriorityProvider;
@@ -44,6 +45,7 @@ public abstract class NodeDataRequest implements TasksPriorityProvider {
   private final AtomicInteger pendingChildren = new AtomicInteger(0);
   private int depth = 0;
   private long priority;
+  private boolean orphaned = false;
 
   protected NodeDataRequest(
       final RequestType requestType, final Hash hash, final Optional<Bytes> location) {
@@ -77,6 +79,29 @@ public abstract class NodeDataRequest implements TasksPriorityProvider {
     return RLP.encode(request::writeTo);
   }
 
+  public static NodeDataRequest deserialize(final RLPInput in) {
+    in.enterList();
+    final RequestType requestType = RequestType.fromValue(in.readByte());
+    final Hash hash = Hash.wrap(in.readBytes32());
+    final NodeDataRequest request =
+        switch (requestType) {
+          case ACCOUNT_TRIE_NODE -> createAccountDataRequest(hash, readOptionalBytes(in));
+          case STORAGE_TRIE_NODE ->
+              createStorageDataRequest(hash, readOptionalHash(in), readOptionalBytes(in));
+          case CODE -> createCodeRequest(hash, readOptionalHash(in));
+        };
+    in.leaveList();
+    return request;
+  }
+
+  private static Optional<Bytes> readOptionalBytes(final RLPInput in) {
+    return in.isEndOfCurrentList() ? Optional.empty() : Optional.of(in.readBytes());
+  }
+
+  private static Optional<Hash> readOptionalHash(final RLPInput in) {
+    return in.isEndOfCurrentList() ? Optional.empty() : Optional.of(Hash.wrap(in.readBytes32()));
+  }
+
   public RequestType getRequestType() {
     return requestType;
   }
@@ -112,7 +137,12 @@ public abstract class NodeDataRequest implements TasksPriorityProvider {
       doPersist(updater);
     }
     possibleParent.ifPresentOrElse(
-        parent -> parent.saveParent(updater), () -> LOG.warn("Missing a parent for {}", this.hash));
+        parent -> parent.saveParent(updater),
+        () -> {
+          if (!orphaned) {
+            LOG.warn("Missing a parent for {}", this.hash);
+          }
+        });
   }
 
   private void saveParent(final WorldStateStorage.Updater updater) {
@@ -133,6 +163,31 @@ public abstract class NodeDataRequest implements TasksPriorityProvider {
 
   public abstract Optional<Bytes> getExistingData(final WorldStateStorage worldStateStorage);
 
+  Optional<NodeDataRequest> getPossibleParent() {
+    return possibleParent;
+  }
+
+  /**
+   * Restores the position in the trie of a request read back from disk. Unlike {@link
+   * #registerParent(NodeDataRequest)}, the parent already counts this request among its pending
+   * children.
+   */
+  void restorePosition(
+      final Optional<NodeDataRequest> parent, final int depth, final long priority) {
+    this.possibleParent = parent;
+    this.depth = depth;
+    this.priority = priority;
+  }
+
+  /**
+   * Restores the position in the trie of a request spilled to disk by a previous process, whose
+   * parent was lost along with that process.
+   */
+  void restoreOrphanedPosition(final int depth, final long priority) {
+    restorePosition(Optional.empty(), depth, priority);
+    this.orphaned = true;
+  }
+
   protected void registerParent(final NodeDataRequest parent) {
     if (this.possibleParent.isPresent()) {
       throw new WorldStateDownloaderException("Cannot set parent twice");
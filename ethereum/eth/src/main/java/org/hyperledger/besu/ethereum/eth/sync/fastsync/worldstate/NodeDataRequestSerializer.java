@@ -0,0 +1,132 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.sync.fastsync.worldstate;
+
+import org.hyperledger.besu.ethereum.eth.sync.worldstate.WorldStateDownloaderException;
+import org.hyperledger.besu.ethereum.rlp.RLP;
+import org.hyperledger.besu.ethereum.rlp.RLPInput;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * Serializes the pending node data requests that the world state task collection spills to disk.
+ *
+ * <p>A request keeps a reference to its parent, which is only persisted once all of its children
+ * are. That reference cannot be written to disk, so the parents of spilled requests stay in memory,
+ * under an id written along with each spilled child, until the child is read back or the
+ * serializer is cleared.
+ *
+ * <p>Ids only mean something to the instance that wrote them, so each id is written with a random
+ * session of that instance. A request spilled by a previous process is read back without a parent:
+ * it is persisted once its own children are, and the download reaches its lost parent again from
+ * the state root, skipping the subtrees already persisted.
+ */
+class NodeDataRequestSerializer {
+
+  private final long session = ThreadLocalRandom.current().nextLong();
+
+  private final Map<NodeDataRequest, SpilledParent> spilledParentsByRequest =
+      new IdentityHashMap<>();
+  private final Map<Long, SpilledParent> spilledParentsById = new HashMap<>();
+  private long nextParentId = 0;
+
+  synchronized Bytes serialize(final NodeDataRequest request) {
+    final Optional<SpilledParent> parent =
+        request.getPossibleParent().map(this::retainSpilledParent);
+    return RLP.encode(
+        out -> {
+          out.startList();
+          out.writeRLPBytes(NodeDataRequest.serialize(request));
+          out.writeIntScalar(request.getDepth());
+          out.writeLong(request.getPriority());
+          parent.ifPresent(
+              spilledParent -> {
+                out.writeLong(session);
+                out.writeLongScalar(spilledParent.id);
+              });
+          out.endList();
+        });
+  }
+
+  synchronized NodeDataRequest deserialize(final Bytes encoded) {
+    final RLPInput in = RLP.input(encoded);
+    in.enterList();
+    final NodeDataRequest request = NodeDataRequest.deserialize(in);
+    final int depth = in.readIntScalar();
+    final long priority = in.readLong();
+    if (in.isEndOfCurrentList()) {
+      in.leaveList();
+      request.restorePosition(Optional.empty(), depth, priority);
+      return request;
+    }
+    final long parentSession = in.readLong();
+    final long parentId = in.readLongScalar();
+    in.leaveList();
+    if (parentSession == session) {
+      request.restorePosition(Optional.of(releaseSpilledParent(parentId)), depth, priority);
+    } else {
+      request.restoreOrphanedPosition(depth, priority);
+    }
+    return request;
+  }
+
+  /** Releases the parents of all spilled requests, which must have been discarded. */
+  synchronized void clear() {
+    spilledParentsById.clear();
+    spilledParentsByRequest.clear();
+  }
+
+  private SpilledParent retainSpilledParent(final NodeDataRequest parent) {
+    final SpilledParent spilledParent =
+        spilledParentsByRequest.computeIfAbsent(
+            parent,
+            __ -> {
+              final SpilledParent newParent = new SpilledParent(nextParentId++, parent);
+              spilledParentsById.put(newParent.id, newParent);
+              return newParent;
+            });
+    spilledParent.spilledChildren++;
+    return spilledParent;
+  }
+
+  private NodeDataRequest releaseSpilledParent(final long id) {
+    final SpilledParent spilledParent = spilledParentsById.get(id);
+    if (spilledParent == null) {
+      throw new WorldStateDownloaderException("Unknown parent for spilled request: " + id);
+    }
+    if (--spilledParent.spilledChildren == 0) {
+      spilledParentsById.remove(id);
+      spilledParentsByRequest.remove(spilledParent.request);
+    }
+    return spilledParent.request;
+  }
+
+  private static class SpilledParent {
+    private final long id;
+    private final NodeDataRequest request;
+    private int spilledChildren = 0;
+
+    private SpilledParent(final long id, final NodeDataRequest request) {
+      this.id = id;
+      this.request = request;
+    }
+  }
+}
@@ -19,6 +19,7 @@ import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.eth.manager.EthContext;
 import org.hyperledger.besu.ethereum.eth.manager.EthPeer;
 import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
+import org.hyperledger.besu.ethereum.eth.sync.AdaptiveConcurrencyLimiter;
 import org.hyperledger.besu.ethereum.eth.sync.DownloadBodiesStep;
 import org.hyperledger.besu.ethereum.eth.sync.DownloadHeadersStep;
 import org.hyperledger.besu.ethereum.eth.sync.DownloadPipelineFactory;
@@ -53,6 +54,8 @@ public class FullSyncDownloadPipelineFactory implements DownloadPipelineFactory
       () -> HeaderValidationMode.DETACHED_ONLY;
   private final BetterSyncTargetEvaluator betterSyncTargetEvaluator;
   private final SyncTerminationCondition fullSyncTerminationCondition;
+  private final AdaptiveConcurrencyLimiter headersConcurrencyLimiter;
+  private final AdaptiveConcurrencyLimiter bodiesConcurrencyLimiter;
 
   public FullSyncDownloadPipelineFactory(
       final SynchronizerConfiguration syncConfig,
@@ -68,6 +71,14 @@ public class FullSyncDownloadPipelineFactory implements DownloadPipelineFactory
     this.metricsSystem = metricsSystem;
     this.fullSyncTerminationCondition = syncTerminationCondition;
     betterSyncTargetEvaluator = new BetterSyncTargetEvaluator(syncConfig, ethContext.getEthPeers());
+    final int downloaderParallelism = Math.max(1, syncConfig.getDownloaderParallelism());
+    final boolean adaptive = syncConfig.isDownloaderAdaptiveParallelismEnabled();
+    headersConcurrencyLimiter =
+        new AdaptiveConcurrencyLimiter(
+            "chain_download_headers", 1, downloaderParallelism, adaptive, metricsSystem);
+    bodiesConcurrencyLimiter =
+        new AdaptiveConcurrencyLimiter(
+            "chain_download_bodies", 1, downloaderParallelism, adaptive, metricsSystem);
   }
 
   @Override
@@ -121,11 +132,18 @@ public class FullSyncDownloadPipelineFactory implements DownloadPipelineFactory
                 "step",
                 "action"),
             true,
-            "fullSync")
-        .thenProcessAsyncOrdered("downloadHeaders", downloadHeadersStep, downloaderParallelism)
+            "fullSync",
+            syncConfig.isRingBufferPipesEnabled())
+        .thenProcessAsyncOrdered(
+            "downloadHeaders",
+            headersConcurrencyLimiter.track(downloadHeadersStep),
+            headersConcurrencyLimiter)
         .thenFlatMap("validateHeadersJoin", validateHeadersJoinUpStep, singleHeaderBufferSize)
         .inBatches(headerRequestSize)
-        .thenProcessAsyncOrdered("downloadBodies", downloadBodiesStep, downloaderParallelism)
+        .thenProcessAsyncOrdered(
+            "downloadBodies",
+            bodiesConcurrencyLimiter.track(downloadBodiesStep),
+            bodiesConcurrencyLimiter)
         .thenFlatMap("extractTxSignatures", extractTxSignaturesStep, singleHeaderBufferSize)
         .andFinishWith("importBlock", importBlockStep);
   }
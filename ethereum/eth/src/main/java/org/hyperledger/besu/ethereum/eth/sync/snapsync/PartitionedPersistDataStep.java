@@ -0,0 +1,293 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.sync.snapsync;
+
+import org.hyperledger.besu.ethereum.eth.sync.snapsync.request.AccountRangeDataRequest;
+import org.hyperledger.besu.ethereum.eth.sync.snapsync.request.BytecodeRequest;
+import org.hyperledger.besu.ethereum.eth.sync.snapsync.request.SnapDataRequest;
+import org.hyperledger.besu.ethereum.eth.sync.snapsync.request.StorageRangeDataRequest;
+import org.hyperledger.besu.ethereum.worldstate.WorldStateStorage;
+import org.hyperledger.besu.metrics.BesuMetricCategory;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.services.tasks.Task;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.tuweni.bytes.Bytes32;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Persists snap sync responses on several workers, each owning a range of the account hash space.
+ *
+ * <p>Every worker accumulates the data of many responses in a single updater and commits it once
+ * enough nodes were written or the oldest uncommitted response exceeds the flush interval. Tasks
+ * are only handed to the completion callback, and their child requests only enqueued, after the
+ * commit containing their data, so progress is never recorded for data that is not on disk yet.
+ * A rolled back batch fails its tasks without enqueuing their children, so a retry does not
+ * duplicate them.
+ *
+ * <p>The queue of each worker is as large as a download pipeline buffer, so a worker falling
+ * behind blocks the completion pipeline instead of buffering responses without bound.
+ */
+public class PartitionedPersistDataStep implements AutoCloseable {
+
+  private static final Logger LOG = LoggerFactory.getLogger(PartitionedPersistDataStep.class);
+
+  private final PersistDataStep persistDataStep;
+  private final WorldStateStorage worldStateStorage;
+  private final int batchNodeCount;
+  private final long flushIntervalMillis;
+  private final int queueCapacity;
+  private final List<PersistWorker> workers;
+  private final ExecutorService executor;
+  private final Counter commitsCounter;
+  private final Counter committedNodesCounter;
+  private volatile boolean running = true;
+  private volatile boolean aborted = false;
+
+  public PartitionedPersistDataStep(
+      final PersistDataStep persistDataStep,
+      final WorldStateStorage worldStateStorage,
+      final SnapSyncConfiguration snapSyncConfiguration,
+      final MetricsSystem metricsSystem) {
+    this.persistDataStep = persistDataStep;
+    this.worldStateStorage = worldStateStorage;
+    this.batchNodeCount = snapSyncConfiguration.getPersistBatchNodeCount();
+    this.flushIntervalMillis = snapSyncConfiguration.getPersistFlushIntervalMillis();
+    this.queueCapacity =
+        SnapWorldStateDownloadProcess.getPipelineBufferCapacity(snapSyncConfiguration);
+    final int workerCount = snapSyncConfiguration.getPersistWorkerCount();
+    this.workers = new ArrayList<>(workerCount);
+    for (int i = 0; i < workerCount; i++) {
+      workers.add(new PersistWorker());
+    }
+    this.executor =
+        Executors.newFixedThreadPool(
+            workerCount,
+            new ThreadFactoryBuilder().setNameFormat("snap-persist-%d").setDaemon(true).build());
+    workers.forEach(executor::execute);
+
+    metricsSystem.createIntegerGauge(
+        BesuMetricCategory.SYNCHRONIZER,
+        "snap_world_state_persist_queue_depth",
+        "Number of downloaded responses waiting to be persisted",
+        this::getQueueDepth);
+    commitsCounter =
+        metricsSystem.createCounter(
+            BesuMetricCategory.SYNCHRONIZER,
+            "snap_world_state_persist_commits_total",
+            "Total number of write batches committed by the snap sync persist workers");
+    committedNodesCounter =
+        metricsSystem.createCounter(
+            BesuMetricCategory.SYNCHRONIZER,
+            "snap_world_state_persist_committed_nodes_total",
+            "Total number of nodes committed by the snap sync persist workers");
+  }
+
+  /**
+   * Queues the tasks on the worker owning their part of the account hash space, waiting while that
+   * worker's queue is full. Tasks that cannot be queued because the step is stopping are failed.
+   *
+   * @param tasks the tasks to persist
+   * @param onPersisted called with each task once its data has been committed
+   */
+  public void persist(
+      final List<Task<SnapDataRequest>> tasks, final Consumer<Task<SnapDataRequest>> onPersisted) {
+    for (final Task<SnapDataRequest> task : tasks) {
+      workers
+          .get(getWorkerIndex(task.getData(), workers.size()))
+          .enqueue(new PendingTask(task, onPersisted));
+    }
+  }
+
+  public void persist(
+      final Task<SnapDataRequest> task, final Consumer<Task<SnapDataRequest>> onPersisted) {
+    persist(List.of(task), onPersisted);
+  }
+
+  @VisibleForTesting
+  static int getWorkerIndex(final SnapDataRequest request, final int workerCount) {
+    final Bytes32 partitionKey;
+    if (request instanceof AccountRangeDataRequest) {
+      partitionKey = ((AccountRangeDataRequest) request).getStartKeyHash();
+    } else if (request instanceof StorageRangeDataRequest) {
+      partitionKey = ((StorageRangeDataRequest) request).getAccountHash();
+    } else if (request instanceof BytecodeRequest) {
+      partitionKey = ((BytecodeRequest) request).getAccountHash();
+    } else {
+      partitionKey = Bytes32.ZERO;
+    }
+    return (partitionKey.get(0) & 0xff) * workerCount / 256;
+  }
+
+  @VisibleForTesting
+  int getQueueDepth() {
+    return workers.stream().mapToInt(worker -> worker.queue.size()).sum();
+  }
+
+  /** Persists everything still queued, commits it and stops the workers. */
+  @Override
+  public void close() {
+    running = false;
+    executor.shutdown();
+    try {
+      while (!executor.awaitTermination(flushIntervalMillis, TimeUnit.MILLISECONDS)) {
+        LOG.debug("Waiting for {} queued snap sync responses to be persisted", getQueueDepth());
+      }
+    } catch (final InterruptedException e) {
+      abort();
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /** Stops the workers, discarding and failing anything that was not committed yet. */
+  public void abort() {
+    running = false;
+    aborted = true;
+    executor.shutdownNow();
+    workers.forEach(PersistWorker::failQueuedTasks);
+  }
+
+  private static class PendingTask {
+    private final Task<SnapDataRequest> task;
+    private final Consumer<Task<SnapDataRequest>> onPersisted;
+
+    private PendingTask(
+        final Task<SnapDataRequest> task, final Consumer<Task<SnapDataRequest>> onPersisted) {
+      this.task = task;
+      this.onPersisted = onPersisted;
+    }
+  }
+
+  private class PersistWorker implements Runnable {
+    private final BlockingQueue<PendingTask> queue = new ArrayBlockingQueue<>(queueCapacity);
+    private final List<PendingTask> uncommittedTasks = new ArrayList<>();
+    private final List<SnapDataRequest> uncommittedChildRequests = new ArrayList<>();
+    private WorldStateStorage.Updater updater;
+    private int uncommittedNodes;
+    private long firstUncommittedMillis;
+
+    private void enqueue(final PendingTask pendingTask) {
+      try {
+        while (running) {
+          if (queue.offer(pendingTask, flushIntervalMillis, TimeUnit.MILLISECONDS)) {
+            return;
+          }
+        }
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      // the workers are stopping and may never take it, so it has to be downloaded again
+      pendingTask.task.markFailed();
+    }
+
+    private void failQueuedTasks() {
+      final List<PendingTask> droppedTasks = new ArrayList<>();
+      queue.drainTo(droppedTasks);
+      droppedTasks.forEach(pendingTask -> pendingTask.task.markFailed());
+    }
+
+    @Override
+    public void run() {
+      try {
+        while (!aborted && (running || !queue.isEmpty())) {
+          final PendingTask pendingTask = queue.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+          try {
+            if (pendingTask != null) {
+              persist(pendingTask);
+            }
+            if (shouldCommit()) {
+              commit();
+            }
+          } catch (final RuntimeException e) {
+            LOG.error("Failed to persist snap sync data, the affected requests will be retried", e);
+            rollback();
+          }
+        }
+        if (aborted) {
+          rollback();
+          failQueuedTasks();
+        } else {
+          commit();
+        }
+      } catch (final InterruptedException e) {
+        rollback();
+        failQueuedTasks();
+        Thread.currentThread().interrupt();
+      }
+    }
+
+    private boolean shouldCommit() {
+      return updater != null
+          && (uncommittedNodes >= batchNodeCount
+              || System.currentTimeMillis() - firstUncommittedMillis >= flushIntervalMillis);
+    }
+
+    private void persist(final PendingTask pendingTask) {
+      if (updater == null) {
+        updater = worldStateStorage.updater();
+        firstUncommittedMillis = System.currentTimeMillis();
+      }
+      uncommittedTasks.add(pendingTask);
+      uncommittedNodes +=
+          persistDataStep.persist(
+              List.of(pendingTask.task),
+              updater,
+              childRequests -> childRequests.forEach(uncommittedChildRequests::add));
+    }
+
+    private void commit() {
+      if (updater == null) {
+        return;
+      }
+      updater.commit();
+      commitsCounter.inc();
+      committedNodesCounter.inc(uncommittedNodes);
+      final List<PendingTask> committedTasks = new ArrayList<>(uncommittedTasks);
+      final List<SnapDataRequest> childRequests = new ArrayList<>(uncommittedChildRequests);
+      reset();
+      persistDataStep.enqueueChildren(childRequests.stream());
+      committedTasks.forEach(pendingTask -> pendingTask.onPersisted.accept(pendingTask.task));
+    }
+
+    private void rollback() {
+      if (updater != null) {
+        updater.rollback();
+      }
+      // the data of these tasks was discarded, so they have to be downloaded again, and their child
+      // requests are dropped as the retry creates them again
+      uncommittedTasks.forEach(pendingTask -> pendingTask.task.markFailed());
+      reset();
+    }
+
+    private void reset() {
+      updater = null;
+      uncommittedNodes = 0;
+      uncommittedTasks.clear();
+      uncommittedChildRequests.clear();
+    }
+  }
+}
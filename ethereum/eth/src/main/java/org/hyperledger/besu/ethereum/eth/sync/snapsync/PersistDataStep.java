@@ -21,6 +21,7 @@ import org.hyperledger.besu.ethereum.worldstate.WorldStateStorage;
 import org.hyperledger.besu.services.tasks.Task;
 
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 
 public class PersistDataStep {
@@ -44,16 +45,49 @@ public class PersistDataStep {
 
   public List<Task<SnapDataRequest>> persist(final List<Task<SnapDataRequest>> tasks) {
     final WorldStateStorage.Updater updater = worldStateStorage.updater();
+    persist(tasks, updater);
+    updater.commit();
+    return tasks;
+  }
+
+  /**
+   * Persists the received data of the tasks into the given updater and enqueues their child
+   * requests, leaving the commit to the caller.
+   *
+   * @param tasks the tasks to persist
+   * @param updater the updater receiving the persisted data
+   * @return the number of nodes persisted
+   */
+  public int persist(
+      final List<Task<SnapDataRequest>> tasks, final WorldStateStorage.Updater updater) {
+    return persist(tasks, updater, this::enqueueChildren);
+  }
+
+  /**
+   * Persists the received data of the tasks into the given updater and hands their child requests
+   * to the given consumer instead of enqueuing them, so that they can be enqueued once the data is
+   * committed.
+   *
+   * @param tasks the tasks to persist
+   * @param updater the updater receiving the persisted data
+   * @param childRequestsConsumer receives the child requests of each persisted task
+   * @return the number of nodes persisted
+   */
+  public int persist(
+      final List<Task<SnapDataRequest>> tasks,
+      final WorldStateStorage.Updater updater,
+      final Consumer<Stream<SnapDataRequest>> childRequestsConsumer) {
+    int totalPersistedNodes = 0;
     for (Task<SnapDataRequest> task : tasks) {
       if (task.getData().isResponseReceived()) {
         // enqueue child requests
         final Stream<SnapDataRequest> childRequests =
             task.getData().getChildRequests(downloadState, worldStateStorage, snapSyncState);
         if (!(task.getData() instanceof TrieNodeHealingRequest)) {
-          enqueueChildren(childRequests);
+          childRequestsConsumer.accept(childRequests);
         } else {
           if (!task.getData().isExpired(snapSyncState)) {
-            enqueueChildren(childRequests);
+            childRequestsConsumer.accept(childRequests);
           } else {
             continue;
           }
@@ -74,11 +108,11 @@ public class PersistDataStep {
           } else {
             downloadState.getMetricsManager().notifyNodesGenerated(persistedNodes);
           }
+          totalPersistedNodes += persistedNodes;
         }
       }
     }
-    updater.commit();
-    return tasks;
+    return totalPersistedNodes;
   }
 
   /**
@@ -111,7 +145,7 @@ public class PersistDataStep {
     return healFlatDatabase(List.of(task)).get(0);
   }
 
-  private void enqueueChildren(final Stream<SnapDataRequest> childRequests) {
+  public void enqueueChildren(final Stream<SnapDataRequest> childRequests) {
     downloadState.enqueueRequests(childRequests);
   }
 }
@@ -112,6 +112,7 @@ public class SnapDownloaderFactory extends FastDownloaderFactory {
             syncConfig.getWorldStateRequestParallelism(),
             syncConfig.getWorldStateMaxRequestsWithoutProgress(),
             syncConfig.getWorldStateMinMillisBeforeStalling(),
+            syncConfig.isRingBufferPipesEnabled(),
             clock,
             metricsSystem);
     final FastSyncDownloader<SnapDataRequest> fastSyncDownloader =
@@ -38,6 +38,17 @@ public class SnapSyncConfiguration {
 
   public static final Boolean DEFAULT_IS_FLAT_DB_HEALING_ENABLED = Boolean.FALSE;
 
+  public static final int DEFAULT_PERSIST_WORKER_COUNT =
+      1; // The default number of workers persisting downloaded ranges.
+
+  public static final int DEFAULT_PERSIST_BATCH_NODE_COUNT =
+      50_000; // The default number of nodes a persist worker accumulates before committing.
+
+  public static final long DEFAULT_PERSIST_FLUSH_INTERVAL_MILLIS =
+      1_000; // The default maximum time a persist worker holds uncommitted data.
+
+  public static final Boolean DEFAULT_IS_ADAPTIVE_REQUEST_PARALLELISM_ENABLED = Boolean.FALSE;
+
   public static SnapSyncConfiguration getDefault() {
     return ImmutableSnapSyncConfiguration.builder().build();
   }
@@ -81,4 +92,24 @@ public class SnapSyncConfiguration {
   public Boolean isFlatDbHealingEnabled() {
     return DEFAULT_IS_FLAT_DB_HEALING_ENABLED;
   }
+
+  @Value.Default
+  public int getPersistWorkerCount() {
+    return DEFAULT_PERSIST_WORKER_COUNT;
+  }
+
+  @Value.Default
+  public int getPersistBatchNodeCount() {
+    return DEFAULT_PERSIST_BATCH_NODE_COUNT;
+  }
+
+  @Value.Default
+  public long getPersistFlushIntervalMillis() {
+    return DEFAULT_PERSIST_FLUSH_INTERVAL_MILLIS;
+  }
+
+  @Value.Default
+  public Boolean isAdaptiveRequestParallelismEnabled() {
+    return DEFAULT_IS_ADAPTIVE_REQUEST_PARALLELISM_ENABLED;
+  }
 }
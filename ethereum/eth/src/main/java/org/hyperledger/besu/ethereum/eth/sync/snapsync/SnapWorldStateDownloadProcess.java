@@ -19,6 +19,7 @@ import static org.hyperledger.besu.ethereum.eth.sync.snapsync.DynamicPivotBlockS
 import static org.hyperledger.besu.services.pipeline.PipelineBuilder.createPipelineFrom;
 
 import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
+import org.hyperledger.besu.ethereum.eth.sync.AdaptiveConcurrencyLimiter;
 import org.hyperledger.besu.ethereum.eth.sync.snapsync.request.BytecodeRequest;
 import org.hyperledger.besu.ethereum.eth.sync.snapsync.request.SnapDataRequest;
 import org.hyperledger.besu.ethereum.eth.sync.worldstate.TaskQueueIterator;
@@ -35,6 +36,7 @@ import org.hyperledger.besu.services.tasks.Task;
 import org.hyperledger.besu.util.ExceptionUtils;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 
@@ -57,6 +59,8 @@ public class SnapWorldStateDownloadProcess implements WorldStateDownloadProcess
 
   private final WritePipe<Task<SnapDataRequest>> requestsToComplete;
 
+  private final Optional<PartitionedPersistDataStep> partitionedPersistDataStep;
+
   private SnapWorldStateDownloadProcess(
       final Pipeline<Task<SnapDataRequest>> fetchAccountPipeline,
       final Pipeline<Task<SnapDataRequest>> fetchStorageDataPipeline,
@@ -66,7 +70,8 @@ public class SnapWorldStateDownloadProcess implements WorldStateDownloadProcess
       final Pipeline<Task<SnapDataRequest>> flatAccountHealingPipeline,
       final Pipeline<Task<SnapDataRequest>> flatStorageHealingPipeline,
       final Pipeline<Task<SnapDataRequest>> completionPipeline,
-      final WritePipe<Task<SnapDataRequest>> requestsToComplete) {
+      final WritePipe<Task<SnapDataRequest>> requestsToComplete,
+      final Optional<PartitionedPersistDataStep> partitionedPersistDataStep) {
     this.fetchStorageDataPipeline = fetchStorageDataPipeline;
     this.fetchAccountPipeline = fetchAccountPipeline;
     this.fetchLargeStorageDataPipeline = fetchLargeStorageDataPipeline;
@@ -76,12 +81,18 @@ public class SnapWorldStateDownloadProcess implements WorldStateDownloadProcess
     this.flatStorageHealingPipeline = flatStorageHealingPipeline;
     this.completionPipeline = completionPipeline;
     this.requestsToComplete = requestsToComplete;
+    this.partitionedPersistDataStep = partitionedPersistDataStep;
   }
 
   public static Builder builder() {
     return new Builder();
   }
 
+  static int getPipelineBufferCapacity(final SnapSyncConfiguration snapSyncConfiguration) {
+    // Room for the requests we expect to do in parallel plus some buffer but not unlimited.
+    return snapSyncConfiguration.getTrienodeCountPerRequest() * 2;
+  }
+
   @Override
   public CompletableFuture<Void> start(final EthScheduler ethScheduler) {
     final CompletableFuture<Void> fetchAccountFuture =
@@ -112,9 +123,12 @@ public class SnapWorldStateDownloadProcess implements WorldStateDownloadProcess
                 if (!(ExceptionUtils.rootCause(error) instanceof CancellationException)) {
                   LOG.error("Pipeline failed", error);
                 }
+                partitionedPersistDataStep.ifPresent(PartitionedPersistDataStep::abort);
                 completionPipeline.abort();
               } else {
-                // No more data to fetch, so propagate the pipe closure onto the completion pipe.
+                // Tasks are only completed once their data is committed, so flush pending writes
+                // before propagating the pipe closure onto the completion pipe.
+                partitionedPersistDataStep.ifPresent(PartitionedPersistDataStep::close);
                 requestsToComplete.close();
               }
             });
@@ -131,6 +145,7 @@ public class SnapWorldStateDownloadProcess implements WorldStateDownloadProcess
           trieHealingPipeline.abort();
           flatAccountHealingPipeline.abort();
           flatStorageHealingPipeline.abort();
+          partitionedPersistDataStep.ifPresent(PartitionedPersistDataStep::abort);
           return null;
         });
     return completionFuture;
@@ -145,6 +160,7 @@ public class SnapWorldStateDownloadProcess implements WorldStateDownloadProcess
     trieHealingPipeline.abort();
     flatAccountHealingPipeline.abort();
     flatStorageHealingPipeline.abort();
+    partitionedPersistDataStep.ifPresent(PartitionedPersistDataStep::abort);
     completionPipeline.abort();
   }
 
@@ -158,8 +174,10 @@ public class SnapWorldStateDownloadProcess implements WorldStateDownloadProcess
     private RequestDataStep requestDataStep;
     private SnapSyncProcessState snapSyncState;
     private PersistDataStep persistDataStep;
+    private Optional<PartitionedPersistDataStep> partitionedPersistDataStep = Optional.empty();
     private CompleteTaskStep completeTaskStep;
     private DynamicPivotBlockSelector pivotBlockManager;
+    private boolean ringBufferPipes;
 
     public Builder configuration(final SnapSyncConfiguration snapSyncConfiguration) {
       this.snapSyncConfiguration = snapSyncConfiguration;
@@ -192,6 +210,12 @@ public class SnapWorldStateDownloadProcess implements WorldStateDownloadProcess
       return this;
     }
 
+    public Builder partitionedPersistDataStep(
+        final PartitionedPersistDataStep partitionedPersistDataStep) {
+      this.partitionedPersistDataStep = Optional.of(partitionedPersistDataStep);
+      return this;
+    }
+
     public Builder completeTaskStep(final CompleteTaskStep completeTaskStep) {
       this.completeTaskStep = completeTaskStep;
       return this;
@@ -212,6 +236,11 @@ public class SnapWorldStateDownloadProcess implements WorldStateDownloadProcess
       return this;
     }
 
+    public Builder ringBufferPipes(final boolean ringBufferPipes) {
+      this.ringBufferPipes = ringBufferPipes;
+      return this;
+    }
+
     public SnapWorldStateDownloadProcess build() {
       checkNotNull(loadLocalDataStep);
       checkNotNull(requestDataStep);
@@ -221,8 +250,7 @@ public class SnapWorldStateDownloadProcess implements WorldStateDownloadProcess
       checkNotNull(snapSyncState);
       checkNotNull(metricsSystem);
 
-      // Room for the requests we expect to do in parallel plus some buffer but not unlimited.
-      final int bufferCapacity = snapSyncConfiguration.getTrienodeCountPerRequest() * 2;
+      final int bufferCapacity = getPipelineBufferCapacity(snapSyncConfiguration);
       final LabelledMetric<Counter> outputCounter =
           metricsSystem.createLabelledCounter(
               BesuMetricCategory.SYNCHRONIZER,
@@ -233,13 +261,29 @@ public class SnapWorldStateDownloadProcess implements WorldStateDownloadProcess
 
       final Pipeline<Task<SnapDataRequest>> completionPipeline =
           PipelineBuilder.<Task<SnapDataRequest>>createPipeline(
-                  "requestDataAvailable", bufferCapacity, outputCounter, true, "node_data_request")
+                  "requestDataAvailable",
+                  bufferCapacity,
+                  outputCounter,
+                  true,
+                  "node_data_request",
+                  ringBufferPipes)
               .andFinishWith(
                   "requestCompleteTask",
                   task -> completeTaskStep.markAsCompleteOrFailed(downloadState, task));
 
       final Pipe<Task<SnapDataRequest>> requestsToComplete = completionPipeline.getInputPipe();
 
+      final AdaptiveConcurrencyLimiter accountRequestLimiter =
+          createRequestLimiter("snap_world_state_account_request");
+      final AdaptiveConcurrencyLimiter storageRequestLimiter =
+          createRequestLimiter("snap_world_state_storage_request");
+      final AdaptiveConcurrencyLimiter largeStorageRequestLimiter =
+          createRequestLimiter("snap_world_state_large_storage_request");
+      final AdaptiveConcurrencyLimiter codeRequestLimiter =
+          createRequestLimiter("snap_world_state_code_request");
+      final AdaptiveConcurrencyLimiter trieNodeRequestLimiter =
+          createRequestLimiter("snap_world_state_trie_node_request");
+
       final Pipeline<Task<SnapDataRequest>> fetchAccountDataPipeline =
           createPipelineFrom(
                   "dequeueAccountRequestBlocking",
@@ -248,7 +292,8 @@ public class SnapWorldStateDownloadProcess implements WorldStateDownloadProcess
                   bufferCapacity,
                   outputCounter,
                   true,
-                  "world_state_download")
+                  "world_state_download",
+                  ringBufferPipes)
               .thenProcess(
                   "checkNewPivotBlock-Account",
                   tasks -> {
@@ -257,10 +302,13 @@ public class SnapWorldStateDownloadProcess implements WorldStateDownloadProcess
                   })
               .thenProcessAsync(
                   "batchDownloadAccountData",
-                  requestTask -> requestDataStep.requestAccount(requestTask),
-                  maxOutstandingRequests)
-              .thenProcess("batchPersistAccountData", task -> persistDataStep.persist(task))
-              .andFinishWith("batchAccountDataDownloaded", requestsToComplete::put);
+                  accountRequestLimiter.track(
+                      requestTask -> requestDataStep.requestAccount(requestTask)),
+                  accountRequestLimiter)
+              .thenProcess("batchPersistAccountData", task -> persistRangeData(task))
+              .andFinishWith(
+                  "batchAccountDataDownloaded",
+                  task -> completeRangeData(List.of(task), requestsToComplete));
 
       final Pipeline<Task<SnapDataRequest>> fetchStorageDataPipeline =
           createPipelineFrom(
@@ -270,7 +318,8 @@ public class SnapWorldStateDownloadProcess implements WorldStateDownloadProcess
                   bufferCapacity,
                   outputCounter,
                   true,
-                  "world_state_download")
+                  "world_state_download",
+                  ringBufferPipes)
               .inBatches(snapSyncConfiguration.getStorageCountPerRequest())
               .thenProcess(
                   "checkNewPivotBlock-Storage",
@@ -280,14 +329,13 @@ public class SnapWorldStateDownloadProcess implements WorldStateDownloadProcess
                   })
               .thenProcessAsyncOrdered(
                   "batchDownloadStorageData",
-                  requestTask -> requestDataStep.requestStorage(requestTask),
-                  maxOutstandingRequests)
-              .thenProcess("batchPersistStorageData", task -> persistDataStep.persist(task))
+                  storageRequestLimiter.track(
+                      requestTask -> requestDataStep.requestStorage(requestTask)),
+                  storageRequestLimiter)
+              .thenProcess("batchPersistStorageData", tasks -> persistRangeData(tasks))
               .andFinishWith(
                   "batchStorageDataDownloaded",
-                  tasks -> {
-                    tasks.forEach(requestsToComplete::put);
-                  });
+                  tasks -> completeRangeData(tasks, requestsToComplete));
 
       final Pipeline<Task<SnapDataRequest>> fetchLargeStorageDataPipeline =
           createPipelineFrom(
@@ -297,7 +345,8 @@ public class SnapWorldStateDownloadProcess implements WorldStateDownloadProcess
                   bufferCapacity,
                   outputCounter,
                   true,
-                  "world_state_download")
+                  "world_state_download",
+                  ringBufferPipes)
               .thenProcess(
                   "checkNewPivotBlock-LargeStorage",
                   tasks -> {
@@ -306,17 +355,13 @@ public class SnapWorldStateDownloadProcess implements WorldStateDownloadProcess
                   })
               .thenProcessAsyncOrdered(
                   "batchDownloadLargeStorageData",
-                  requestTask -> requestDataStep.requestStorage(List.of(requestTask)),
-                  maxOutstandingRequests)
-              .thenProcess(
-                  "batchPersistLargeStorageData",
-                  task -> {
-                    persistDataStep.persist(task);
-                    return task;
-                  })
+                  largeStorageRequestLimiter.track(
+                      requestTask -> requestDataStep.requestStorage(List.of(requestTask))),
+                  largeStorageRequestLimiter)
+              .thenProcess("batchPersistLargeStorageData", tasks -> persistRangeData(tasks))
               .andFinishWith(
                   "batchLargeStorageDataDownloaded",
-                  tasks -> tasks.forEach(requestsToComplete::put));
+                  tasks -> completeRangeData(tasks, requestsToComplete));
 
       final Pipeline<Task<SnapDataRequest>> fetchCodePipeline =
           createPipelineFrom(
@@ -326,7 +371,8 @@ public class SnapWorldStateDownloadProcess implements WorldStateDownloadProcess
                   bufferCapacity,
                   outputCounter,
                   true,
-                  "code_blocks_download_pipeline")
+                  "code_blocks_download_pipeline",
+                  ringBufferPipes)
               .inBatches(
                   snapSyncConfiguration.getBytecodeCountPerRequest() * 2,
                   tasks ->
@@ -348,16 +394,11 @@ public class SnapWorldStateDownloadProcess implements WorldStateDownloadProcess
                   })
               .thenProcessAsyncOrdered(
                   "batchDownloadCodeData",
-                  tasks -> requestDataStep.requestCode(tasks),
-                  maxOutstandingRequests)
-              .thenProcess(
-                  "batchPersistCodeData",
-                  tasks -> {
-                    persistDataStep.persist(tasks);
-                    return tasks;
-                  })
+                  codeRequestLimiter.track(tasks -> requestDataStep.requestCode(tasks)),
+                  codeRequestLimiter)
+              .thenProcess("batchPersistCodeData", tasks -> persistRangeData(tasks))
               .andFinishWith(
-                  "batchCodeDataDownloaded", tasks -> tasks.forEach(requestsToComplete::put));
+                  "batchCodeDataDownloaded", tasks -> completeRangeData(tasks, requestsToComplete));
 
       final Pipeline<Task<SnapDataRequest>> trieHealingPipeline =
           createPipelineFrom(
@@ -367,7 +408,8 @@ public class SnapWorldStateDownloadProcess implements WorldStateDownloadProcess
                   bufferCapacity,
                   outputCounter,
                   true,
-                  "world_state_heal")
+                  "world_state_heal",
+                  ringBufferPipes)
               .thenFlatMapInParallel(
                   "requestLoadLocalTrieNodeData",
                   task -> loadLocalDataStep.loadLocalDataTrieNode(task, requestsToComplete),
@@ -384,8 +426,9 @@ public class SnapWorldStateDownloadProcess implements WorldStateDownloadProcess
                   })
               .thenProcessAsync(
                   "batchDownloadTrieNodeData",
-                  tasks -> requestDataStep.requestTrieNodeByPath(tasks),
-                  maxOutstandingRequests)
+                  trieNodeRequestLimiter.track(
+                      tasks -> requestDataStep.requestTrieNodeByPath(tasks)),
+                  trieNodeRequestLimiter)
               .thenProcess(
                   "batchPersistTrieNodeData",
                   tasks -> {
@@ -404,7 +447,8 @@ public class SnapWorldStateDownloadProcess implements WorldStateDownloadProcess
                   bufferCapacity,
                   outputCounter,
                   true,
-                  "world_state_heal")
+                  "world_state_heal",
+                  ringBufferPipes)
               .thenProcessAsync(
                   "batchDownloadFlatAccountData",
                   requestTask -> requestDataStep.requestLocalFlatAccounts(requestTask),
@@ -423,7 +467,8 @@ public class SnapWorldStateDownloadProcess implements WorldStateDownloadProcess
                   bufferCapacity,
                   outputCounter,
                   true,
-                  "world_state_heal")
+                  "world_state_heal",
+                  ringBufferPipes)
               .thenProcessAsyncOrdered(
                   "batchDownloadFlatStorageData",
                   requestTask -> requestDataStep.requestLocalFlatStorages(requestTask),
@@ -442,7 +487,38 @@ public class SnapWorldStateDownloadProcess implements WorldStateDownloadProcess
           accountFlatDatabaseHealingPipeline,
           storageFlatDatabaseHealingPipeline,
           completionPipeline,
-          requestsToComplete);
+          requestsToComplete,
+          partitionedPersistDataStep);
+    }
+
+    private AdaptiveConcurrencyLimiter createRequestLimiter(final String name) {
+      return new AdaptiveConcurrencyLimiter(
+          name,
+          1,
+          Math.max(1, maxOutstandingRequests),
+          snapSyncConfiguration.isAdaptiveRequestParallelismEnabled(),
+          metricsSystem);
+    }
+
+    private Task<SnapDataRequest> persistRangeData(final Task<SnapDataRequest> task) {
+      persistRangeData(List.of(task));
+      return task;
+    }
+
+    private List<Task<SnapDataRequest>> persistRangeData(final List<Task<SnapDataRequest>> tasks) {
+      // the partitioned step persists the data on its own workers when the tasks are completed
+      if (partitionedPersistDataStep.isEmpty()) {
+        persistDataStep.persist(tasks);
+      }
+      return tasks;
+    }
+
+    private void completeRangeData(
+        final List<Task<SnapDataRequest>> tasks,
+        final WritePipe<Task<SnapDataRequest>> requestsToComplete) {
+      partitionedPersistDataStep.ifPresentOrElse(
+          step -> step.persist(tasks, requestsToComplete::put),
+          () -> tasks.forEach(requestsToComplete::put));
     }
   }
 
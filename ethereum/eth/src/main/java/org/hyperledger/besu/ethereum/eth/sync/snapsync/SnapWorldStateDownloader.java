@@ -53,6 +53,7 @@ public class SnapWorldStateDownloader implements WorldStateDownloader {
 
   private static final Logger LOG = LoggerFactory.getLogger(SnapWorldStateDownloader.class);
   private final long minMillisBeforeStalling;
+  private final boolean ringBufferPipes;
   private final Clock clock;
   private final MetricsSystem metricsSystem;
 
@@ -77,6 +78,7 @@ public class SnapWorldStateDownloader implements WorldStateDownloader {
       final int maxOutstandingRequests,
       final int maxNodeRequestsWithoutProgress,
       final long minMillisBeforeStalling,
+      final boolean ringBufferPipes,
       final Clock clock,
       final MetricsSystem metricsSystem) {
     this.ethContext = ethContext;
@@ -88,6 +90,7 @@ public class SnapWorldStateDownloader implements WorldStateDownloader {
     this.maxOutstandingRequests = maxOutstandingRequests;
     this.maxNodeRequestsWithoutProgress = maxNodeRequestsWithoutProgress;
     this.minMillisBeforeStalling = minMillisBeforeStalling;
+    this.ringBufferPipes = ringBufferPipes;
     this.clock = clock;
     this.metricsSystem = metricsSystem;
 
@@ -198,7 +201,11 @@ public class SnapWorldStateDownloader implements WorldStateDownloader {
               snapSyncConfiguration.getPivotBlockWindowValidity(),
               snapSyncConfiguration.getPivotBlockDistanceBeforeCaching());
 
-      SnapWorldStateDownloadProcess downloadProcess =
+      final PersistDataStep persistDataStep =
+          new PersistDataStep(
+              snapSyncState, worldStateStorage, newDownloadState, snapSyncConfiguration);
+
+      final SnapWorldStateDownloadProcess.Builder downloadProcessBuilder =
           SnapWorldStateDownloadProcess.builder()
               .configuration(snapSyncConfiguration)
               .maxOutstandingRequests(maxOutstandingRequests)
@@ -218,14 +225,20 @@ public class SnapWorldStateDownloader implements WorldStateDownloader {
                       newDownloadState,
                       snapSyncConfiguration,
                       metricsSystem))
-              .persistDataStep(
-                  new PersistDataStep(
-                      snapSyncState, worldStateStorage, newDownloadState, snapSyncConfiguration))
+              .persistDataStep(persistDataStep)
               .completeTaskStep(maybeCompleteTask.get())
               .downloadState(newDownloadState)
               .fastSyncState(snapSyncState)
               .metricsSystem(metricsSystem)
-              .build();
+              .ringBufferPipes(ringBufferPipes);
+
+      if (snapSyncConfiguration.getPersistWorkerCount() > 1) {
+        downloadProcessBuilder.partitionedPersistDataStep(
+            new PartitionedPersistDataStep(
+                persistDataStep, worldStateStorage, snapSyncConfiguration, metricsSystem));
+      }
+
+      final SnapWorldStateDownloadProcess downloadProcess = downloadProcessBuilder.build();
 
       newDownloadState.setPivotBlockSelector(dynamicPivotBlockManager);
 
@@ -18,8 +18,8 @@ import org.hyperledger.besu.ethereum.core.BlockHeader;
 import org.hyperledger.besu.ethereum.eth.manager.EthScheduler;
 import org.hyperledger.besu.ethereum.eth.manager.task.EthTask;
 import org.hyperledger.besu.ethereum.worldstate.WorldStateStorage;
-import org.hyperledger.besu.services.tasks.InMemoryTasksPriorityQueues;
 import org.hyperledger.besu.services.tasks.Task;
+import org.hyperledger.besu.services.tasks.TaskCollection;
 import org.hyperledger.besu.services.tasks.TasksPriorityProvider;
 import org.hyperledger.besu.util.ExceptionUtils;
 
@@ -39,7 +39,7 @@ public abstract class WorldDownloadState<REQUEST extends TasksPriorityProvider>
   private static final Logger LOG = LoggerFactory.getLogger(WorldDownloadState.class);
 
   private boolean downloadWasResumed;
-  protected final InMemoryTasksPriorityQueues<REQUEST> pendingRequests;
+  protected final TaskCollection<REQUEST> pendingRequests;
 
   protected final int maxRequestsWithoutProgress;
   private final Clock clock;
@@ -58,7 +58,7 @@ public abstract class WorldDownloadState<REQUEST extends TasksPriorityProvider>
 
   public WorldDownloadState(
       final WorldStateStorage worldStateStorage,
-      final InMemoryTasksPriorityQueues<REQUEST> pendingRequests,
+      final TaskCollection<REQUEST> pendingRequests,
       final int maxRequestsWithoutProgress,
       final long minMillisBeforeStalling,
       final Clock clock) {
@@ -29,6 +29,7 @@ import org.hyperledger.besu.ethereum.eth.EthPeerTestUtil;
 import org.hyperledger.besu.ethereum.eth.EthProtocolConfiguration;
 import org.hyperledger.besu.ethereum.eth.messages.BlockBodiesMessage;
 import org.hyperledger.besu.ethereum.eth.messages.BlockHeadersMessage;
+import org.hyperledger.besu.ethereum.eth.messages.EthPV62;
 import org.hyperledger.besu.ethereum.eth.messages.NodeDataMessage;
 import org.hyperledger.besu.ethereum.eth.messages.ReceiptsMessage;
 import org.hyperledger.besu.ethereum.eth.peervalidation.PeerValidator;
@@ -136,6 +137,44 @@ public class EthPeerTest {
     assertThat(peer.outstandingRequests()).isEqualTo(4);
   }
 
+  @Test
+  public void shouldAllowMoreOutstandingRequestsToFastPeers() throws PeerNotConnected {
+    final EthPeer peer = createPeer();
+    assertThat(peer.measuredResponseLatencyMillis()).isEmpty();
+    assertThat(peer.estimatedResponseLatencyMillis())
+        .isEqualTo(EthPeer.DEFAULT_RESPONSE_LATENCY_MILLIS);
+    assertThat(peer.maxOutstandingRequests()).isEqualTo(5);
+
+    for (int i = 0; i < 3; i++) {
+      peer.getBodies(asList(gen.hash(), gen.hash()));
+      clock.stepMillis(100);
+      peer.dispatch(new EthMessage(peer, BlockBodiesMessage.create(emptyList())));
+    }
+
+    assertThat(peer.measuredResponseLatencyMillis()).hasValue(100);
+    assertThat(peer.measuredResponseThroughput()).isPresent();
+    assertThat(peer.estimatedResponseLatencyMillis(EthPV62.GET_BLOCK_BODIES)).isEqualTo(100);
+    // Without responses to this request type, the latency across all types is used
+    assertThat(peer.estimatedResponseLatencyMillis(EthPV62.GET_BLOCK_HEADERS)).isEqualTo(100);
+    assertThat(peer.expectedCompletionMillis()).isEqualTo(100);
+    assertThat(peer.maxOutstandingRequests()).isEqualTo(10);
+
+    peer.getBodies(asList(gen.hash(), gen.hash()));
+    assertThat(peer.expectedCompletionMillis()).isEqualTo(200);
+  }
+
+  @Test
+  public void shouldRecordTimeoutsAsSlowResponses() {
+    final EthPeer peer = createPeer();
+    for (int i = 0; i < 3; i++) {
+      peer.recordRequestTimeout(EthPV62.GET_BLOCK_HEADERS);
+    }
+
+    assertThat(peer.estimatedResponseLatencyMillis(EthPV62.GET_BLOCK_HEADERS))
+        .isEqualTo(EthPeer.TIMEOUT_RESPONSE_LATENCY_MILLIS);
+    assertThat(peer.maxOutstandingRequests()).isEqualTo(5);
+  }
+
   @Test
   public void shouldTrackLastRequestTime() throws PeerNotConnected {
     final EthPeer peer = createPeer();
@@ -268,6 +268,34 @@ public class EthServerTest {
     assertThat(result).contains(expectedMsg);
   }
 
+  @Test
+  public void shouldRemoveRevertReasonsFromTxReceipts() {
+    final Block block = dataGenerator.block();
+    final List<TransactionReceipt> receipts =
+        List.of(
+            dataGenerator.receipt(Bytes.fromHexString("0x01")),
+            dataGenerator.receipt(),
+            dataGenerator.receipt(Bytes.fromHexString("0x0203")));
+    when(blockchain.getTxReceiptsRlp(block.getHash()))
+        .thenReturn(Optional.of(encodeReceiptsForStorage(receipts)));
+    setupEthServer();
+
+    final GetReceiptsMessage receiptsMsg = GetReceiptsMessage.create(List.of(block.getHash()));
+    final EthMessage ethMsg = new EthMessage(ethPeer, receiptsMsg);
+
+    final ReceiptsMessage expectedMsg = ReceiptsMessage.create(List.of(receipts));
+    final Optional<MessageData> result = ethMessages.dispatch(ethMsg);
+    assertThat(result).contains(expectedMsg);
+  }
+
+  @Test
+  public void shouldReturnStoredReceiptsWhenTheyHaveNoRevertReason() {
+    final Block block = dataGenerator.block();
+    final Bytes encodedReceipts = encodeReceiptsForStorage(dataGenerator.receipts(block));
+
+    assertThat(EthServer.withoutRevertReasons(encodedReceipts)).isSameAs(encodedReceipts);
+  }
+
   @Test
   public void shouldLimitTransactionsByMessageSize() {
     final List<Transaction> transactions = setupTransactions(10);
@@ -350,6 +378,12 @@ public class EthServerTest {
       when(blockchain.getBlockHeader(block.getHash())).thenReturn(Optional.of(block.getHeader()));
       when(blockchain.getBlockHeader(block.getHeader().getNumber()))
           .thenReturn(Optional.of(block.getHeader()));
+      final Bytes encodedHeader = RLP.encode(block.getHeader()::writeTo);
+      when(blockchain.getBlockBodyRlp(block.getHash()))
+          .thenReturn(Optional.of(RLP.encode(block.getBody()::writeWrappedBodyTo)));
+      when(blockchain.getBlockHeaderRlp(block.getHash())).thenReturn(Optional.of(encodedHeader));
+      when(blockchain.getBlockHeaderRlp(block.getHeader().getNumber()))
+          .thenReturn(Optional.of(encodedHeader));
     }
 
     return blocks;
@@ -361,12 +395,18 @@ public class EthServerTest {
     for (Block block : blocks) {
       final List<TransactionReceipt> receipts = dataGenerator.receipts(block);
       when(blockchain.getTxReceipts(block.getHash())).thenReturn(Optional.of(receipts));
+      when(blockchain.getTxReceiptsRlp(block.getHash()))
+          .thenReturn(Optional.of(encodeReceiptsForStorage(receipts)));
       txReceiptsByHash.put(block.getHash(), receipts);
     }
 
     return txReceiptsByHash;
   }
 
+  private Bytes encodeReceiptsForStorage(final List<TransactionReceipt> receipts) {
+    return RLP.encode(out -> out.writeList(receipts, TransactionReceipt::writeToWithRevertReason));
+  }
+
   private List<Transaction> setupTransactions(final int count) {
     List<Transaction> txs =
         Stream.generate(dataGenerator::transaction).limit(count).collect(Collectors.toList());
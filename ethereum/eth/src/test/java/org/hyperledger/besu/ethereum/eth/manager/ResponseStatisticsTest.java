@@ -0,0 +1,65 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.manager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+public class ResponseStatisticsTest {
+
+  private final ResponseStatistics statistics = new ResponseStatistics();
+
+  @Test
+  public void shouldStartFromFirstResponse() {
+    assertThat(statistics.isReliable()).isFalse();
+
+    statistics.recordResponse(200, 1_000);
+
+    assertThat(statistics.getSampleCount()).isEqualTo(1);
+    assertThat(statistics.getLatencyMillis()).isEqualTo(200);
+    assertThat(statistics.getBytesPerSecond()).isEqualTo(5_000);
+  }
+
+  @Test
+  public void shouldWeighRecentResponsesMore() {
+    statistics.recordResponse(100, 0);
+    statistics.recordResponse(100, 0);
+    statistics.recordResponse(600, 0);
+
+    assertThat(statistics.isReliable()).isTrue();
+    assertThat(statistics.getLatencyMillis())
+        .isEqualTo(100 + ResponseStatistics.SMOOTHING_FACTOR * 500);
+  }
+
+  @Test
+  public void shouldRecordTimeoutsAsResponsesWithoutData() {
+    statistics.recordResponse(100, 10_000);
+    statistics.recordTimeout(5_000);
+
+    assertThat(statistics.getLatencyMillis())
+        .isEqualTo(100 + ResponseStatistics.SMOOTHING_FACTOR * 4_900);
+    assertThat(statistics.getBytesPerSecond())
+        .isEqualTo(100_000 * (1 - ResponseStatistics.SMOOTHING_FACTOR));
+  }
+
+  @Test
+  public void shouldCountInstantResponsesAsTakingOneMillisecond() {
+    statistics.recordResponse(0, 10);
+
+    assertThat(statistics.getLatencyMillis()).isEqualTo(1);
+    assertThat(statistics.getBytesPerSecond()).isEqualTo(10_000);
+  }
+}
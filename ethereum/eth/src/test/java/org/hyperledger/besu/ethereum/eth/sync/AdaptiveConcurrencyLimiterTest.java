@@ -0,0 +1,150 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.sync;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+
+public class AdaptiveConcurrencyLimiterTest {
+
+  private static final long BASE_LATENCY = 100;
+
+  private final AtomicLong time = new AtomicLong(1_000);
+
+  @Test
+  public void shouldUseMaxLimitWhenNotAdaptive() {
+    final AdaptiveConcurrencyLimiter limiter = createLimiter(2, 10, false);
+    final Function<String, CompletableFuture<String>> operation =
+        CompletableFuture::completedFuture;
+
+    assertThat(limiter.getAsInt()).isEqualTo(10);
+    assertThat(limiter.track(operation)).isSameAs(operation);
+  }
+
+  @Test
+  public void shouldStartAtMinLimitAndGrowWhileLatencyIsStable() {
+    final AdaptiveConcurrencyLimiter limiter = createLimiter(2, 10, true);
+    assertThat(limiter.getAsInt()).isEqualTo(2);
+
+    completeRequests(limiter, 3, BASE_LATENCY);
+    assertThat(limiter.getAsInt()).isEqualTo(5);
+
+    completeRequests(limiter, 20, BASE_LATENCY);
+    assertThat(limiter.getAsInt()).isEqualTo(10);
+  }
+
+  @Test
+  public void shouldBackOffWhenLatencyIncreases() {
+    final AdaptiveConcurrencyLimiter limiter = createLimiter(1, 10, true);
+    completeRequests(limiter, 9, BASE_LATENCY);
+    assertThat(limiter.getAsInt()).isEqualTo(10);
+
+    completeRequests(limiter, 1, BASE_LATENCY * 10);
+    assertThat(limiter.getAsInt()).isEqualTo((int) (10 * AdaptiveConcurrencyLimiter.BACKOFF_RATIO));
+  }
+
+  @Test
+  public void shouldBackOffWhenRequestFails() {
+    final AdaptiveConcurrencyLimiter limiter = createLimiter(1, 10, true);
+    completeRequests(limiter, 9, BASE_LATENCY);
+
+    final CompletableFuture<String> request = new CompletableFuture<>();
+    limiter.<String, String>track(input -> request).apply("a");
+    time.addAndGet(BASE_LATENCY);
+    request.completeExceptionally(new RuntimeException("Timed out"));
+
+    assertThat(limiter.getAsInt()).isEqualTo(7);
+  }
+
+  @Test
+  public void shouldNotBackOffWhenRequestIsCancelled() {
+    final AdaptiveConcurrencyLimiter limiter = createLimiter(1, 10, true);
+    completeRequests(limiter, 4, BASE_LATENCY);
+
+    final CompletableFuture<String> request = new CompletableFuture<>();
+    final CompletableFuture<String> result =
+        limiter.<String, String>track(input -> request).apply("a");
+    result.cancel(true);
+
+    assertThat(request).isCancelled();
+    assertThat(limiter.getAsInt()).isEqualTo(5);
+  }
+
+  @Test
+  public void shouldOnlyBackOffOnceForRequestsStartedBeforeDecrease() {
+    final AdaptiveConcurrencyLimiter limiter = createLimiter(1, 10, true);
+    completeRequests(limiter, 9, BASE_LATENCY);
+
+    final CompletableFuture<String> slowRequest1 = new CompletableFuture<>();
+    final CompletableFuture<String> slowRequest2 = new CompletableFuture<>();
+    limiter.<String, String>track(input -> slowRequest1).apply("a");
+    limiter.<String, String>track(input -> slowRequest2).apply("b");
+    time.addAndGet(BASE_LATENCY * 10);
+    slowRequest1.complete("a");
+    slowRequest2.complete("b");
+
+    assertThat(limiter.getAsInt()).isEqualTo(7);
+  }
+
+  @Test
+  public void shouldGrowSlowlyAfterBackingOff() {
+    final AdaptiveConcurrencyLimiter limiter = createLimiter(1, 10, true);
+    completeRequests(limiter, 9, BASE_LATENCY);
+    completeRequests(limiter, 1, BASE_LATENCY * 10);
+    assertThat(limiter.getAsInt()).isEqualTo(7);
+
+    completeRequests(limiter, 2, BASE_LATENCY);
+    assertThat(limiter.getAsInt()).isEqualTo(7);
+
+    completeRequests(limiter, 2, BASE_LATENCY);
+    assertThat(limiter.getAsInt()).isEqualTo(8);
+  }
+
+  @Test
+  public void shouldNotDropBelowMinLimit() {
+    final AdaptiveConcurrencyLimiter limiter = createLimiter(3, 10, true);
+    for (int i = 0; i < 10; i++) {
+      final CompletableFuture<String> request = new CompletableFuture<>();
+      limiter.<String, String>track(input -> request).apply("a");
+      time.addAndGet(BASE_LATENCY);
+      request.completeExceptionally(new RuntimeException("Timed out"));
+    }
+
+    assertThat(limiter.getAsInt()).isEqualTo(3);
+  }
+
+  private void completeRequests(
+      final AdaptiveConcurrencyLimiter limiter, final int count, final long latency) {
+    for (int i = 0; i < count; i++) {
+      final CompletableFuture<String> request = new CompletableFuture<>();
+      limiter.<String, String>track(input -> request).apply("a");
+      time.addAndGet(latency);
+      request.complete("a");
+    }
+  }
+
+  private AdaptiveConcurrencyLimiter createLimiter(
+      final int minLimit, final int maxLimit, final boolean adaptive) {
+    return new AdaptiveConcurrencyLimiter(
+        "test", minLimit, maxLimit, adaptive, new NoOpMetricsSystem(), time::get);
+  }
+}
@@ -107,9 +107,8 @@ public class FastDownloaderFactoryTest {
 
   @SuppressWarnings("unchecked")
   @Test
-  public void shouldNotThrowWhenFastSyncModeRequested() throws NoSuchFieldException {
-    initDataDirectory(false);
-
+  public void shouldNotThrowWhenFastSyncModeRequested() throws IOException {
+    final Path dataDirectory = Files.createTempDirectory("fast-sync");
     final MutableBlockchain mutableBlockchain = mock(MutableBlockchain.class);
     when(mutableBlockchain.getChainHeadBlockNumber()).thenReturn(0L);
     when(protocolContext.getBlockchain()).thenReturn(mutableBlockchain);
@@ -161,6 +160,65 @@ public class FastDownloaderFactoryTest {
     assertThat(Files.exists(stateQueueDir)).isFalse();
   }
 
+  @Test
+  public void shouldDeletePendingRequestsOfPreviousRunWhenNotSpilling() throws IOException {
+    when(syncConfig.getSyncMode()).thenReturn(SyncMode.FAST);
+    when(syncConfig.getWorldStateTaskCacheSize()).thenReturn(10);
+    final MutableBlockchain mutableBlockchain = mock(MutableBlockchain.class);
+    when(mutableBlockchain.getChainHeadBlockNumber()).thenReturn(0L);
+    when(protocolContext.getBlockchain()).thenReturn(mutableBlockchain);
+
+    final Path dataDirectory = Files.createTempDirectory("fast-sync");
+    final Path pendingRequestsDir =
+        dataDirectory.resolve("fastsync").resolve("pendingrequests").resolve("depth-0");
+    assertThat(pendingRequestsDir.toFile().mkdirs()).isTrue();
+    Files.createFile(pendingRequestsDir.resolve("tasks.dat"));
+
+    FastDownloaderFactory.create(
+        pivotBlockSelector,
+        syncConfig,
+        dataDirectory,
+        protocolSchedule,
+        protocolContext,
+        metricsSystem,
+        ethContext,
+        worldStateStorage,
+        syncState,
+        clock);
+
+    assertThat(pendingRequestsDir.resolve("tasks.dat")).doesNotExist();
+  }
+
+  @Test
+  public void shouldResumePendingRequestsOfPreviousRunWhenSpilling() throws IOException {
+    when(syncConfig.getSyncMode()).thenReturn(SyncMode.FAST);
+    when(syncConfig.getWorldStateTaskCacheSize()).thenReturn(10);
+    when(syncConfig.isWorldStateTaskSpillEnabled()).thenReturn(true);
+    final MutableBlockchain mutableBlockchain = mock(MutableBlockchain.class);
+    when(mutableBlockchain.getChainHeadBlockNumber()).thenReturn(0L);
+    when(protocolContext.getBlockchain()).thenReturn(mutableBlockchain);
+
+    final Path dataDirectory = Files.createTempDirectory("fast-sync");
+    final Path pendingRequestsDir =
+        dataDirectory.resolve("fastsync").resolve("pendingrequests").resolve("depth-0");
+    assertThat(pendingRequestsDir.toFile().mkdirs()).isTrue();
+    Files.createFile(pendingRequestsDir.resolve("tasks.dat"));
+
+    FastDownloaderFactory.create(
+        pivotBlockSelector,
+        syncConfig,
+        dataDirectory,
+        protocolSchedule,
+        protocolContext,
+        metricsSystem,
+        ethContext,
+        worldStateStorage,
+        syncState,
+        clock);
+
+    assertThat(pendingRequestsDir.resolve("tasks.dat")).exists();
+  }
+
   @Test
   public void shouldCrashWhenStateQueueIsNotDirectory() throws IOException {
     when(syncConfig.getSyncMode()).thenReturn(SyncMode.FAST);
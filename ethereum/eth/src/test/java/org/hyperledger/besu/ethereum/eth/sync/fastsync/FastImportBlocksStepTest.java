@@ -89,7 +89,8 @@ public class FastImportBlocksStepTest {
               blockWithReceipts.getBlock(),
               blockWithReceipts.getReceipts(),
               FULL,
-              LIGHT))
+              LIGHT,
+              false))
           .thenReturn(new BlockImportResult(true));
     }
     importBlocksStep.accept(blocksWithReceipts);
@@ -106,9 +107,33 @@ public class FastImportBlocksStepTest {
     final BlockWithReceipts blockWithReceipts = new BlockWithReceipts(block, gen.receipts(block));
 
     when(blockImporter.fastImportBlock(
-            protocolContext, block, blockWithReceipts.getReceipts(), FULL, LIGHT))
+            protocolContext, block, blockWithReceipts.getReceipts(), FULL, LIGHT, false))
         .thenReturn(new BlockImportResult(false));
     assertThatThrownBy(() -> importBlocksStep.accept(singletonList(blockWithReceipts)))
         .isInstanceOf(InvalidBlockException.class);
   }
+
+  @Test
+  public void shouldImportPreValidatedBlocksWithoutRepeatingDetachedBodyChecks() {
+    final FastImportBlocksStep importValidatedBlocksStep =
+        new FastImportBlocksStep(
+            protocolSchedule,
+            protocolContext,
+            validationPolicy,
+            ommerValidationPolicy,
+            null,
+            pivotHeader,
+            true);
+    final Block block = gen.block();
+    final BlockWithReceipts blockWithReceipts = new BlockWithReceipts(block, gen.receipts(block));
+
+    when(blockImporter.fastImportBlock(
+            protocolContext, block, blockWithReceipts.getReceipts(), FULL, LIGHT, true))
+        .thenReturn(new BlockImportResult(true));
+    importValidatedBlocksStep.accept(singletonList(blockWithReceipts));
+
+    verify(blockImporter)
+        .fastImportBlock(
+            protocolContext, block, blockWithReceipts.getReceipts(), FULL, LIGHT, true);
+  }
 }
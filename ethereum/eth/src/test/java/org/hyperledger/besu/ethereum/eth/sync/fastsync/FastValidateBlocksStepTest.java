@@ -0,0 +1,90 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.sync.fastsync;
+
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.ethereum.chain.BadBlockManager;
+import org.hyperledger.besu.ethereum.core.Block;
+import org.hyperledger.besu.ethereum.core.BlockDataGenerator;
+import org.hyperledger.besu.ethereum.core.BlockWithReceipts;
+import org.hyperledger.besu.ethereum.eth.sync.tasks.exceptions.InvalidBlockException;
+import org.hyperledger.besu.ethereum.mainnet.BlockBodyValidator;
+import org.hyperledger.besu.ethereum.mainnet.ProtocolSchedule;
+import org.hyperledger.besu.ethereum.mainnet.ProtocolSpec;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class FastValidateBlocksStepTest {
+
+  @Mock private ProtocolSchedule protocolSchedule;
+  @Mock private ProtocolSpec protocolSpec;
+  @Mock private BlockBodyValidator blockBodyValidator;
+  @Mock private BadBlockManager badBlockManager;
+  private final BlockDataGenerator gen = new BlockDataGenerator();
+
+  private FastValidateBlocksStep validateBlocksStep;
+
+  @BeforeEach
+  public void setUp() {
+    when(protocolSchedule.getByBlockHeader(any())).thenReturn(protocolSpec);
+    when(protocolSpec.getBlockBodyValidator()).thenReturn(blockBodyValidator);
+
+    validateBlocksStep = new FastValidateBlocksStep(protocolSchedule);
+  }
+
+  @Test
+  public void shouldPassOnBlocksWithValidBodies() {
+    final List<BlockWithReceipts> blocksWithReceipts =
+        gen.blockSequence(5).stream()
+            .map(block -> new BlockWithReceipts(block, gen.receipts(block)))
+            .collect(toList());
+    when(blockBodyValidator.validateBodyLightDetachedOnly(any(), any())).thenReturn(true);
+
+    assertThat(validateBlocksStep.apply(blocksWithReceipts)).isEqualTo(blocksWithReceipts);
+
+    for (final BlockWithReceipts blockWithReceipts : blocksWithReceipts) {
+      verify(blockBodyValidator)
+          .validateBodyLightDetachedOnly(
+              blockWithReceipts.getBlock(), blockWithReceipts.getReceipts());
+    }
+  }
+
+  @Test
+  public void shouldThrowExceptionWhenBodyValidationFails() {
+    final Block block = gen.block();
+    final BlockWithReceipts blockWithReceipts = new BlockWithReceipts(block, gen.receipts(block));
+    when(blockBodyValidator.validateBodyLightDetachedOnly(any(), any())).thenReturn(false);
+    when(protocolSpec.getBadBlocksManager()).thenReturn(badBlockManager);
+
+    assertThatThrownBy(() -> validateBlocksStep.apply(singletonList(blockWithReceipts)))
+        .isInstanceOf(InvalidBlockException.class);
+    verify(badBlockManager).addBadBlock(block, Optional.empty());
+  }
+}
@@ -1002,6 +1002,7 @@ public class FastWorldStateDownloaderTest {
         config.getWorldStateRequestParallelism(),
         config.getWorldStateMaxRequestsWithoutProgress(),
         config.getWorldStateMinMillisBeforeStalling(),
+        config.isRingBufferPipesEnabled(),
         TestClock.fixed(),
         new NoOpMetricsSystem());
   }
@@ -0,0 +1,111 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.sync.fastsync.worldstate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.eth.sync.worldstate.WorldStateDownloaderException;
+
+import java.util.Optional;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.Test;
+
+public class NodeDataRequestSerializerTest {
+
+  private final NodeDataRequestSerializer serializer = new NodeDataRequestSerializer();
+
+  @Test
+  public void shouldRestoreSpilledRequestWithItsParent() {
+    final NodeDataRequest parent =
+        NodeDataRequest.createAccountDataRequest(Hash.hash(Bytes.of(1)), Optional.of(Bytes.EMPTY));
+    final NodeDataRequest child =
+        NodeDataRequest.createStorageDataRequest(
+            Hash.hash(Bytes.of(2)), Optional.of(Hash.hash(Bytes.of(3))), Optional.of(Bytes.of(4)));
+    child.registerParent(parent);
+
+    final NodeDataRequest restored = serializer.deserialize(serializer.serialize(child));
+
+    assertThat(restored).isInstanceOf(StorageTrieNodeDataRequest.class);
+    assertThat(restored.getHash()).isEqualTo(child.getHash());
+    assertThat(((StorageTrieNodeDataRequest) restored).getAccountHash())
+        .contains(Hash.hash(Bytes.of(3)));
+    assertThat(restored.getLocation()).contains(Bytes.of(4));
+    assertThat(restored.getDepth()).isEqualTo(child.getDepth());
+    assertThat(restored.getPriority()).isEqualTo(child.getPriority());
+    assertThat(restored.getPossibleParent()).containsSame(parent);
+  }
+
+  @Test
+  public void shouldRestoreRequestWithoutParent() {
+    final NodeDataRequest request =
+        NodeDataRequest.createCodeRequest(Hash.hash(Bytes.of(1)), Optional.empty());
+
+    final NodeDataRequest restored = serializer.deserialize(serializer.serialize(request));
+
+    assertThat(restored).isInstanceOf(CodeNodeDataRequest.class);
+    assertThat(restored.getHash()).isEqualTo(request.getHash());
+    assertThat(((CodeNodeDataRequest) restored).getAccountHash()).isEmpty();
+    assertThat(restored.getPossibleParent()).isEmpty();
+  }
+
+  @Test
+  public void shouldReleaseParentOnceAllSpilledChildrenAreRead() {
+    final NodeDataRequest parent =
+        NodeDataRequest.createAccountDataRequest(Hash.hash(Bytes.of(1)), Optional.of(Bytes.EMPTY));
+    final NodeDataRequest child =
+        NodeDataRequest.createAccountDataRequest(Hash.hash(Bytes.of(2)), Optional.of(Bytes.of(1)));
+    child.registerParent(parent);
+    final Bytes spilled = serializer.serialize(child);
+
+    assertThat(serializer.deserialize(spilled).getPossibleParent()).containsSame(parent);
+    assertThatThrownBy(() -> serializer.deserialize(spilled))
+        .isInstanceOf(WorldStateDownloaderException.class);
+  }
+
+  @Test
+  public void shouldReleaseParentsWhenCleared() {
+    final NodeDataRequest parent =
+        NodeDataRequest.createAccountDataRequest(Hash.hash(Bytes.of(1)), Optional.of(Bytes.EMPTY));
+    final NodeDataRequest child =
+        NodeDataRequest.createAccountDataRequest(Hash.hash(Bytes.of(2)), Optional.of(Bytes.of(1)));
+    child.registerParent(parent);
+    final Bytes spilled = serializer.serialize(child);
+
+    serializer.clear();
+
+    assertThatThrownBy(() -> serializer.deserialize(spilled))
+        .isInstanceOf(WorldStateDownloaderException.class);
+  }
+
+  @Test
+  public void shouldRestoreRequestSpilledByPreviousProcessWithoutParent() {
+    final NodeDataRequest parent =
+        NodeDataRequest.createAccountDataRequest(Hash.hash(Bytes.of(1)), Optional.of(Bytes.EMPTY));
+    final NodeDataRequest child =
+        NodeDataRequest.createAccountDataRequest(Hash.hash(Bytes.of(2)), Optional.of(Bytes.of(1)));
+    child.registerParent(parent);
+    final Bytes spilled = serializer.serialize(child);
+
+    final NodeDataRequest restored = new NodeDataRequestSerializer().deserialize(spilled);
+
+    assertThat(restored.getHash()).isEqualTo(child.getHash());
+    assertThat(restored.getDepth()).isEqualTo(child.getDepth());
+    assertThat(restored.getPriority()).isEqualTo(child.getPriority());
+    assertThat(restored.getPossibleParent()).isEmpty();
+  }
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.eth.sync.snapsync;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.ethereum.core.InMemoryKeyValueStorageProvider;
+import org.hyperledger.besu.ethereum.eth.sync.snapsync.request.SnapDataRequest;
+import org.hyperledger.besu.ethereum.worldstate.DataStorageFormat;
+import org.hyperledger.besu.ethereum.worldstate.WorldStateStorage;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+import org.hyperledger.besu.services.tasks.Task;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.apache.tuweni.bytes.Bytes32;
+import org.awaitility.Awaitility;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PartitionedPersistDataStepTest {
+
+  private final WorldStateStorage worldStateStorage =
+      new InMemoryKeyValueStorageProvider().createWorldStateStorage(DataStorageFormat.FOREST);
+  private final PersistDataStep persistDataStep = mock(PersistDataStep.class);
+  private final List<Task<SnapDataRequest>> persistedTasks = new CopyOnWriteArrayList<>();
+
+  private final PartitionedPersistDataStep partitionedPersistDataStep =
+      new PartitionedPersistDataStep(
+          persistDataStep,
+          worldStateStorage,
+          ImmutableSnapSyncConfiguration.builder()
+              .persistWorkerCount(4)
+              .persistBatchNodeCount(1_000)
+              .persistFlushIntervalMillis(60_000)
+              .build(),
+          new NoOpMetricsSystem());
+
+  private final List<SnapDataRequest> enqueuedChildRequests = new CopyOnWriteArrayList<>();
+
+  @Before
+  public void setUp() {
+    doAnswer(
+            invocation -> {
+              invocation
+                  .<Stream<SnapDataRequest>>getArgument(0)
+                  .forEach(enqueuedChildRequests::add);
+              return null;
+            })
+        .when(persistDataStep)
+        .enqueueChildren(any());
+  }
+
+  @After
+  public void tearDown() {
+    partitionedPersistDataStep.abort();
+  }
+
+  @Test
+  public void shouldPartitionRequestsByAccountHash() {
+    assertThat(PartitionedPersistDataStep.getWorkerIndex(accountRequest(0x00), 4)).isEqualTo(0);
+    assertThat(PartitionedPersistDataStep.getWorkerIndex(accountRequest(0x3f), 4)).isEqualTo(0);
+    assertThat(PartitionedPersistDataStep.getWorkerIndex(accountRequest(0x40), 4)).isEqualTo(1);
+    assertThat(PartitionedPersistDataStep.getWorkerIndex(accountRequest(0xff), 4)).isEqualTo(3);
+    assertThat(PartitionedPersistDataStep.getWorkerIndex(bytecodeRequest(0x80), 4)).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldOnlyCompleteTasksOnceCommitted() {
+    when(persistDataStep.persist(anyList(), any(), any())).thenReturn(1);
+    final List<Task<SnapDataRequest>> tasks =
+        List.of(new StubTask(accountRequest(0x00)), new StubTask(bytecodeRequest(0xff)));
+
+    partitionedPersistDataStep.persist(tasks, persistedTasks::add);
+    assertThat(persistedTasks).isEmpty();
+
+    partitionedPersistDataStep.close();
+    assertThat(persistedTasks).containsExactlyInAnyOrderElementsOf(tasks);
+    assertThat(partitionedPersistDataStep.getQueueDepth()).isZero();
+  }
+
+  @Test
+  public void shouldFailTasksWhenPersistFails() {
+    when(persistDataStep.persist(anyList(), any(), any()))
+        .thenThrow(new IllegalStateException("boom"));
+    final StubTask task = new StubTask(accountRequest(0x00));
+
+    partitionedPersistDataStep.persist(task, persistedTasks::add);
+    partitionedPersistDataStep.close();
+
+    assertThat(persistedTasks).isEmpty();
+    assertThat(task.isFailed()).isTrue();
+  }
+
+  @Test
+  public void shouldOnlyEnqueueChildRequestsOnceCommitted() {
+    final SnapDataRequest childRequest = accountRequest(0x01);
+    when(persistDataStep.persist(anyList(), any(), any()))
+        .thenAnswer(
+            invocation -> {
+              invocation
+                  .<Consumer<Stream<SnapDataRequest>>>getArgument(2)
+                  .accept(Stream.of(childRequest));
+              return 1;
+            });
+
+    partitionedPersistDataStep.persist(new StubTask(accountRequest(0x00)), persistedTasks::add);
+    assertThat(enqueuedChildRequests).isEmpty();
+
+    partitionedPersistDataStep.close();
+    assertThat(enqueuedChildRequests).containsExactly(childRequest);
+  }
+
+  @Test
+  public void shouldDropChildRequestsOfRolledBackTasks() {
+    when(persistDataStep.persist(anyList(), any(), any()))
+        .thenAnswer(
+            invocation -> {
+              invocation
+                  .<Consumer<Stream<SnapDataRequest>>>getArgument(2)
+                  .accept(Stream.of(accountRequest(0x01)));
+              throw new IllegalStateException("boom");
+            });
+    final StubTask task = new StubTask(accountRequest(0x00));
+
+    partitionedPersistDataStep.persist(task, persistedTasks::add);
+    partitionedPersistDataStep.close();
+
+    assertThat(task.isFailed()).isTrue();
+    assertThat(enqueuedChildRequests).isEmpty();
+  }
+
+  @Test
+  public void shouldFailQueuedTasksOnAbort() throws InterruptedException {
+    final CountDownLatch persisting = new CountDownLatch(1);
+    when(persistDataStep.persist(anyList(), any(), any()))
+        .thenAnswer(
+            invocation -> {
+              persisting.countDown();
+              Thread.sleep(60_000);
+              return 1;
+            });
+    // both tasks belong to the first worker, so the second one waits in its queue
+    final StubTask persistedTask = new StubTask(accountRequest(0x00));
+    final StubTask queuedTask = new StubTask(accountRequest(0x01));
+
+    partitionedPersistDataStep.persist(List.of(persistedTask, queuedTask), persistedTasks::add);
+    persisting.await();
+    partitionedPersistDataStep.abort();
+
+    Awaitility.await()
+        .atMost(10, TimeUnit.SECONDS)
+        .until(() -> persistedTask.isFailed() && queuedTask.isFailed());
+    assertThat(persistedTasks).isEmpty();
+    assertThat(partitionedPersistDataStep.getQueueDepth()).isZero();
+  }
+
+  private SnapDataRequest accountRequest(final int firstByte) {
+    return SnapDataRequest.createAccountRangeDataRequest(
+        Hash.EMPTY_TRIE_HASH, keyStartingWith(firstByte), RangeManager.MAX_RANGE);
+  }
+
+  private SnapDataRequest bytecodeRequest(final int firstByte) {
+    return SnapDataRequest.createBytecodeRequest(
+        keyStartingWith(firstByte), Hash.EMPTY_TRIE_HASH, Hash.EMPTY);
+  }
+
+  private Bytes32 keyStartingWith(final int firstByte) {
+    final byte[] key = new byte[32];
+    key[0] = (byte) firstByte;
+    return Bytes32.wrap(key);
+  }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.p2p.discovery.internal;
+
+import org.hyperledger.besu.ethereum.p2p.discovery.DiscoveryPeer;
+import org.hyperledger.besu.ethereum.p2p.discovery.Endpoint;
+import org.hyperledger.besu.ethereum.p2p.discovery.PeerDiscoveryStatus;
+import org.hyperledger.besu.ethereum.p2p.peers.Peer;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Simulates the discovery traffic of a busy bootnode, where several threads handle packets from
+ * peers of the table while its content changes as peers are bonded and evicted.
+ *
+ * <p>Every handled packet looks its sender up, and half of them are {@code FIND_NEIGHBORS} packets
+ * asking for the peers nearest to a random target, like every round of a peer lookup does.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class PeerTableBenchmark {
+
+  private static final int CANDIDATES = 100_000;
+  private static final int TARGETS = 1_024;
+
+  private PeerTable table;
+  private List<DiscoveryPeer> members;
+  private List<DiscoveryPeer> newcomers;
+
+  @State(Scope.Thread)
+  public static class Packets {
+    private Bytes[] targets;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void prepare() {
+      targets = Stream.generate(Peer::randomId).limit(TARGETS).toArray(Bytes[]::new);
+    }
+
+    int next() {
+      return next++ & (TARGETS - 1);
+    }
+  }
+
+  @Setup(Level.Trial)
+  public void prepare() {
+    table = new PeerTable(Peer.randomId());
+    // Most candidates are rejected because their bucket is full, which leaves the table with as
+    // many peers as a long running node usually knows.
+    Stream.generate(PeerTableBenchmark::createPeer).limit(CANDIDATES).forEach(table::tryAdd);
+    members = table.streamAllPeers().collect(Collectors.toList());
+    newcomers = Stream.generate(PeerTableBenchmark::createPeer).limit(TARGETS).toList();
+  }
+
+  private static DiscoveryPeer createPeer() {
+    final DiscoveryPeer peer =
+        DiscoveryPeer.fromIdAndEndpoint(
+            Peer.randomId(), new Endpoint("127.0.0.1", 30303, Optional.empty()));
+    peer.setStatus(PeerDiscoveryStatus.BONDED);
+    return peer;
+  }
+
+  @Benchmark
+  @Group("discovery")
+  @GroupThreads(3)
+  public List<DiscoveryPeer> handlePacket(final Packets packets) {
+    final int index = packets.next();
+    final Optional<DiscoveryPeer> sender = table.get(members.get(index % members.size()));
+    if ((index & 1) == 0) {
+      return table.nearestBondedPeers(packets.targets[index], 16);
+    }
+    return sender.map(List::of).orElse(List.of());
+  }
+
+  @Benchmark
+  @Group("discovery")
+  @GroupThreads(1)
+  public PeerTable.EvictResult churn(final Packets packets) {
+    final DiscoveryPeer peer = newcomers.get(packets.next());
+    table.tryAdd(peer);
+    return table.tryEvict(peer);
+  }
+
+  @Benchmark
+  public List<DiscoveryPeer> nearestBondedPeers(final Packets packets) {
+    return table.nearestBondedPeers(packets.targets[packets.next()], 16);
+  }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.p2p.rlpx.framing;
+
+import org.hyperledger.besu.ethereum.p2p.rlpx.handshake.HandshakeSecrets;
+import org.hyperledger.besu.ethereum.p2p.rlpx.wire.MessageData;
+import org.hyperledger.besu.ethereum.p2p.rlpx.wire.RawMessage;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import javax.crypto.Cipher;
+import javax.crypto.ShortBufferException;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import org.apache.tuweni.bytes.Bytes;
+import org.bouncycastle.crypto.StreamCipher;
+import org.bouncycastle.crypto.engines.AESEngine;
+import org.bouncycastle.crypto.modes.SICBlockCipher;
+import org.bouncycastle.crypto.params.KeyParameter;
+import org.bouncycastle.crypto.params.ParametersWithIV;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures the number of frames per second the framer can produce and consume. The {@code bytes}
+ * counter reports the corresponding payload throughput: as the benchmark is single threaded, its
+ * inverse is the CPU time spent per MB of messages.
+ *
+ * <p>The raw AES-CTR benchmarks compare the JCE cipher used by the framer with the pure Java
+ * BouncyCastle implementation it replaced.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class FramerBenchmark {
+
+  @Param({"128", "4096", "131072", "1048576"})
+  public int messageSize;
+
+  private Framer sender;
+  private Framer receiver;
+  private MessageData message;
+  private ByteBuf wire;
+
+  private byte[] payload;
+  private Cipher jceCipher;
+  private StreamCipher bouncyCastleCipher;
+
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.OPERATIONS)
+  public static class Counters {
+    public long bytes;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+      bytes = 0;
+    }
+  }
+
+  @Setup(Level.Trial)
+  public void prepare() throws Exception {
+    final Random random = new Random(1);
+    final byte[] aesSecret = new byte[32];
+    final byte[] macSecret = new byte[32];
+    final byte[] token = new byte[32];
+    random.nextBytes(aesSecret);
+    random.nextBytes(macSecret);
+    // Both ends start with empty MAC digests, so the egress of one matches the ingress of the other
+    sender = new Framer(new HandshakeSecrets(aesSecret, macSecret, token));
+    receiver = new Framer(new HandshakeSecrets(aesSecret, macSecret, token));
+
+    payload = new byte[messageSize];
+    random.nextBytes(payload);
+    message = new RawMessage(0x10, Bytes.wrap(payload));
+    wire = PooledByteBufAllocator.DEFAULT.directBuffer(messageSize + 128);
+
+    final byte[] iv = new byte[16];
+    jceCipher = Cipher.getInstance("AES/CTR/NoPadding");
+    jceCipher.init(
+        Cipher.ENCRYPT_MODE, new SecretKeySpec(aesSecret, "AES"), new IvParameterSpec(iv));
+    bouncyCastleCipher = new SICBlockCipher(new AESEngine());
+    bouncyCastleCipher.init(true, new ParametersWithIV(new KeyParameter(aesSecret), iv));
+  }
+
+  @TearDown(Level.Trial)
+  public void release() {
+    wire.release();
+  }
+
+  @Benchmark
+  public ByteBuf frame(final Counters counters) {
+    wire.clear();
+    sender.frame(message, wire);
+    counters.bytes += messageSize;
+    return wire;
+  }
+
+  @Benchmark
+  public MessageData frameAndDeframe(final Counters counters) {
+    wire.clear();
+    sender.frame(message, wire);
+    counters.bytes += messageSize;
+    return receiver.deframe(wire);
+  }
+
+  @Benchmark
+  public byte[] jceAesCtr(final Counters counters) throws ShortBufferException {
+    jceCipher.update(payload, 0, messageSize, payload, 0);
+    counters.bytes += messageSize;
+    return payload;
+  }
+
+  @Benchmark
+  public byte[] bouncyCastleAesCtr(final Counters counters) {
+    bouncyCastleCipher.processBytes(payload, 0, messageSize, payload, 0);
+    counters.bytes += messageSize;
+    return payload;
+  }
+}
@@ -35,11 +35,16 @@ import org.apache.tuweni.bytes.Bytes;
  * recently accessed peer</i> and the tail is the <i>least recently accessed peer</i>. If the bucket
  * is full, the <i>least recently accessed peer</i> is proposed for eviction, thus aiming to keep
  * the bucket filled with alive, responsive peers.
+ *
+ * <p>The array is never modified once published: every change replaces it with an updated copy.
+ * Reads therefore work on a consistent snapshot without locking, and only changes are serialized.
+ * As a bucket holds a handful of peers, copying it is cheap compared to contending for it.
  */
 public class Bucket {
-  private final DiscoveryPeer[] kBucket;
+  private static final DiscoveryPeer[] EMPTY = new DiscoveryPeer[0];
+
   private final int bucketSize;
-  private int tailIndex = -1;
+  private volatile DiscoveryPeer[] kBucket = EMPTY;
 
   /**
    * Creates a new bucket with the provided maximum size.
@@ -49,7 +54,6 @@ public class Bucket {
    */
   Bucket(final int bucketSize) {
     this.bucketSize = bucketSize;
-    this.kBucket = new DiscoveryPeer[bucketSize];
   }
 
   /**
@@ -62,23 +66,39 @@ public class Bucket {
    * @return An empty optional if the peer was not a member of this bucket, or a filled optional if
    *     it was.
    */
-  synchronized Optional<DiscoveryPeer> getAndTouch(final Bytes id) {
-    for (int i = 0; i <= tailIndex; i++) {
-      final DiscoveryPeer p = kBucket[i];
+  Optional<DiscoveryPeer> getAndTouch(final Bytes id) {
+    final DiscoveryPeer[] peers = kBucket;
+    for (int i = 0; i < peers.length; i++) {
+      final DiscoveryPeer p = peers[i];
       if (id.equals(p.getId())) {
-        arraycopy(kBucket, 0, kBucket, 1, i);
-        kBucket[0] = p;
+        // The head doesn't need to move, which spares the lock to the most active peer.
+        if (i > 0) {
+          touch(p);
+        }
         return Optional.of(p);
       }
     }
     return Optional.empty();
   }
 
+  private synchronized void touch(final DiscoveryPeer peer) {
+    final DiscoveryPeer[] current = kBucket;
+    final int index = indexOf(current, peer.getId());
+    // The peer may have been evicted or moved by a concurrent change.
+    if (index <= 0) {
+      return;
+    }
+    final DiscoveryPeer[] updated = current.clone();
+    arraycopy(current, 0, updated, 1, index);
+    updated[0] = current[index];
+    kBucket = updated;
+  }
+
   /**
    * Appends the specified element to the head of the bucket array if capacity hasn't yet been
    * reached. Shifts the element currently at that position (if any) and any subsequent elements to
-   * the right (adds one to their indices). If the bucket is empty, the last argument (length to
-   * copy) will be 0. This method will not "touch" the peer, i.e. relocate it to the head.
+   * the right (adds one to their indices). This method will not "touch" the peer, i.e. relocate it
+   * to the head.
    *
    * <p>In the case that the bucket is at maximum capacity the peer at the tail of the list,
    * necessarily the peer that has been incomunicative for the longest time is returned as a
@@ -90,20 +110,21 @@ public class Bucket {
    */
   synchronized Optional<DiscoveryPeer> add(final DiscoveryPeer peer)
       throws IllegalArgumentException {
-    assert tailIndex >= -1 && tailIndex < bucketSize;
+    final DiscoveryPeer[] current = kBucket;
+    assert current.length <= bucketSize;
 
     // Avoid duplicating the peer if it already exists in the bucket.
-    for (int i = 0; i <= tailIndex; i++) {
-      if (peer.getId().equals(kBucket[i].getId())) {
-        throw new IllegalArgumentException(
-            String.format("Tried to add duplicate peer to k-bucket: %s", peer.getId()));
-      }
+    if (indexOf(current, peer.getId()) >= 0) {
+      throw new IllegalArgumentException(
+          String.format("Tried to add duplicate peer to k-bucket: %s", peer.getId()));
     }
-    if (tailIndex == bucketSize - 1) {
-      return Optional.of(kBucket[tailIndex]);
+    if (current.length == bucketSize) {
+      return Optional.of(current[current.length - 1]);
     }
-    arraycopy(kBucket, 0, kBucket, 1, ++tailIndex);
-    kBucket[0] = peer;
+    final DiscoveryPeer[] updated = new DiscoveryPeer[current.length + 1];
+    arraycopy(current, 0, updated, 1, current.length);
+    updated[0] = peer;
+    kBucket = updated;
     return Optional.empty();
   }
 
@@ -115,30 +136,40 @@ public class Bucket {
    * @return <code>true</code>
    */
   synchronized boolean evict(final PeerId peer) {
-    // If the bucket is empty, there's nothing to evict.
-    if (tailIndex < 0) {
+    final DiscoveryPeer[] current = kBucket;
+    // Peer comparison here must be done by peer id
+    final int index = indexOf(current, peer.getId());
+    if (index < 0) {
       return false;
     }
-    // If found, shift all subsequent elements to the left, and decrement tailIndex.
-    for (int i = 0; i <= tailIndex; i++) {
-      // Peer comparison here must be done by peer id
-      if (peer.getId().equals(kBucket[i].getId())) {
-        arraycopy(kBucket, i + 1, kBucket, i, tailIndex - i);
-        kBucket[tailIndex--] = null;
-        return true;
-      }
-    }
-    return false;
+    final DiscoveryPeer[] updated = new DiscoveryPeer[current.length - 1];
+    arraycopy(current, 0, updated, 0, index);
+    arraycopy(current, index + 1, updated, index, updated.length - index);
+    kBucket = updated;
+    return true;
   }
 
   /**
-   * Returns an immutable list backed by the k-bucket array. This method provides a convenient way
-   * to access all peers maintained by the instance of Bucket under consideration.
+   * Returns an immutable list backed by a snapshot of the k-bucket array. This method provides a
+   * convenient way to access all peers maintained by the instance of Bucket under consideration.
    *
    * @return immutable view of the peer array
    */
-  synchronized List<DiscoveryPeer> getPeers() {
-    return unmodifiableList(asList(Arrays.copyOf(kBucket, tailIndex + 1)));
+  List<DiscoveryPeer> getPeers() {
+    return unmodifiableList(asList(kBucket));
+  }
+
+  boolean isEmpty() {
+    return kBucket.length == 0;
+  }
+
+  private static int indexOf(final DiscoveryPeer[] peers, final Bytes id) {
+    for (int i = 0; i < peers.length; i++) {
+      if (id.equals(peers[i].getId())) {
+        return i;
+      }
+    }
+    return -1;
   }
 
   @Override
@@ -15,7 +15,6 @@
 package org.hyperledger.besu.ethereum.p2p.discovery.internal;
 
 import static java.util.Comparator.comparingInt;
-import static java.util.stream.Collectors.toList;
 
 import org.hyperledger.besu.crypto.Hash;
 import org.hyperledger.besu.ethereum.p2p.discovery.DiscoveryPeer;
@@ -24,12 +23,15 @@ import org.hyperledger.besu.ethereum.p2p.discovery.internal.PeerTable.AddResult.
 import org.hyperledger.besu.ethereum.p2p.peers.Peer;
 import org.hyperledger.besu.ethereum.p2p.peers.PeerId;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
 
 import com.google.common.hash.BloomFilter;
@@ -38,6 +40,9 @@ import org.apache.tuweni.bytes.Bytes;
 /**
  * Implements a Kademlia routing table based on k-buckets with a keccak-256 XOR-based distance
  * metric.
+ *
+ * <p>The table can be used concurrently: buckets are read from lock-free snapshots, and only
+ * changes to the same bucket are serialized.
  */
 public class PeerTable {
   private static final int N_BUCKETS = 256;
@@ -49,8 +54,11 @@ public class PeerTable {
   private final int maxEntriesCnt;
 
   private final Map<Bytes, Integer> distanceCache;
-  private BloomFilter<Bytes> idBloom;
-  private int evictionCnt = 0;
+  private volatile BloomFilter<Bytes> idBloom;
+  // The filter being rebuilt, which must also receive the peers added meanwhile.
+  private volatile BloomFilter<Bytes> rebuiltIdBloom;
+  private final AtomicBoolean rebuildingIdBloom = new AtomicBoolean(false);
+  private final AtomicInteger evictionCnt = new AtomicInteger();
 
   /**
    * Builds a new peer table, where distance is calculated using the provided nodeId as a baseline.
@@ -131,8 +139,12 @@ public class PeerTable {
     }
 
     if (!res.isPresent()) {
-      idBloom.put(id);
       distanceCache.put(id, distance);
+      final BloomFilter<Bytes> rebuilt = rebuiltIdBloom;
+      if (rebuilt != null) {
+        rebuilt.put(id);
+      }
+      idBloom.put(id);
       return AddResult.added();
     }
 
@@ -155,20 +167,14 @@ public class PeerTable {
 
     distanceCache.remove(id);
 
-    if (table[distance].getPeers().isEmpty()) {
-      return EvictResult.absent();
-    }
-
-    final boolean evicted = table[distance].evict(peer);
-    if (evicted) {
-      evictionCnt++;
-    } else {
+    if (table[distance].isEmpty() || !table[distance].evict(peer)) {
       return EvictResult.absent();
     }
 
     // Trigger the bloom filter regeneration if needed.
-    if (evictionCnt >= BLOOM_FILTER_REGENERATION_THRESHOLD) {
-      ForkJoinPool.commonPool().execute(this::buildBloomFilter);
+    if (evictionCnt.incrementAndGet() >= BLOOM_FILTER_REGENERATION_THRESHOLD
+        && rebuildingIdBloom.compareAndSet(false, true)) {
+      ForkJoinPool.commonPool().execute(this::rebuildBloomFilter);
     }
 
     return EvictResult.evicted();
@@ -177,27 +183,73 @@ public class PeerTable {
   private void buildBloomFilter() {
     final BloomFilter<Bytes> bf =
         BloomFilter.create((id, val) -> val.putBytes(id.toArray()), maxEntriesCnt, 0.001);
+    // Peers added from now on are put in the new filter by tryAdd, whether or not they are seen
+    // below, so that none is missing once it replaces the current one.
+    this.rebuiltIdBloom = bf;
+    this.evictionCnt.set(0);
     streamAllPeers().map(Peer::getId).forEach(bf::put);
-    this.evictionCnt = 0;
     this.idBloom = bf;
+    this.rebuiltIdBloom = null;
+  }
+
+  private void rebuildBloomFilter() {
+    try {
+      buildBloomFilter();
+    } finally {
+      rebuildingIdBloom.set(false);
+    }
   }
 
   /**
    * Returns the <code>limit</code> peers (at most) bonded closest to the provided target, based on
    * the XOR distance between the keccak-256 hash of the ID and the keccak-256 hash of the target.
    *
+   * <p>The buckets index peers by their distance to us, which bounds their distance to the target:
+   * peers in the bucket of the target are closer to it than any other peer, peers in nearer
+   * buckets are all at the distance of the target, and peers in farther buckets at the distance of
+   * their bucket. Buckets are therefore visited from the nearest to the target, and only the
+   * bucket of the target needs sorting, until enough peers have been found.
+   *
    * @param target The target node ID.
    * @param limit The amount of results to return.
    * @return The <code>limit</code> closest peers, at most.
    */
   public List<DiscoveryPeer> nearestBondedPeers(final Bytes target, final int limit) {
-    final Bytes keccak256 = Hash.keccak256(target);
-    return streamAllPeers()
-        .filter(p -> p.getStatus() == PeerDiscoveryStatus.BONDED)
-        .sorted(
-            comparingInt((peer) -> PeerDistanceCalculator.distance(peer.keccak256(), keccak256)))
-        .limit(limit)
-        .collect(toList());
+    final Bytes targetKeccak256 = Hash.keccak256(target);
+    final int targetDistance = PeerDistanceCalculator.distance(keccak256, targetKeccak256);
+    final List<DiscoveryPeer> nearest = new ArrayList<>(limit);
+    if (targetDistance > 0) {
+      table[targetDistance].getPeers().stream()
+          .filter(PeerTable::isBonded)
+          .sorted(
+              comparingInt(
+                  (peer) -> PeerDistanceCalculator.distance(peer.keccak256(), targetKeccak256)))
+          .limit(limit)
+          .forEach(nearest::add);
+    }
+    for (int i = 1; i < targetDistance && nearest.size() < limit; i++) {
+      addBondedPeers(table[i], nearest, limit);
+    }
+    for (int i = targetDistance + 1; i <= N_BUCKETS && nearest.size() < limit; i++) {
+      addBondedPeers(table[i], nearest, limit);
+    }
+    return nearest;
+  }
+
+  private static void addBondedPeers(
+      final Bucket bucket, final List<DiscoveryPeer> peers, final int limit) {
+    for (final DiscoveryPeer peer : bucket.getPeers()) {
+      if (peers.size() >= limit) {
+        return;
+      }
+      if (isBonded(peer)) {
+        peers.add(peer);
+      }
+    }
+  }
+
+  private static boolean isBonded(final DiscoveryPeer peer) {
+    return peer.getStatus() == PeerDiscoveryStatus.BONDED;
   }
 
   public Stream<DiscoveryPeer> streamAllPeers() {
@@ -51,4 +51,15 @@ public class PlainFramer extends Framer {
         MessageHandler.buildMessage(MessageType.DATA, message.getCode(), message.getData())
             .toArray());
   }
+
+  @Override
+  public MessageData compress(final MessageData message) {
+    // Plain messages are never compressed.
+    return message;
+  }
+
+  @Override
+  public void frame(final MessageData message, final MessageData compressed, final ByteBuf output) {
+    frame(message, output);
+  }
 }
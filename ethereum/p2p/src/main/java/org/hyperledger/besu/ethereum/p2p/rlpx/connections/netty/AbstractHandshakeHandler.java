@@ -59,6 +59,7 @@ abstract class AbstractHandshakeHandler extends SimpleChannelInboundHandler<Byte
   private final MetricsSystem metricsSystem;
 
   private final FramerProvider framerProvider;
+  private final MessageCompressionExecutor compressionExecutor;
   private final boolean inboundInitiated;
 
   AbstractHandshakeHandler(
@@ -70,6 +71,7 @@ abstract class AbstractHandshakeHandler extends SimpleChannelInboundHandler<Byte
       final MetricsSystem metricsSystem,
       final HandshakerProvider handshakerProvider,
       final FramerProvider framerProvider,
+      final MessageCompressionExecutor compressionExecutor,
       final boolean inboundInitiated) {
     this.subProtocols = subProtocols;
     this.localNode = localNode;
@@ -79,6 +81,7 @@ abstract class AbstractHandshakeHandler extends SimpleChannelInboundHandler<Byte
     this.metricsSystem = metricsSystem;
     this.handshaker = handshakerProvider.buildInstance();
     this.framerProvider = framerProvider;
+    this.compressionExecutor = compressionExecutor;
     this.inboundInitiated = inboundInitiated;
   }
 
@@ -121,6 +124,7 @@ abstract class AbstractHandshakeHandler extends SimpleChannelInboundHandler<Byte
               connectionEventDispatcher,
               connectionFuture,
               metricsSystem,
+              compressionExecutor,
               inboundInitiated);
 
       ctx.channel()
@@ -14,6 +14,8 @@
  */
 package org.hyperledger.besu.ethereum.p2p.rlpx.connections.netty;
 
+import static org.hyperledger.besu.ethereum.p2p.rlpx.connections.netty.MessageCompressionExecutor.INBOUND;
+
 import org.hyperledger.besu.ethereum.p2p.network.exceptions.BreachOfProtocolException;
 import org.hyperledger.besu.ethereum.p2p.network.exceptions.IncompatiblePeerException;
 import org.hyperledger.besu.ethereum.p2p.network.exceptions.PeerChannelClosedException;
@@ -25,6 +27,7 @@ import org.hyperledger.besu.ethereum.p2p.peers.LocalNode;
 import org.hyperledger.besu.ethereum.p2p.peers.Peer;
 import org.hyperledger.besu.ethereum.p2p.rlpx.connections.PeerConnection;
 import org.hyperledger.besu.ethereum.p2p.rlpx.connections.PeerConnectionEventDispatcher;
+import org.hyperledger.besu.ethereum.p2p.rlpx.framing.CompressedMessage;
 import org.hyperledger.besu.ethereum.p2p.rlpx.framing.Framer;
 import org.hyperledger.besu.ethereum.p2p.rlpx.framing.FramingException;
 import org.hyperledger.besu.ethereum.p2p.rlpx.wire.CapabilityMultiplexer;
@@ -39,6 +42,7 @@ import org.hyperledger.besu.metrics.BesuMetricCategory;
 import org.hyperledger.besu.plugin.services.MetricsSystem;
 import org.hyperledger.besu.plugin.services.metrics.Counter;
 import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
+import org.hyperledger.besu.plugin.services.metrics.OperationTimer;
 
 import java.io.IOException;
 import java.net.InetSocketAddress;
@@ -72,6 +76,9 @@ final class DeFramer extends ByteToMessageDecoder {
   private final boolean inboundInitiated;
   private boolean hellosExchanged;
   private final LabelledMetric<Counter> outboundMessagesCounter;
+  private final MessageCompressionExecutor compressionExecutor;
+  // Messages being decompressed off the event loop, and the ones queued behind them.
+  private OrderedOffload<MessageData> pendingReads;
 
   DeFramer(
       final Framer framer,
@@ -81,6 +88,7 @@ final class DeFramer extends ByteToMessageDecoder {
       final PeerConnectionEventDispatcher connectionEventDispatcher,
       final CompletableFuture<PeerConnection> connectFuture,
       final MetricsSystem metricsSystem,
+      final MessageCompressionExecutor compressionExecutor,
       final boolean inboundInitiated) {
     this.framer = framer;
     this.subProtocols = subProtocols;
@@ -88,6 +96,7 @@ final class DeFramer extends ByteToMessageDecoder {
     this.expectedPeer = expectedPeer;
     this.connectFuture = connectFuture;
     this.connectionEventDispatcher = connectionEventDispatcher;
+    this.compressionExecutor = compressionExecutor;
     this.inboundInitiated = inboundInitiated;
     this.outboundMessagesCounter =
         metricsSystem.createLabelledCounter(
@@ -102,10 +111,10 @@ final class DeFramer extends ByteToMessageDecoder {
   @Override
   protected void decode(final ChannelHandlerContext ctx, final ByteBuf in, final List<Object> out) {
     MessageData message;
-    while ((message = framer.deframe(in)) != null) {
+    while ((message = deframe(in)) != null) {
 
       if (hellosExchanged) {
-        out.add(message);
+        forward(ctx, message, out);
       } else if (message.getCode() == WireMessageCodes.HELLO) {
         hellosExchanged = true;
         // Decode first hello and use the payload to modify pipeline
@@ -122,6 +131,7 @@ final class DeFramer extends ByteToMessageDecoder {
         if (peerInfo.getVersion() >= 5) {
           LOG.trace("Enable compression for p2pVersion: {}", peerInfo.getVersion());
           framer.enableCompression();
+          framer.setLazyDecompressionThreshold(compressionExecutor.getOffloadThreshold());
         }
 
         final CapabilityMultiplexer capabilityMultiplexer =
@@ -174,7 +184,7 @@ final class DeFramer extends ByteToMessageDecoder {
                 new WireKeepAlive(connection, waitingForPong),
                 new ApiHandler(
                     capabilityMultiplexer, connection, connectionEventDispatcher, waitingForPong),
-                new MessageFramer(capabilityMultiplexer, framer));
+                new MessageFramer(capabilityMultiplexer, framer, compressionExecutor));
         connectFuture.complete(connection);
       } else if (message.getCode() == WireMessageCodes.DISCONNECT) {
         final DisconnectMessage disconnectMessage = DisconnectMessage.readFrom(message);
@@ -204,6 +214,62 @@ final class DeFramer extends ByteToMessageDecoder {
     }
   }
 
+  private MessageData deframe(final ByteBuf in) {
+    try (final OperationTimer.TimingContext ignored =
+        compressionExecutor.startFramingTimer(INBOUND)) {
+      return framer.deframe(in);
+    }
+  }
+
+  /**
+   * Passes a message on to the next handlers, decompressing it off the event loop first if it was
+   * deframed compressed, while preserving the order of messages.
+   */
+  private void forward(
+      final ChannelHandlerContext ctx, final MessageData message, final List<Object> out) {
+    if (message instanceof CompressedMessage) {
+      final CompressedMessage compressed = (CompressedMessage) message;
+      pendingReads(ctx)
+          .add(
+              compressionExecutor.submit(
+                  INBOUND,
+                  () -> {
+                    compressed.getData();
+                    return compressed;
+                  }),
+              (decompressed, error) -> fireDecompressed(ctx, decompressed, error));
+    } else if (pendingReads == null || pendingReads.isEmpty()) {
+      out.add(message);
+    } else {
+      pendingReads.add(
+          CompletableFuture.completedFuture(message),
+          (queued, error) -> fireDecompressed(ctx, queued, error));
+    }
+  }
+
+  private OrderedOffload<MessageData> pendingReads(final ChannelHandlerContext ctx) {
+    if (pendingReads == null) {
+      pendingReads = new OrderedOffload<>(ctx.executor());
+    }
+    return pendingReads;
+  }
+
+  private void fireDecompressed(
+      final ChannelHandlerContext ctx, final MessageData message, final Throwable error) {
+    if (!ctx.channel().isActive()) {
+      return;
+    }
+    if (error == null) {
+      ctx.fireChannelRead(message);
+      return;
+    }
+    try {
+      exceptionCaught(ctx, error);
+    } catch (final Exception e) {
+      ctx.fireExceptionCaught(e);
+    }
+  }
+
   private Optional<Peer> createPeer(final PeerInfo peerInfo, final ChannelHandlerContext ctx) {
     final InetSocketAddress remoteAddress = ((InetSocketAddress) ctx.channel().remoteAddress());
     if (remoteAddress == null) {
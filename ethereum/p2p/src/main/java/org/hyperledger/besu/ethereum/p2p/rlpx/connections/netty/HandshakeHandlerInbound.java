@@ -40,7 +40,8 @@ final class HandshakeHandlerInbound extends AbstractHandshakeHandler {
       final PeerConnectionEventDispatcher connectionEventDispatcher,
       final MetricsSystem metricsSystem,
       final HandshakerProvider handshakerProvider,
-      final FramerProvider framerProvider) {
+      final FramerProvider framerProvider,
+      final MessageCompressionExecutor compressionExecutor) {
     super(
         subProtocols,
         localNode,
@@ -50,6 +51,7 @@ final class HandshakeHandlerInbound extends AbstractHandshakeHandler {
         metricsSystem,
         handshakerProvider,
         framerProvider,
+        compressionExecutor,
         true);
     handshaker.prepareResponder(nodeKey);
   }
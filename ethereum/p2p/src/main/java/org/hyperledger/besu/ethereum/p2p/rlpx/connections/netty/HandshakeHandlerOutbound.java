@@ -50,7 +50,8 @@ final class HandshakeHandlerOutbound extends AbstractHandshakeHandler {
       final PeerConnectionEventDispatcher connectionEventDispatcher,
       final MetricsSystem metricsSystem,
       final HandshakerProvider handshakerProvider,
-      final FramerProvider framerProvider) {
+      final FramerProvider framerProvider,
+      final MessageCompressionExecutor compressionExecutor) {
     super(
         subProtocols,
         localNode,
@@ -60,6 +61,7 @@ final class HandshakeHandlerOutbound extends AbstractHandshakeHandler {
         metricsSystem,
         handshakerProvider,
         framerProvider,
+        compressionExecutor,
         false);
     handshaker.prepareInitiator(
         nodeKey, SignatureAlgorithmFactory.getInstance().createPublicKey(peer.getId()));
@@ -0,0 +1,171 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.p2p.rlpx.connections.netty;
+
+import org.hyperledger.besu.metrics.BesuMetricCategory;
+import org.hyperledger.besu.plugin.services.MetricsSystem;
+import org.hyperledger.besu.plugin.services.metrics.Counter;
+import org.hyperledger.besu.plugin.services.metrics.LabelledMetric;
+import org.hyperledger.besu.plugin.services.metrics.OperationTimer;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs the compression and decompression of large messages on a bounded pool of worker threads,
+ * so that they don't stall the Netty event loops, which serve many connections each.
+ *
+ * <p>When the pool is saturated, or once it is stopped, work is run on the calling thread instead,
+ * which applies back pressure to the connection producing it. Such work is counted, so that a pool
+ * too small for the traffic shows up in the metrics.
+ */
+final class MessageCompressionExecutor {
+
+  private static final Logger LOG = LoggerFactory.getLogger(MessageCompressionExecutor.class);
+
+  static final String INBOUND = "inbound";
+  static final String OUTBOUND = "outbound";
+
+  // Below this size, compressing or decompressing a message is cheaper than handing it off.
+  static final int DEFAULT_OFFLOAD_THRESHOLD = 64 * 1024;
+  private static final int DEFAULT_QUEUE_CAPACITY = 1024;
+
+  private final ThreadPoolExecutor executor;
+  private final int offloadThreshold;
+  private final LabelledMetric<OperationTimer> eventLoopFramingTimer;
+  private final LabelledMetric<Counter> offloadedCounter;
+  private final LabelledMetric<Counter> notOffloadedCounter;
+
+  MessageCompressionExecutor(final MetricsSystem metricsSystem) {
+    this(metricsSystem, Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+  }
+
+  MessageCompressionExecutor(final MetricsSystem metricsSystem, final int threads) {
+    this(metricsSystem, threads, DEFAULT_OFFLOAD_THRESHOLD);
+  }
+
+  MessageCompressionExecutor(
+      final MetricsSystem metricsSystem, final int threads, final int offloadThreshold) {
+    this(metricsSystem, threads, offloadThreshold, DEFAULT_QUEUE_CAPACITY);
+  }
+
+  @VisibleForTesting
+  MessageCompressionExecutor(
+      final MetricsSystem metricsSystem,
+      final int threads,
+      final int offloadThreshold,
+      final int queueCapacity) {
+    this.offloadThreshold = offloadThreshold;
+    this.executor =
+        new ThreadPoolExecutor(
+            threads,
+            threads,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            new ThreadFactoryBuilder()
+                .setNameFormat("p2p-compression-%d")
+                .setDaemon(true)
+                .build());
+    this.eventLoopFramingTimer =
+        metricsSystem.createLabelledTimer(
+            BesuMetricCategory.NETWORK,
+            "p2p_event_loop_framing_seconds",
+            "Time spent framing and deframing messages on the Netty event loops",
+            "direction");
+    this.offloadedCounter =
+        metricsSystem.createLabelledCounter(
+            BesuMetricCategory.NETWORK,
+            "p2p_compression_offloaded_total",
+            "Count of messages compressed or decompressed off the Netty event loops",
+            "direction");
+    this.notOffloadedCounter =
+        metricsSystem.createLabelledCounter(
+            BesuMetricCategory.NETWORK,
+            "p2p_compression_not_offloaded_total",
+            "Count of large messages compressed or decompressed on the Netty event loops because"
+                + " the compression workers were saturated or stopped",
+            "direction");
+    metricsSystem.createIntegerGauge(
+        BesuMetricCategory.NETWORK,
+        "p2p_compression_pending_tasks",
+        "The number of messages waiting to be compressed or decompressed",
+        () -> executor.getQueue().size());
+  }
+
+  /**
+   * Returns the message size from which compression and decompression are offloaded.
+   *
+   * @return the offload threshold, in bytes
+   */
+  int getOffloadThreshold() {
+    return offloadThreshold;
+  }
+
+  /**
+   * Runs the provided work on a worker thread, or on the calling thread if all workers are busy
+   * and their queue is full, or if the executor is stopped.
+   *
+   * @param direction the direction of the message being processed, used as metric label
+   * @param work the work to run
+   * @return a future completed with the result of the work
+   */
+  <T> CompletableFuture<T> submit(final String direction, final Supplier<T> work) {
+    try {
+      final CompletableFuture<T> result = CompletableFuture.supplyAsync(work, executor);
+      offloadedCounter.labels(direction).inc();
+      return result;
+    } catch (final RejectedExecutionException e) {
+      notOffloadedCounter.labels(direction).inc();
+      LOG.atTrace()
+          .setMessage("Compression workers {}, processing {} message on the calling thread")
+          .addArgument(() -> executor.isShutdown() ? "stopped" : "saturated")
+          .addArgument(direction)
+          .log();
+      try {
+        return CompletableFuture.completedFuture(work.get());
+      } catch (final RuntimeException failure) {
+        return CompletableFuture.failedFuture(failure);
+      }
+    }
+  }
+
+  /**
+   * Starts timing framing work run on an event loop.
+   *
+   * @param direction the direction of the messages being processed
+   * @return the timing context, to close once the work is done
+   */
+  OperationTimer.TimingContext startFramingTimer(final String direction) {
+    return eventLoopFramingTimer.labels(direction).startTimer();
+  }
+
+  /**
+   * Stops accepting work. The messages already handed off are still processed, so that the futures
+   * returned for them complete, and the ones submitted later run on the calling thread.
+   */
+  void stop() {
+    executor.shutdown();
+  }
+}
@@ -14,27 +14,112 @@
  */
 package org.hyperledger.besu.ethereum.p2p.rlpx.connections.netty;
 
+import static org.hyperledger.besu.ethereum.p2p.rlpx.connections.netty.MessageCompressionExecutor.OUTBOUND;
+
 import org.hyperledger.besu.ethereum.p2p.rlpx.framing.Framer;
 import org.hyperledger.besu.ethereum.p2p.rlpx.wire.CapabilityMultiplexer;
+import org.hyperledger.besu.ethereum.p2p.rlpx.wire.MessageData;
+import org.hyperledger.besu.plugin.services.metrics.OperationTimer;
+
+import java.util.concurrent.CompletableFuture;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
-import io.netty.handler.codec.MessageToByteEncoder;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.ChannelPromise;
+import io.netty.handler.codec.EncoderException;
 
-final class MessageFramer extends MessageToByteEncoder<OutboundMessage> {
+/**
+ * Frames outbound messages. Large messages are compressed off the event loop, the messages written
+ * after them waiting for them to be framed, so that messages are always sent in order.
+ */
+final class MessageFramer extends ChannelOutboundHandlerAdapter {
 
   private final CapabilityMultiplexer multiplexer;
 
   private final Framer framer;
 
-  MessageFramer(final CapabilityMultiplexer multiplexer, final Framer framer) {
+  private final MessageCompressionExecutor compressionExecutor;
+
+  // Compressed messages, or null for messages to compress while framing, waiting to be framed.
+  private OrderedOffload<MessageData> pendingWrites;
+
+  MessageFramer(
+      final CapabilityMultiplexer multiplexer,
+      final Framer framer,
+      final MessageCompressionExecutor compressionExecutor) {
     this.multiplexer = multiplexer;
     this.framer = framer;
+    this.compressionExecutor = compressionExecutor;
   }
 
   @Override
-  protected void encode(
-      final ChannelHandlerContext ctx, final OutboundMessage msg, final ByteBuf out) {
-    framer.frame(multiplexer.multiplex(msg.getCapability(), msg.getData()), out);
+  public void write(
+      final ChannelHandlerContext ctx, final Object msg, final ChannelPromise promise) {
+    if (!(msg instanceof OutboundMessage)) {
+      ctx.write(msg, promise);
+      return;
+    }
+    final OutboundMessage outboundMessage = (OutboundMessage) msg;
+    final MessageData message;
+    try {
+      message = multiplexer.multiplex(outboundMessage.getCapability(), outboundMessage.getData());
+    } catch (final RuntimeException e) {
+      promise.setFailure(new EncoderException(e));
+      return;
+    }
+
+    if (framer.isCompressionEnabled()
+        && message.getSize() >= compressionExecutor.getOffloadThreshold()) {
+      pendingWrites(ctx)
+          .add(
+              compressionExecutor.submit(OUTBOUND, () -> framer.compress(message)),
+              (compressed, error) -> {
+                if (error != null) {
+                  promise.setFailure(new EncoderException(error));
+                } else {
+                  frameAndWrite(ctx, message, compressed, promise);
+                }
+                // The channel may have been flushed while the message was being compressed.
+                ctx.flush();
+              });
+    } else if (pendingWrites == null || pendingWrites.isEmpty()) {
+      frameAndWrite(ctx, message, null, promise);
+    } else {
+      pendingWrites.add(
+          CompletableFuture.completedFuture(null),
+          (ignored, error) -> {
+            frameAndWrite(ctx, message, null, promise);
+            ctx.flush();
+          });
+    }
+  }
+
+  private OrderedOffload<MessageData> pendingWrites(final ChannelHandlerContext ctx) {
+    if (pendingWrites == null) {
+      pendingWrites = new OrderedOffload<>(ctx.executor());
+    }
+    return pendingWrites;
+  }
+
+  private void frameAndWrite(
+      final ChannelHandlerContext ctx,
+      final MessageData message,
+      final MessageData compressed,
+      final ChannelPromise promise) {
+    final ByteBuf out = ctx.alloc().ioBuffer();
+    try (final OperationTimer.TimingContext ignored =
+        compressionExecutor.startFramingTimer(OUTBOUND)) {
+      if (compressed == null) {
+        framer.frame(message, out);
+      } else {
+        framer.frame(message, compressed, out);
+      }
+    } catch (final RuntimeException e) {
+      out.release();
+      promise.setFailure(new EncoderException(e));
+      return;
+    }
+    ctx.write(out, promise);
   }
 }
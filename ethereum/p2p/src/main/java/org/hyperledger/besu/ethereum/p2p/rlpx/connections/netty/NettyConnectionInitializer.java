@@ -72,6 +72,7 @@ public class NettyConnectionInitializer
   private ChannelFuture server;
   private final EventLoopGroup boss = new NioEventLoopGroup(1);
   private final EventLoopGroup workers = new NioEventLoopGroup(10);
+  private final MessageCompressionExecutor compressionExecutor;
   private final AtomicBoolean started = new AtomicBoolean(false);
   private final AtomicBoolean stopped = new AtomicBoolean(false);
 
@@ -86,6 +87,7 @@ public class NettyConnectionInitializer
     this.localNode = localNode;
     this.eventDispatcher = eventDispatcher;
     this.metricsSystem = metricsSystem;
+    this.compressionExecutor = new MessageCompressionExecutor(metricsSystem);
 
     metricsSystem.createIntegerGauge(
         BesuMetricCategory.NETWORK,
@@ -147,6 +149,7 @@ public class NettyConnectionInitializer
 
     workers.shutdownGracefully();
     boss.shutdownGracefully();
+    compressionExecutor.stop();
     server
         .channel()
         .closeFuture()
@@ -244,7 +247,8 @@ public class NettyConnectionInitializer
         eventDispatcher,
         metricsSystem,
         this,
-        this);
+        this,
+        compressionExecutor);
   }
 
   @Nonnull
@@ -259,7 +263,8 @@ public class NettyConnectionInitializer
         eventDispatcher,
         metricsSystem,
         this,
-        this);
+        this,
+        compressionExecutor);
   }
 
   @Nonnull
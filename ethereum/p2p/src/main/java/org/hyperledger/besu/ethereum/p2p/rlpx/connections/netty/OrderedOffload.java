@@ -0,0 +1,82 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.p2p.rlpx.connections.netty;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.BiConsumer;
+
+import io.netty.util.concurrent.EventExecutor;
+
+/**
+ * Runs the continuations of asynchronous steps on the event loop of a channel, in the order the
+ * steps were added, regardless of the order in which they complete.
+ *
+ * <p>This keeps the messages of a connection in order while some of them are processed off the
+ * event loop. It must only be used from the event loop of the channel. Continuations always run in
+ * a later event loop task, even when their step is already complete.
+ */
+final class OrderedOffload<T> {
+
+  private final EventExecutor eventLoop;
+  private final Deque<Step<T>> steps = new ArrayDeque<>();
+
+  OrderedOffload(final EventExecutor eventLoop) {
+    this.eventLoop = eventLoop;
+  }
+
+  /**
+   * Adds a step, whose continuation runs once the step and all the steps added before it are
+   * complete.
+   *
+   * @param future the result of the step
+   * @param continuation run on the event loop with the result or the failure of the step
+   */
+  void add(final CompletableFuture<T> future, final BiConsumer<T, Throwable> continuation) {
+    steps.add(new Step<>(future, continuation));
+    // Always deferred, so that continuations never run before the caller is done with its work.
+    future.whenComplete((result, error) -> eventLoop.execute(this::drain));
+  }
+
+  /**
+   * Returns whether all the added steps have run their continuation.
+   *
+   * @return true if there is no pending step
+   */
+  boolean isEmpty() {
+    return steps.isEmpty();
+  }
+
+  private void drain() {
+    while (!steps.isEmpty() && steps.peek().future().isDone()) {
+      final Step<T> step = steps.poll();
+      final T result;
+      try {
+        result = step.future().join();
+      } catch (final CompletionException e) {
+        step.continuation().accept(null, e.getCause() != null ? e.getCause() : e);
+        continue;
+      } catch (final RuntimeException e) {
+        step.continuation().accept(null, e);
+        continue;
+      }
+      step.continuation().accept(result, null);
+    }
+  }
+
+  private record Step<T>(CompletableFuture<T> future, BiConsumer<T, Throwable> continuation) {}
+}
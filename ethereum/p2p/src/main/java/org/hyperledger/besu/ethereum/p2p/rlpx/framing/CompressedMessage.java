@@ -0,0 +1,89 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.p2p.rlpx.framing;
+
+import org.hyperledger.besu.ethereum.p2p.rlpx.wire.MessageData;
+
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * A message received compressed, whose data is only decompressed the first time it is accessed.
+ *
+ * <p>This allows deframing to stay cheap on the network thread, leaving the decompression of large
+ * messages to whichever thread first reads their data.
+ */
+public final class CompressedMessage implements MessageData {
+  private static final SnappyCompressor compressor = new SnappyCompressor();
+
+  private final int code;
+  private final byte[] frameData;
+  private final int offset;
+  private final int length;
+  private final int uncompressedLength;
+  private volatile Bytes data;
+
+  CompressedMessage(
+      final int code,
+      final byte[] frameData,
+      final int offset,
+      final int length,
+      final int uncompressedLength) {
+    this.code = code;
+    this.frameData = frameData;
+    this.offset = offset;
+    this.length = length;
+    this.uncompressedLength = uncompressedLength;
+  }
+
+  @Override
+  public int getSize() {
+    return uncompressedLength;
+  }
+
+  @Override
+  public int getCode() {
+    return code;
+  }
+
+  /**
+   * Returns the decompressed data of this message, decompressing it on first access.
+   *
+   * @return the decompressed data
+   * @throws FramingException if the data is not valid Snappy compressed data
+   */
+  @Override
+  public Bytes getData() {
+    Bytes result = data;
+    if (result == null) {
+      synchronized (this) {
+        result = data;
+        if (result == null) {
+          result = Bytes.wrap(compressor.decompress(frameData, offset, length));
+          data = result;
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Returns the size of the message data as received on the wire.
+   *
+   * @return the compressed size of the message data
+   */
+  public int getCompressedSize() {
+    return length;
+  }
+}
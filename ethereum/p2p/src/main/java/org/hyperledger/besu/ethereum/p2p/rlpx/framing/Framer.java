@@ -15,8 +15,6 @@
 package org.hyperledger.besu.ethereum.p2p.rlpx.framing;
 
 import static io.netty.buffer.ByteBufUtil.hexDump;
-import static io.netty.buffer.Unpooled.wrappedBuffer;
-import static org.bouncycastle.pqc.math.linearalgebra.ByteUtils.xor;
 import static org.hyperledger.besu.ethereum.p2p.rlpx.RlpxFrameConstants.LENGTH_FRAME_SIZE;
 import static org.hyperledger.besu.ethereum.p2p.rlpx.RlpxFrameConstants.LENGTH_MAX_MESSAGE_FRAME;
 
@@ -26,20 +24,18 @@ import org.hyperledger.besu.ethereum.p2p.rlpx.wire.MessageData;
 import org.hyperledger.besu.ethereum.p2p.rlpx.wire.RawMessage;
 import org.hyperledger.besu.ethereum.rlp.RLP;
 
-import java.util.Arrays;
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import javax.crypto.Cipher;
+import javax.crypto.ShortBufferException;
+import javax.crypto.spec.IvParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.google.errorprone.annotations.FormatMethod;
 import io.netty.buffer.ByteBuf;
 import org.apache.tuweni.bytes.Bytes;
-import org.apache.tuweni.bytes.MutableBytes;
-import org.bouncycastle.crypto.BlockCipher;
-import org.bouncycastle.crypto.StreamCipher;
-import org.bouncycastle.crypto.engines.AESEngine;
-import org.bouncycastle.crypto.modes.SICBlockCipher;
-import org.bouncycastle.crypto.params.KeyParameter;
-import org.bouncycastle.crypto.params.ParametersWithIV;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -54,6 +50,10 @@ import org.slf4j.LoggerFactory;
  * fragmented frames, as well as streams of multiple messages within the same incoming buffer, as
  * long as the order of incoming bytes matches the underlying TCP sequence.
  *
+ * <p>Incoming and outgoing frames are processed with independent ciphers and state, so {@link
+ * #deframe(ByteBuf)} and {@link #frame(MessageData, ByteBuf)} can run concurrently. Each of them
+ * must however be called by one thread at a time, as done by the Netty channel handlers.
+ *
  * @see <a href="https://github.com/ethereum/devp2p/blob/master/rlpx.md#framing">RLPx framing</a>
  */
 public class Framer {
@@ -63,6 +63,11 @@ public class Framer {
   private static final int LENGTH_MAC = 16;
   private static final int LENGTH_FULL_HEADER = LENGTH_HEADER_DATA + LENGTH_MAC;
   private static final int LENGTH_MESSAGE_ID = 1;
+  private static final int DIGEST_CHUNK_SIZE = 1024;
+
+  // Both are intrinsified by the JVM on platforms with AES instructions.
+  private static final String AES_CTR = "AES/CTR/NoPadding";
+  private static final String AES_ECB = "AES/ECB/NoPadding";
 
   private static final byte[] IV = {0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0};
   private static final byte[] PROTOCOL_HEADER =
@@ -77,20 +82,33 @@ public class Framer {
 
   private final HandshakeSecrets secrets;
   private static final SnappyCompressor compressor = new SnappyCompressor();
-  private final StreamCipher encryptor;
-  private final StreamCipher decryptor;
-  private final BlockCipher macEncryptor;
+  // AES in CTR mode, the keystream of each direction spanning all the frames of the connection.
+  private final Cipher encryptor;
+  private final Cipher decryptor;
+  // AES in ECB mode, seeding the MACs. There is one per direction, as each direction is processed
+  // independently.
+  private final Cipher egressMacEncryptor;
+  private final Cipher ingressMacEncryptor;
+  // Scratch space, reused for every frame of each direction.
+  private final byte[] egressMacBlock = new byte[LENGTH_MAC];
+  private final byte[] ingressMacBlock = new byte[LENGTH_MAC];
+  private final byte[] ingressHeader = new byte[LENGTH_HEADER_DATA];
+  private final byte[] egressDigestChunk = new byte[DIGEST_CHUNK_SIZE];
+  private final byte[] ingressDigestChunk = new byte[DIGEST_CHUNK_SIZE];
   private boolean headerProcessed;
   private int frameSize;
-  private boolean compressionEnabled = false;
+  private volatile boolean compressionEnabled = false;
   // have we ever successfully uncompressed a packet?
-  private boolean compressionSuccessful = false;
+  private volatile boolean compressionSuccessful = false;
+  // compressed messages at least this large are returned without being decompressed
+  private volatile int lazyDecompressionThreshold = Integer.MAX_VALUE;
 
   protected Framer() {
     this.secrets = null;
     this.encryptor = null;
     this.decryptor = null;
-    this.macEncryptor = null;
+    this.egressMacEncryptor = null;
+    this.ingressMacEncryptor = null;
   }
 
   /**
@@ -101,17 +119,28 @@ public class Framer {
   public Framer(final HandshakeSecrets secrets) {
     this.secrets = secrets;
 
-    final KeyParameter aesKey = new KeyParameter(secrets.getAesSecret());
-    final KeyParameter macKey = new KeyParameter(secrets.getMacSecret());
+    final SecretKeySpec aesKey = new SecretKeySpec(secrets.getAesSecret(), "AES");
+    final SecretKeySpec macKey = new SecretKeySpec(secrets.getMacSecret(), "AES");
 
-    encryptor = new SICBlockCipher(new AESEngine());
-    encryptor.init(true, new ParametersWithIV(aesKey, IV));
+    encryptor = createCipher(AES_CTR, Cipher.ENCRYPT_MODE, aesKey, new IvParameterSpec(IV));
+    decryptor = createCipher(AES_CTR, Cipher.DECRYPT_MODE, aesKey, new IvParameterSpec(IV));
 
-    decryptor = new SICBlockCipher(new AESEngine());
-    decryptor.init(false, new ParametersWithIV(aesKey, IV));
+    egressMacEncryptor = createCipher(AES_ECB, Cipher.ENCRYPT_MODE, macKey, null);
+    ingressMacEncryptor = createCipher(AES_ECB, Cipher.ENCRYPT_MODE, macKey, null);
+  }
 
-    macEncryptor = new AESEngine();
-    macEncryptor.init(true, macKey);
+  private static Cipher createCipher(
+      final String transformation,
+      final int mode,
+      final SecretKeySpec key,
+      final IvParameterSpec iv) {
+    try {
+      final Cipher cipher = Cipher.getInstance(transformation);
+      cipher.init(mode, key, iv);
+      return cipher;
+    } catch (final GeneralSecurityException e) {
+      throw new IllegalStateException("Unable to create " + transformation + " cipher", e);
+    }
   }
 
   public void enableCompression() {
@@ -122,7 +151,7 @@ public class Framer {
     this.compressionEnabled = false;
   }
 
-  boolean isCompressionEnabled() {
+  public boolean isCompressionEnabled() {
     return compressionEnabled;
   }
 
@@ -130,6 +159,19 @@ public class Framer {
     return compressionSuccessful;
   }
 
+  /**
+   * Sets the compressed size from which deframed messages are returned as {@link
+   * CompressedMessage}, leaving their decompression to the first reader of their data.
+   *
+   * <p>Messages are only returned compressed once a message has been successfully decompressed, as
+   * the first compressed message decides whether the peer really supports compression.
+   *
+   * @param lazyDecompressionThreshold The minimum compressed size of lazily decompressed messages.
+   */
+  public void setLazyDecompressionThreshold(final int lazyDecompressionThreshold) {
+    this.lazyDecompressionThreshold = lazyDecompressionThreshold;
+  }
+
   /**
    * Deframes a full message from the byte buffer, if possible.
    *
@@ -156,7 +198,7 @@ public class Framer {
    *     could be extracted yet.
    * @throws FramingException Thrown when a decryption or internal error occurs.
    */
-  public synchronized MessageData deframe(final ByteBuf buf) throws FramingException {
+  public MessageData deframe(final ByteBuf buf) throws FramingException {
     if (buf == null || !buf.isReadable()) {
       return null;
     }
@@ -199,50 +241,43 @@ public class Framer {
           LENGTH_FULL_HEADER, encryptedHeader.readableBytes());
     }
 
-    // Decrypt the header.
-    final byte[] hCipher = new byte[LENGTH_HEADER_DATA];
-    final byte[] hMac = new byte[LENGTH_MAC];
-    encryptedHeader.readBytes(hCipher).readBytes(hMac);
+    final byte[] h = ingressHeader;
+    final int index = encryptedHeader.readerIndex();
+    encryptedHeader.getBytes(index, h);
 
     // Header MAC validation.
-    byte[] expectedMac = new byte[16];
-    macEncryptor.processBlock(secrets.getIngressMac(), 0, expectedMac, 0);
-    expectedMac = secrets.updateIngress(xor(expectedMac, hCipher)).getIngressMac();
-    expectedMac = Arrays.copyOf(expectedMac, LENGTH_MAC);
-
-    validateMac(hMac, expectedMac);
+    encryptMacBlock(ingressMacEncryptor, secrets.getIngressMac(), ingressMacBlock);
+    xorInPlace(ingressMacBlock, h);
+    secrets.updateIngress(ingressMacBlock);
+    validateMac(encryptedHeader, index + LENGTH_HEADER_DATA, secrets.getIngressMac());
 
     // Perform the header decryption.
-    decryptor.processBytes(hCipher, 0, hCipher.length, hCipher, 0);
-    final ByteBuf h = wrappedBuffer(hCipher);
+    crypt(decryptor, h, h);
 
     // Read the frame length.
-    final byte[] length = new byte[3];
-    h.readBytes(length);
-    int frameSize = length[0] & 0xff;
-    frameSize = (frameSize << 8) + (length[1] & 0xff);
-    frameSize = (frameSize << 8) + (length[2] & 0xff);
+    int frameSize = h[0] & 0xff;
+    frameSize = (frameSize << 8) + (h[1] & 0xff);
+    frameSize = (frameSize << 8) + (h[2] & 0xff);
 
     // Discard the header data (RLP): being set to fixed value 0xc28080 (list of two null
     // elements) by other clients.
-    final int headerDataLength = RLP.calculateSize(Bytes.wrapByteBuffer(h.nioBuffer()));
-    if (h.readableBytes() < headerDataLength) {
+    int remaining = LENGTH_HEADER_DATA - LENGTH_FRAME_SIZE;
+    final int headerDataLength = RLP.calculateSize(Bytes.wrap(h, LENGTH_FRAME_SIZE, remaining));
+    if (remaining < headerDataLength) {
       throw error(
           "Expected at least %d readable bytes while processing header, remaining: %s",
-          headerDataLength, h.readableBytes());
+          headerDataLength, remaining);
     }
-    h.skipBytes(headerDataLength);
+    remaining -= headerDataLength;
 
     // Discard padding in header (= zero-fill to 16-byte boundary).
-    h.skipBytes(padding16(LENGTH_FRAME_SIZE + headerDataLength));
+    remaining -= padding16(LENGTH_FRAME_SIZE + headerDataLength);
 
-    if (h.readableBytes() != 0) {
+    if (remaining != 0) {
       throw error(
-          "Expected no more readable bytes while processing header, remaining: %s",
-          h.readableBytes());
+          "Expected no more readable bytes while processing header, remaining: %s", remaining);
     }
 
-    h.discardReadBytes();
     return frameSize;
   }
 
@@ -262,21 +297,20 @@ public class Framer {
       throw error("Expected %s bytes in header, got %s", expectedSize, f.readableBytes());
     }
 
-    final byte[] frameData = new byte[frameSize + pad];
-    final byte[] fMac = new byte[LENGTH_MAC];
-    f.readBytes(frameData).readBytes(fMac);
-
-    // Validate the frame's MAC.
-    final byte[] fMacSeed = secrets.updateIngress(frameData).getIngressMac();
-    final byte[] fMacSeedEnc = new byte[16];
-    macEncryptor.processBlock(fMacSeed, 0, fMacSeedEnc, 0);
-    byte[] expectedMac = secrets.updateIngress(xor(fMacSeedEnc, fMacSeed)).getIngressMac();
-    expectedMac = Arrays.copyOf(expectedMac, LENGTH_MAC);
+    final int index = f.readerIndex();
+    final int frameDataLength = frameSize + pad;
 
-    validateMac(fMac, expectedMac);
+    // Validate the frame's MAC, computed over the encrypted frame data.
+    updateDigest(f, index, frameDataLength, ingressDigestChunk, secrets::updateIngress);
+    final byte[] fMacSeed = secrets.getIngressMac();
+    encryptMacBlock(ingressMacEncryptor, fMacSeed, ingressMacBlock);
+    xorInPlace(ingressMacBlock, fMacSeed);
+    secrets.updateIngress(ingressMacBlock);
+    validateMac(f, index + frameDataLength, secrets.getIngressMac());
 
-    // Decrypt frame data.
-    decryptor.processBytes(frameData, 0, frameData.length, frameData, 0);
+    // Decrypt frame data straight from the buffer.
+    final byte[] frameData = new byte[frameDataLength];
+    crypt(decryptor, f, index, frameData);
 
     // Read the id.
     final Bytes idbv = RLP.decodeOne(Bytes.of(frameData[0]));
@@ -285,14 +319,20 @@ public class Framer {
     // Write message data to ByteBuf, decompressing as necessary
     final Bytes data;
     if (compressionEnabled) {
-      final byte[] compressedMessageData = Arrays.copyOfRange(frameData, 1, frameData.length - pad);
-      final int uncompressedLength = compressor.uncompressedLength(compressedMessageData);
+      final int compressedLength = frameData.length - pad - LENGTH_MESSAGE_ID;
+      final int uncompressedLength =
+          compressor.uncompressedLength(frameData, LENGTH_MESSAGE_ID, compressedLength);
       if (uncompressedLength >= LENGTH_MAX_MESSAGE_FRAME) {
         throw error("Message size %s in excess of maximum length.", uncompressedLength);
       }
+      if (compressionSuccessful && compressedLength >= lazyDecompressionThreshold) {
+        return new CompressedMessage(
+            id, frameData, LENGTH_MESSAGE_ID, compressedLength, uncompressedLength);
+      }
       Bytes _data;
       try {
-        final byte[] decompressedMessageData = compressor.decompress(compressedMessageData);
+        final byte[] decompressedMessageData =
+            compressor.decompress(frameData, LENGTH_MESSAGE_ID, compressedLength);
         _data = Bytes.wrap(decompressedMessageData);
         compressionSuccessful = true;
       } catch (final FramingException fe) {
@@ -317,11 +357,13 @@ public class Framer {
     return new RawMessage(id, data);
   }
 
-  private void validateMac(final byte[] candidateMac, final byte[] expectedMac) {
-    if (!Arrays.equals(expectedMac, candidateMac)) {
-      throw error(
-          "Frame MAC did not match expected MAC; expected: %s, received: %s",
-          hexDump(expectedMac), hexDump(candidateMac));
+  private void validateMac(final ByteBuf candidate, final int index, final byte[] expectedMac) {
+    for (int i = 0; i < LENGTH_MAC; i++) {
+      if (candidate.getByte(index + i) != expectedMac[i]) {
+        throw error(
+            "Frame MAC did not match expected MAC; expected: %s, received: %s",
+            hexDump(expectedMac, 0, LENGTH_MAC), hexDump(candidate, index, LENGTH_MAC));
+      }
     }
   }
 
@@ -332,21 +374,49 @@ public class Framer {
    * @param message The message to frame.
    * @param output The {@link ByteBuf} to write framed data to.
    */
-  public synchronized void frame(final MessageData message, final ByteBuf output) {
+  public void frame(final MessageData message, final ByteBuf output) {
+    Preconditions.checkArgument(
+        message.getSize() < LENGTH_MAX_MESSAGE_FRAME, "Message size in excess of maximum length.");
+    frameMessage(compress(message), output);
+  }
+
+  /**
+   * Frames a message that has already been compressed by {@link #compress(MessageData)}, possibly
+   * on another thread, for sending to an RLPx peer.
+   *
+   * <p>If compression has been disabled since the message was compressed, the original message is
+   * framed instead.
+   *
+   * @param message The message to frame.
+   * @param compressed The result of compressing the message.
+   * @param output The {@link ByteBuf} to write framed data to.
+   */
+  public void frame(final MessageData message, final MessageData compressed, final ByteBuf output) {
     Preconditions.checkArgument(
         message.getSize() < LENGTH_MAX_MESSAGE_FRAME, "Message size in excess of maximum length.");
-    // Compress message
     if (compressionEnabled) {
-      // Extract data from message
-      // Compress data
-      final byte[] compressed = compressor.compress(message.getData().toArrayUnsafe());
-      // Construct new, compressed message
-      frameMessage(new RawMessage(message.getCode(), Bytes.wrap(compressed)), output);
+      frameMessage(compressed, output);
     } else {
       frameMessage(message, output);
     }
   }
 
+  /**
+   * Compresses a message if compression is enabled, returning it unchanged otherwise.
+   *
+   * <p>Unlike framing, compression holds no state: this method can be called from any thread.
+   *
+   * @param message The message to compress.
+   * @return The compressed message.
+   */
+  public MessageData compress(final MessageData message) {
+    if (!compressionEnabled) {
+      return message;
+    }
+    final byte[] compressed = compressor.compress(message.getData().toArrayUnsafe());
+    return new RawMessage(message.getCode(), Bytes.wrap(compressed));
+  }
+
   @VisibleForTesting
   void frameMessage(final MessageData message, final ByteBuf buf) {
     final int frameSize = message.getSize() + LENGTH_MESSAGE_ID;
@@ -354,41 +424,122 @@ public class Framer {
 
     final byte id = (byte) message.getCode();
 
-    // Generate the header data.
-    final byte[] h = new byte[LENGTH_HEADER_DATA];
-    h[0] = (byte) ((frameSize >> 16) & 0xff);
-    h[1] = (byte) ((frameSize >> 8) & 0xff);
-    h[2] = (byte) (frameSize & 0xff);
-    System.arraycopy(PROTOCOL_HEADER, 0, h, LENGTH_FRAME_SIZE, PROTOCOL_HEADER.length);
-    Arrays.fill(h, LENGTH_FRAME_SIZE + PROTOCOL_HEADER.length, h.length - 1, (byte) 0x00);
-    encryptor.processBytes(h, 0, LENGTH_HEADER_DATA, h, 0);
+    buf.ensureWritable(LENGTH_FULL_HEADER + frameSize + pad + LENGTH_MAC);
 
-    // Generate the header MAC.
-    byte[] hMac = Arrays.copyOf(secrets.getEgressMac(), LENGTH_MAC);
-    macEncryptor.processBlock(hMac, 0, hMac, 0);
-    hMac = secrets.updateEgress(xor(h, hMac)).getEgressMac();
-    hMac = Arrays.copyOf(hMac, LENGTH_MAC);
-    buf.writeBytes(h).writeBytes(hMac);
+    // Generate the header data, and encrypt it in place.
+    final int headerIndex = buf.writerIndex();
+    buf.writeMedium(frameSize);
+    buf.writeBytes(PROTOCOL_HEADER);
+    buf.writeZero(LENGTH_HEADER_DATA - LENGTH_FRAME_SIZE - PROTOCOL_HEADER.length);
+    crypt(encryptor, buf, headerIndex, LENGTH_HEADER_DATA);
 
-    // Encrypt payload.
-    final MutableBytes f = MutableBytes.create(frameSize + pad);
+    // Generate the header MAC.
+    encryptMacBlock(egressMacEncryptor, secrets.getEgressMac(), egressMacBlock);
+    for (int i = 0; i < LENGTH_MAC; i++) {
+      egressMacBlock[i] ^= buf.getByte(headerIndex + i);
+    }
+    buf.writeBytes(secrets.updateEgress(egressMacBlock).getEgressMac(), 0, LENGTH_MAC);
 
+    // Write the frame, zero-padded to 16-byte boundary, and encrypt it in place.
+    final int frameIndex = buf.writerIndex();
     final Bytes bv = id == 0 ? RLP.NULL : RLP.encodeOne(Bytes.of(id));
     assert bv.size() == 1;
-    f.set(0, bv.get(0));
-
-    // Zero-padded to 16-byte boundary.
-    message.getData().copyTo(f, 1);
-    encryptor.processBytes(f.toArrayUnsafe(), 0, f.size(), f.toArrayUnsafe(), 0);
+    buf.writeByte(bv.get(0));
+    buf.writeBytes(message.getData().toArrayUnsafe());
+    buf.writeZero(pad);
+    crypt(encryptor, buf, frameIndex, frameSize + pad);
 
     // Calculate the frame MAC.
-    final byte[] fMacSeed =
-        Arrays.copyOf(secrets.updateEgress(f.toArrayUnsafe()).getEgressMac(), LENGTH_MAC);
-    byte[] fMac = new byte[16];
-    macEncryptor.processBlock(fMacSeed, 0, fMac, 0);
-    fMac = Arrays.copyOf(secrets.updateEgress(xor(fMac, fMacSeed)).getEgressMac(), LENGTH_MAC);
+    updateDigest(buf, frameIndex, frameSize + pad, egressDigestChunk, secrets::updateEgress);
+    final byte[] fMacSeed = secrets.getEgressMac();
+    encryptMacBlock(egressMacEncryptor, fMacSeed, egressMacBlock);
+    xorInPlace(egressMacBlock, fMacSeed);
+    buf.writeBytes(secrets.updateEgress(egressMacBlock).getEgressMac(), 0, LENGTH_MAC);
+  }
+
+  /** Encrypts the first block of {@code input} into {@code output}. */
+  private static void encryptMacBlock(
+      final Cipher macEncryptor, final byte[] input, final byte[] output) {
+    try {
+      macEncryptor.update(input, 0, LENGTH_MAC, output, 0);
+    } catch (final ShortBufferException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /** Applies the stream cipher to {@code input}, writing the result to {@code output}. */
+  private static void crypt(final Cipher cipher, final byte[] input, final byte[] output) {
+    try {
+      cipher.update(input, 0, input.length, output, 0);
+    } catch (final ShortBufferException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /** Applies the stream cipher to bytes of {@code input}, writing the result to {@code output}. */
+  private static void crypt(
+      final Cipher cipher, final ByteBuf input, final int index, final byte[] output) {
+    try {
+      if (input.hasArray()) {
+        cipher.update(input.array(), input.arrayOffset() + index, output.length, output, 0);
+      } else {
+        cipher.update(input.nioBuffer(index, output.length), ByteBuffer.wrap(output));
+      }
+    } catch (final ShortBufferException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /** Applies the stream cipher to bytes of {@code buf}, in place. */
+  private static void crypt(
+      final Cipher cipher, final ByteBuf buf, final int index, final int length) {
+    try {
+      if (buf.hasArray()) {
+        final byte[] array = buf.array();
+        final int offset = buf.arrayOffset() + index;
+        cipher.update(array, offset, length, array, offset);
+      } else if (buf.nioBufferCount() == 1) {
+        // The cipher supports its input and output being views of the same memory.
+        final ByteBuffer nioBuffer = buf.nioBuffer(index, length);
+        cipher.update(nioBuffer.duplicate(), nioBuffer);
+      } else {
+        final byte[] bytes = new byte[length];
+        buf.getBytes(index, bytes);
+        cipher.update(bytes, 0, length, bytes, 0);
+        buf.setBytes(index, bytes);
+      }
+    } catch (final ShortBufferException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /** Updates a MAC digest with bytes of {@code buf}, copying them in chunks if not on heap. */
+  private static void updateDigest(
+      final ByteBuf buf,
+      final int index,
+      final int length,
+      final byte[] chunk,
+      final DigestUpdate digest) {
+    if (buf.hasArray()) {
+      digest.update(buf.array(), buf.arrayOffset() + index, length);
+      return;
+    }
+    for (int offset = 0; offset < length; offset += chunk.length) {
+      final int size = Math.min(chunk.length, length - offset);
+      buf.getBytes(index + offset, chunk, 0, size);
+      digest.update(chunk, 0, size);
+    }
+  }
+
+  private static void xorInPlace(final byte[] target, final byte[] other) {
+    for (int i = 0; i < LENGTH_MAC; i++) {
+      target[i] ^= other[i];
+    }
+  }
 
-    buf.writeBytes(f.toArrayUnsafe()).writeBytes(fMac);
+  @FunctionalInterface
+  private interface DigestUpdate {
+    void update(byte[] bytes, int offset, int length);
   }
 
   private static int padding16(final int size) {
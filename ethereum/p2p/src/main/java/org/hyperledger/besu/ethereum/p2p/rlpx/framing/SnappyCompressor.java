@@ -45,6 +45,26 @@ public class SnappyCompressor {
     }
   }
 
+  /**
+   * Decompresses a range of the provided array, without copying it beforehand.
+   *
+   * @param compressed The array holding the compressed data.
+   * @param offset The offset of the compressed data in the array.
+   * @param length The length of the compressed data.
+   * @return The decompressed data.
+   */
+  public byte[] decompress(final byte[] compressed, final int offset, final int length) {
+    checkNotNull(compressed, "input data must not be null");
+    try {
+      final byte[] decompressed =
+          new byte[Snappy.uncompressedLength(compressed, offset, length)];
+      Snappy.uncompress(compressed, offset, length, decompressed, 0);
+      return decompressed;
+    } catch (final IOException e) {
+      throw new FramingException("Snappy decompression failed", e);
+    }
+  }
+
   public int uncompressedLength(final byte[] compressed) {
     checkNotNull(compressed, "input data must not be null");
     try {
@@ -53,4 +73,13 @@ public class SnappyCompressor {
       throw new FramingException("Snappy uncompressedLength failed", e);
     }
   }
+
+  public int uncompressedLength(final byte[] compressed, final int offset, final int length) {
+    checkNotNull(compressed, "input data must not be null");
+    try {
+      return Snappy.uncompressedLength(compressed, offset, length);
+    } catch (final IOException e) {
+      throw new FramingException("Snappy uncompressedLength failed", e);
+    }
+  }
 }
@@ -14,12 +14,17 @@
  */
 package org.hyperledger.besu.ethereum.p2p.discovery.internal;
 
+import static java.util.Comparator.comparingInt;
+import static java.util.stream.Collectors.toList;
 import static org.assertj.core.api.Assertions.assertThat;
 
+import org.hyperledger.besu.crypto.Hash;
+
 import org.hyperledger.besu.crypto.SignatureAlgorithm;
 import org.hyperledger.besu.crypto.SignatureAlgorithmFactory;
 import org.hyperledger.besu.ethereum.p2p.discovery.DiscoveryPeer;
 import org.hyperledger.besu.ethereum.p2p.discovery.Endpoint;
+import org.hyperledger.besu.ethereum.p2p.discovery.PeerDiscoveryStatus;
 import org.hyperledger.besu.ethereum.p2p.discovery.PeerDiscoveryTestHelper;
 import org.hyperledger.besu.ethereum.p2p.discovery.internal.PeerTable.AddResult.AddOutcome;
 import org.hyperledger.besu.ethereum.p2p.discovery.internal.PeerTable.EvictResult;
@@ -29,6 +34,8 @@ import org.hyperledger.besu.ethereum.p2p.peers.Peer;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
 
 import com.google.common.base.Supplier;
 import com.google.common.base.Suppliers;
@@ -176,6 +183,68 @@ public class PeerTableTest {
     assertThat(evictResult.getOutcome()).isEqualTo(EvictOutcome.ABSENT);
   }
 
+  @Test
+  public void nearestBondedPeersShouldMatchSortingAllPeers() {
+    final PeerTable table = new PeerTable(Peer.randomId(), 16);
+    final List<DiscoveryPeer> peers = helper.createDiscoveryPeers(300);
+    for (int i = 0; i < peers.size(); i++) {
+      if (i % 3 != 0) {
+        peers.get(i).setStatus(PeerDiscoveryStatus.BONDED);
+      }
+      table.tryAdd(peers.get(i));
+    }
+
+    final List<Bytes> targets =
+        List.of(Peer.randomId(), Peer.randomId(), peers.get(1).getId(), peers.get(3).getId());
+    for (final Bytes target : targets) {
+      for (final int limit : new int[] {1, 13, 16, 1_000}) {
+        assertThat(table.nearestBondedPeers(target, limit))
+            .containsExactlyElementsOf(sortAllBondedPeers(table, target, limit));
+      }
+    }
+  }
+
+  private static List<DiscoveryPeer> sortAllBondedPeers(
+      final PeerTable table, final Bytes target, final int limit) {
+    final Bytes keccak256 = Hash.keccak256(target);
+    return table
+        .streamAllPeers()
+        .filter(p -> p.getStatus() == PeerDiscoveryStatus.BONDED)
+        .sorted(
+            comparingInt((peer) -> PeerDistanceCalculator.distance(peer.keccak256(), keccak256)))
+        .limit(limit)
+        .collect(toList());
+  }
+
+  @Test
+  public void concurrentChangesShouldKeepPeersReachable() {
+    final PeerTable table = new PeerTable(Peer.randomId(), 16);
+    // Few enough peers to be kept not to fill any bucket, even alongside those being evicted
+    final List<DiscoveryPeer> kept = helper.createDiscoveryPeers(10);
+    final List<DiscoveryPeer> evicted = helper.createDiscoveryPeers(200);
+
+    CompletableFuture.allOf(
+            IntStream.range(0, 4)
+                .mapToObj(
+                    thread ->
+                        CompletableFuture.runAsync(
+                            () -> {
+                              for (int i = thread; i < evicted.size(); i += 4) {
+                                table.tryAdd(evicted.get(i));
+                                if (i < kept.size()) {
+                                  table.tryAdd(kept.get(i));
+                                }
+                                table.get(evicted.get(i));
+                                table.tryEvict(evicted.get(i));
+                              }
+                            }))
+                .toArray(CompletableFuture[]::new))
+        .join();
+
+    assertThat(table.streamAllPeers()).containsExactlyInAnyOrderElementsOf(kept);
+    kept.forEach(peer -> assertThat(table.get(peer)).contains(peer));
+  }
+
   @Test
   public void evictSelfPeerShouldReturnSelfOutcome() {
     final DiscoveryPeer peer = helper.createDiscoveryPeer();
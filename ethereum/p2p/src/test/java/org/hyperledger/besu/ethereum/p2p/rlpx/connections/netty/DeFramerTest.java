@@ -16,6 +16,7 @@ package org.hyperledger.besu.ethereum.p2p.rlpx.connections.netty;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
@@ -36,6 +37,7 @@ import org.hyperledger.besu.ethereum.p2p.peers.Peer;
 import org.hyperledger.besu.ethereum.p2p.rlpx.connections.PeerConnection;
 import org.hyperledger.besu.ethereum.p2p.rlpx.connections.PeerConnectionEvents;
 import org.hyperledger.besu.ethereum.p2p.rlpx.connections.netty.testhelpers.NettyMocks;
+import org.hyperledger.besu.ethereum.p2p.rlpx.framing.CompressedMessage;
 import org.hyperledger.besu.ethereum.p2p.rlpx.framing.Framer;
 import org.hyperledger.besu.ethereum.p2p.rlpx.framing.FramingException;
 import org.hyperledger.besu.ethereum.p2p.rlpx.wire.Capability;
@@ -59,7 +61,10 @@ import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
@@ -68,6 +73,7 @@ import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelId;
 import io.netty.channel.ChannelPipeline;
+import io.netty.channel.DefaultEventLoop;
 import io.netty.channel.EventLoop;
 import io.netty.handler.codec.DecoderException;
 import io.netty.util.concurrent.ScheduledFuture;
@@ -395,6 +401,65 @@ public class DeFramerTest {
     assertThat(out).isEmpty();
   }
 
+  @Test
+  public void decode_forwardsMessagesInOrderWhileDecompressingOffTheEventLoop() throws Exception {
+    final DefaultEventLoop channelEventLoop = new DefaultEventLoop();
+    try {
+      when(ctx.executor()).thenReturn(channelEventLoop);
+      when(channel.isActive()).thenReturn(true);
+      final List<Object> forwarded = new CopyOnWriteArrayList<>();
+      when(ctx.fireChannelRead(any()))
+          .thenAnswer(
+              invocation -> {
+                forwarded.add(invocation.getArgument(0));
+                return ctx;
+              });
+      exchangeHellos();
+
+      final CountDownLatch releaseFirst = new CountDownLatch(1);
+      final CompressedMessage first = mock(CompressedMessage.class);
+      when(first.getData())
+          .thenAnswer(
+              invocation -> {
+                releaseFirst.await(10, TimeUnit.SECONDS);
+                return Bytes.EMPTY;
+              });
+      final CompressedMessage second = mock(CompressedMessage.class);
+      when(second.getData()).thenReturn(Bytes.EMPTY);
+      final MessageData third = PingMessage.get();
+      final ByteBuf data = Unpooled.wrappedBuffer(new byte[] {1});
+      when(framer.deframe(eq(data)))
+          .thenReturn(first)
+          .thenReturn(second)
+          .thenReturn(third)
+          .thenReturn(null);
+      final List<Object> out = new ArrayList<>();
+      channelEventLoop.submit(() -> deFramer.decode(ctx, data, out)).get(10, TimeUnit.SECONDS);
+
+      assertThat(out).isEmpty();
+      assertThat(forwarded).isEmpty();
+
+      releaseFirst.countDown();
+      await().atMost(10, TimeUnit.SECONDS).until(() -> forwarded.size() == 3);
+      assertThat(forwarded).containsExactly(first, second, third);
+      assertThat(out).isEmpty();
+    } finally {
+      channelEventLoop.shutdownGracefully(0, 1, TimeUnit.SECONDS);
+    }
+  }
+
+  private void exchangeHellos() {
+    final ChannelFuture future = NettyMocks.channelFuture(false);
+    when(channel.closeFuture()).thenReturn(future);
+    final HelloMessage helloMessage = HelloMessage.create(createPeerInfo(createRemotePeer()));
+    final ByteBuf data = Unpooled.wrappedBuffer(helloMessage.getData().toArray());
+    when(framer.deframe(eq(data)))
+        .thenReturn(new RawMessage(helloMessage.getCode(), helloMessage.getData()))
+        .thenReturn(null);
+    deFramer.decode(ctx, data, new ArrayList<>());
+    assertThat(connectFuture).isDone();
+  }
+
   private Peer createRemotePeer() {
     return DefaultPeer.fromEnodeURL(
         EnodeURLImpl.builder()
@@ -422,6 +487,7 @@ public class DeFramerTest {
         connectionEventDispatcher,
         connectFuture,
         new NoOpMetricsSystem(),
+        new MessageCompressionExecutor(new NoOpMetricsSystem()),
         true);
   }
 }
@@ -0,0 +1,129 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.p2p.rlpx.connections.netty;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hyperledger.besu.ethereum.p2p.rlpx.connections.netty.MessageCompressionExecutor.INBOUND;
+import static org.hyperledger.besu.ethereum.p2p.rlpx.connections.netty.MessageCompressionExecutor.OUTBOUND;
+
+import org.hyperledger.besu.metrics.StubMetricsSystem;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+
+public class MessageCompressionExecutorTest {
+
+  private static final String OFFLOADED = "p2p_compression_offloaded_total";
+  private static final String NOT_OFFLOADED = "p2p_compression_not_offloaded_total";
+
+  private final StubMetricsSystem metricsSystem = new StubMetricsSystem();
+  private final MessageCompressionExecutor executor =
+      new MessageCompressionExecutor(metricsSystem, 1, 10, 1);
+  private final CountDownLatch release = new CountDownLatch(1);
+
+  @After
+  public void tearDown() {
+    release.countDown();
+    executor.stop();
+  }
+
+  private String blockedWork() {
+    try {
+      release.await(10, TimeUnit.SECONDS);
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    return Thread.currentThread().getName();
+  }
+
+  @Test
+  public void runsWorkOnWorkerThreads() throws Exception {
+    final CompletableFuture<String> result =
+        executor.submit(OUTBOUND, () -> Thread.currentThread().getName());
+
+    assertThat(result.get(10, TimeUnit.SECONDS)).startsWith("p2p-compression-");
+    assertThat(metricsSystem.getCounterValue(OFFLOADED, OUTBOUND)).isEqualTo(1);
+    assertThat(metricsSystem.getCounterValue(NOT_OFFLOADED, OUTBOUND)).isZero();
+  }
+
+  @Test
+  public void runsWorkOnCallingThreadWhenSaturated() throws Exception {
+    // one task running and one queued fill the executor
+    final CompletableFuture<String> running = executor.submit(INBOUND, this::blockedWork);
+    final CompletableFuture<String> queued = executor.submit(INBOUND, this::blockedWork);
+
+    final CompletableFuture<String> rejected =
+        executor.submit(INBOUND, () -> Thread.currentThread().getName());
+
+    assertThat(rejected).isCompletedWithValue(Thread.currentThread().getName());
+    assertThat(metricsSystem.getCounterValue(OFFLOADED, INBOUND)).isEqualTo(2);
+    assertThat(metricsSystem.getCounterValue(NOT_OFFLOADED, INBOUND)).isEqualTo(1);
+
+    release.countDown();
+    assertThat(running.get(10, TimeUnit.SECONDS)).startsWith("p2p-compression-");
+    assertThat(queued.get(10, TimeUnit.SECONDS)).startsWith("p2p-compression-");
+  }
+
+  @Test
+  public void returnsFailuresOfWorkRunOnCallingThread() {
+    executor.submit(INBOUND, this::blockedWork);
+    executor.submit(INBOUND, this::blockedWork);
+
+    final CompletableFuture<String> rejected =
+        executor.submit(
+            INBOUND,
+            () -> {
+              throw new IllegalStateException("corrupted");
+            });
+
+    assertThat(rejected).isCompletedExceptionally();
+  }
+
+  @Test
+  public void completesHandedOffWorkAndRunsLaterWorkOnCallingThreadOnceStopped() throws Exception {
+    final CompletableFuture<String> running = executor.submit(OUTBOUND, this::blockedWork);
+    final CompletableFuture<String> queued = executor.submit(OUTBOUND, this::blockedWork);
+
+    executor.stop();
+    final CompletableFuture<String> afterStop =
+        executor.submit(OUTBOUND, () -> Thread.currentThread().getName());
+
+    assertThat(afterStop).isCompletedWithValue(Thread.currentThread().getName());
+    assertThat(metricsSystem.getCounterValue(NOT_OFFLOADED, OUTBOUND)).isEqualTo(1);
+    release.countDown();
+    assertThat(running.get(10, TimeUnit.SECONDS)).startsWith("p2p-compression-");
+    assertThat(queued.get(10, TimeUnit.SECONDS)).startsWith("p2p-compression-");
+  }
+
+  @Test
+  public void failedWorkerWorkCompletesExceptionally() {
+    final CompletableFuture<String> result =
+        executor.submit(
+            OUTBOUND,
+            () -> {
+              throw new IllegalStateException("corrupted");
+            });
+
+    assertThatThrownBy(() -> result.get(10, TimeUnit.SECONDS))
+        .isInstanceOf(ExecutionException.class)
+        .hasCauseInstanceOf(IllegalStateException.class);
+  }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.p2p.rlpx.connections.netty;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.hyperledger.besu.ethereum.p2p.rlpx.framing.Framer;
+import org.hyperledger.besu.ethereum.p2p.rlpx.wire.Capability;
+import org.hyperledger.besu.ethereum.p2p.rlpx.wire.CapabilityMultiplexer;
+import org.hyperledger.besu.ethereum.p2p.rlpx.wire.MessageData;
+import org.hyperledger.besu.ethereum.p2p.rlpx.wire.RawMessage;
+import org.hyperledger.besu.metrics.noop.NoOpMetricsSystem;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.DefaultEventLoop;
+import io.netty.handler.codec.EncoderException;
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class MessageFramerTest {
+
+  private static final Capability CAPABILITY = Capability.create("eth", 68);
+  private static final int OFFLOAD_THRESHOLD = 10;
+
+  private final DefaultEventLoop eventLoop = new DefaultEventLoop();
+  private final MessageCompressionExecutor compressionExecutor =
+      new MessageCompressionExecutor(new NoOpMetricsSystem(), 2, OFFLOAD_THRESHOLD);
+  private final CapabilityMultiplexer multiplexer = mock(CapabilityMultiplexer.class);
+  private final Framer framer = mock(Framer.class);
+  private final ChannelHandlerContext ctx = mock(ChannelHandlerContext.class);
+  private final List<Integer> writtenCodes = new CopyOnWriteArrayList<>();
+  private final MessageFramer messageFramer =
+      new MessageFramer(multiplexer, framer, compressionExecutor);
+
+  @Before
+  public void setUp() {
+    when(ctx.executor()).thenReturn(eventLoop);
+    when(ctx.alloc()).thenReturn(UnpooledByteBufAllocator.DEFAULT);
+    when(ctx.write(any(), any()))
+        .thenAnswer(
+            invocation -> {
+              final ByteBuf out = invocation.getArgument(0);
+              writtenCodes.add((int) out.readByte());
+              out.release();
+              return invocation.getArgument(1);
+            });
+    when(multiplexer.multiplex(eq(CAPABILITY), any()))
+        .thenAnswer(invocation -> invocation.getArgument(1));
+    when(framer.isCompressionEnabled()).thenReturn(true);
+    when(framer.compress(any())).thenAnswer(invocation -> invocation.getArgument(0));
+    // Frames carry the code of their message, so that the tests can tell them apart.
+    doAnswer(
+            invocation -> {
+              final MessageData message = invocation.getArgument(0);
+              invocation.<ByteBuf>getArgument(1).writeByte(message.getCode());
+              return null;
+            })
+        .when(framer)
+        .frame(any(), any(ByteBuf.class));
+    doAnswer(
+            invocation -> {
+              final MessageData message = invocation.getArgument(0);
+              invocation.<ByteBuf>getArgument(2).writeByte(message.getCode());
+              return null;
+            })
+        .when(framer)
+        .frame(any(), any(MessageData.class), any(ByteBuf.class));
+  }
+
+  @After
+  public void tearDown() {
+    compressionExecutor.stop();
+    eventLoop.shutdownGracefully(0, 1, TimeUnit.SECONDS);
+  }
+
+  private static MessageData message(final int code, final int size) {
+    return new RawMessage(code, Bytes.wrap(new byte[size]));
+  }
+
+  private ChannelPromise write(final MessageData message) throws Exception {
+    final ChannelPromise promise = mock(ChannelPromise.class);
+    eventLoop
+        .submit(() -> messageFramer.write(ctx, new OutboundMessage(CAPABILITY, message), promise))
+        .get(10, TimeUnit.SECONDS);
+    return promise;
+  }
+
+  @Test
+  public void writesSmallMessagesOnTheEventLoop() throws Exception {
+    write(message(1, OFFLOAD_THRESHOLD - 1));
+
+    assertThat(writtenCodes).containsExactly(1);
+    verify(framer).frame(any(), any(ByteBuf.class));
+  }
+
+  @Test
+  public void writesMessagesInOrderWhenCompressionCompletesOutOfOrder() throws Exception {
+    final MessageData first = message(1, OFFLOAD_THRESHOLD);
+    final MessageData second = message(2, OFFLOAD_THRESHOLD);
+    final MessageData third = message(3, OFFLOAD_THRESHOLD - 1);
+    final CountDownLatch releaseFirst = new CountDownLatch(1);
+    final CountDownLatch secondCompressed = new CountDownLatch(1);
+    when(framer.compress(first))
+        .thenAnswer(
+            invocation -> {
+              releaseFirst.await(10, TimeUnit.SECONDS);
+              return first;
+            });
+    when(framer.compress(second))
+        .thenAnswer(
+            invocation -> {
+              secondCompressed.countDown();
+              return second;
+            });
+
+    write(first);
+    write(second);
+    write(third);
+    assertThat(secondCompressed.await(10, TimeUnit.SECONDS)).isTrue();
+    eventLoop.submit(() -> {}).get(10, TimeUnit.SECONDS);
+    assertThat(writtenCodes).isEmpty();
+
+    releaseFirst.countDown();
+    await().atMost(10, TimeUnit.SECONDS).until(() -> writtenCodes.size() == 3);
+    assertThat(writtenCodes).containsExactly(1, 2, 3);
+  }
+
+  @Test
+  public void failsThePromiseOfMessagesThatCannotBeCompressed() throws Exception {
+    final MessageData first = message(1, OFFLOAD_THRESHOLD);
+    when(framer.compress(first)).thenThrow(new IllegalStateException("too large"));
+
+    final ChannelPromise failed = write(first);
+    write(message(2, OFFLOAD_THRESHOLD - 1));
+
+    await().atMost(10, TimeUnit.SECONDS).until(() -> writtenCodes.size() == 1);
+    verify(failed).setFailure(any(EncoderException.class));
+    assertThat(writtenCodes).containsExactly(2);
+  }
+
+  @Test
+  public void compressesOnTheEventLoopOnceStopped() throws Exception {
+    compressionExecutor.stop();
+
+    write(message(1, OFFLOAD_THRESHOLD));
+    write(message(2, OFFLOAD_THRESHOLD - 1));
+
+    await().atMost(10, TimeUnit.SECONDS).until(() -> writtenCodes.size() == 2);
+    assertThat(writtenCodes).containsExactly(1, 2);
+  }
+}
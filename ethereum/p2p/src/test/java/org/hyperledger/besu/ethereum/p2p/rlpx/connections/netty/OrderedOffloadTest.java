@@ -0,0 +1,145 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.p2p.rlpx.connections.netty;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import io.netty.channel.DefaultEventLoop;
+import org.junit.After;
+import org.junit.Test;
+
+public class OrderedOffloadTest {
+
+  private final DefaultEventLoop eventLoop = new DefaultEventLoop();
+  private final OrderedOffload<String> offload = new OrderedOffload<>(eventLoop);
+  private final List<String> continued = new CopyOnWriteArrayList<>();
+
+  @After
+  public void tearDown() {
+    eventLoop.shutdownGracefully(0, 1, TimeUnit.SECONDS);
+  }
+
+  private void add(final CompletableFuture<String> future) throws Exception {
+    eventLoop
+        .submit(
+            () ->
+                offload.add(
+                    future,
+                    (result, error) ->
+                        continued.add(error != null ? "failed: " + error.getMessage() : result)))
+        .get(10, TimeUnit.SECONDS);
+  }
+
+  private void awaitContinued(final int count) throws Exception {
+    await().atMost(10, TimeUnit.SECONDS).until(() -> continued.size() >= count);
+    // Let the event loop run what is left, so that extra continuations would show up.
+    eventLoop.submit(() -> {}).get(10, TimeUnit.SECONDS);
+  }
+
+  @Test
+  public void runsContinuationsInAddOrderWhenStepsCompleteInReverseOrder() throws Exception {
+    final CompletableFuture<String> first = new CompletableFuture<>();
+    final CompletableFuture<String> second = new CompletableFuture<>();
+    final CompletableFuture<String> third = new CompletableFuture<>();
+    add(first);
+    add(second);
+    add(third);
+
+    third.complete("third");
+    second.complete("second");
+    eventLoop.submit(() -> {}).get(10, TimeUnit.SECONDS);
+    assertThat(continued).isEmpty();
+
+    first.complete("first");
+    awaitContinued(3);
+    assertThat(continued).containsExactly("first", "second", "third");
+    assertThat(eventLoop.submit(offload::isEmpty).get(10, TimeUnit.SECONDS)).isTrue();
+  }
+
+  @Test
+  public void runsContinuationsInAddOrderWhenStepsCompleteConcurrently() throws Exception {
+    final int stepCount = 100;
+    final List<CompletableFuture<String>> futures =
+        IntStream.range(0, stepCount).mapToObj(i -> new CompletableFuture<String>()).toList();
+    for (final CompletableFuture<String> future : futures) {
+      add(future);
+    }
+
+    final CountDownLatch start = new CountDownLatch(1);
+    final ExecutorService workers = Executors.newFixedThreadPool(4);
+    try {
+      for (int i = stepCount - 1; i >= 0; i--) {
+        final int step = i;
+        workers.execute(
+            () -> {
+              try {
+                start.await();
+              } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+              }
+              futures.get(step).complete(String.valueOf(step));
+            });
+      }
+      start.countDown();
+      awaitContinued(stepCount);
+    } finally {
+      workers.shutdownNow();
+    }
+
+    assertThat(continued)
+        .containsExactlyElementsOf(
+            IntStream.range(0, stepCount).mapToObj(String::valueOf).toList());
+  }
+
+  @Test
+  public void passesFailuresToTheirContinuationInOrder() throws Exception {
+    final CompletableFuture<String> first = new CompletableFuture<>();
+    add(first);
+    add(CompletableFuture.completedFuture("second"));
+
+    first.completeExceptionally(new IllegalStateException("corrupted"));
+    awaitContinued(2);
+
+    assertThat(continued).containsExactly("failed: corrupted", "second");
+  }
+
+  @Test
+  public void defersContinuationsOfCompletedSteps() throws Exception {
+    final boolean ranImmediately =
+        eventLoop
+            .submit(
+                () -> {
+                  offload.add(
+                      CompletableFuture.completedFuture("done"),
+                      (result, error) -> continued.add(result));
+                  return !continued.isEmpty();
+                })
+            .get(10, TimeUnit.SECONDS);
+    awaitContinued(1);
+
+    assertThat(ranImmediately).isFalse();
+    assertThat(continued).containsExactly("done");
+  }
+}
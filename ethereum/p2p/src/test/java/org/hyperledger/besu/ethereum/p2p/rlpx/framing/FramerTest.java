@@ -271,6 +271,45 @@ public class FramerTest {
     assertThat(receivingFramer.isCompressionSuccessful()).isTrue();
   }
 
+  @Test
+  public void decompressesLargeMessagesLazily() {
+    final HandshakeSecrets secrets =
+        new HandshakeSecrets(
+            Bytes.fromHexString(
+                    "0x75b3ee95adff0c529a05efd7612aa1dbe5057eb9facdde0dfc837ad143da1d43")
+                .toArray(),
+            Bytes.fromHexString(
+                    "0x030dfd1566f4800c4842c177f7d476b64ae2b99a2aa0ab5600aa2f41a8710575")
+                .toArray(),
+            Bytes.fromHexString(
+                    "0xc9d3385b1588a5969cba312f8c29bedb4cb9d56ec0cf825436addc1ec644f1d6")
+                .toArray());
+    final Framer receivingFramer = new Framer(secrets);
+    final Framer sendingFramer = new Framer(secrets);
+    sendingFramer.enableCompression();
+    receivingFramer.enableCompression();
+    receivingFramer.setLazyDecompressionThreshold(256);
+
+    final byte[] data = new byte[4096];
+    new Random(1).nextBytes(data);
+    final MessageData small = new RawMessage(0x10, Bytes.wrap(data, 0, 16));
+    final MessageData large = new RawMessage(0x11, Bytes.wrap(data));
+
+    // Messages are only decompressed lazily once compression is known to work.
+    final ByteBuf out = Unpooled.buffer();
+    sendingFramer.frame(large, out);
+    sendingFramer.frame(small, out);
+    sendingFramer.frame(large, sendingFramer.compress(large), out);
+
+    assertThat(receivingFramer.deframe(out)).isInstanceOf(RawMessage.class);
+    assertThat(receivingFramer.deframe(out)).isInstanceOf(RawMessage.class);
+    final MessageData received = receivingFramer.deframe(out);
+    assertThat(received).isInstanceOf(CompressedMessage.class);
+    assertThat(received.getCode()).isEqualTo(0x11);
+    assertThat(received.getSize()).isEqualTo(data.length);
+    assertThat(received.getData()).isEqualTo(Bytes.wrap(data));
+  }
+
   private HandshakeSecrets secretsFrom(final JsonNode td, final boolean swap) {
     final byte[] aes = decodeHexDump(td.get("aes_secret").asText());
     final byte[] mac = decodeHexDump(td.get("mac_secret").asText());
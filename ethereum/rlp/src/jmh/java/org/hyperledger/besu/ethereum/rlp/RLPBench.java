@@ -61,6 +61,7 @@ public class RLPBench {
 
   volatile Object toEncode;
   volatile Bytes toDecode;
+  final BufferedRLPOutput reusedOutput = new BufferedRLPOutput();
 
   @Setup(Level.Trial)
   public void prepare() {
@@ -73,6 +74,25 @@ public class RLPBench {
     return RLPTestUtil.encode(toEncode);
   }
 
+  @Benchmark
+  public Bytes getBenchmarkBufferedEncoding() {
+    final BufferedRLPOutput out = new BufferedRLPOutput();
+    RLPTestUtil.encode(toEncode, out);
+    return out.encoded();
+  }
+
+  @Benchmark
+  public Bytes getBenchmarkReusedBufferedEncoding() {
+    reusedOutput.reset();
+    RLPTestUtil.encode(toEncode, reusedOutput);
+    return reusedOutput.encoded();
+  }
+
+  @Benchmark
+  public Bytes getBenchmarkEncodingWithRLPEncode() {
+    return RLP.encode(out -> RLPTestUtil.encode(toEncode, out));
+  }
+
   @Benchmark
   public Object getBenchmarkDecoding() {
     return RLPTestUtil.decode(toDecode);
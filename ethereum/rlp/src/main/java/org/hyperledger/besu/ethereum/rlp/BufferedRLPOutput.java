@@ -0,0 +1,219 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.rlp;
+
+import static com.google.common.base.Preconditions.checkState;
+
+import java.util.Arrays;
+
+import io.netty.buffer.ByteBuf;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.MutableBytes;
+
+/**
+ * An {@link RLPOutput} that encodes values directly into a growable byte array as they are
+ * written, instead of accumulating them and encoding everything at the end like {@link
+ * BytesValueRLPOutput}.
+ *
+ * <p>The header of a list is only known once the list ends, so a single byte is reserved for it
+ * when the list starts, and patched when it ends. Only lists whose payload is longer than 55 bytes
+ * need a longer header, in which case their payload is shifted to make room for it.
+ *
+ * <p>An output can be {@link #reset()} to encode another value while reusing its buffer. It is
+ * not thread safe.
+ */
+public class BufferedRLPOutput implements RLPOutput {
+
+  private static final int DEFAULT_INITIAL_CAPACITY = 256;
+
+  private byte[] buffer;
+  // Wraps buffer, so that Bytes values can be copied to it efficiently.
+  private MutableBytes bufferView;
+  private int position;
+
+  // Offsets of the reserved header byte of every currently open list.
+  private int[] listStarts = new int[8];
+  private int depth;
+
+  public BufferedRLPOutput() {
+    this(DEFAULT_INITIAL_CAPACITY);
+  }
+
+  public BufferedRLPOutput(final int initialCapacity) {
+    this.buffer = new byte[Math.max(initialCapacity, 16)];
+    this.bufferView = MutableBytes.wrap(buffer);
+  }
+
+  @Override
+  public void startList() {
+    if (depth == listStarts.length) {
+      listStarts = Arrays.copyOf(listStarts, depth * 2);
+    }
+    ensureCapacity(1);
+    listStarts[depth++] = position++;
+  }
+
+  @Override
+  public void endList() {
+    checkState(depth > 0, "LeaveList() called with no prior matching startList()");
+    final int start = listStarts[--depth];
+    final int payloadSize = position - start - 1;
+    if (RLPEncodingHelpers.isShortList(payloadSize)) {
+      buffer[start] = (byte) (0xc0 + payloadSize);
+      return;
+    }
+    final int sizeLength = sizeLength(payloadSize);
+    ensureCapacity(sizeLength);
+    System.arraycopy(buffer, start + 1, buffer, start + 1 + sizeLength, payloadSize);
+    writeLongHeader(0xf7, payloadSize, sizeLength, start);
+    position += sizeLength;
+  }
+
+  @Override
+  public void writeBytes(final Bytes v) {
+    checkNotTerminated();
+    final int size = v.size();
+    if (size == 1 && v.get(0) >= 0) {
+      ensureCapacity(1);
+      buffer[position++] = v.get(0);
+      return;
+    }
+    ensureCapacity(5 + size);
+    writeElementHeader(size);
+    v.copyTo(bufferView, position);
+    position += size;
+  }
+
+  @Override
+  public void writeRaw(final Bytes v) {
+    checkNotTerminated();
+    ensureCapacity(v.size());
+    v.copyTo(bufferView, position);
+    position += v.size();
+  }
+
+  @Override
+  public void writeLongScalar(final long v) {
+    checkNotTerminated();
+    ensureCapacity(9);
+    if (v >= 0 && v < 0x80) {
+      // 0 is encoded as the empty value, other values below 0x80 as a single byte.
+      buffer[position++] = v == 0 ? (byte) 0x80 : (byte) v;
+      return;
+    }
+    final int size = 8 - Long.numberOfLeadingZeros(v) / 8;
+    buffer[position++] = (byte) (0x80 + size);
+    for (int i = size - 1; i >= 0; i--) {
+      buffer[position++] = (byte) (v >>> (8 * i));
+    }
+  }
+
+  /**
+   * Returns the size of the data written to this output.
+   *
+   * @return The size of the RLP-encoded data written to this output.
+   * @throws IllegalStateException if some opened list haven't been closed (the output is not valid
+   *     as is).
+   */
+  public int encodedSize() {
+    checkState(depth == 0, "A list has been entered (startList()) but not left (endList())");
+    return position;
+  }
+
+  /**
+   * Returns a copy of the data written to this output.
+   *
+   * @return A value containing the data written to this output RLP-encoded.
+   */
+  public Bytes encoded() {
+    return encodedSize() == 0 ? Bytes.EMPTY : Bytes.wrap(toByteArray());
+  }
+
+  /**
+   * Returns a copy of the data written to this output as a byte array.
+   *
+   * @return The data written to this output RLP-encoded.
+   */
+  public byte[] toByteArray() {
+    return Arrays.copyOf(buffer, encodedSize());
+  }
+
+  /**
+   * Copies the data written to this output to the provided buffer.
+   *
+   * @param output The buffer to which the RLP-encoded data is written.
+   */
+  public void writeEncodedTo(final ByteBuf output) {
+    output.writeBytes(buffer, 0, encodedSize());
+  }
+
+  /**
+   * Copies the data written to this output to the provided {@link MutableBytes}.
+   *
+   * @param mutableBytes the value to which the rlp-data will be written
+   */
+  public void writeEncoded(final MutableBytes mutableBytes) {
+    bufferView.slice(0, encodedSize()).copyTo(mutableBytes, 0);
+  }
+
+  /** Discards the data written to this output, keeping its buffer to encode another value. */
+  public void reset() {
+    position = 0;
+    depth = 0;
+  }
+
+  /**
+   * Returns the current capacity of the buffer of this output.
+   *
+   * @return The number of bytes this output can hold without growing its buffer.
+   */
+  public int capacity() {
+    return buffer.length;
+  }
+
+  private void checkNotTerminated() {
+    checkState(depth > 0 || position == 0, "Terminated RLP output, cannot add more elements");
+  }
+
+  private void ensureCapacity(final int additional) {
+    final int required = position + additional;
+    if (required > buffer.length) {
+      buffer = Arrays.copyOf(buffer, Math.max(required, buffer.length * 2));
+      bufferView = MutableBytes.wrap(buffer);
+    }
+  }
+
+  private void writeElementHeader(final int size) {
+    if (size <= 55) {
+      buffer[position++] = (byte) (0x80 + size);
+    } else {
+      final int sizeLength = sizeLength(size);
+      writeLongHeader(0xb7, size, sizeLength, position);
+      position += 1 + sizeLength;
+    }
+  }
+
+  private void writeLongHeader(
+      final int baseCode, final int size, final int sizeLength, final int offset) {
+    buffer[offset] = (byte) (baseCode + sizeLength);
+    for (int i = 0; i < sizeLength; i++) {
+      buffer[offset + sizeLength - i] = (byte) (size >> (8 * i));
+    }
+  }
+
+  private static int sizeLength(final int size) {
+    return 4 - Integer.numberOfLeadingZeros(size) / 8;
+  }
+}
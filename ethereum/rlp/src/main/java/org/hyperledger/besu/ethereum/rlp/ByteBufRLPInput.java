@@ -0,0 +1,94 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.rlp;
+
+import java.math.BigInteger;
+
+import io.netty.buffer.ByteBuf;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+
+/**
+ * An {@link RLPInput} that reads RLP encoded data from the readable bytes of a Netty {@link
+ * ByteBuf}, including composite buffers spanning several components.
+ *
+ * <p>Values read from this input are not copied, they wrap the underlying buffer. This input does
+ * not retain the buffer: the caller must keep it alive, and its content unmodified, for as long as
+ * those values are in use. The reader and writer indexes of the buffer are not modified.
+ */
+public class ByteBufRLPInput extends AbstractRLPInput {
+
+  // The RLP encoded data, starting at index start.
+  private final ByteBuf buffer;
+  private final int start;
+  private final int length;
+
+  public ByteBufRLPInput(final ByteBuf buffer, final boolean lenient) {
+    this(buffer, lenient, true);
+  }
+
+  public ByteBufRLPInput(
+      final ByteBuf buffer, final boolean lenient, final boolean shouldFitExactly) {
+    super(lenient);
+    this.buffer = buffer;
+    this.start = buffer.readerIndex();
+    this.length = buffer.readableBytes();
+    init(length, shouldFitExactly);
+  }
+
+  private int index(final long offset) {
+    return start + Math.toIntExact(offset);
+  }
+
+  @Override
+  protected byte inputByte(final long offset) {
+    return buffer.getByte(index(offset));
+  }
+
+  @Override
+  protected Bytes inputSlice(final long offset, final int length) {
+    return Bytes.wrapByteBuf(buffer, index(offset), length);
+  }
+
+  @Override
+  protected Bytes32 inputSlice32(final long offset) {
+    return Bytes32.wrap(inputSlice(offset, 32));
+  }
+
+  @Override
+  protected String inputHex(final long offset, final int length) {
+    return inputSlice(offset, length).toString().substring(2);
+  }
+
+  @Override
+  protected BigInteger getUnsignedBigInteger(final long offset, final int length) {
+    return inputSlice(offset, length).toUnsignedBigInteger();
+  }
+
+  @Override
+  protected int getInt(final long offset) {
+    return buffer.getInt(index(offset));
+  }
+
+  @Override
+  protected long getLong(final long offset) {
+    return buffer.getLong(index(offset));
+  }
+
+  @Override
+  public Bytes raw() {
+    return Bytes.wrapByteBuf(buffer, start, length);
+  }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.rlp;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+
+/**
+ * An {@link RLPInput} that reads RLP encoded data from the remaining bytes of a {@link ByteBuffer},
+ * which can be a heap, direct or memory-mapped buffer.
+ *
+ * <p>Values read from this input are not copied, they wrap the underlying buffer. The buffer
+ * content must therefore not be modified while those values are in use. The position and limit of
+ * the provided buffer are not modified.
+ */
+public class ByteBufferRLPInput extends AbstractRLPInput {
+
+  // The RLP encoded data, starting at index 0.
+  private final ByteBuffer buffer;
+
+  public ByteBufferRLPInput(final ByteBuffer buffer, final boolean lenient) {
+    this(buffer, lenient, true);
+  }
+
+  public ByteBufferRLPInput(
+      final ByteBuffer buffer, final boolean lenient, final boolean shouldFitExactly) {
+    super(lenient);
+    this.buffer = buffer.slice().order(ByteOrder.BIG_ENDIAN);
+    init(this.buffer.remaining(), shouldFitExactly);
+  }
+
+  @Override
+  protected byte inputByte(final long offset) {
+    return buffer.get(Math.toIntExact(offset));
+  }
+
+  @Override
+  protected Bytes inputSlice(final long offset, final int length) {
+    return Bytes.wrapByteBuffer(buffer, Math.toIntExact(offset), length);
+  }
+
+  @Override
+  protected Bytes32 inputSlice32(final long offset) {
+    return Bytes32.wrap(inputSlice(offset, 32));
+  }
+
+  @Override
+  protected String inputHex(final long offset, final int length) {
+    return inputSlice(offset, length).toString().substring(2);
+  }
+
+  @Override
+  protected BigInteger getUnsignedBigInteger(final long offset, final int length) {
+    return inputSlice(offset, length).toUnsignedBigInteger();
+  }
+
+  @Override
+  protected int getInt(final long offset) {
+    return buffer.getInt(Math.toIntExact(offset));
+  }
+
+  @Override
+  protected long getLong(final long offset) {
+    return buffer.getLong(Math.toIntExact(offset));
+  }
+
+  @Override
+  public Bytes raw() {
+    return Bytes.wrapByteBuffer(buffer);
+  }
+}
@@ -16,6 +16,7 @@ package org.hyperledger.besu.ethereum.rlp;
 
 import static java.lang.String.format;
 
+import java.nio.ByteBuffer;
 import java.util.function.Consumer;
 
 import org.apache.tuweni.bytes.Bytes;
@@ -35,6 +36,10 @@ public abstract class RLP {
   // of string followed by at most 8 bytes describing the length of the string
   public static final int MAX_PREFIX_SIZE = 9;
 
+  // Outputs that grew larger than this are not kept, to not retain large buffers in every thread.
+  private static final int MAX_REUSED_OUTPUT_CAPACITY = 1024 * 1024;
+  private static final ThreadLocal<BufferedRLPOutput> REUSABLE_OUTPUT = new ThreadLocal<>();
+
   static {
     final BytesValueRLPOutput out = new BytesValueRLPOutput();
     out.startList();
@@ -63,6 +68,18 @@ public abstract class RLP {
     return new BytesValueRLPInput(encoded, lenient);
   }
 
+  /**
+   * Creates a new {@link RLPInput} decoding the remaining bytes of the provided buffer without
+   * copying them.
+   *
+   * @param encoded The buffer holding the RLP encoded data, heap, direct or memory-mapped.
+   * @return A newly created strict {@link RLPInput} to decode {@code encoded}.
+   * @see ByteBufferRLPInput
+   */
+  public static RLPInput input(final ByteBuffer encoded) {
+    return new ByteBufferRLPInput(encoded, false);
+  }
+
   /**
    * Creates a {@link RLPOutput}, pass it to the provided consumer for writing, and then return the
    * RLP encoded result of that writing.
@@ -86,9 +103,23 @@ public abstract class RLP {
    * @return The RLP encoding of the data written by {@code writer}.
    */
   public static Bytes encode(final Consumer<RLPOutput> writer) {
-    final BytesValueRLPOutput out = new BytesValueRLPOutput();
-    writer.accept(out);
-    return out.encoded();
+    // The output is taken out of the thread local while in use, so that a writer encoding a nested
+    // value through this method gets its own output.
+    BufferedRLPOutput out = REUSABLE_OUTPUT.get();
+    if (out == null) {
+      out = new BufferedRLPOutput();
+    } else {
+      REUSABLE_OUTPUT.set(null);
+    }
+    try {
+      writer.accept(out);
+      return out.encoded();
+    } finally {
+      out.reset();
+      if (out.capacity() <= MAX_REUSED_OUTPUT_CAPACITY) {
+        REUSABLE_OUTPUT.set(out);
+      }
+    }
   }
 
   /**
@@ -17,7 +17,10 @@ package org.hyperledger.besu.ethereum.rlp;
 import java.math.BigInteger;
 import java.net.InetAddress;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.function.Function;
 
 import org.apache.tuweni.bytes.Bytes;
@@ -373,4 +376,53 @@ public interface RLPInput {
     leaveList();
     return res;
   }
+
+  /**
+   * Reads a list from the input given a method that knows how to read its elements, decoding each
+   * element only when it is requested from the returned iterator.
+   *
+   * <p>The returned iterator reads from this input, so it must be exhausted before anything else
+   * is read from this input. The list is left once its last element has been read.
+   *
+   * @param valueReader A method that can decode a single list element.
+   * @param <T> The type of the elements of the decoded list.
+   * @return An iterator over the elements of the next list of this input.
+   * @throws RLPException is the next item to read is not a list, of if any error happens when
+   *     applying {@code valueReader} to read elements of the list.
+   */
+  default <T> Iterator<T> readListLazily(final Function<RLPInput, T> valueReader) {
+    final int size = enterList();
+    if (size == 0) {
+      leaveList();
+      return Collections.emptyIterator();
+    }
+    return new Iterator<>() {
+      private int index = 0;
+
+      @Override
+      public boolean hasNext() {
+        return index < size;
+      }
+
+      @Override
+      public T next() {
+        if (index >= size) {
+          throw new NoSuchElementException();
+        }
+        final T value;
+        try {
+          value = valueReader.apply(RLPInput.this);
+        } catch (final Exception e) {
+          throw new RLPException(
+              String.format(
+                  "Error applying element decoding function on element %d of the list", index),
+              e);
+        }
+        if (++index == size) {
+          leaveList();
+        }
+        return value;
+      }
+    };
+  }
 }
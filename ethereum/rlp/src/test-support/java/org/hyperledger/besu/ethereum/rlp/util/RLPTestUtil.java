@@ -72,7 +72,15 @@ public class RLPTestUtil {
     return out.encoded();
   }
 
-  private static void encode(final Object obj, final RLPOutput out) {
+  /**
+   * Recursively RLP encode an object consisting of recursive lists of {@link Bytes} to the provided
+   * output.
+   *
+   * @param obj An object that must be either directly a {@link Bytes}, or a list whose elements are
+   *     either {@link Bytes}, or similarly composed sub-lists.
+   * @param out The output to which {@code obj} is encoded.
+   */
+  public static void encode(final Object obj, final RLPOutput out) {
     if (obj instanceof Bytes) {
       out.writeBytes((Bytes) obj);
     } else if (obj instanceof List) {
@@ -0,0 +1,156 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.rlp;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigInteger;
+import java.util.function.Consumer;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.MutableBytes;
+import org.junit.Test;
+
+public class BufferedRLPOutputTest {
+
+  private static void assertEncodesLikeBytesValueOutput(final Consumer<RLPOutput> writer) {
+    final BytesValueRLPOutput expected = new BytesValueRLPOutput();
+    writer.accept(expected);
+    final BufferedRLPOutput out = new BufferedRLPOutput(16);
+    writer.accept(out);
+
+    assertThat(out.encoded()).isEqualTo(expected.encoded());
+    assertThat(out.encodedSize()).isEqualTo(expected.encodedSize());
+  }
+
+  @Test
+  public void encodesSingleValues() {
+    assertEncodesLikeBytesValueOutput(out -> out.writeBytes(Bytes.EMPTY));
+    assertEncodesLikeBytesValueOutput(out -> out.writeBytes(Bytes.of(0)));
+    assertEncodesLikeBytesValueOutput(out -> out.writeBytes(Bytes.of(0x7f)));
+    assertEncodesLikeBytesValueOutput(out -> out.writeBytes(Bytes.of(0x80)));
+    assertEncodesLikeBytesValueOutput(out -> out.writeBytes(Bytes.wrap(new byte[55])));
+    assertEncodesLikeBytesValueOutput(out -> out.writeBytes(Bytes.wrap(new byte[56])));
+    assertEncodesLikeBytesValueOutput(out -> out.writeBytes(Bytes.wrap(new byte[70_000])));
+  }
+
+  @Test
+  public void encodesScalars() {
+    final long[] values = {0, 1, 0x7f, 0x80, 0xff, 0x100, 0x1234567890L, Long.MAX_VALUE, -1};
+    for (final long value : values) {
+      assertEncodesLikeBytesValueOutput(out -> out.writeLongScalar(value));
+    }
+    assertEncodesLikeBytesValueOutput(out -> out.writeIntScalar(0xcafe));
+    assertEncodesLikeBytesValueOutput(out -> out.writeBigIntegerScalar(BigInteger.TWO.pow(200)));
+  }
+
+  @Test
+  public void encodesNestedLists() {
+    assertEncodesLikeBytesValueOutput(RLPOutput::writeEmptyList);
+    assertEncodesLikeBytesValueOutput(
+        out -> {
+          out.startList();
+          out.writeLongScalar(42);
+          // short list
+          out.startList();
+          out.writeBytes(Bytes.of(1, 2, 3));
+          out.endList();
+          // list just above the short list limit
+          out.startList();
+          out.writeBytes(Bytes.wrap(new byte[54]));
+          out.endList();
+          // long list, itself containing a long list
+          out.startList();
+          for (int i = 0; i < 1_000; i++) {
+            out.startList();
+            out.writeLongScalar(i);
+            out.writeBytes(Bytes.wrap(new byte[i % 100]));
+            out.endList();
+          }
+          out.endList();
+          out.writeRaw(RLP.encodeOne(Bytes.of(9)));
+          out.endList();
+        });
+  }
+
+  @Test
+  public void canBeReusedAfterReset() {
+    final BufferedRLPOutput out = new BufferedRLPOutput(16);
+    out.writeBytes(Bytes.wrap(new byte[1_000]));
+    assertThat(out.capacity()).isGreaterThanOrEqualTo(1_003);
+
+    out.reset();
+    out.startList();
+    out.writeLongScalar(1);
+    out.endList();
+
+    assertThat(out.encoded()).isEqualTo(Bytes.fromHexString("0xc101"));
+    assertThat(out.capacity()).isGreaterThanOrEqualTo(1_003);
+  }
+
+  @Test
+  public void writesEncodedToBuffers() {
+    final BufferedRLPOutput out = new BufferedRLPOutput();
+    out.startList();
+    out.writeBytes(Bytes.of(1, 2, 3));
+    out.endList();
+
+    final MutableBytes bytes = MutableBytes.create(out.encodedSize());
+    out.writeEncoded(bytes);
+    assertThat(bytes).isEqualTo(out.encoded());
+
+    final ByteBuf buffer = Unpooled.buffer().writeByte(0xff);
+    out.writeEncodedTo(buffer);
+    assertThat(Bytes.wrapByteBuf(buffer, 1, buffer.readableBytes() - 1)).isEqualTo(out.encoded());
+  }
+
+  @Test
+  public void emptyOutputEncodesToEmptyValue() {
+    assertThat(new BufferedRLPOutput().encoded()).isEqualTo(Bytes.EMPTY);
+  }
+
+  @Test
+  public void rejectsInvalidStructures() {
+    final BufferedRLPOutput unclosed = new BufferedRLPOutput();
+    unclosed.startList();
+    assertThatThrownBy(unclosed::encoded).isInstanceOf(IllegalStateException.class);
+
+    final BufferedRLPOutput unopened = new BufferedRLPOutput();
+    assertThatThrownBy(unopened::endList).isInstanceOf(IllegalStateException.class);
+
+    final BufferedRLPOutput terminated = new BufferedRLPOutput();
+    terminated.writeLongScalar(1);
+    assertThatThrownBy(() -> terminated.writeLongScalar(2))
+        .isInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  public void nestedEncodingsUseDistinctOutputs() {
+    final Bytes inner = RLP.encode(out -> out.writeBytes(Bytes.of(1, 2)));
+    final Bytes encoded =
+        RLP.encode(
+            out -> {
+              out.startList();
+              out.writeRaw(RLP.encode(nested -> nested.writeBytes(Bytes.of(1, 2))));
+              out.writeRaw(inner);
+              out.endList();
+            });
+
+    assertThat(encoded).isEqualTo(Bytes.fromHexString("0xc6820102820102"));
+  }
+}
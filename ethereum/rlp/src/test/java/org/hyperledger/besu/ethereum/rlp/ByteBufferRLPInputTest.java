@@ -0,0 +1,186 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.rlp;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.Unpooled;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ByteBufferRLPInputTest {
+
+  @Rule public final TemporaryFolder folder = new TemporaryFolder();
+
+  private static final Bytes ENCODED = encodeSample();
+
+  private static Bytes encodeSample() {
+    final BytesValueRLPOutput out = new BytesValueRLPOutput();
+    out.startList();
+    out.writeLongScalar(0x1234567890L);
+    out.writeInt(0xcafebabe);
+    out.writeLong(Long.MIN_VALUE + 1);
+    out.writeBytes(Bytes32.fromHexStringLenient("0xabcdef"));
+    out.writeBigIntegerScalar(BigInteger.TWO.pow(200));
+    out.writeBytes(Bytes.wrap(new byte[1000]));
+    out.startList();
+    for (int i = 0; i < 5; i++) {
+      out.writeIntScalar(i);
+    }
+    out.endList();
+    out.endList();
+    return out.encoded();
+  }
+
+  private static void assertReadsSample(final RLPInput in) {
+    assertThat(in.raw()).isEqualTo(ENCODED);
+    assertThat(in.enterList()).isEqualTo(7);
+    assertThat(in.readLongScalar()).isEqualTo(0x1234567890L);
+    assertThat(in.readInt()).isEqualTo(0xcafebabe);
+    assertThat(in.readLong()).isEqualTo(Long.MIN_VALUE + 1);
+    assertThat(in.readBytes32()).isEqualTo(Bytes32.fromHexStringLenient("0xabcdef"));
+    assertThat(in.readBigIntegerScalar()).isEqualTo(BigInteger.TWO.pow(200));
+    assertThat(in.readBytes()).isEqualTo(Bytes.wrap(new byte[1000]));
+    assertThat(in.readList(RLPInput::readIntScalar)).containsExactly(0, 1, 2, 3, 4);
+    in.leaveList();
+    assertThat(in.isDone()).isTrue();
+  }
+
+  @Test
+  public void readsFromHeapBuffer() {
+    assertReadsSample(RLP.input(ByteBuffer.wrap(ENCODED.toArrayUnsafe())));
+  }
+
+  @Test
+  public void readsRemainingBytesOfDirectBuffer() {
+    final ByteBuffer buffer = ByteBuffer.allocateDirect(ENCODED.size() + 3);
+    buffer.put((byte) 1).put(ENCODED.toArrayUnsafe()).put((byte) 2).flip().position(1);
+    buffer.limit(buffer.limit() - 1);
+
+    assertReadsSample(RLP.input(buffer));
+    assertThat(buffer.position()).isEqualTo(1);
+  }
+
+  @Test
+  public void readsFromMemoryMappedFile() throws IOException {
+    final Path file = folder.newFile().toPath();
+    Files.write(file, ENCODED.toArrayUnsafe());
+    try (final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      final MappedByteBuffer mapped =
+          channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      assertReadsSample(RLP.input(mapped));
+    }
+  }
+
+  @Test
+  public void readsFromCompositeByteBuf() {
+    final byte[] encoded = ENCODED.toArrayUnsafe();
+    final CompositeByteBuf buffer = Unpooled.compositeBuffer();
+    // split the encoding at arbitrary points, including in the middle of values
+    buffer.addComponent(true, Unpooled.wrappedBuffer(encoded, 0, 7));
+    buffer.addComponent(true, Unpooled.wrappedBuffer(encoded, 7, 30));
+    buffer.addComponent(true, Unpooled.directBuffer().writeBytes(encoded, 37, 500));
+    buffer.addComponent(true, Unpooled.wrappedBuffer(encoded, 537, encoded.length - 537));
+
+    assertReadsSample(new ByteBufRLPInput(buffer, false));
+    assertThat(buffer.readerIndex()).isEqualTo(0);
+  }
+
+  @Test
+  public void readsReadableBytesOfByteBuf() {
+    final ByteBuf buffer = Unpooled.buffer();
+    buffer.writeBytes(new byte[] {1, 2, 3}).writeBytes(ENCODED.toArrayUnsafe()).skipBytes(3);
+
+    assertReadsSample(new ByteBufRLPInput(buffer, false));
+  }
+
+  @Test
+  public void rejectsTruncatedInput() {
+    final ByteBuffer truncated = ByteBuffer.wrap(ENCODED.toArrayUnsafe(), 0, ENCODED.size() - 1);
+    assertThatThrownBy(() -> RLP.input(truncated)).isInstanceOf(CorruptedRLPInputException.class);
+  }
+
+  @Test
+  public void readsListLazily() {
+    final BytesValueRLPOutput out = new BytesValueRLPOutput();
+    out.startList();
+    out.writeList(List.of(1, 2, 3), (value, rlp) -> rlp.writeIntScalar(value));
+    out.writeIntScalar(42);
+    out.endList();
+
+    final RLPInput in = RLP.input(ByteBuffer.wrap(out.encoded().toArrayUnsafe()));
+    in.enterList();
+    final List<Integer> read = new ArrayList<>();
+    final Iterator<Integer> values =
+        in.readListLazily(
+            rlp -> {
+              read.add(rlp.readIntScalar());
+              return read.get(read.size() - 1);
+            });
+    assertThat(read).isEmpty();
+
+    assertThat(values.next()).isEqualTo(1);
+    assertThat(read).containsExactly(1);
+    assertThat(values.next()).isEqualTo(2);
+    assertThat(values.next()).isEqualTo(3);
+    assertThat(values.hasNext()).isFalse();
+    assertThatThrownBy(values::next).isInstanceOf(NoSuchElementException.class);
+
+    // the list has been left, the input is on the item following it
+    assertThat(in.readIntScalar()).isEqualTo(42);
+    in.leaveList();
+    assertThat(in.isDone()).isTrue();
+  }
+
+  @Test
+  public void readsEmptyListLazily() {
+    final RLPInput in = RLP.input(RLP.EMPTY_LIST);
+    assertThat(in.readListLazily(RLPInput::readIntScalar).hasNext()).isFalse();
+    assertThat(in.isDone()).isTrue();
+  }
+
+  @Test
+  public void wrapsLazyDecodingErrors() {
+    final RLPInput notScalars =
+        RLP.input(
+            RLP.encode(
+                out -> {
+                  out.startList();
+                  out.writeEmptyList();
+                  out.endList();
+                }));
+    final Iterator<Integer> failing = notScalars.readListLazily(RLPInput::readIntScalar);
+    assertThatThrownBy(failing::next).isInstanceOf(RLPException.class);
+  }
+}
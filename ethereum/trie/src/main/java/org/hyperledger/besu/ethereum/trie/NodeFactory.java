@@ -33,4 +33,8 @@ public interface NodeFactory<V> {
   default Optional<Node<V>> retrieve(final Bytes location, final Bytes32 hash) {
     throw new UnsupportedOperationException("retrieve is not implemented");
   }
+
+  default Optional<TrieNodeEncodingCache> getEncodingCache() {
+    return Optional.empty();
+  }
 }
@@ -0,0 +1,98 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.trie;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static org.hyperledger.besu.crypto.Hash.keccak256;
+
+import java.util.function.Supplier;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+
+/**
+ * A bounded cache of the RLP encoding and hash of trie nodes.
+ *
+ * <p>Trie nodes are immutable and carry their own location, so an entry is keyed by the identity of
+ * the node instance. Entries are evicted once the total size of the cached encodings exceeds the
+ * configured budget, or as soon as the node itself is no longer reachable.
+ */
+public class TrieNodeEncodingCache {
+
+  // approximate footprint of the cache entry, the Bytes wrapper and the 32 bytes hash
+  private static final int ENTRY_OVERHEAD = 128;
+
+  private final Cache<Node<?>, Entry> cache;
+
+  public TrieNodeEncodingCache(final long maxSizeInBytes) {
+    checkArgument(maxSizeInBytes > 0, "cache size must be positive");
+    this.cache =
+        CacheBuilder.newBuilder()
+            .weakKeys()
+            .maximumWeight(maxSizeInBytes)
+            .weigher((Node<?> node, Entry entry) -> entry.encoded.size() + ENTRY_OVERHEAD)
+            .recordStats()
+            .build();
+  }
+
+  public Bytes getEncodedBytes(final Node<?> node, final Supplier<Bytes> encoder) {
+    return getEntry(node, encoder).encoded;
+  }
+
+  public Bytes32 getHash(final Node<?> node, final Supplier<Bytes> encoder) {
+    final Entry entry = getEntry(node, encoder);
+    Bytes32 hash = entry.hash;
+    if (hash == null) {
+      hash = keccak256(entry.encoded);
+      entry.hash = hash;
+    }
+    return hash;
+  }
+
+  public long size() {
+    return cache.size();
+  }
+
+  /**
+   * Returns the underlying cache so its statistics can be exported.
+   *
+   * @return the underlying cache
+   */
+  public Cache<?, ?> getCache() {
+    return cache;
+  }
+
+  private Entry getEntry(final Node<?> node, final Supplier<Bytes> encoder) {
+    Entry entry = cache.getIfPresent(node);
+    if (entry == null) {
+      // encoding a node encodes its children through this cache, so we must not hold any lock
+      // while doing so. Nodes are immutable, a concurrent encoding of the same node is harmless.
+      entry = new Entry(encoder.get());
+      cache.put(node, entry);
+    }
+    return entry;
+  }
+
+  private static class Entry {
+    private final Bytes encoded;
+    private volatile Bytes32 hash;
+
+    private Entry(final Bytes encoded) {
+      this.encoded = encoded;
+    }
+  }
+}
@@ -16,7 +16,6 @@ package org.hyperledger.besu.ethereum.trie.patricia;
 
 import static org.hyperledger.besu.crypto.Hash.keccak256;
 
-import org.hyperledger.besu.ethereum.rlp.BytesValueRLPOutput;
 import org.hyperledger.besu.ethereum.rlp.RLP;
 import org.hyperledger.besu.ethereum.trie.LocationNodeVisitor;
 import org.hyperledger.besu.ethereum.trie.Node;
@@ -24,6 +23,7 @@ import org.hyperledger.besu.ethereum.trie.NodeFactory;
 import org.hyperledger.besu.ethereum.trie.NodeVisitor;
 import org.hyperledger.besu.ethereum.trie.NullNode;
 import org.hyperledger.besu.ethereum.trie.PathNodeVisitor;
+import org.hyperledger.besu.ethereum.trie.TrieNodeEncodingCache;
 
 import java.lang.ref.SoftReference;
 import java.lang.ref.WeakReference;
@@ -121,28 +121,37 @@ public class BranchNode<V> implements Node<V> {
 
   @Override
   public Bytes getEncodedBytes() {
+    final Optional<TrieNodeEncodingCache> encodingCache = nodeFactory.getEncodingCache();
+    if (encodingCache.isPresent()) {
+      return encodingCache.get().getEncodedBytes(this, this::encode);
+    }
     if (encodedBytes != null) {
       final Bytes encoded = encodedBytes.get();
       if (encoded != null) {
         return encoded;
       }
     }
-    final BytesValueRLPOutput out = new BytesValueRLPOutput();
-    out.startList();
-    for (int i = 0; i < maxChild(); ++i) {
-      out.writeRaw(children.get(i).getEncodedBytesRef());
-    }
-    if (value.isPresent()) {
-      out.writeBytes(valueSerializer.apply(value.get()));
-    } else {
-      out.writeNull();
-    }
-    out.endList();
-    final Bytes encoded = out.encoded();
+    final Bytes encoded = encode();
     encodedBytes = new WeakReference<>(encoded);
     return encoded;
   }
 
+  private Bytes encode() {
+    return RLP.encode(
+        out -> {
+          out.startList();
+          for (int i = 0; i < maxChild(); ++i) {
+            out.writeRaw(children.get(i).getEncodedBytesRef());
+          }
+          if (value.isPresent()) {
+            out.writeBytes(valueSerializer.apply(value.get()));
+          } else {
+            out.writeNull();
+          }
+          out.endList();
+        });
+  }
+
   @Override
   public Bytes getEncodedBytesRef() {
     if (isReferencedByHash()) {
@@ -154,6 +163,10 @@ public class BranchNode<V> implements Node<V> {
 
   @Override
   public Bytes32 getHash() {
+    final Optional<TrieNodeEncodingCache> encodingCache = nodeFactory.getEncodingCache();
+    if (encodingCache.isPresent()) {
+      return encodingCache.get().getHash(this, this::encode);
+    }
     if (hash != null) {
       final Bytes32 hashed = hash.get();
       if (hashed != null) {
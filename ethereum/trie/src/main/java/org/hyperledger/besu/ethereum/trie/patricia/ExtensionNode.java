@@ -16,7 +16,6 @@ package org.hyperledger.besu.ethereum.trie.patricia;
 
 import static org.hyperledger.besu.crypto.Hash.keccak256;
 
-import org.hyperledger.besu.ethereum.rlp.BytesValueRLPOutput;
 import org.hyperledger.besu.ethereum.rlp.RLP;
 import org.hyperledger.besu.ethereum.trie.CompactEncoding;
 import org.hyperledger.besu.ethereum.trie.LocationNodeVisitor;
@@ -24,6 +23,7 @@ import org.hyperledger.besu.ethereum.trie.Node;
 import org.hyperledger.besu.ethereum.trie.NodeFactory;
 import org.hyperledger.besu.ethereum.trie.NodeVisitor;
 import org.hyperledger.besu.ethereum.trie.PathNodeVisitor;
+import org.hyperledger.besu.ethereum.trie.TrieNodeEncodingCache;
 
 import java.lang.ref.SoftReference;
 import java.lang.ref.WeakReference;
@@ -110,22 +110,31 @@ public class ExtensionNode<V> implements Node<V> {
 
   @Override
   public Bytes getEncodedBytes() {
+    final Optional<TrieNodeEncodingCache> encodingCache = nodeFactory.getEncodingCache();
+    if (encodingCache.isPresent()) {
+      return encodingCache.get().getEncodedBytes(this, this::encode);
+    }
     if (rlp != null) {
       final Bytes encoded = rlp.get();
       if (encoded != null) {
         return encoded;
       }
     }
-    final BytesValueRLPOutput out = new BytesValueRLPOutput();
-    out.startList();
-    out.writeBytes(CompactEncoding.encode(path));
-    out.writeRaw(child.getEncodedBytesRef());
-    out.endList();
-    final Bytes encoded = out.encoded();
+    final Bytes encoded = encode();
     rlp = new WeakReference<>(encoded);
     return encoded;
   }
 
+  private Bytes encode() {
+    return RLP.encode(
+        out -> {
+          out.startList();
+          out.writeBytes(CompactEncoding.encode(path));
+          out.writeRaw(child.getEncodedBytesRef());
+          out.endList();
+        });
+  }
+
   @Override
   public Bytes getEncodedBytesRef() {
     if (isReferencedByHash()) {
@@ -137,6 +146,10 @@ public class ExtensionNode<V> implements Node<V> {
 
   @Override
   public Bytes32 getHash() {
+    final Optional<TrieNodeEncodingCache> encodingCache = nodeFactory.getEncodingCache();
+    if (encodingCache.isPresent()) {
+      return encodingCache.get().getHash(this, this::encode);
+    }
     if (hash != null) {
       final Bytes32 hashed = hash.get();
       if (hashed != null) {
@@ -26,6 +26,7 @@ import org.hyperledger.besu.ethereum.trie.NodeFactory;
 import org.hyperledger.besu.ethereum.trie.NodeLoader;
 import org.hyperledger.besu.ethereum.trie.NullNode;
 import org.hyperledger.besu.ethereum.trie.StoredNode;
+import org.hyperledger.besu.ethereum.trie.TrieNodeEncodingCache;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -46,14 +47,24 @@ public class StoredNodeFactory<V> implements NodeFactory<V> {
   private final NodeLoader nodeLoader;
   private final Function<V, Bytes> valueSerializer;
   private final Function<Bytes, V> valueDeserializer;
+  private final Optional<TrieNodeEncodingCache> encodingCache;
 
   public StoredNodeFactory(
       final NodeLoader nodeLoader,
       final Function<V, Bytes> valueSerializer,
       final Function<Bytes, V> valueDeserializer) {
+    this(nodeLoader, valueSerializer, valueDeserializer, Optional.empty());
+  }
+
+  public StoredNodeFactory(
+      final NodeLoader nodeLoader,
+      final Function<V, Bytes> valueSerializer,
+      final Function<Bytes, V> valueDeserializer,
+      final Optional<TrieNodeEncodingCache> encodingCache) {
     this.nodeLoader = nodeLoader;
     this.valueSerializer = valueSerializer;
     this.valueDeserializer = valueDeserializer;
+    this.encodingCache = encodingCache;
   }
 
   @Override
@@ -95,6 +106,11 @@ public class StoredNodeFactory<V> implements NodeFactory<V> {
     return handleNewNode(new LeafNode<>(path, value, this, valueSerializer));
   }
 
+  @Override
+  public Optional<TrieNodeEncodingCache> getEncodingCache() {
+    return encodingCache;
+  }
+
   private Node<V> handleNewNode(final Node<V> node) {
     node.markDirty();
     return node;
@@ -0,0 +1,103 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.ethereum.trie;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hyperledger.besu.crypto.Hash.keccak256;
+
+import org.hyperledger.besu.ethereum.trie.patricia.StoredMerklePatriciaTrie;
+import org.hyperledger.besu.ethereum.trie.patricia.StoredNodeFactory;
+import org.hyperledger.besu.services.kvstore.InMemoryKeyValueStorage;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.junit.Test;
+
+public class TrieNodeEncodingCacheTest {
+
+  private final MerkleStorage merkleStorage =
+      new KeyValueMerkleStorage(new InMemoryKeyValueStorage());
+
+  @Test
+  public void cachedTrieComputesSameRootHash() {
+    final TrieNodeEncodingCache cache = new TrieNodeEncodingCache(1024 * 1024);
+    final StoredMerklePatriciaTrie<Bytes, Bytes> cachedTrie = createTrie(Optional.of(cache));
+    final StoredMerklePatriciaTrie<Bytes, Bytes> trie = createTrie(Optional.empty());
+
+    for (int i = 0; i < 1000; i++) {
+      final Bytes32 key = Bytes32.leftPad(Bytes.ofUnsignedInt(i * 7919L));
+      cachedTrie.put(key, Bytes.ofUnsignedInt(i));
+      trie.put(key, Bytes.ofUnsignedInt(i));
+    }
+
+    assertThat(cachedTrie.getRootHash()).isEqualTo(trie.getRootHash());
+    assertThat(cache.size()).isGreaterThan(0);
+
+    cachedTrie.commit(merkleStorage::put);
+    final StoredMerklePatriciaTrie<Bytes, Bytes> reloaded =
+        new StoredMerklePatriciaTrie<>(
+            new StoredNodeFactory<>(
+                merkleStorage::get, Function.identity(), Function.identity(), Optional.of(cache)),
+            trie.getRootHash());
+    assertThat(reloaded.get(Bytes32.leftPad(Bytes.ofUnsignedInt(7919L))))
+        .contains(Bytes.ofUnsignedInt(1));
+  }
+
+  @Test
+  public void encodesNodeOnlyOnceWhileCached() {
+    final TrieNodeEncodingCache cache = new TrieNodeEncodingCache(1024 * 1024);
+    final Node<Bytes> node = NullNode.instance();
+    final AtomicInteger encodings = new AtomicInteger();
+    final Function<Bytes, Bytes> encoder =
+        bytes -> {
+          encodings.incrementAndGet();
+          return bytes;
+        };
+
+    final Bytes encoded = cache.getEncodedBytes(node, () -> encoder.apply(Bytes.of(1, 2, 3)));
+    final Bytes32 hash = cache.getHash(node, () -> encoder.apply(Bytes.of(1, 2, 3)));
+
+    assertThat(cache.getEncodedBytes(node, () -> encoder.apply(Bytes.EMPTY))).isSameAs(encoded);
+    assertThat(cache.getHash(node, () -> encoder.apply(Bytes.EMPTY))).isSameAs(hash);
+    assertThat(hash).isEqualTo(keccak256(Bytes.of(1, 2, 3)));
+    assertThat(encodings.get()).isEqualTo(1);
+  }
+
+  @Test
+  public void evictsEntriesOnceBudgetIsExhausted() {
+    final TrieNodeEncodingCache cache = new TrieNodeEncodingCache(16 * 1024);
+    final StoredMerklePatriciaTrie<Bytes, Bytes> trie = createTrie(Optional.of(cache));
+
+    for (int i = 0; i < 10_000; i++) {
+      trie.put(Bytes32.leftPad(Bytes.ofUnsignedInt(i)), Bytes32.ZERO);
+      trie.getRootHash();
+    }
+
+    assertThat(cache.size()).isLessThan(16 * 1024 / 128 + 1);
+    assertThat(cache.getCache().stats().evictionCount()).isGreaterThan(0);
+  }
+
+  private StoredMerklePatriciaTrie<Bytes, Bytes> createTrie(
+      final Optional<TrieNodeEncodingCache> cache) {
+    return new StoredMerklePatriciaTrie<>(
+        new StoredNodeFactory<>(
+            merkleStorage::get, Function.identity(), Function.identity(), cache),
+        MerkleTrie.EMPTY_TRIE_NODE_HASH);
+  }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.services.pipeline;
+
+import static org.hyperledger.besu.metrics.noop.NoOpMetricsSystem.NO_OP_LABELLED_2_COUNTER;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/** Throughput of the pipeline stage types with blocking queue and ring buffer backed pipes. */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PipelineBenchmark {
+
+  private static final int ITEM_COUNT = 100_000;
+  private static final int BUFFER_SIZE = 256;
+
+  @Param({"blockingQueue", "ringBuffer"})
+  public String pipeType;
+
+  @Param({"process", "processInParallel", "batches", "flatMap"})
+  public String stageType;
+
+  private ExecutorService executorService;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    executorService = Executors.newCachedThreadPool();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    executorService.shutdownNow();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(ITEM_COUNT)
+  public long runPipeline() throws Exception {
+    final LongAdder sum = new LongAdder();
+    createPipeline(sum).start(executorService).get(1, TimeUnit.MINUTES);
+    return sum.sum();
+  }
+
+  private Pipeline<Integer> createPipeline(final LongAdder sum) {
+    final Iterator<Integer> source = IntStream.range(0, ITEM_COUNT).iterator();
+    final PipelineBuilder<Integer, Integer> builder =
+        PipelineBuilder.createPipelineFrom(
+            "source",
+            source,
+            BUFFER_SIZE,
+            NO_OP_LABELLED_2_COUNTER,
+            false,
+            "benchmark",
+            pipeType.equals("ringBuffer"));
+    switch (stageType) {
+      case "process":
+        return builder.thenProcess("increment", i -> i + 1).andFinishWith("sum", sum::add);
+      case "processInParallel":
+        return builder
+            .thenProcessInParallel("increment", i -> i + 1, 4)
+            .andFinishWith("sum", sum::add);
+      case "batches":
+        return builder
+            .inBatches(64)
+            .thenProcess("sumBatch", PipelineBenchmark::sumBatch)
+            .andFinishWith("sum", sum::add);
+      case "flatMap":
+        return builder
+            .inBatches(64)
+            .thenFlatMap("unbatch", List::stream, BUFFER_SIZE)
+            .andFinishWith("sum", sum::add);
+      default:
+        throw new IllegalArgumentException("Unknown stage type " + stageType);
+    }
+  }
+
+  private static long sumBatch(final List<Integer> batch) {
+    long total = 0;
+    for (final int value : batch) {
+      total += value;
+    }
+    return total;
+  }
+}
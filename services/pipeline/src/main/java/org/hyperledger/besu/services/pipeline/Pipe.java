@@ -58,7 +58,23 @@ public class Pipe<T> implements ReadPipe<T>, WritePipe<T> {
       final Counter inputCounter,
       final Counter outputCounter,
       final Counter abortedItemCounter) {
-    queue = new ArrayBlockingQueue<>(capacity);
+    this(new ArrayBlockingQueue<>(capacity), inputCounter, outputCounter, abortedItemCounter);
+  }
+
+  /**
+   * Instantiates a new Pipe backed by the given queue.
+   *
+   * @param queue the queue holding the items, its capacity bounds the pipe
+   * @param inputCounter the input counter
+   * @param outputCounter the output counter
+   * @param abortedItemCounter the aborted item counter
+   */
+  public Pipe(
+      final BlockingQueue<T> queue,
+      final Counter inputCounter,
+      final Counter outputCounter,
+      final Counter abortedItemCounter) {
+    this.queue = queue;
     this.inputCounter = inputCounter;
     this.outputCounter = outputCounter;
     this.abortedItemCounter = abortedItemCounter;
@@ -25,9 +25,11 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.IntSupplier;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
 
@@ -53,6 +55,7 @@ public class PipelineBuilder<I, T> {
   private final LabelledMetric<Counter> outputCounter;
   private final boolean tracingEnabled;
   private final String pipelineName;
+  private final boolean ringBufferPipes;
 
   /**
    * Instantiates a new Pipeline builder.
@@ -77,6 +80,45 @@ public class PipelineBuilder<I, T> {
       final LabelledMetric<Counter> outputCounter,
       final boolean tracingEnabled,
       final String pipelineName) {
+    this(
+        inputPipe,
+        stages,
+        pipes,
+        lastStageName,
+        pipeEnd,
+        bufferSize,
+        outputCounter,
+        tracingEnabled,
+        pipelineName,
+        false);
+  }
+
+  /**
+   * Instantiates a new Pipeline builder.
+   *
+   * @param inputPipe the input pipe
+   * @param stages the stages
+   * @param pipes the pipes
+   * @param lastStageName the last stage name
+   * @param pipeEnd the pipe end
+   * @param bufferSize the buffer size
+   * @param outputCounter the output counter
+   * @param tracingEnabled the tracing enabled
+   * @param pipelineName the pipeline name
+   * @param ringBufferPipes whether pipes added by this builder are backed by a {@link
+   *     RingBufferBlockingQueue}
+   */
+  public PipelineBuilder(
+      final Pipe<I> inputPipe,
+      final Collection<Stage> stages,
+      final Collection<Pipe<?>> pipes,
+      final String lastStageName,
+      final ReadPipe<T> pipeEnd,
+      final int bufferSize,
+      final LabelledMetric<Counter> outputCounter,
+      final boolean tracingEnabled,
+      final String pipelineName,
+      final boolean ringBufferPipes) {
     checkArgument(!pipes.isEmpty(), "Must have at least one pipe in a pipeline");
     this.lastStageName = lastStageName;
     this.outputCounter = outputCounter;
@@ -87,6 +129,7 @@ public class PipelineBuilder<I, T> {
     this.bufferSize = bufferSize;
     this.tracingEnabled = tracingEnabled;
     this.pipelineName = pipelineName;
+    this.ringBufferPipes = ringBufferPipes;
   }
 
   /**
@@ -111,7 +154,35 @@ public class PipelineBuilder<I, T> {
       final LabelledMetric<Counter> itemCounter,
       final boolean tracingEnabled,
       final String pipelineName) {
-    final Pipe<T> pipe = createPipe(bufferSize, sourceName, itemCounter);
+    return createPipelineFrom(
+        sourceName, source, bufferSize, itemCounter, tracingEnabled, pipelineName, false);
+  }
+
+  /**
+   * Create a new pipeline that processes inputs from <i>source</i>, optionally connecting its
+   * stages with lock-free ring buffer pipes instead of the default blocking queues.
+   *
+   * @param <T> the type of items input into the pipeline.
+   * @param sourceName the name of this stage. Used as the label for the output count metric.
+   * @param source the source to pull items from for processing.
+   * @param bufferSize the number of items to be buffered between each stage in the pipeline.
+   * @param itemCounter the counter to increment for each output of a stage. Must accept two labels,
+   *     the stage name and action (output or drained).
+   * @param tracingEnabled whether this pipeline should be traced
+   * @param pipelineName the name of the pipeline for tracing purposes
+   * @param ringBufferPipes whether pipes are backed by a {@link RingBufferBlockingQueue}
+   * @return a {@link PipelineBuilder} ready to extend the pipeline with additional stages.
+   * @see #createPipelineFrom(String, Iterator, int, LabelledMetric, boolean, String)
+   */
+  public static <T> PipelineBuilder<T, T> createPipelineFrom(
+      final String sourceName,
+      final Iterator<T> source,
+      final int bufferSize,
+      final LabelledMetric<Counter> itemCounter,
+      final boolean tracingEnabled,
+      final String pipelineName,
+      final boolean ringBufferPipes) {
+    final Pipe<T> pipe = createPipe(bufferSize, sourceName, itemCounter, ringBufferPipes);
     final IteratorSourceStage<T> sourceStage = new IteratorSourceStage<>(sourceName, source, pipe);
     return new PipelineBuilder<>(
         pipe,
@@ -122,7 +193,8 @@ public class PipelineBuilder<I, T> {
         bufferSize,
         itemCounter,
         tracingEnabled,
-        pipelineName);
+        pipelineName,
+        ringBufferPipes);
   }
 
   /**
@@ -144,7 +216,33 @@ public class PipelineBuilder<I, T> {
       final LabelledMetric<Counter> outputCounter,
       final boolean tracingEnabled,
       final String pipelineName) {
-    final Pipe<T> pipe = createPipe(bufferSize, sourceName, outputCounter);
+    return createPipeline(
+        sourceName, bufferSize, outputCounter, tracingEnabled, pipelineName, false);
+  }
+
+  /**
+   * Create a new pipeline that processes inputs added to <i>pipe</i>, optionally connecting its
+   * stages with lock-free ring buffer pipes instead of the default blocking queues.
+   *
+   * @param <T> the type of items input into the pipeline.
+   * @param sourceName the name of this stage. Used as the label for the output count metric.
+   * @param bufferSize the number of items to be buffered between each stage in the pipeline.
+   * @param outputCounter the counter to increment for each output of a stage. Must have a single
+   *     label which will be filled with the stage name.
+   * @param tracingEnabled whether this pipeline should be traced
+   * @param pipelineName the name of the pipeline for tracing purposes
+   * @param ringBufferPipes whether pipes are backed by a {@link RingBufferBlockingQueue}
+   * @return a {@link PipelineBuilder} ready to extend the pipeline with additional stages.
+   * @see #createPipeline(String, int, LabelledMetric, boolean, String)
+   */
+  public static <T> PipelineBuilder<T, T> createPipeline(
+      final String sourceName,
+      final int bufferSize,
+      final LabelledMetric<Counter> outputCounter,
+      final boolean tracingEnabled,
+      final String pipelineName,
+      final boolean ringBufferPipes) {
+    final Pipe<T> pipe = createPipe(bufferSize, sourceName, outputCounter, ringBufferPipes);
     return new PipelineBuilder<>(
         pipe,
         emptyList(),
@@ -154,7 +252,8 @@ public class PipelineBuilder<I, T> {
         bufferSize,
         outputCounter,
         tracingEnabled,
-        pipelineName);
+        pipelineName,
+        ringBufferPipes);
   }
 
   /**
@@ -172,6 +271,24 @@ public class PipelineBuilder<I, T> {
     return addStage(singleStepStage, stageName);
   }
 
+  /**
+   * Adds a 1-to-1 processing stage to the pipeline. A single thread processes each item in the
+   * pipeline with <i>processor</i> outputting its return value to the next stage. At most
+   * <i>newBufferSize</i> outputs are held before this stage blocks, bounding how far it can run
+   * ahead of the following stage.
+   *
+   * @param <O> the output type for this processing step.
+   * @param stageName the name of this stage. Used as the label for the output count metric.
+   * @param processor the processing to apply to each item.
+   * @param newBufferSize the output buffer size to use from this stage onwards.
+   * @return a {@link PipelineBuilder} ready to extend the pipeline with additional stages.
+   */
+  public <O> PipelineBuilder<I, O> thenProcess(
+      final String stageName, final Function<T, O> processor, final int newBufferSize) {
+    checkArgument(newBufferSize > 0, "Buffer size must be greater than 0");
+    return addStage(new MapProcessor<>(processor), newBufferSize, stageName);
+  }
+
   /**
    * Adds a 1-to-1 processing stage to the pipeline. Multiple threads process items in the pipeline
    * concurrently with <i>processor</i> outputting its return value to the next stage.
@@ -214,6 +331,26 @@ public class PipelineBuilder<I, T> {
     return addStage(new AsyncOperationProcessor<>(processor, maxConcurrency, false), stageName);
   }
 
+  /**
+   * Adds a 1-to-1, asynchronous processing stage to the pipeline like {@link
+   * #thenProcessAsync(String, Function, int)}, but the number of items that may be in progress
+   * concurrently is read from <i>maxConcurrency</i> before starting each item, so it can be tuned
+   * while the pipeline runs.
+   *
+   * @param <O> the output type for this processing step.
+   * @param stageName the name of this stage. Used as the label for the output count metric.
+   * @param processor the processing to apply to each item.
+   * @param maxConcurrency supplies the current maximum number of items being processed
+   *     concurrently.
+   * @return a {@link PipelineBuilder} ready to extend the pipeline with additional stages.
+   */
+  public <O> PipelineBuilder<I, O> thenProcessAsync(
+      final String stageName,
+      final Function<T, CompletableFuture<O>> processor,
+      final IntSupplier maxConcurrency) {
+    return addStage(new AsyncOperationProcessor<>(processor, maxConcurrency, false), stageName);
+  }
+
   /**
    * Adds a 1-to-1, asynchronous processing stage to the pipeline. A single thread reads items from
    * the input and calls <i>processor</i> to begin processing. While a single thread is used to
@@ -238,6 +375,26 @@ public class PipelineBuilder<I, T> {
     return addStage(new AsyncOperationProcessor<>(processor, maxConcurrency, true), stageName);
   }
 
+  /**
+   * Adds a 1-to-1, asynchronous processing stage to the pipeline like {@link
+   * #thenProcessAsyncOrdered(String, Function, int)}, but the number of items that may be in
+   * progress concurrently is read from <i>maxConcurrency</i> before starting each item, so it can
+   * be tuned while the pipeline runs.
+   *
+   * @param <O> the output type for this processing step.
+   * @param stageName the name of this stage. Used as the label for the output count metric.
+   * @param processor the processing to apply to each item.
+   * @param maxConcurrency supplies the current maximum number of items being processed
+   *     concurrently.
+   * @return a {@link PipelineBuilder} ready to extend the pipeline with additional stages.
+   */
+  public <O> PipelineBuilder<I, O> thenProcessAsyncOrdered(
+      final String stageName,
+      final Function<T, CompletableFuture<O>> processor,
+      final IntSupplier maxConcurrency) {
+    return addStage(new AsyncOperationProcessor<>(processor, maxConcurrency, true), stageName);
+  }
+
   /**
    * Batches items into groups of at most <i>maximumBatchSize</i>. Batches are created eagerly to
    * minimize delay so may not be full.
@@ -263,7 +420,8 @@ public class PipelineBuilder<I, T> {
         (int) Math.ceil(((double) bufferSize) / maximumBatchSize),
         outputCounter,
         tracingEnabled,
-        pipelineName);
+        pipelineName,
+        ringBufferPipes);
   }
 
   /**
@@ -293,7 +451,8 @@ public class PipelineBuilder<I, T> {
         (int) Math.ceil(((double) bufferSize) / maximumBatchSize),
         outputCounter,
         tracingEnabled,
-        pipelineName);
+        pipelineName,
+        ringBufferPipes);
   }
 
   /**
@@ -364,7 +523,8 @@ public class PipelineBuilder<I, T> {
       final Supplier<Processor<T, O>> createProcessor,
       final int numberOfThreads,
       final int newBufferSize) {
-    final Pipe<O> newPipeEnd = createPipe(newBufferSize, stageName, outputCounter);
+    final Pipe<O> newPipeEnd =
+        createPipe(newBufferSize, stageName, outputCounter, ringBufferPipes);
     final WritePipe<O> outputPipe = new SharedWritePipe<>(newPipeEnd, numberOfThreads);
     final ArrayList<Stage> newStages = new ArrayList<>(stages);
     for (int i = 0; i < numberOfThreads; i++) {
@@ -381,7 +541,8 @@ public class PipelineBuilder<I, T> {
         newBufferSize,
         outputCounter,
         tracingEnabled,
-        pipelineName);
+        pipelineName,
+        ringBufferPipes);
   }
 
   private <O> PipelineBuilder<I, O> addStage(
@@ -391,7 +552,8 @@ public class PipelineBuilder<I, T> {
 
   private <O> PipelineBuilder<I, O> addStage(
       final Processor<T, O> processor, final int newBufferSize, final String stageName) {
-    final Pipe<O> outputPipe = createPipe(newBufferSize, stageName, outputCounter);
+    final Pipe<O> outputPipe =
+        createPipe(newBufferSize, stageName, outputCounter, ringBufferPipes);
     final Stage processStage = new ProcessingStage<>(stageName, pipeEnd, outputPipe, processor);
     final List<Stage> newStages = concat(stages, processStage);
     return new PipelineBuilder<>(
@@ -403,7 +565,8 @@ public class PipelineBuilder<I, T> {
         newBufferSize,
         outputCounter,
         tracingEnabled,
-        pipelineName);
+        pipelineName,
+        ringBufferPipes);
   }
 
   private <X> List<X> concat(final Collection<X> existing, final X newItem) {
@@ -415,10 +578,13 @@ public class PipelineBuilder<I, T> {
   private static <O> Pipe<O> createPipe(
       final int newBufferSize,
       final String stageName,
-      final LabelledMetric<Counter> outputCounter) {
+      final LabelledMetric<Counter> outputCounter,
+      final boolean ringBufferPipes) {
     final String labelName = stageName + "_outputPipe";
     return new Pipe<>(
-        newBufferSize,
+        ringBufferPipes
+            ? new RingBufferBlockingQueue<>(newBufferSize)
+            : new ArrayBlockingQueue<>(newBufferSize),
         outputCounter.labels(labelName, "added"),
         outputCounter.labels(labelName, "removed"),
         outputCounter.labels(labelName, "aborted"));
@@ -0,0 +1,373 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.services.pipeline;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.AbstractQueue;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+
+/**
+ * A bounded, lock-free multi-producer multi-consumer queue backed by a ring buffer.
+ *
+ * <p>Every slot carries a sequence number telling producers and consumers whether it is free or
+ * holds an item for a given position, so both sides only contend on a single CAS of their position
+ * counter. {@link #drainTo(Collection, int)} claims all consecutive ready slots with one CAS, which
+ * makes batch reads considerably cheaper than repeated polls.
+ *
+ * <p>Waiting is adaptive: a blocked producer or consumer first spins briefly, then yields a few
+ * times and only then parks on a condition. The other side signals that condition only when a
+ * thread is actually parked, so the uncontended path never takes a lock or wakes up another thread.
+ *
+ * <p>Iterators are weakly consistent: they return items in queue order, never throw {@link
+ * java.util.ConcurrentModificationException}, and skip items consumed while iterating. Removing
+ * items through an iterator is not supported.
+ *
+ * @param <T> the type of item held in the queue.
+ */
+public class RingBufferBlockingQueue<T> extends AbstractQueue<T> implements BlockingQueue<T> {
+
+  // Spinning only pays off when the thread we are waiting for can run at the same time.
+  private static final int SPIN_TRIES = Runtime.getRuntime().availableProcessors() > 1 ? 100 : 0;
+  // Yielding lets the other side run without the context switches of parking and waking up.
+  private static final int YIELD_TRIES = 3;
+
+  private final int capacity;
+  private final AtomicReferenceArray<T> items;
+  private final AtomicLongArray sequences;
+  private final AtomicLong enqueuePosition = new AtomicLong();
+  private final AtomicLong dequeuePosition = new AtomicLong();
+
+  private final ReentrantLock waitLock = new ReentrantLock();
+  private final Waiters consumers = new Waiters(waitLock.newCondition());
+  private final Waiters producers = new Waiters(waitLock.newCondition());
+
+  /**
+   * Instantiates a new Ring buffer blocking queue.
+   *
+   * @param capacity the maximum number of items held by the queue
+   */
+  public RingBufferBlockingQueue(final int capacity) {
+    checkArgument(capacity > 0, "Capacity must be greater than 0");
+    this.capacity = capacity;
+    this.items = new AtomicReferenceArray<>(capacity);
+    this.sequences = new AtomicLongArray(capacity);
+    for (int i = 0; i < capacity; i++) {
+      sequences.set(i, freeMarker(i));
+    }
+  }
+
+  @Override
+  public boolean offer(final T item) {
+    if (item == null) {
+      throw new NullPointerException();
+    }
+    long position = enqueuePosition.get();
+    while (true) {
+      final int index = index(position);
+      final long difference = sequences.get(index) - freeMarker(position);
+      if (difference == 0) {
+        if (enqueuePosition.compareAndSet(position, position + 1)) {
+          items.set(index, item);
+          sequences.set(index, readyMarker(position));
+          wakeUp(consumers);
+          return true;
+        }
+        position = enqueuePosition.get();
+      } else if (difference < 0) {
+        // The slot still holds the item from the previous lap, so the queue is full.
+        return false;
+      } else {
+        position = enqueuePosition.get();
+      }
+    }
+  }
+
+  @Override
+  public T poll() {
+    long position = dequeuePosition.get();
+    while (true) {
+      final int index = index(position);
+      final long difference = sequences.get(index) - readyMarker(position);
+      if (difference == 0) {
+        if (dequeuePosition.compareAndSet(position, position + 1)) {
+          return take(index, position);
+        }
+        position = dequeuePosition.get();
+      } else if (difference < 0) {
+        return null;
+      } else {
+        position = dequeuePosition.get();
+      }
+    }
+  }
+
+  @Override
+  public int drainTo(final Collection<? super T> output, final int maxElements) {
+    if (maxElements <= 0) {
+      return 0;
+    }
+    while (true) {
+      final long position = dequeuePosition.get();
+      int ready = 0;
+      while (ready < maxElements
+          && ready < capacity
+          && sequences.get(index(position + ready)) == readyMarker(position + ready)) {
+        ready++;
+      }
+      if (ready == 0) {
+        if (sequences.get(index(position)) < readyMarker(position)) {
+          return 0;
+        }
+        // Another consumer took the slot in the meantime, try again from the new position.
+        continue;
+      }
+      if (dequeuePosition.compareAndSet(position, position + ready)) {
+        for (int i = 0; i < ready; i++) {
+          output.add(take(index(position + i), position + i));
+        }
+        return ready;
+      }
+    }
+  }
+
+  @Override
+  public int drainTo(final Collection<? super T> output) {
+    return drainTo(output, Integer.MAX_VALUE);
+  }
+
+  @Override
+  public boolean offer(final T item, final long timeout, final TimeUnit unit)
+      throws InterruptedException {
+    if (offer(item)) {
+      return true;
+    }
+    // Only read the clock once we have to wait, it costs as much as the offer itself.
+    final long timeoutNanos = unit.toNanos(timeout);
+    final long start = System.nanoTime();
+    for (int attempt = 0; ; attempt++) {
+      if (offer(item)) {
+        return true;
+      }
+      final long remaining = timeoutNanos - (System.nanoTime() - start);
+      if (remaining <= 0) {
+        return false;
+      }
+      if (!backOff(attempt)) {
+        park(producers, () -> remainingCapacity() > 0, remaining);
+      }
+    }
+  }
+
+  @Override
+  public T poll(final long timeout, final TimeUnit unit) throws InterruptedException {
+    final T available = poll();
+    if (available != null) {
+      return available;
+    }
+    final long timeoutNanos = unit.toNanos(timeout);
+    final long start = System.nanoTime();
+    for (int attempt = 0; ; attempt++) {
+      final T item = poll();
+      if (item != null) {
+        return item;
+      }
+      final long remaining = timeoutNanos - (System.nanoTime() - start);
+      if (remaining <= 0) {
+        return null;
+      }
+      if (!backOff(attempt)) {
+        park(consumers, () -> !isEmpty(), remaining);
+      }
+    }
+  }
+
+  @Override
+  public void put(final T item) throws InterruptedException {
+    while (!offer(item, Long.MAX_VALUE, TimeUnit.NANOSECONDS)) {
+      // keep waiting
+    }
+  }
+
+  @Override
+  public T take() throws InterruptedException {
+    T item;
+    while ((item = poll(Long.MAX_VALUE, TimeUnit.NANOSECONDS)) == null) {
+      // keep waiting
+    }
+    return item;
+  }
+
+  @Override
+  public T peek() {
+    final long position = dequeuePosition.get();
+    final int index = index(position);
+    return sequences.get(index) == readyMarker(position) ? items.get(index) : null;
+  }
+
+  @Override
+  public int size() {
+    final long size = enqueuePosition.get() - dequeuePosition.get();
+    return (int) Math.max(0, Math.min(size, capacity));
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return size() == 0;
+  }
+
+  @Override
+  public int remainingCapacity() {
+    return capacity - size();
+  }
+
+  @Override
+  public Iterator<T> iterator() {
+    return new WeaklyConsistentIterator();
+  }
+
+  private int index(final long position) {
+    return (int) (position % capacity);
+  }
+
+  // A slot's sequence is even while it is free for the producer of a position and odd once it holds
+  // the item of that position, which keeps the two states apart even with a single slot.
+  private static long freeMarker(final long position) {
+    return 2 * position;
+  }
+
+  private static long readyMarker(final long position) {
+    return 2 * position + 1;
+  }
+
+  private T take(final int index, final long position) {
+    final T item = items.getAndSet(index, null);
+    sequences.set(index, freeMarker(position + capacity));
+    wakeUp(producers);
+    return item;
+  }
+
+  private boolean backOff(final int attempt) {
+    if (attempt < SPIN_TRIES) {
+      Thread.onSpinWait();
+      return true;
+    }
+    if (attempt < SPIN_TRIES + YIELD_TRIES) {
+      Thread.yield();
+      return true;
+    }
+    return false;
+  }
+
+  private void park(final Waiters waiters, final BooleanSupplier readyCheck, final long nanos)
+      throws InterruptedException {
+    waitLock.lock();
+    try {
+      waiters.parked.incrementAndGet();
+      final long wakeUp = waiters.wakeUps;
+      try {
+        // Re-check after announcing ourselves so a signal sent before we park cannot be missed.
+        if (!readyCheck.getAsBoolean()) {
+          waiters.condition.awaitNanos(nanos);
+        }
+      } finally {
+        // A wake-up already cleared the parked count, so only a timeout needs to undo it.
+        if (wakeUp == waiters.wakeUps) {
+          waiters.parked.decrementAndGet();
+        }
+      }
+    } finally {
+      waitLock.unlock();
+    }
+  }
+
+  private void wakeUp(final Waiters waiters) {
+    if (waiters.parked.get() > 0) {
+      waitLock.lock();
+      try {
+        // Wake every parked thread at once and forget about them, so that the threads keeping the
+        // queue busy until they actually run do not take the lock for each item.
+        if (waiters.parked.get() > 0) {
+          waiters.wakeUps++;
+          waiters.parked.set(0);
+          waiters.condition.signalAll();
+        }
+      } finally {
+        waitLock.unlock();
+      }
+    }
+  }
+
+  private class WeaklyConsistentIterator implements Iterator<T> {
+    // Only visits the items queued when the iterator was created.
+    private final long end = enqueuePosition.get();
+    private long position = dequeuePosition.get();
+    private T next = advance();
+
+    @Override
+    public boolean hasNext() {
+      return next != null;
+    }
+
+    @Override
+    public T next() {
+      if (next == null) {
+        throw new NoSuchElementException();
+      }
+      final T item = next;
+      next = advance();
+      return item;
+    }
+
+    private T advance() {
+      while (position < end) {
+        final long current = position++;
+        final int index = index(current);
+        // The item read belongs to this position only if the slot held it before and after reading
+        // it, otherwise it has been consumed and the slot possibly reused in the meantime.
+        if (sequences.get(index) == readyMarker(current)) {
+          final T item = items.get(index);
+          if (item != null && sequences.get(index) == readyMarker(current)) {
+            return item;
+          }
+        }
+        // Skip the items consumed since the iterator was created.
+        position = Math.max(position, dequeuePosition.get());
+      }
+      return null;
+    }
+  }
+
+  private static class Waiters {
+    private final Condition condition;
+    private final AtomicInteger parked = new AtomicInteger();
+    private long wakeUps;
+
+    private Waiters(final Condition condition) {
+      this.condition = condition;
+    }
+  }
+}
@@ -24,6 +24,7 @@ import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 
 import org.junit.jupiter.api.Test;
@@ -181,6 +182,38 @@ public class AsyncOperationProcessorTest {
     verify(writePipe).put("d");
   }
 
+  @Test
+  public void shouldApplyChangesToConcurrentJobLimit() {
+    final AtomicInteger limit = new AtomicInteger(1);
+    final AsyncOperationProcessor<CompletableFuture<String>, String> processor =
+        new AsyncOperationProcessor<>(Function.identity(), limit::get, false);
+    final CompletableFuture<String> task1 = new CompletableFuture<>();
+    final CompletableFuture<String> task2 = new CompletableFuture<>();
+    final CompletableFuture<String> task3 = new CompletableFuture<>();
+    when(readPipe.get()).thenReturn(task1).thenReturn(task2).thenReturn(task3);
+
+    processor.processNextInput(readPipe, writePipe);
+    processor.processNextInput(readPipe, writePipe);
+    verify(readPipe, times(1)).get();
+
+    limit.set(2);
+    processor.processNextInput(readPipe, writePipe);
+    verify(readPipe, times(2)).get();
+
+    // Lowering the limit lets the in progress tasks finish before starting any more.
+    limit.set(1);
+    task1.complete("a");
+    processor.processNextInput(readPipe, writePipe);
+    verify(writePipe).put("a");
+    verify(readPipe, times(2)).get();
+
+    task2.complete("b");
+    processor.processNextInput(readPipe, writePipe);
+    verify(writePipe).put("b");
+    processor.processNextInput(readPipe, writePipe);
+    verify(readPipe, times(3)).get();
+  }
+
   @Test
   public void shouldThrowExceptionWhenFutureCompletesExceptionally() {
     final AsyncOperationProcessor<CompletableFuture<String>, String> processor =
@@ -86,6 +86,21 @@ public class PipelineBuilderTest {
     assertThat(output).containsExactly(1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15);
   }
 
+  @Test
+  public void shouldProcessBatchesInParallelThroughRingBufferPipes() throws Exception {
+    final List<Integer> output = synchronizedList(new ArrayList<>());
+    final Pipeline<Integer> pipeline =
+        PipelineBuilder.createPipelineFrom(
+                "input", tasks, 2, NO_OP_LABELLED_2_COUNTER, false, "test", true)
+            .inBatches(3)
+            .thenProcessInParallel("sum", batch -> batch.stream().mapToInt(i -> i).sum(), 2)
+            .andFinishWith("end", output::add);
+
+    final CompletableFuture<?> result = pipeline.start(executorService);
+    result.get(10, SECONDS);
+    assertThat(output.stream().mapToInt(i -> i).sum()).isEqualTo(120);
+  }
+
   @Test
   public void shouldPassInputThroughIntermediateStage() throws Exception {
     final List<String> output = new ArrayList<>();
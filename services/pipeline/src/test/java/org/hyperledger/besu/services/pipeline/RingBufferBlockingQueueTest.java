@@ -0,0 +1,220 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.services.pipeline;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+public class RingBufferBlockingQueueTest {
+
+  private final RingBufferBlockingQueue<Integer> queue = new RingBufferBlockingQueue<>(3);
+
+  @Test
+  public void shouldReturnItemsInInsertionOrder() {
+    assertThat(queue.poll()).isNull();
+    assertThat(queue.offer(1)).isTrue();
+    assertThat(queue.offer(2)).isTrue();
+    assertThat(queue.peek()).isEqualTo(1);
+    assertThat(queue.poll()).isEqualTo(1);
+    assertThat(queue.offer(3)).isTrue();
+    assertThat(queue.poll()).isEqualTo(2);
+    assertThat(queue.poll()).isEqualTo(3);
+    assertThat(queue.poll()).isNull();
+    assertThat(queue.isEmpty()).isTrue();
+  }
+
+  @Test
+  public void shouldRejectItemsWhenFull() {
+    assertThat(queue.offer(1)).isTrue();
+    assertThat(queue.offer(2)).isTrue();
+    assertThat(queue.offer(3)).isTrue();
+    assertThat(queue.remainingCapacity()).isZero();
+    assertThat(queue.offer(4)).isFalse();
+    assertThat(queue.size()).isEqualTo(3);
+  }
+
+  @Test
+  public void shouldNotOverwriteUnconsumedItemWithCapacityOfOne() {
+    final RingBufferBlockingQueue<Integer> singleSlotQueue = new RingBufferBlockingQueue<>(1);
+    assertThat(singleSlotQueue.offer(1)).isTrue();
+    assertThat(singleSlotQueue.offer(2)).isFalse();
+    assertThat(singleSlotQueue.poll()).isEqualTo(1);
+    assertThat(singleSlotQueue.offer(2)).isTrue();
+    assertThat(singleSlotQueue.offer(3)).isFalse();
+    assertThat(singleSlotQueue.poll()).isEqualTo(2);
+    assertThat(singleSlotQueue.poll()).isNull();
+  }
+
+  @Test
+  public void shouldRejectNullItems() {
+    assertThatThrownBy(() -> queue.offer(null)).isInstanceOf(NullPointerException.class);
+  }
+
+  @Test
+  public void shouldDrainConsecutiveItemsAcrossTheEndOfTheBuffer() {
+    queue.offer(1);
+    queue.offer(2);
+    queue.poll();
+    queue.poll();
+    queue.offer(3);
+    queue.offer(4);
+    queue.offer(5);
+
+    final List<Integer> output = new ArrayList<>();
+    assertThat(queue.drainTo(output, 2)).isEqualTo(2);
+    assertThat(output).containsExactly(3, 4);
+    assertThat(queue.drainTo(output, 10)).isEqualTo(1);
+    assertThat(output).containsExactly(3, 4, 5);
+    assertThat(queue.drainTo(output, 10)).isZero();
+  }
+
+  @Test
+  public void shouldIterateOverQueuedItemsAcrossTheEndOfTheBuffer() {
+    queue.offer(1);
+    queue.offer(2);
+    queue.poll();
+    queue.offer(3);
+    queue.offer(4);
+
+    assertThat(queue).containsExactly(2, 3, 4);
+    assertThat(queue.contains(3)).isTrue();
+    assertThat(queue.contains(1)).isFalse();
+    assertThat(queue.toString()).isEqualTo("[2, 3, 4]");
+    // iterating does not consume items
+    assertThat(queue.size()).isEqualTo(3);
+  }
+
+  @Test
+  public void shouldSkipItemsConsumedWhileIterating() {
+    queue.offer(1);
+    queue.offer(2);
+    queue.offer(3);
+
+    final Iterator<Integer> iterator = queue.iterator();
+    queue.poll();
+    queue.poll();
+    // reuses the slot of item 1, items added after the iterator was created are not returned
+    queue.offer(4);
+
+    // like other weakly consistent iterators, the next item is read ahead
+    assertThat(iterator.next()).isEqualTo(1);
+    assertThat(iterator.next()).isEqualTo(3);
+    assertThat(iterator.hasNext()).isFalse();
+    assertThatThrownBy(iterator::next).isInstanceOf(NoSuchElementException.class);
+  }
+
+  @Test
+  public void shouldReturnNullWhenPollTimesOut() throws Exception {
+    assertThat(queue.poll(10, MILLISECONDS)).isNull();
+  }
+
+  @Test
+  public void shouldWakeUpBlockedProducerWhenSpaceBecomesAvailable() throws Exception {
+    queue.offer(1);
+    queue.offer(2);
+    queue.offer(3);
+    final CompletableFuture<Boolean> offered =
+        CompletableFuture.supplyAsync(
+            () -> {
+              try {
+                return queue.offer(4, 10, SECONDS);
+              } catch (final InterruptedException e) {
+                throw new RuntimeException(e);
+              }
+            });
+
+    Thread.sleep(50);
+    assertThat(offered).isNotDone();
+    assertThat(queue.poll()).isEqualTo(1);
+    assertThat(offered.get(10, SECONDS)).isTrue();
+    assertThat(queue.size()).isEqualTo(3);
+  }
+
+  @Test
+  public void shouldDeliverEveryItemExactlyOnceWithConcurrentProducersAndConsumers()
+      throws Exception {
+    final int threadCount = 4;
+    final int itemsPerProducer = 50_000;
+    final RingBufferBlockingQueue<Integer> sharedQueue = new RingBufferBlockingQueue<>(64);
+    final ConcurrentHashMap<Integer, Boolean> received = new ConcurrentHashMap<>();
+    final AtomicInteger duplicates = new AtomicInteger();
+    final CountDownLatch producersDone = new CountDownLatch(threadCount);
+    final ExecutorService executor = Executors.newFixedThreadPool(threadCount * 2);
+    try {
+      for (int producer = 0; producer < threadCount; producer++) {
+        final int offset = producer * itemsPerProducer;
+        executor.execute(
+            () -> {
+              try {
+                for (int i = 0; i < itemsPerProducer; i++) {
+                  sharedQueue.put(offset + i);
+                }
+              } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+              }
+              producersDone.countDown();
+            });
+      }
+      final List<CompletableFuture<Void>> consumers = new ArrayList<>();
+      for (int consumer = 0; consumer < threadCount; consumer++) {
+        final boolean useDrain = consumer % 2 == 0;
+        consumers.add(
+            CompletableFuture.runAsync(
+                () -> {
+                  final List<Integer> batch = new ArrayList<>();
+                  while (producersDone.getCount() > 0 || !sharedQueue.isEmpty()) {
+                    batch.clear();
+                    if (useDrain) {
+                      sharedQueue.drainTo(batch, 16);
+                    } else {
+                      final Integer item = sharedQueue.poll();
+                      if (item != null) {
+                        batch.add(item);
+                      }
+                    }
+                    batch.forEach(
+                        item -> {
+                          if (received.put(item, Boolean.TRUE) != null) {
+                            duplicates.incrementAndGet();
+                          }
+                        });
+                  }
+                },
+                executor));
+      }
+      CompletableFuture.allOf(consumers.toArray(CompletableFuture[]::new)).get(60, SECONDS);
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertThat(duplicates.get()).isZero();
+    assertThat(received).hasSize(threadCount * itemsPerProducer);
+  }
+}
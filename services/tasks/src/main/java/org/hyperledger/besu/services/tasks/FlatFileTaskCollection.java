@@ -0,0 +1,518 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.services.tasks;
+
+import org.hyperledger.besu.plugin.services.exception.StorageException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * A task collection which keeps at most a bounded window of tasks in memory and spills the rest to
+ * an append-only file.
+ *
+ * <p>Tasks are appended to the file as length-prefixed records and read back in batches to refill
+ * the in-memory window. A record is only discarded once the task read from it has been completed:
+ * the file is truncated when it has been read completely and no task read from it is still pending,
+ * and it is compacted once that completed prefix grows large, so disk usage follows the number of
+ * pending tasks. Compaction copies the remaining records to a temporary file which then atomically
+ * replaces the task file.
+ *
+ * <p>When the collection is closed, the tasks still in memory are written back to the file together
+ * with the read position, so a collection opened on the same directory resumes where it stopped.
+ * After an unclean shutdown the whole file is replayed, which hands out again every task read from
+ * it and not completed, along with some completed ones. Tasks added while nothing was waiting on
+ * disk are only kept in memory and do not survive an unclean shutdown.
+ *
+ * @param <T> the type parameter
+ */
+public class FlatFileTaskCollection<T> implements TaskCollection<T> {
+
+  /** The constant DEFAULT_WINDOW_SIZE. */
+  public static final int DEFAULT_WINDOW_SIZE = 10_000;
+
+  private static final String TASKS_FILE_NAME = "tasks.dat";
+  private static final String READ_OFFSET_FILE_NAME = "tasks.offset";
+  private static final String COMPACTING_FILE_NAME = TASKS_FILE_NAME + ".compacting";
+  private static final int LENGTH_PREFIX_SIZE = Integer.BYTES;
+  private static final int IO_BUFFER_SIZE = 1 << 16;
+  static final long COMPACTION_THRESHOLD = 64L * 1024 * 1024;
+  private static final long NOT_WRITTEN = -1;
+
+  private final Path storageDirectory;
+  private final Path tasksFile;
+  private final Path readOffsetFile;
+  private final Path compactingFile;
+  private final Function<T, Bytes> serializer;
+  private final Function<Bytes, T> deserializer;
+  private final int windowSize;
+  private final long compactionThreshold;
+
+  // Tasks read from (or never written to) the file, waiting to be removed
+  private final Queue<PendingTask<T>> window;
+  // Number of tasks held in the window of this collection and of the ones sharing its window size
+  private final AtomicInteger windowedTasks;
+  // Tasks that have been removed, but not marked completed yet
+  private final Set<FlatFileTask<T>> outstandingTasks = new HashSet<>();
+  // Records of the tasks read from the file and not completed yet, which must not be discarded
+  private final TreeSet<Long> retainedRecords = new TreeSet<>();
+  private final ByteBuffer writeBuffer = ByteBuffer.allocate(IO_BUFFER_SIZE);
+  private ByteBuffer readBuffer = ByteBuffer.allocate(IO_BUFFER_SIZE);
+
+  private FileChannel fileChannel;
+  // Position of the next record to read
+  private long readOffset;
+  // Size of the file, not counting the content of the write buffer
+  private long flushedOffset;
+  // Number of records after the read offset, including the ones in the write buffer
+  private long unreadTasks;
+  // Number of bytes removed from the start of the file, record offsets are kept relative to the
+  // original start so that they survive truncation and compaction
+  private long discardedBytes;
+  private boolean closed = false;
+
+  /**
+   * Instantiates a new Flat file task collection handing out tasks in insertion order.
+   *
+   * @param storageDirectory the directory holding the task file
+   * @param serializer the serializer
+   * @param deserializer the deserializer
+   */
+  public FlatFileTaskCollection(
+      final Path storageDirectory,
+      final Function<T, Bytes> serializer,
+      final Function<Bytes, T> deserializer) {
+    this(storageDirectory, serializer, deserializer, DEFAULT_WINDOW_SIZE, null);
+  }
+
+  /**
+   * Instantiates a new Flat file task collection.
+   *
+   * @param storageDirectory the directory holding the task file
+   * @param serializer the serializer
+   * @param deserializer the deserializer
+   * @param windowSize the maximum number of pending tasks read into memory at once
+   * @param windowOrder the order in which the tasks held in memory are handed out, or null for
+   *     insertion order
+   */
+  public FlatFileTaskCollection(
+      final Path storageDirectory,
+      final Function<T, Bytes> serializer,
+      final Function<Bytes, T> deserializer,
+      final int windowSize,
+      final Comparator<T> windowOrder) {
+    this(
+        storageDirectory,
+        serializer,
+        deserializer,
+        windowSize,
+        windowOrder,
+        COMPACTION_THRESHOLD,
+        new AtomicInteger());
+  }
+
+  /**
+   * Instantiates a new Flat file task collection whose window size bounds the tasks held in memory
+   * by all the collections sharing the same counter. A collection with an empty window still reads
+   * one task when the shared window is full, so it is never starved.
+   */
+  FlatFileTaskCollection(
+      final Path storageDirectory,
+      final Function<T, Bytes> serializer,
+      final Function<Bytes, T> deserializer,
+      final int windowSize,
+      final Comparator<T> windowOrder,
+      final long compactionThreshold,
+      final AtomicInteger windowedTasks) {
+    if (windowSize <= 0) {
+      throw new IllegalArgumentException("Window size must be positive: " + windowSize);
+    }
+    this.storageDirectory = storageDirectory;
+    this.tasksFile = storageDirectory.resolve(TASKS_FILE_NAME);
+    this.readOffsetFile = storageDirectory.resolve(READ_OFFSET_FILE_NAME);
+    this.compactingFile = storageDirectory.resolve(COMPACTING_FILE_NAME);
+    this.serializer = serializer;
+    this.deserializer = deserializer;
+    this.windowSize = windowSize;
+    this.compactionThreshold = compactionThreshold;
+    this.windowedTasks = windowedTasks;
+    this.window =
+        windowOrder == null
+            ? new ArrayDeque<>()
+            : new PriorityQueue<>(Comparator.comparing(PendingTask::data, windowOrder));
+    try {
+      Files.createDirectories(storageDirectory);
+      open();
+    } catch (final IOException e) {
+      throw new StorageException(e);
+    }
+  }
+
+  private void open() throws IOException {
+    // Left over by a compaction interrupted before replacing the task file, which is still intact
+    Files.deleteIfExists(compactingFile);
+    fileChannel =
+        FileChannel.open(
+            tasksFile,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.READ,
+            StandardOpenOption.WRITE);
+    flushedOffset = fileChannel.size();
+    // Without a saved read offset the previous run did not shut down cleanly, so replay the whole
+    // file rather than risk skipping tasks that were never completed.
+    readOffset = 0;
+    if (Files.exists(readOffsetFile)) {
+      final byte[] savedOffset = Files.readAllBytes(readOffsetFile);
+      if (savedOffset.length == Long.BYTES) {
+        readOffset = Math.min(ByteBuffer.wrap(savedOffset).getLong(), flushedOffset);
+      }
+      Files.delete(readOffsetFile);
+    }
+    unreadTasks = countRecordsAndTruncatePartialWrite();
+  }
+
+  private long countRecordsAndTruncatePartialWrite() throws IOException {
+    final ByteBuffer lengthBuffer = ByteBuffer.allocate(LENGTH_PREFIX_SIZE);
+    long position = readOffset;
+    long records = 0;
+    while (position + LENGTH_PREFIX_SIZE <= flushedOffset) {
+      lengthBuffer.clear();
+      readFully(lengthBuffer, position);
+      final long recordEnd = position + LENGTH_PREFIX_SIZE + lengthBuffer.flip().getInt();
+      if (recordEnd > flushedOffset) {
+        break;
+      }
+      position = recordEnd;
+      records++;
+    }
+    if (position < flushedOffset) {
+      fileChannel.truncate(position);
+      flushedOffset = position;
+    }
+    return records;
+  }
+
+  @Override
+  public synchronized void add(final T taskData) {
+    assertNotClosed();
+    if (unreadTasks == 0 && windowedTasks.get() < windowSize) {
+      // Nothing is waiting on disk, so the task can skip the file without reordering anything.
+      addToWindow(new PendingTask<>(taskData, NOT_WRITTEN));
+      return;
+    }
+    append(serializer.apply(taskData));
+    unreadTasks++;
+  }
+
+  @Override
+  public synchronized Task<T> remove() {
+    assertNotClosed();
+    if (window.isEmpty()) {
+      fillWindow();
+    }
+    final PendingTask<T> pendingTask = window.poll();
+    if (pendingTask == null) {
+      return null;
+    }
+    windowedTasks.decrementAndGet();
+    final FlatFileTask<T> task = new FlatFileTask<>(this, pendingTask);
+    outstandingTasks.add(task);
+    return task;
+  }
+
+  @Override
+  public synchronized long size() {
+    return window.size() + unreadTasks;
+  }
+
+  @Override
+  public synchronized boolean isEmpty() {
+    return size() == 0;
+  }
+
+  @Override
+  public synchronized void clear() {
+    assertNotClosed();
+    clearWindow();
+    outstandingTasks.clear();
+    retainedRecords.clear();
+    writeBuffer.clear();
+    unreadTasks = 0;
+    try {
+      truncate();
+    } catch (final IOException e) {
+      throw new StorageException(e);
+    }
+  }
+
+  @Override
+  public synchronized boolean allTasksCompleted() {
+    return isEmpty() && outstandingTasks.isEmpty();
+  }
+
+  /**
+   * Writes the tasks held in memory, including the ones not completed yet, back to the file and
+   * records the read position so the collection can be reopened from the same directory.
+   */
+  @Override
+  public synchronized void close() {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    try {
+      outstandingTasks.forEach(task -> append(serializer.apply(task.getData())));
+      window.forEach(pendingTask -> append(serializer.apply(pendingTask.data())));
+      outstandingTasks.clear();
+      clearWindow();
+      retainedRecords.clear();
+      flushWriteBuffer();
+      fileChannel.force(false);
+      Files.write(
+          readOffsetFile, ByteBuffer.allocate(Long.BYTES).putLong(0, readOffset).array());
+      fileChannel.close();
+    } catch (final IOException e) {
+      throw new StorageException(e);
+    }
+  }
+
+  private void addToWindow(final PendingTask<T> pendingTask) {
+    window.add(pendingTask);
+    windowedTasks.incrementAndGet();
+  }
+
+  private void clearWindow() {
+    windowedTasks.addAndGet(-window.size());
+    window.clear();
+  }
+
+  private boolean canFillWindow() {
+    return window.isEmpty() || windowedTasks.get() < windowSize;
+  }
+
+  private void append(final Bytes data) {
+    try {
+      if (writeBuffer.remaining() < LENGTH_PREFIX_SIZE + data.size()) {
+        flushWriteBuffer();
+      }
+      if (writeBuffer.remaining() < LENGTH_PREFIX_SIZE + data.size()) {
+        // Larger than the whole buffer, write it directly
+        final ByteBuffer record = ByteBuffer.allocate(LENGTH_PREFIX_SIZE + data.size());
+        record.putInt(data.size()).put(data.toArrayUnsafe()).flip();
+        writeFully(record);
+      } else {
+        writeBuffer.putInt(data.size()).put(data.toArrayUnsafe());
+      }
+    } catch (final IOException e) {
+      throw new StorageException(e);
+    }
+  }
+
+  private void flushWriteBuffer() throws IOException {
+    if (writeBuffer.position() > 0) {
+      writeBuffer.flip();
+      writeFully(writeBuffer);
+      writeBuffer.clear();
+    }
+  }
+
+  private void writeFully(final ByteBuffer buffer) throws IOException {
+    while (buffer.hasRemaining()) {
+      flushedOffset += fileChannel.write(buffer, flushedOffset);
+    }
+  }
+
+  private void fillWindow() {
+    if (unreadTasks == 0) {
+      return;
+    }
+    try {
+      flushWriteBuffer();
+      while (canFillWindow() && readOffset < flushedOffset) {
+        readBuffer.clear();
+        readBuffer.limit((int) Math.min(readBuffer.capacity(), flushedOffset - readOffset));
+        readFully(readBuffer, readOffset);
+        readBuffer.flip();
+        int consumed = 0;
+        while (canFillWindow() && readBuffer.remaining() >= LENGTH_PREFIX_SIZE) {
+          final int length = readBuffer.getInt(readBuffer.position());
+          if (readBuffer.remaining() < LENGTH_PREFIX_SIZE + length) {
+            if (consumed == 0) {
+              // A single record larger than the read buffer
+              readBuffer = ByteBuffer.allocate(LENGTH_PREFIX_SIZE + length);
+            }
+            break;
+          }
+          final long recordOffset = discardedBytes + readOffset + consumed;
+          readBuffer.position(readBuffer.position() + LENGTH_PREFIX_SIZE);
+          final byte[] record = new byte[length];
+          readBuffer.get(record);
+          addToWindow(new PendingTask<>(deserializer.apply(Bytes.wrap(record)), recordOffset));
+          retainedRecords.add(recordOffset);
+          consumed += LENGTH_PREFIX_SIZE + length;
+          unreadTasks--;
+        }
+        readOffset += consumed;
+      }
+      discardCompletedRecords();
+    } catch (final IOException e) {
+      throw new StorageException(e);
+    }
+  }
+
+  private void discardCompletedRecords() throws IOException {
+    // Everything before the first record still pending has been completed
+    final long firstRetainedOffset =
+        retainedRecords.isEmpty() ? readOffset : retainedRecords.first() - discardedBytes;
+    if (firstRetainedOffset == flushedOffset) {
+      truncate();
+    } else if (firstRetainedOffset > compactionThreshold
+        && firstRetainedOffset > flushedOffset / 2) {
+      compact(firstRetainedOffset);
+    }
+  }
+
+  private void readFully(final ByteBuffer buffer, final long position) throws IOException {
+    long readPosition = position;
+    while (buffer.hasRemaining()) {
+      final int read = fileChannel.read(buffer, readPosition);
+      if (read < 0) {
+        throw new IOException("Unexpected end of task file " + tasksFile);
+      }
+      readPosition += read;
+    }
+  }
+
+  private void truncate() throws IOException {
+    fileChannel.truncate(0);
+    discardedBytes += flushedOffset;
+    readOffset = 0;
+    flushedOffset = 0;
+  }
+
+  private void compact(final long keptOffset) throws IOException {
+    try (final FileChannel compacted =
+        FileChannel.open(
+            compactingFile,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.WRITE)) {
+      long position = keptOffset;
+      while (position < flushedOffset) {
+        position += fileChannel.transferTo(position, flushedOffset - position, compacted);
+      }
+      compacted.force(false);
+    }
+    // The rename either happens completely or not at all, so a crash leaves either the old or the
+    // compacted file, both holding every task not completed yet.
+    fileChannel.close();
+    try {
+      Files.move(
+          compactingFile,
+          tasksFile,
+          StandardCopyOption.REPLACE_EXISTING,
+          StandardCopyOption.ATOMIC_MOVE);
+      syncDirectory();
+      discardedBytes += keptOffset;
+      readOffset -= keptOffset;
+    } finally {
+      fileChannel = FileChannel.open(tasksFile, StandardOpenOption.READ, StandardOpenOption.WRITE);
+      flushedOffset = fileChannel.size();
+    }
+  }
+
+  private void syncDirectory() {
+    try (final FileChannel directory =
+        FileChannel.open(storageDirectory, StandardOpenOption.READ)) {
+      directory.force(true);
+    } catch (final IOException e) {
+      // Not every platform allows opening a directory, the rename is then only as durable as the
+      // file system makes it.
+    }
+  }
+
+  private void assertNotClosed() {
+    if (closed) {
+      throw new IllegalStateException("Attempt to access closed " + getClass().getSimpleName());
+    }
+  }
+
+  private synchronized void completePendingTask(final FlatFileTask<T> task) {
+    if (outstandingTasks.remove(task)
+        && retainedRecords.remove(task.pendingTask.recordOffset())
+        && !closed
+        && readOffset == flushedOffset
+        && retainedRecords.isEmpty()) {
+      // The last pending task read from a fully consumed file, its content can go
+      try {
+        truncate();
+      } catch (final IOException e) {
+        throw new StorageException(e);
+      }
+    }
+  }
+
+  private synchronized void failPendingTask(final FlatFileTask<T> task) {
+    if (outstandingTasks.remove(task)) {
+      // Retried tasks stay in memory, the window only overflows by the number of failed tasks. The
+      // record they were read from stays retained until they complete.
+      addToWindow(task.pendingTask);
+    }
+  }
+
+  private record PendingTask<T>(T data, long recordOffset) {}
+
+  private static class FlatFileTask<T> implements Task<T> {
+    private final FlatFileTaskCollection<T> parentQueue;
+    private final PendingTask<T> pendingTask;
+
+    private FlatFileTask(
+        final FlatFileTaskCollection<T> parentQueue, final PendingTask<T> pendingTask) {
+      this.parentQueue = parentQueue;
+      this.pendingTask = pendingTask;
+    }
+
+    @Override
+    public T getData() {
+      return pendingTask.data();
+    }
+
+    @Override
+    public void markCompleted() {
+      parentQueue.completePendingTask(this);
+    }
+
+    @Override
+    public void markFailed() {
+      parentQueue.failPendingTask(this);
+    }
+  }
+}
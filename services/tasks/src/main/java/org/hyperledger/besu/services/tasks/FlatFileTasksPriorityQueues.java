@@ -0,0 +1,161 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.services.tasks;
+
+import org.hyperledger.besu.plugin.services.exception.StorageException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * A disk backed counterpart of {@link InMemoryTasksPriorityQueues}: tasks are kept in one {@link
+ * FlatFileTaskCollection} per depth and the deepest tasks are handed out first, ordered by priority
+ * within the in-memory window of each depth.
+ *
+ * <p>All depths share a single window size: a depth only reads more tasks from its file while the
+ * tasks held in memory by every depth are fewer than the window size, so the memory used does not
+ * grow with the depth of the trie. A depth whose window is empty can always read one task.
+ *
+ * @param <T> the type parameter
+ */
+public class FlatFileTasksPriorityQueues<T extends TasksPriorityProvider>
+    implements TaskCollection<T> {
+
+  private static final String DEPTH_DIRECTORY_PREFIX = "depth-";
+  private static final Pattern DEPTH_DIRECTORY_PATTERN =
+      Pattern.compile(DEPTH_DIRECTORY_PREFIX + "(\\d+)");
+
+  private final Path storageDirectory;
+  private final Function<T, Bytes> serializer;
+  private final Function<Bytes, T> deserializer;
+  private final int windowSize;
+  private final AtomicInteger windowedTasks = new AtomicInteger();
+  private final List<FlatFileTaskCollection<T>> internalQueues = new ArrayList<>();
+  private boolean closed = false;
+
+  /**
+   * Instantiates a new Flat file tasks priority queues, resuming the tasks left in the storage
+   * directory by a previous instance.
+   *
+   * @param storageDirectory the directory holding one sub directory per depth
+   * @param serializer the serializer
+   * @param deserializer the deserializer
+   * @param windowSize the maximum number of pending tasks held in memory at once across all depths
+   */
+  public FlatFileTasksPriorityQueues(
+      final Path storageDirectory,
+      final Function<T, Bytes> serializer,
+      final Function<Bytes, T> deserializer,
+      final int windowSize) {
+    this.storageDirectory = storageDirectory;
+    this.serializer = serializer;
+    this.deserializer = deserializer;
+    this.windowSize = windowSize;
+    try {
+      Files.createDirectories(storageDirectory);
+      try (final Stream<Path> depthDirectories = Files.list(storageDirectory)) {
+        final int maxDepth =
+            depthDirectories
+                .map(path -> DEPTH_DIRECTORY_PATTERN.matcher(path.getFileName().toString()))
+                .filter(Matcher::matches)
+                .mapToInt(matcher -> Integer.parseInt(matcher.group(1)))
+                .max()
+                .orElse(-1);
+        findQueue(maxDepth);
+      }
+    } catch (final IOException e) {
+      throw new StorageException(e);
+    }
+  }
+
+  @Override
+  public synchronized void add(final T taskData) {
+    assertNotClosed();
+    findQueue(taskData.getDepth()).add(taskData);
+  }
+
+  private FlatFileTaskCollection<T> findQueue(final int depth) {
+    while (depth + 1 > internalQueues.size()) {
+      internalQueues.add(
+          new FlatFileTaskCollection<>(
+              storageDirectory.resolve(DEPTH_DIRECTORY_PREFIX + internalQueues.size()),
+              serializer,
+              deserializer,
+              windowSize,
+              Comparator.comparingLong(TasksPriorityProvider::getPriority),
+              FlatFileTaskCollection.COMPACTION_THRESHOLD,
+              windowedTasks));
+    }
+    return depth < 0 ? null : internalQueues.get(depth);
+  }
+
+  @Override
+  public synchronized Task<T> remove() {
+    assertNotClosed();
+    for (int i = internalQueues.size() - 1; i >= 0; i--) {
+      final FlatFileTaskCollection<T> queue = internalQueues.get(i);
+      if (!queue.isEmpty()) {
+        return queue.remove();
+      }
+    }
+    return null;
+  }
+
+  @Override
+  public synchronized long size() {
+    return internalQueues.stream().mapToLong(TaskCollection::size).sum();
+  }
+
+  @Override
+  public synchronized boolean isEmpty() {
+    return internalQueues.stream().allMatch(TaskCollection::isEmpty);
+  }
+
+  @Override
+  public synchronized void clear() {
+    assertNotClosed();
+    internalQueues.forEach(TaskCollection::clear);
+  }
+
+  @Override
+  public synchronized boolean allTasksCompleted() {
+    return internalQueues.stream().allMatch(TaskCollection::allTasksCompleted);
+  }
+
+  @Override
+  public synchronized void close() {
+    if (!closed) {
+      closed = true;
+      internalQueues.forEach(FlatFileTaskCollection::close);
+    }
+  }
+
+  private void assertNotClosed() {
+    if (closed) {
+      throw new IllegalStateException("Attempt to access closed " + getClass().getSimpleName());
+    }
+  }
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.services.tasks;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class FlatFileTaskCollectionTest
+    extends AbstractTaskQueueTest<FlatFileTaskCollection<Bytes>> {
+
+  @TempDir Path storageDirectory;
+
+  @Override
+  protected FlatFileTaskCollection<Bytes> createQueue() {
+    return createQueue(4);
+  }
+
+  private FlatFileTaskCollection<Bytes> createQueue(final int windowSize) {
+    return new FlatFileTaskCollection<>(
+        storageDirectory, Function.identity(), Function.identity(), windowSize, null);
+  }
+
+  @Test
+  public void shouldKeepInsertionOrderWhenSpillingToDisk() {
+    try (final FlatFileTaskCollection<Bytes> queue = createQueue(3)) {
+      for (int i = 0; i < 20; i++) {
+        queue.add(Bytes.of(i));
+      }
+      assertThat(queue.size()).isEqualTo(20);
+
+      for (int i = 0; i < 10; i++) {
+        assertThat(queue.remove().getData()).isEqualTo(Bytes.of(i));
+      }
+      queue.add(Bytes.of(20));
+      assertThat(queue.size()).isEqualTo(11);
+
+      final List<Bytes> remaining = drain(queue);
+      assertThat(remaining).hasSize(11);
+      for (int i = 0; i < 11; i++) {
+        assertThat(remaining.get(i)).isEqualTo(Bytes.of(10 + i));
+      }
+    }
+  }
+
+  @Test
+  public void shouldReadRecordsLargerThanTheReadBuffer() {
+    final Bytes large = Bytes.wrap(new byte[200_000]);
+    try (final FlatFileTaskCollection<Bytes> queue = createQueue(1)) {
+      queue.add(Bytes.of(1));
+      queue.add(large);
+      queue.add(Bytes.of(2));
+
+      assertThat(drain(queue)).containsExactly(Bytes.of(1), large, Bytes.of(2));
+    }
+  }
+
+  @Test
+  public void shouldResumePendingAndOutstandingTasksAfterClose() {
+    final FlatFileTaskCollection<Bytes> queue = createQueue(2);
+    for (int i = 0; i < 6; i++) {
+      queue.add(Bytes.of(i));
+    }
+    queue.remove().markCompleted();
+    final Task<Bytes> outstanding = queue.remove();
+    assertThat(outstanding.getData()).isEqualTo(Bytes.of(1));
+    queue.close();
+
+    try (final FlatFileTaskCollection<Bytes> resumed = createQueue(2)) {
+      assertThat(resumed.size()).isEqualTo(5);
+      assertThat(drain(resumed))
+          .containsExactlyInAnyOrder(
+              Bytes.of(1), Bytes.of(2), Bytes.of(3), Bytes.of(4), Bytes.of(5));
+    }
+  }
+
+  @Test
+  public void shouldReplayTasksNotCompletedAfterUncleanShutdown() throws IOException {
+    final FlatFileTaskCollection<Bytes> queue = createQueue(1);
+    for (int i = 0; i < 3; i++) {
+      queue.add(Bytes.of(i));
+    }
+    queue.remove().markCompleted();
+    final Task<Bytes> outstanding = queue.remove();
+    assertThat(outstanding.getData()).isEqualTo(Bytes.of(1));
+    assertThat(drain(queue)).containsExactly(Bytes.of(2));
+
+    // The file has been read completely, but the outstanding task keeps it from being truncated
+    final FlatFileTaskCollection<Bytes> replayed = createQueue(1);
+    assertThat(drain(replayed)).containsExactly(Bytes.of(1), Bytes.of(2));
+
+    outstanding.markCompleted();
+    assertThat(Files.size(storageDirectory.resolve("tasks.dat"))).isZero();
+    replayed.close();
+    queue.close();
+  }
+
+  @Test
+  public void shouldOnlyCompactRecordsOfCompletedTasks() throws IOException {
+    final FlatFileTaskCollection<Bytes> queue =
+        new FlatFileTaskCollection<>(
+            storageDirectory,
+            Function.identity(),
+            Function.identity(),
+            2,
+            null,
+            20,
+            new AtomicInteger());
+    for (int i = 0; i < 40; i++) {
+      queue.add(Bytes.of(i));
+    }
+    Task<Bytes> outstanding = null;
+    for (int i = 0; i < 30; i++) {
+      final Task<Bytes> task = queue.remove();
+      if (i == 5) {
+        outstanding = task;
+      } else {
+        task.markCompleted();
+      }
+    }
+    final long sizeBeforeCompletion = Files.size(storageDirectory.resolve("tasks.dat"));
+
+    outstanding.markCompleted();
+    final Task<Bytes> stillOutstanding = queue.remove();
+    assertThat(stillOutstanding.getData()).isEqualTo(Bytes.of(30));
+    queue.remove().markCompleted();
+    queue.remove().markCompleted();
+
+    assertThat(Files.size(storageDirectory.resolve("tasks.dat"))).isLessThan(sizeBeforeCompletion);
+    assertThat(storageDirectory.resolve("tasks.dat.compacting")).doesNotExist();
+    queue.close();
+
+    try (final FlatFileTaskCollection<Bytes> resumed = createQueue(2)) {
+      assertThat(drain(resumed))
+          .containsExactlyInAnyOrder(
+              Bytes.of(30),
+              Bytes.of(33),
+              Bytes.of(34),
+              Bytes.of(35),
+              Bytes.of(36),
+              Bytes.of(37),
+              Bytes.of(38),
+              Bytes.of(39));
+    }
+  }
+
+  @Test
+  public void shouldHandOutWindowInComparatorOrder() {
+    try (final FlatFileTaskCollection<Bytes> queue =
+        new FlatFileTaskCollection<>(
+            storageDirectory,
+            Function.identity(),
+            Function.identity(),
+            10,
+            (a, b) -> Integer.compare(b.toInt(), a.toInt()))) {
+      queue.add(Bytes.of(1));
+      queue.add(Bytes.of(3));
+      queue.add(Bytes.of(2));
+
+      assertThat(drain(queue)).containsExactly(Bytes.of(3), Bytes.of(2), Bytes.of(1));
+    }
+  }
+
+  private List<Bytes> drain(final FlatFileTaskCollection<Bytes> queue) {
+    final List<Bytes> tasks = new ArrayList<>();
+    Task<Bytes> task;
+    while ((task = queue.remove()) != null) {
+      task.markCompleted();
+      tasks.add(task.getData());
+    }
+    return tasks;
+  }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright contributors to Hyperledger Besu.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package org.hyperledger.besu.services.tasks;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hyperledger.besu.services.tasks.InMemoryTasksPriorityQueuesTest.Item;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class FlatFileTasksPriorityQueuesTest {
+
+  @TempDir Path storageDirectory;
+
+  @Test
+  public void shouldRetrieveDeepestTasksFirstInPriorityOrder() {
+    try (final FlatFileTasksPriorityQueues<Item> queue = createQueue()) {
+      queue.add(item(1, 1));
+      queue.add(item(2, 30));
+      queue.add(item(2, 10));
+      queue.add(item(5, 1));
+      queue.add(item(99, Integer.MAX_VALUE));
+      queue.add(item(1, 20));
+
+      assertThat(drain(queue))
+          .containsExactly(
+              item(99, Integer.MAX_VALUE),
+              item(5, 1),
+              item(2, 10),
+              item(2, 30),
+              item(1, 1),
+              item(1, 20));
+    }
+  }
+
+  @Test
+  public void shouldPutFailedItemBackIntoQueue() {
+    try (final FlatFileTasksPriorityQueues<Item> queue = createQueue()) {
+      queue.add(item(1, 1));
+      queue.add(item(2, 3));
+
+      final Task<Item> removed = queue.remove();
+      assertThat(removed.getData()).isEqualTo(item(2, 3));
+      assertThat(queue.allTasksCompleted()).isFalse();
+
+      removed.markFailed();
+      assertThat(queue.size()).isEqualTo(2);
+      assertThat(queue.remove().getData()).isEqualTo(item(2, 3));
+    }
+  }
+
+  @Test
+  public void shouldShareWindowBetweenDepths() throws IOException {
+    try (final FlatFileTasksPriorityQueues<Item> queue = createQueue()) {
+      queue.add(item(0, 1));
+      queue.add(item(0, 2));
+      queue.add(item(1, 1));
+
+      // The window is full with the tasks of depth 0, so the task of depth 1 goes to disk
+      assertThat(Files.size(storageDirectory.resolve("depth-0").resolve("tasks.dat"))).isZero();
+      assertThat(Files.size(storageDirectory.resolve("depth-1").resolve("tasks.dat")))
+          .isPositive();
+      assertThat(drain(queue)).containsExactly(item(1, 1), item(0, 1), item(0, 2));
+    }
+  }
+
+  @Test
+  public void shouldResumeTasksOfAllDepths() {
+    final FlatFileTasksPriorityQueues<Item> queue = createQueue();
+    for (int i = 0; i < 10; i++) {
+      queue.add(item(i % 3, i));
+    }
+    queue.close();
+
+    try (final FlatFileTasksPriorityQueues<Item> resumed = createQueue()) {
+      assertThat(resumed.size()).isEqualTo(10);
+      final List<Item> items = drain(resumed);
+      assertThat(items).hasSize(10);
+      assertThat(items.get(0).getDepth()).isEqualTo(2);
+      assertThat(items.get(9).getDepth()).isEqualTo(0);
+    }
+  }
+
+  private FlatFileTasksPriorityQueues<Item> createQueue() {
+    return new FlatFileTasksPriorityQueues<>(
+        storageDirectory,
+        FlatFileTasksPriorityQueuesTest::serialize,
+        FlatFileTasksPriorityQueuesTest::deserialize,
+        2);
+  }
+
+  private static Bytes serialize(final Item item) {
+    return Bytes.concatenate(
+        Bytes.ofUnsignedInt(item.getDepth()), Bytes.ofUnsignedLong(item.getPriority()));
+  }
+
+  private static Item deserialize(final Bytes bytes) {
+    return new Item(bytes.getInt(0), bytes.getLong(4));
+  }
+
+  private List<Item> drain(final FlatFileTasksPriorityQueues<Item> queue) {
+    final List<Item> items = new ArrayList<>();
+    Task<Item> task;
+    while ((task = queue.remove()) != null) {
+      task.markCompleted();
+      items.add(task.getData());
+    }
+    return items;
+  }
+
+  private Item item(final int depth, final int priority) {
+    return new Item(depth, priority);
+  }
+}